@@ -192,7 +192,7 @@ public class D2ClientBuilder
       }
       d2Client = new BackupRequestsClient(d2Client, loadBalancer, executor,
           _config.backupRequestsStrategyStatsConsumer, _config.backupRequestsLatencyNotificationInterval,
-          _config.backupRequestsLatencyNotificationIntervalUnit);
+          _config.backupRequestsLatencyNotificationIntervalUnit, _config.backupRequestsMaxBufferedStreamEntitySize);
     }
 
     if (_config.retry)
@@ -356,6 +356,17 @@ public class D2ClientBuilder
     return this;
   }
 
+  /**
+   * Sets the maximum size of the entity of a stream request that is buffered in order to be replayed in a backup
+   * request. Backup requests are not made for stream requests with larger entities; zero disables them for all
+   * stream requests.
+   */
+  public D2ClientBuilder setBackupRequestsMaxBufferedStreamEntitySize(int backupRequestsMaxBufferedStreamEntitySize)
+  {
+    _config.backupRequestsMaxBufferedStreamEntitySize = backupRequestsMaxBufferedStreamEntitySize;
+    return this;
+  }
+
   public D2ClientBuilder setRetryLimit(int retryLimit)
   {
     _config.retryLimit = retryLimit;
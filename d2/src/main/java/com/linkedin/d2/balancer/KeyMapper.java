@@ -139,6 +139,7 @@ public interface KeyMapper
   {
     private static final String TARGET_HOST_KEY_NAME = "D2-KeyMapper-TargetHost";
     private static final String OTHER_HOST_ACCEPTABLE = "Other-Host-Acceptable";
+    private static final String TARGET_PARTITION_KEY_NAME = "D2-KeyMapper-TargetPartition";
 
     /**
      * Inserts a hint in RequestContext instructing D2 to bypass normal hashing behavior
@@ -196,5 +197,29 @@ public interface KeyMapper
     {
       return (Boolean) context.getLocalAttr(OTHER_HOST_ACCEPTABLE);
     }
+
+    /**
+     * Inserts a hint in RequestContext telling D2 which partition all keys of the request belong to. Used
+     * together with the target host hint by scatter-gather, so that when the target host is dropped (e.g. by a
+     * backup request from {@link com.linkedin.d2.balancer.clients.BackupRequestsClient}) the request is still
+     * routed to another host of the same partition instead of partitioning the (batch) request URI.
+     * @param context RequestContext for the request which will be made
+     * @param partitionId id of the partition that owns all keys of the request
+     */
+    public static void setRequestContextTargetPartition(RequestContext context, int partitionId)
+    {
+      context.putLocalAttr(TARGET_PARTITION_KEY_NAME, partitionId);
+    }
+
+    /**
+     * Looks for a target partition hint in the RequestContext, returning it if found, or null if no
+     * hint is present.
+     * @param context RequestContext for the request
+     * @return id of the target partition, or null if no hint is present in the RequestContext
+     */
+    public static Integer getRequestContextTargetPartition(RequestContext context)
+    {
+      return (Integer) context.getLocalAttr(TARGET_PARTITION_KEY_NAME);
+    }
   }
 }
@@ -32,6 +32,7 @@ import com.linkedin.d2.balancer.properties.PropertyKeys;
 import com.linkedin.d2.balancer.properties.ServiceProperties;
 import com.linkedin.d2.balancer.strategies.LoadBalancerStrategy.ExcludedHostHints;
 import com.linkedin.d2.balancer.util.LoadBalancerUtil;
+import com.linkedin.data.ByteString;
 import com.linkedin.r2.filter.R2Constants;
 import com.linkedin.r2.message.Request;
 import com.linkedin.r2.message.RequestContext;
@@ -39,6 +40,11 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.entitystream.ByteStringWriter;
+import com.linkedin.r2.message.stream.entitystream.CancelingReader;
+import com.linkedin.r2.message.stream.entitystream.EntityStream;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.message.stream.entitystream.Observer;
 import com.linkedin.r2.util.NamedThreadFactory;
 import java.net.URI;
 import java.util.List;
@@ -52,6 +58,8 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.HdrHistogram.AbstractHistogram;
 import org.slf4j.Logger;
@@ -70,11 +78,13 @@ public class BackupRequestsClient extends D2ClientDelegator
   private static final Logger LOG = LoggerFactory.getLogger(BackupRequestsClient.class);
 
   public static final String BACKUP_REQUEST_ATTRIBUTE_NAME = "BackupRequest";
+  public static final int DEFAULT_MAX_BUFFERED_STREAM_ENTITY_SIZE = 64 * 1024;
 
   private final LoadBalancer _loadBalancer;
   private final ScheduledExecutorService _executorService;
   private final ScheduledThreadPoolExecutor _latenciesNotifierExecutor;
   private final ScheduledFuture<?> _latenciesNotifier;
+  private final int _maxBufferedStreamEntitySize;
 
   // serviceName -> operation -> BackupRequestsStrategyFromConfig
   private final Map<String, Map<String, BackupRequestsStrategyFromConfig>> _strategies = new ConcurrentHashMap<>();
@@ -97,9 +107,24 @@ public class BackupRequestsClient extends D2ClientDelegator
 
   public BackupRequestsClient(D2Client d2Client, LoadBalancer loadBalancer, ScheduledExecutorService executorService,
       BackupRequestsStrategyStatsConsumer statsConsumer, long notifyLatencyInterval, TimeUnit notifyLatencyIntervalUnit)
+  {
+    this(d2Client, loadBalancer, executorService, statsConsumer, notifyLatencyInterval, notifyLatencyIntervalUnit,
+        DEFAULT_MAX_BUFFERED_STREAM_ENTITY_SIZE);
+  }
+
+  /**
+   * @param maxBufferedStreamEntitySize the entity of a {@link StreamRequest} can only be read once, so it is
+   *        buffered while the original request is sent in order to replay it in the backup request. Backup requests
+   *        are not made for stream requests whose entity is larger than this size or hasn't been fully sent yet
+   *        when the backup request is due. Zero disables backup requests for stream requests.
+   */
+  public BackupRequestsClient(D2Client d2Client, LoadBalancer loadBalancer, ScheduledExecutorService executorService,
+      BackupRequestsStrategyStatsConsumer statsConsumer, long notifyLatencyInterval, TimeUnit notifyLatencyIntervalUnit,
+      int maxBufferedStreamEntitySize)
   {
     super(d2Client);
     _loadBalancer = loadBalancer;
+    _maxBufferedStreamEntitySize = maxBufferedStreamEntitySize;
     _executorService = executorService;
     _statsConsumer = Optional.ofNullable(statsConsumer).map(BackupRequestsClient::toSafeConsumer);
     _latenciesNotifierExecutor =
@@ -170,7 +195,7 @@ public class BackupRequestsClient extends D2ClientDelegator
       final Callback<RestResponse> callback)
   {
     _d2Client.restRequest(request, requestContext,
-        decorateCallback(request, requestContext, _d2Client::restRequest, callback));
+        decorateCallback(request, requestContext, _d2Client::restRequest, () -> true, response -> { }, callback));
   }
 
   /*private*/ Optional<TrackingBackupRequestsStrategy> getStrategy(final String serviceName, final String operation)
@@ -305,12 +330,29 @@ public class BackupRequestsClient extends D2ClientDelegator
   @Override
   public void streamRequest(StreamRequest request, RequestContext requestContext, Callback<StreamResponse> callback)
   {
-    _d2Client.streamRequest(request, requestContext,
-        decorateCallback(request, requestContext, _d2Client::streamRequest, callback));
+    final StreamEntityRecorder recorder = new StreamEntityRecorder(_maxBufferedStreamEntitySize);
+    final Callback<StreamResponse> decoratedCallback = decorateCallback(request, requestContext,
+        (req, context, cb) -> _d2Client.streamRequest(req.builder().build(recorder.replay()), context, cb),
+        recorder::isRecorded, BackupRequestsClient::cancelEntityStream, callback);
+    if (decoratedCallback instanceof DecoratedCallback && _maxBufferedStreamEntitySize > 0)
+    {
+      // record the entity while it is being sent by the original request so that it can be replayed
+      request.getEntityStream().addObserver(recorder);
+    }
+    _d2Client.streamRequest(request, requestContext, decoratedCallback);
+  }
+
+  private static void cancelEntityStream(StreamResponse response)
+  {
+    response.getEntityStream().setReader(new CancelingReader());
   }
 
+  /**
+   * @param backupPossible tells whether the backup request can be made at the time it is due.
+   * @param discardResult invoked with the result of the request, original or backup, that completed last.
+   */
   private <R extends Request, T> Callback<T> decorateCallback(R request, RequestContext requestContext,
-      DecoratorClient<R, T> client, Callback<T> callback)
+      DecoratorClient<R, T> client, BooleanSupplier backupPossible, Consumer<T> discardResult, Callback<T> callback)
   {
     try
     {
@@ -333,8 +375,8 @@ public class BackupRequestsClient extends D2ClientDelegator
             Optional<Long> delayNano = st.getTimeUntilBackupRequestNano();
             if (delayNano.isPresent())
             {
-              return new DecoratedCallback<>(request, requestContext, client, callback, st, delayNano.get(),
-                  _executorService, startNano, serviceName, operation);
+              return new DecoratedCallback<>(request, requestContext, client, backupPossible, discardResult, callback,
+                  st, delayNano.get(), _executorService, startNano, serviceName, operation);
             }
           }
           // return callback that updates backup strategy about latency if
@@ -413,6 +455,8 @@ public class BackupRequestsClient extends D2ClientDelegator
     private final RequestContext _requestContext;
     private final RequestContext _backupRequestContext;
     private final DecoratorClient<R, T> _client;
+    private final BooleanSupplier _backupPossible;
+    private final Consumer<T> _discardResult;
     private final Callback<T> _callback;
     private final TrackingBackupRequestsStrategy _strategy;
     private final long _startNano;
@@ -420,7 +464,8 @@ public class BackupRequestsClient extends D2ClientDelegator
     private final String _operation;
 
     public DecoratedCallback(R request, RequestContext requestContext, DecoratorClient<R, T> client,
-        Callback<T> callback, TrackingBackupRequestsStrategy strategy, long delayNano,
+        BooleanSupplier backupPossible, Consumer<T> discardResult, Callback<T> callback,
+        TrackingBackupRequestsStrategy strategy, long delayNano,
         ScheduledExecutorService executorService, long startNano, String serviceName, String operation)
     {
       _startNano = startNano;
@@ -430,7 +475,11 @@ public class BackupRequestsClient extends D2ClientDelegator
       _backupRequestContext.putLocalAttr(BACKUP_REQUEST_ATTRIBUTE_NAME, delayNano);
       // when making backup request, we would never want to go to the affinity routing host; we would have gone there in the primary request.
       KeyMapper.TargetHostHints.removeRequestContextTargetHost(_backupRequestContext);
+      // A target partition hint, if any, is kept: a scattered request only carries the keys of that partition,
+      // so the backup re-sends just those keys to another host of the same partition.
       _client = client;
+      _backupPossible = backupPossible;
+      _discardResult = discardResult;
       _callback = callback;
       _strategy = strategy;
       _serviceName = serviceName;
@@ -446,7 +495,7 @@ public class BackupRequestsClient extends D2ClientDelegator
       if (exclusionSet != null)
       {
         exclusionSet.forEach(uri -> ExcludedHostHints.addRequestContextExcludedHost(_backupRequestContext, uri));
-        if (!_done.get() && _strategy.isBackupRequestAllowed())
+        if (!_done.get() && _backupPossible.getAsBoolean() && _strategy.isBackupRequestAllowed())
         {
           _client.doRequest(_request, _backupRequestContext, new Callback<T>()
           {
@@ -458,6 +507,10 @@ public class BackupRequestsClient extends D2ClientDelegator
                 completeBackup();
                 _callback.onSuccess(result);
               }
+              else
+              {
+                _discardResult.accept(result);
+              }
             }
 
             @Override
@@ -486,13 +539,13 @@ public class BackupRequestsClient extends D2ClientDelegator
     @Override
     public void onSuccess(T result)
     {
-      trackingCompletion(() -> _callback.onSuccess(result));
+      trackingCompletion(() -> _callback.onSuccess(result), () -> _discardResult.accept(result));
     }
 
     /*
      * This method guarantees that the completion is called only if not called by the backup
      */
-    private void trackingCompletion(Runnable completion)
+    private void trackingCompletion(Runnable completion, Runnable discard)
     {
       long latency = System.nanoTime() - _startNano;
       //feed backup request strategy with latency of the original request
@@ -513,13 +566,76 @@ public class BackupRequestsClient extends D2ClientDelegator
          */
         _strategy.getLatencyWithoutBackup().record(latency,
             histogram -> notifyLatency(_serviceName, _operation, histogram, false));
+        discard.run();
+      }
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      trackingCompletion(() -> _callback.onError(e), () -> { });
+    }
+  }
+
+  /**
+   * Records the entity of a stream request, up to a maximum size, while it is read by the original request.
+   */
+  private static class StreamEntityRecorder implements Observer
+  {
+    private final int _maxSize;
+    // only accessed by the thread reading the entity
+    private ByteString.Builder _builder;
+    private int _size;
+    private volatile ByteString _entity;
+
+    StreamEntityRecorder(int maxSize)
+    {
+      _maxSize = maxSize;
+      _builder = new ByteString.Builder();
+    }
+
+    boolean isRecorded()
+    {
+      return _entity != null;
+    }
+
+    EntityStream replay()
+    {
+      return EntityStreams.newEntityStream(new ByteStringWriter(_entity));
+    }
+
+    @Override
+    public void onDataAvailable(ByteString data)
+    {
+      if (_builder != null)
+      {
+        _size += data.length();
+        if (_size > _maxSize)
+        {
+          // too large to be buffered, the request won't be backed up
+          _builder = null;
+        }
+        else
+        {
+          _builder.append(data);
+        }
+      }
+    }
+
+    @Override
+    public void onDone()
+    {
+      if (_builder != null)
+      {
+        _entity = _builder.build();
+        _builder = null;
       }
     }
 
     @Override
     public void onError(Throwable e)
     {
-      trackingCompletion(() -> _callback.onError(e));
+      _builder = null;
     }
   }
 
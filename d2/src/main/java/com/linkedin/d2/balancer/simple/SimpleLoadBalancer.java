@@ -760,10 +760,17 @@ public class SimpleLoadBalancer implements LoadBalancer, HashRingProvider, Clien
     // now try and find a tracker client for the uri
     TrackerClient trackerClient = null;
     URI targetHost = KeyMapper.TargetHostHints.getRequestContextTargetHost(requestContext);
+    Integer targetPartition = KeyMapper.TargetHostHints.getRequestContextTargetPartition(requestContext);
     int partitionId = -1;
     URI requestUri = request.getURI();
 
-    if (targetHost == null)
+    if (targetHost == null && targetPartition != null)
+    {
+      // Scattered request (or a backup of one) whose keys are all known to belong to a single partition. The
+      // request URI can't be used here since a batch URI doesn't map to one partition.
+      partitionId = targetPartition;
+    }
+    else if (targetHost == null)
     {
       PartitionAccessor accessor = getPartitionAccessor(serviceName, clusterName);
       try
@@ -793,6 +800,8 @@ public class SimpleLoadBalancer implements LoadBalancer, HashRingProvider, Clien
 
       // The partition to check is picked at random to be conservative.
       // E.g. in the above example, we don't want to always use the drop rate of partition 1.
+      // If scatter-gather sent the request for the keys of a single partition it is tagged with that partition
+      // (see KeyMapper.TargetHostHints#setRequestContextTargetPartition), which is then checked instead.
 
       Map<Integer, PartitionData> partitionDataMap = uris.getPartitionDataMap(targetHost);
       if (partitionDataMap == null || partitionDataMap.isEmpty())
@@ -801,11 +810,18 @@ public class SimpleLoadBalancer implements LoadBalancer, HashRingProvider, Clien
       }
 
       Set<Integer> partitions = partitionDataMap.keySet();
-      Iterator<Integer> iterator = partitions.iterator();
-      int index = _random.nextInt(partitions.size());
-      for (int i = 0; i <= index; i++)
+      if (targetPartition != null && partitions.contains(targetPartition))
       {
-        partitionId = iterator.next();
+        partitionId = targetPartition;
+      }
+      else
+      {
+        Iterator<Integer> iterator = partitions.iterator();
+        int index = _random.nextInt(partitions.size());
+        for (int i = 0; i <= index; i++)
+        {
+          partitionId = iterator.next();
+        }
       }
     }
 
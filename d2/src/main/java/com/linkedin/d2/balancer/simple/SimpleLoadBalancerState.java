@@ -619,6 +619,34 @@ public class SimpleLoadBalancerState implements LoadBalancerState, ClientFactory
     return _uriProperties.size();
   }
 
+  /**
+   * @return time the most recent uri event spent queued on the executor before being handled, in milliseconds,
+   * or 0 if the uri event bus does not track it. A growing value means the executor is falling behind.
+   */
+  public long getUriEventLatestQueueTimeMs()
+  {
+    if (_uriBus instanceof PropertyEventBusImpl)
+    {
+      return TimeUnit.NANOSECONDS.toMillis(((PropertyEventBusImpl<UriProperties>) _uriBus).getLatestEventQueueTimeNanos());
+    }
+    return 0;
+  }
+
+  /**
+   * @return average time uri events spent queued on the executor before being handled, in milliseconds,
+   * or 0 if the uri event bus does not track it.
+   */
+  public double getUriEventAverageQueueTimeMs()
+  {
+    if (_uriBus instanceof PropertyEventBusImpl)
+    {
+      PropertyEventBusImpl<UriProperties> uriBus = (PropertyEventBusImpl<UriProperties>) _uriBus;
+      long eventCount = uriBus.getEventCount();
+      return eventCount == 0 ? 0 : (double) uriBus.getTotalEventQueueTimeNanos() / eventCount / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+    return 0;
+  }
+
   public void setVersion(final long version)
   {
     trace(_log, "setVersion: ", version);
@@ -30,8 +30,10 @@ import com.linkedin.util.clock.Clock;
 import com.linkedin.util.clock.SystemClock;
 import com.linkedin.util.degrader.DegraderImpl;
 import java.net.URI;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
@@ -61,11 +63,20 @@ class UriLoadBalancerSubscriber extends
   @Override
   protected void handlePut(final String listenTo, final UriProperties discoveryProperties)
   {
+    LoadBalancerStateItem<UriProperties> previousItem = _simpleLoadBalancerState.getUriProperties().get(listenTo);
+    UriProperties previousProperties = previousItem == null ? null : previousItem.getProperty();
+
     // add tracker clients for uris that we aren't already tracking
     if (discoveryProperties != null)
     {
       String clusterName = discoveryProperties.getClusterName();
 
+      // When the previous uri properties of the cluster are known, the tracker clients already reflect them and only
+      // the uris that were added or changed need new tracker clients. This keeps updates proportional to the number
+      // of changed hosts rather than to the size of the cluster.
+      Set<URI> updatedUris = previousProperties == null ? Collections.emptySet()
+          : getAddedOrChangedUris(previousProperties, discoveryProperties);
+
       Set<String> serviceNames = _simpleLoadBalancerState.getServicesPerCluster().get(clusterName);
       //updates all the services that these uris provide
       if (serviceNames != null)
@@ -74,10 +85,17 @@ class UriLoadBalancerSubscriber extends
         {
           Map<URI, TrackerClient> trackerClients =
             _simpleLoadBalancerState.getTrackerClients().get(serviceName);
+          boolean incremental = previousProperties != null;
           if (trackerClients == null)
           {
             trackerClients = new ConcurrentHashMap<URI, TrackerClient>();
             _simpleLoadBalancerState.getTrackerClients().put(serviceName, trackerClients);
+            incremental = false;
+          }
+          Set<URI> urisToUpdate = incremental ? updatedUris : discoveryProperties.Uris();
+          if (urisToUpdate.isEmpty())
+          {
+            continue;
           }
           LoadBalancerStateItem<ServiceProperties> servicePropertiesItem = _simpleLoadBalancerState.getServiceProperties().get(serviceName);
           ServiceProperties serviceProperties = servicePropertiesItem == null ? null : servicePropertiesItem.getProperty();
@@ -107,11 +125,11 @@ class UriLoadBalancerSubscriber extends
           long trackerClientInterval = SimpleLoadBalancerState.getTrackerClientInterval(serviceProperties);
           String errorStatusPattern = SimpleLoadBalancerState.getErrorStatusPattern(serviceProperties);
 
-          for (URI uri : discoveryProperties.Uris())
+          for (URI uri : urisToUpdate)
           {
             Map<Integer, PartitionData> partitionDataMap = discoveryProperties.getPartitionDataMap(uri);
             TrackerClient client = trackerClients.get(uri);
-            if (client == null || !client.getParttitionDataMap().equals(partitionDataMap))
+            if (incremental || client == null || !client.getParttitionDataMap().equals(partitionDataMap))
             {
               client = _simpleLoadBalancerState.buildTrackerClient(serviceName,
                 uri,
@@ -159,23 +177,13 @@ class UriLoadBalancerSubscriber extends
           Map<URI, TrackerClient> trackerClients = _simpleLoadBalancerState.getTrackerClients().get(serviceName);
           if (trackerClients != null)
           {
-            for (Iterator<URI> it = trackerClients.keySet().iterator(); it.hasNext(); )
+            // Without previous properties we cannot tell which uris are gone, so every tracked uri is checked
+            Set<URI> candidateUris = previousProperties == null ? trackerClients.keySet() : previousProperties.Uris();
+            for (URI uri : candidateUris)
             {
-              URI uri = it.next();
-
               if (!discoveryProperties.Uris().contains(uri))
               {
-                TrackerClient client = trackerClients.remove(uri);
-
-                debug(_log, "removing dead tracker client: ", client);
-
-                // notify listeners of the removed client
-                for (SimpleLoadBalancerState.SimpleLoadBalancerStateListener listener : _simpleLoadBalancerState.getListeners())
-                {
-                  listener.onClientRemoved(serviceName, client);
-                }
-                // We don't shut down the dead TrackerClient, because TrackerClients hold no
-                // resources and simply point to the common cluster client (from _serviceeClients).
+                removeTrackerClient(serviceName, trackerClients, uri);
               }
             }
           }
@@ -191,6 +199,44 @@ class UriLoadBalancerSubscriber extends
     }
   }
 
+  private void removeTrackerClient(String serviceName, Map<URI, TrackerClient> trackerClients, URI uri)
+  {
+    TrackerClient client = trackerClients.remove(uri);
+    if (client == null)
+    {
+      return;
+    }
+
+    debug(_log, "removing dead tracker client: ", client);
+
+    // notify listeners of the removed client
+    for (SimpleLoadBalancerState.SimpleLoadBalancerStateListener listener : _simpleLoadBalancerState.getListeners())
+    {
+      listener.onClientRemoved(serviceName, client);
+    }
+    // We don't shut down the dead TrackerClient, because TrackerClients hold no
+    // resources and simply point to the common cluster client (from _serviceeClients).
+  }
+
+  /**
+   * @return the uris of the new properties that are absent from the previous ones, or whose partition data or uri
+   * specific properties have changed, e.g. because of a weight change.
+   */
+  static Set<URI> getAddedOrChangedUris(UriProperties previousProperties, UriProperties newProperties)
+  {
+    Set<URI> updatedUris = new HashSet<>();
+    for (URI uri : newProperties.Uris())
+    {
+      if (!Objects.equals(previousProperties.getPartitionDataMap(uri), newProperties.getPartitionDataMap(uri))
+        || !Objects.equals(previousProperties.getUriSpecificProperties().get(uri),
+          newProperties.getUriSpecificProperties().get(uri)))
+      {
+        updatedUris.add(uri);
+      }
+    }
+    return updatedUris;
+  }
+
   @Override
   protected void handleRemove(final String listenTo)
   {
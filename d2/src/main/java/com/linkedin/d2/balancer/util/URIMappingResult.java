@@ -39,12 +39,21 @@ public class URIMappingResult<KEY>
   private final Map<Integer, Set<KEY>> _unmappedKeys;
   // mapping from host to the partition it belongs
   private final Map<URI, Integer> _hostToPartitionId;
+  // mapping from host to the keys sent to that host, grouped by the partition they belong to
+  private final Map<URI, Map<Integer, Set<KEY>>> _hostToPartitionKeys;
 
   public URIMappingResult(Map<URI, Set<KEY>> mappingResults, Map<Integer, Set<KEY>> unmappedKeys, Map<URI, Integer> hostToPartitionId)
+  {
+    this(mappingResults, unmappedKeys, hostToPartitionId, Collections.emptyMap());
+  }
+
+  public URIMappingResult(Map<URI, Set<KEY>> mappingResults, Map<Integer, Set<KEY>> unmappedKeys,
+      Map<URI, Integer> hostToPartitionId, Map<URI, Map<Integer, Set<KEY>>> hostToPartitionKeys)
   {
     _mappedKeys = Collections.unmodifiableMap(mappingResults);
     _unmappedKeys = Collections.unmodifiableMap(unmappedKeys);
     _hostToPartitionId = Collections.unmodifiableMap(hostToPartitionId);
+    _hostToPartitionKeys = Collections.unmodifiableMap(hostToPartitionKeys);
   }
 
   public Map<URI, Set<KEY>> getMappedKeys()
@@ -59,6 +68,16 @@ public class URIMappingResult<KEY>
 
   public Map<URI, Integer> getHostPartitionInfo() { return _hostToPartitionId; }
 
+  /**
+   * @return mapping from host to the keys that will be sent to that host, grouped by partition id. A host that was
+   *         picked for more than one partition has one entry per partition. Hosts are missing from this map if the
+   *         mapper did not keep track of the partition of the keys.
+   */
+  public Map<URI, Map<Integer, Set<KEY>>> getMappedKeysByPartition()
+  {
+    return _hostToPartitionKeys;
+  }
+
   @Override
   public boolean equals(Object o)
   {
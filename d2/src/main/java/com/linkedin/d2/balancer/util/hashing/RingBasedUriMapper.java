@@ -113,9 +113,11 @@ public class RingBasedUriMapper implements URIMapper
 
     // Pass Two
     Map<URI, Integer> hostToParitionId = new HashMap<>();
-    Map<URI, Set<KEY>> hostToKeySet = distributeToHosts(requestsByPartition, rings, hashFunction, hostToParitionId, unmapped);
+    Map<URI, Map<Integer, Set<KEY>>> hostToPartitionKeys = new HashMap<>();
+    Map<URI, Set<KEY>> hostToKeySet =
+        distributeToHosts(requestsByPartition, rings, hashFunction, hostToParitionId, hostToPartitionKeys, unmapped);
 
-    return new URIMappingResult<KEY>(hostToKeySet, unmapped, hostToParitionId);
+    return new URIMappingResult<KEY>(hostToKeySet, unmapped, hostToParitionId, hostToPartitionKeys);
   }
 
   /**
@@ -197,11 +199,12 @@ public class RingBasedUriMapper implements URIMapper
       Map<Integer, Ring<URI>> rings,
       HashFunction<Request> hashFunction,
       Map<URI, Integer> hostToPartitionId,
+      Map<URI, Map<Integer, Set<KEY>>> hostToPartitionKeys,
       Map<Integer, Set<KEY>> unmapped)
   {
     if (hashFunction instanceof RandomHash)
     {
-      return distributeToHostNonSticky(requestsByParititonId, rings, hostToPartitionId, unmapped);
+      return distributeToHostNonSticky(requestsByParititonId, rings, hostToPartitionId, hostToPartitionKeys, unmapped);
     }
 
     Map<URI, Set<KEY>> hostToKeySet = new HashMap<>();
@@ -226,9 +229,12 @@ public class RingBasedUriMapper implements URIMapper
           // under custom use case, key will be null, in which case we will just return a map from uri to empty set
           hostToPartitionId.putIfAbsent(resolvedHost, entry.getKey());
           Set<KEY> newSet = hostToKeySet.computeIfAbsent(resolvedHost, host -> new HashSet<>());
+          Set<KEY> partitionSet = hostToPartitionKeys.computeIfAbsent(resolvedHost, host -> new HashMap<>())
+              .computeIfAbsent(partitionId, id -> new HashSet<>());
           if (request.getKey() != null)
           {
             newSet.add(request.getKey());
+            partitionSet.add(request.getKey());
           }
         }
       }
@@ -242,7 +248,8 @@ public class RingBasedUriMapper implements URIMapper
    * keys to those partitions will be merged into one set.
    */
   private <KEY> Map<URI, Set<KEY>> distributeToHostNonSticky(Map<Integer, List<URIKeyPair<KEY>>> requestsByParititonId,
-      Map<Integer, Ring<URI>> rings, Map<URI, Integer> hostToPartitionId, Map<Integer, Set<KEY>> unmapped)
+      Map<Integer, Ring<URI>> rings, Map<URI, Integer> hostToPartitionId,
+      Map<URI, Map<Integer, Set<KEY>>> hostToPartitionKeys, Map<Integer, Set<KEY>> unmapped)
   {
     Map<URI, Set<KEY>> hostToKeySet = new HashMap<>();
     for (Map.Entry<Integer, List<URIKeyPair<KEY>>> entry : requestsByParititonId.entrySet())
@@ -258,6 +265,7 @@ public class RingBasedUriMapper implements URIMapper
       {
         hostToPartitionId.putIfAbsent(resolvedHost, entry.getKey());
         hostToKeySet.computeIfAbsent(resolvedHost, host -> new HashSet<>()).addAll(allKeys);
+        hostToPartitionKeys.computeIfAbsent(resolvedHost, host -> new HashMap<>()).put(entry.getKey(), allKeys);
       }
     }
 
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +49,11 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
   private final List<PropertyEventSubscriber<T>> _allPropertySubscribers = new ArrayList<PropertyEventSubscriber<T>>();
   private static final Logger _log = LoggerFactory.getLogger(PropertyEventBusImpl.class);
 
+  // Time events spend waiting in the executor queue, which grows when subscribers fall behind the publisher
+  private final AtomicLong _eventCount = new AtomicLong();
+  private final AtomicLong _totalEventQueueTimeNanos = new AtomicLong();
+  private volatile long _latestEventQueueTimeNanos = 0;
+
   /*
    * Concurrency considerations:
    *
@@ -277,6 +283,37 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
     return all;
   }
 
+  /**
+   * @return number of events executed by this bus
+   */
+  public long getEventCount()
+  {
+    return _eventCount.get();
+  }
+
+  /**
+   * @return time the most recently executed event spent waiting in the executor queue, in nanoseconds
+   */
+  public long getLatestEventQueueTimeNanos()
+  {
+    return _latestEventQueueTimeNanos;
+  }
+
+  /**
+   * @return total time executed events spent waiting in the executor queue, in nanoseconds
+   */
+  public long getTotalEventQueueTimeNanos()
+  {
+    return _totalEventQueueTimeNanos.get();
+  }
+
+  private void recordEventQueueTime(long queueTimeNanos)
+  {
+    _latestEventQueueTimeNanos = queueTimeNanos;
+    _totalEventQueueTimeNanos.addAndGet(queueTimeNanos);
+    _eventCount.incrementAndGet();
+  }
+
   /**
    * This is really just for testing
    */
@@ -298,7 +335,12 @@ public class PropertyEventBusImpl<T> implements PropertyEventBus<T>
     @Override
     public boolean send(PropertyEvent message)
     {
-      _executor.execute(message);
+      final long enqueueTimeNanos = System.nanoTime();
+      _executor.execute(() ->
+      {
+        recordEventQueueTime(System.nanoTime() - enqueueTimeNanos);
+        message.run();
+      });
       return true;
     }
   }
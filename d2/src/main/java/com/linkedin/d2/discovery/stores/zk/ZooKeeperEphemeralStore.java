@@ -30,6 +30,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,6 +45,7 @@ import org.apache.zookeeper.AsyncCallback;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
@@ -68,6 +70,11 @@ import static com.linkedin.d2.discovery.util.LogUtil.trace;
  * There are several modes in which it can run:
  * - watching each node for data change enabling the watchChildNodes flag
  * - considering the children nodes immutable and watching only for membership changes
+ *
+ * Children data is read with pipelined asynchronous reads, which can be bounded with zookeeperMaxOutstandingReads
+ * to avoid flooding the ZooKeeper connection when a node has many children. When children are considered immutable,
+ * only the data of new children is read, and nothing is published if the membership turns out to be unchanged, for
+ * example when a child is added and removed within the read window.
  */
 public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
 {
@@ -85,6 +92,9 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
   private final boolean _useNewWatcher;
   private final ScheduledExecutorService _executorService;
   private final int _zookeeperReadWindowMs;
+  private final int _zookeeperMaxOutstandingReads;
+
+  public static final int DEFAULT_MAX_OUTSTANDING_READS = -1; //unbounded by default
 
   public ZooKeeperEphemeralStore(ZKConnection client,
                                  PropertySerializer<T> serializer,
@@ -145,6 +155,28 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
                                  String ephemeralNodesFilePath,
                                  ScheduledExecutorService executorService,
                                  int zookeeperReadWindowMs)
+  {
+    this(client, serializer, merger, path, watchChildNodes, useNewWatcher, ephemeralNodesFilePath, executorService,
+        zookeeperReadWindowMs, DEFAULT_MAX_OUTSTANDING_READS);
+  }
+
+  /**
+   * @param watchChildNodes              if true, a watcher for each children node will be set (this have a large cost)
+   * @param ephemeralNodesFilePath       if a FS path is specified, children nodes are considered unmodifiable,
+   *                                     and a local cache for children nodes is enabled
+   * @param zookeeperMaxOutstandingReads maximum number of children data reads in flight at the same time for a node,
+   *                                     non-positive values mean unbounded
+   */
+  public ZooKeeperEphemeralStore(ZKConnection client,
+                                 PropertySerializer<T> serializer,
+                                 ZooKeeperPropertyMerger<T> merger,
+                                 String path,
+                                 boolean watchChildNodes,
+                                 boolean useNewWatcher,
+                                 String ephemeralNodesFilePath,
+                                 ScheduledExecutorService executorService,
+                                 int zookeeperReadWindowMs,
+                                 int zookeeperMaxOutstandingReads)
   {
     super(client, serializer, path);
 
@@ -171,6 +203,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     _ephemeralNodesFilePath = ephemeralNodesFilePath;
     _executorService = executorService;
     _zookeeperReadWindowMs = zookeeperReadWindowMs;
+    _zookeeperMaxOutstandingReads = zookeeperMaxOutstandingReads;
   }
 
   @Override
@@ -290,11 +323,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
           case OK:
             if (children.size() > 0)
             {
-              ChildCollector collector = new ChildCollector(children.size(), childrenCallback);
-              for (String child : children)
-              {
-                _zk.getData(path + "/" + child, false, collector, null);
-              }
+              new ChildCollector(path, children, null, childrenCallback).start();
             }
             else
             {
@@ -348,18 +377,15 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     if (children.size() > 0)
     {
       _log.debug("getMergedChildren: collecting {}", children);
-      ChildCollector collector = new ChildCollector(children.size(), new CallbackAdapter<T,Map<String,T>>(callback)
+      Callback<Map<String,T>> collectorCallback = new CallbackAdapter<T,Map<String,T>>(callback)
       {
         @Override
         protected T convertResponse(Map<String,T> response) throws Exception
         {
           return _merger.merge(propertyName, response.values());
         }
-      });
-      for (String child : children)
-      {
-        _zk.getData(path + "/" + child, (_watchChildNodes) ? watcher : null, collector, null);
-      }
+      };
+      new ChildCollector(path, children, (_watchChildNodes) ? watcher : null, collectorCallback).start();
     }
     else
     {
@@ -377,8 +403,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
     if (children.size() > 0)
     {
       _log.debug("getChildrenData: collecting {}", children);
-      ChildCollector collector = new ChildCollector(children.size(), callback);
-      children.forEach(child -> _zk.getData(path + "/" + child, null, collector, null));
+      new ChildCollector(path, children, null, callback).start();
     }
     else
     {
@@ -666,9 +691,19 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
       {
         case OK:
         {
-          initCurrentNode(stat);
+          int previousChildrenCount = _childrenMap.size();
+          boolean nodeRecreated = initCurrentNode(stat);
           Set<String> newChildren = calculateChildrenDeltaAndUpdateState(children);
-          getChildrenData(path, newChildren, getChildrenDataCallback(path, init, property));
+          // a recreated node starts from an empty map, so it always has to be published even if it has no children yet
+          boolean childrenChanged = nodeRecreated || _childrenMap.size() < previousChildrenCount;
+          if (!init && !childrenChanged && newChildren.isEmpty())
+          {
+            // e.g. a child was added and removed within the read window, re-publishing the same value would only cause
+            // subscribers to rebuild their state for nothing
+            _log.debug("{}: children unchanged, skipping publish", path);
+            break;
+          }
+          getChildrenData(path, newChildren, getChildrenDataCallback(path, init, property, childrenChanged));
           break;
         }
         case NONODE:
@@ -697,7 +732,8 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
       }
     }
 
-    private Callback<Map<String, T>> getChildrenDataCallback(String path, boolean init, String property)
+    private Callback<Map<String, T>> getChildrenDataCallback(String path, boolean init, String property,
+        boolean childrenChanged)
     {
       return new Callback<Map<String, T>>()
       {
@@ -715,6 +751,12 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
         @Override
         public void onSuccess(Map<String, T> result)
         {
+          if (!init && !childrenChanged && result.isEmpty())
+          {
+            // all the new children disappeared before their data could be read
+            _log.debug("{}: children unchanged, skipping publish", path);
+            return;
+          }
           _childrenMap.putAll(result);
           if (_fileStore != null)
           {
@@ -734,14 +776,20 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
       };
     }
 
-    private void initCurrentNode(Stat stat)
+    /**
+     * @return true if the node has been recreated since it was last read, in which case the children read so far
+     *         have been discarded
+     */
+    private boolean initCurrentNode(Stat stat)
     {
+      boolean recreated = false;
       // in the case of startup or the node gets recreated, create a new file store
       if (_czxid != stat.getCzxid())
       {
         // if node==0 it means that it is just booting up, if it !=0 it means that the node has been recreated
         if (_czxid != 0)
         {
+          recreated = true;
           _childrenMap.clear();
           if (_ephemeralNodesFilePath != null)
           {
@@ -763,6 +811,7 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
           _childrenMap.putAll(_fileStore.getAll());
         }
       }
+      return recreated;
     }
 
     private Set<String> calculateChildrenDeltaAndUpdateState(List<String> children)
@@ -809,22 +858,56 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
   }
 
 
+  /**
+   * Reads the data of the given children and collects it by child name. Reads are pipelined: at most
+   * {@link #_zookeeperMaxOutstandingReads} of them are in flight at the same time, a new one being issued
+   * every time one completes.
+   */
   private class ChildCollector implements AsyncCallback.DataCallback
   {
+    private final String _path;
+    private final Iterator<String> _children;
+    private final Watcher _watcher;
     private int _count;
+    private boolean _done = false;
     private final Map<String,T> _properties;
     private final Callback<Map<String,T>> _callback;
 
-    private ChildCollector(int count, Callback<Map<String,T>> callback)
+    private ChildCollector(String path, Collection<String> children, Watcher watcher,
+        Callback<Map<String,T>> callback)
     {
-      _count = count;
+      _path = path;
+      _children = children.iterator();
+      _watcher = watcher;
+      _count = children.size();
       _properties = new HashMap<String,T>(_count);
       _callback = callback;
     }
 
+    private void start()
+    {
+      int initialReads = _zookeeperMaxOutstandingReads > 0 ? Math.min(_zookeeperMaxOutstandingReads, _count) : _count;
+      for (int i = 0; i < initialReads; i++)
+      {
+        readNext();
+      }
+    }
+
+    private void readNext()
+    {
+      if (!_done && _children.hasNext())
+      {
+        _zk.getData(_path + "/" + _children.next(), _watcher, this, null);
+      }
+    }
+
     @Override
     public void processResult(int rc, String s, Object o, byte[] bytes, Stat stat)
     {
+      if (_done)
+      {
+        return;
+      }
       _count--;
       KeeperException.Code result = KeeperException.Code.get(rc);
       switch (result)
@@ -835,33 +918,40 @@ public class ZooKeeperEphemeralStore<T> extends ZooKeeperStore<T>
             String childPath = s.substring(s.lastIndexOf('/') + 1);
             T value = _serializer.fromBytes(bytes);
             _properties.put(childPath, value);
-            if (_count == 0)
-            {
-              _callback.onSuccess(_properties);
-            }
+            complete();
           }
           catch (PropertySerializationException e)
           {
-            _count = 0;
+            _done = true;
             _callback.onError(e);
           }
           break;
 
         case NONODE:
-          if (_count == 0)
-          {
-            _callback.onSuccess(_properties);
-          }
           _log.debug("{} doesn't exist, count={}", s, _count);
+          complete();
           break;
 
         default:
-          // Set count = 0 so we don't invoke the callback again
-          _count = 0;
+          // Stop reading so we don't invoke the callback again
+          _done = true;
           _callback.onError(KeeperException.create(KeeperException.Code.get(rc)));
           break;
       }
     }
+
+    private void complete()
+    {
+      if (_count == 0)
+      {
+        _done = true;
+        _callback.onSuccess(_properties);
+      }
+      else
+      {
+        readNext();
+      }
+    }
   }
 
 }
@@ -47,6 +47,7 @@ public class ZooKeeperEphemeralStoreBuilder<T> implements ZooKeeperStoreBuilder<
   private String _fsD2DirPathForBackup = null;
   private ScheduledExecutorService executorService;
   private int zookeeperReadWindowMs = ZooKeeperStore.DEFAULT_READ_WINDOW_MS;
+  private int zookeeperMaxOutstandingReads = ZooKeeperEphemeralStore.DEFAULT_MAX_OUTSTANDING_READS;
   private List<Consumer<ZooKeeperEphemeralStore<T>>> _onBuildListeners = new ArrayList<>();
 
   @Override
@@ -106,6 +107,15 @@ public class ZooKeeperEphemeralStoreBuilder<T> implements ZooKeeperStoreBuilder<
     return this;
   }
 
+  /**
+   * Set a non-positive value to leave the number of concurrent children data reads unbounded
+   */
+  public ZooKeeperEphemeralStoreBuilder<T> setZookeeperMaxOutstandingReads(int zookeeperMaxOutstandingReads)
+  {
+    this.zookeeperMaxOutstandingReads = zookeeperMaxOutstandingReads;
+    return this;
+  }
+
   @Override
   public ZooKeeperEphemeralStoreBuilder<T> addOnBuildListener(Consumer<ZooKeeperEphemeralStore<T>> onBuildListener)
   {
@@ -123,7 +133,8 @@ public class ZooKeeperEphemeralStoreBuilder<T> implements ZooKeeperStoreBuilder<
 
     ZooKeeperEphemeralStore<T> zooKeeperEphemeralStore =
       new ZooKeeperEphemeralStore<>(_client, _serializer, _merger, _path, _watchChildNodes, _useNewWatcher,
-                                    backupStoreFilePath, executorService, zookeeperReadWindowMs);
+                                    backupStoreFilePath, executorService, zookeeperReadWindowMs,
+                                    zookeeperMaxOutstandingReads);
 
     for (Consumer<ZooKeeperEphemeralStore<T>> onBuildListener : _onBuildListeners)
     {
@@ -89,6 +89,18 @@ public class SimpleLoadBalancerStateJmx implements SimpleLoadBalancerStateJmxMBe
     return _state.getUriCount();
   }
 
+  @Override
+  public long getUriEventLatestQueueTimeMs()
+  {
+    return _state.getUriEventLatestQueueTimeMs();
+  }
+
+  @Override
+  public double getUriEventAverageQueueTimeMs()
+  {
+    return _state.getUriEventAverageQueueTimeMs();
+  }
+
   @Override
   public void setVersion(long version)
   {
@@ -57,6 +57,10 @@ public interface SimpleLoadBalancerStateJmxMBean
 
   void listenToCluster(final String clusterName);
 
+  long getUriEventLatestQueueTimeMs();
+
+  double getUriEventAverageQueueTimeMs();
+
   long getDelayedExecution();
 
   void setDelayedExecution(long milliseconds);
@@ -18,6 +18,7 @@ package com.linkedin.d2.balancer.clients;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.FutureCallback;
 import com.linkedin.common.util.None;
 import com.linkedin.d2.BackupRequestsConfiguration;
 import com.linkedin.d2.BoundedCostBackupRequests;
@@ -50,6 +51,16 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestRequestBuilder;
 import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.StreamResponseBuilder;
+import com.linkedin.r2.message.stream.entitystream.ByteStringWriter;
+import com.linkedin.r2.message.stream.entitystream.DrainReader;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.message.stream.entitystream.FullEntityReader;
+import com.linkedin.r2.message.stream.entitystream.WriteHandle;
+import com.linkedin.r2.message.stream.entitystream.Writer;
 import com.linkedin.r2.transport.common.bridge.client.TransportClient;
 import com.linkedin.r2.transport.common.bridge.common.TransportCallback;
 import com.linkedin.r2.transport.common.bridge.common.TransportResponseImpl;
@@ -71,6 +82,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -173,6 +185,102 @@ public class TestBackupRequestsClient
     assertEquals(new HashSet<>(hostsReceivingRequest).size(), 2);
   }
 
+  /**
+   * The backup request of a request for the keys of a single partition goes to another host of that partition, since
+   * the target partition hint is kept when the target host hint is dropped.
+   */
+  @Test(invocationCount = 3)
+  public void testRequestWithTargetPartitionHint() throws Exception
+  {
+    int responseDelayNano = 100000000;
+    int backupDelayNano = 50000000;
+    URI host1 = URI.create("http://test1.com:123");
+    URI host2 = URI.create("http://test2.com:123");
+    URI host3 = URI.create("http://test3.com:123");
+    // host1 serves both partitions, host2 only partition 0 and host3 only partition 1
+    Map<URI, Map<Integer, PartitionData>> partitionDescriptions = new HashMap<>();
+    Map<Integer, PartitionData> host1Partitions = new HashMap<>();
+    host1Partitions.put(0, new PartitionData(1));
+    host1Partitions.put(1, new PartitionData(1));
+    partitionDescriptions.put(host1, host1Partitions);
+    partitionDescriptions.put(host2, Collections.singletonMap(0, new PartitionData(1)));
+    partitionDescriptions.put(host3, Collections.singletonMap(1, new PartitionData(1)));
+    Deque<URI> hostsReceivingRequest = new ConcurrentLinkedDeque<>();
+    BackupRequestsClient client = createAlwaysBackupClientWithHosts(partitionDescriptions, hostsReceivingRequest,
+        new ConcurrentLinkedDeque<>(), new AtomicInteger(), responseDelayNano, backupDelayNano,
+        BackupRequestsClient.DEFAULT_MAX_BUFFERED_STREAM_ENTITY_SIZE);
+
+    RestRequest restRequest = new RestRequestBuilder(URI.create("d2://testService")).setEntity(CONTENT).build();
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(R2Constants.OPERATION, "get");
+    KeyMapper.TargetHostHints.setRequestContextTargetHost(context, host1);
+    KeyMapper.TargetHostHints.setRequestContextOtherHostAcceptable(context, true);
+    KeyMapper.TargetHostHints.setRequestContextTargetPartition(context, 1);
+    Future<RestResponse> response = client.restRequest(restRequest, context);
+    assertEquals(response.get().getStatus(), 200);
+
+    // Without the partition hint, the backup would be routed by the request URI, which maps to partition 0.
+    assertEquals(hostsReceivingRequest.toArray(), new URI[]{host1, host3});
+  }
+
+  /**
+   * The entity of a stream request is replayed in the backup request, and the entity of the response that
+   * completes last is canceled.
+   */
+  @Test
+  public void testStreamRequestWithBackup() throws Exception
+  {
+    int responseDelayNano = 100000000;
+    int backupDelayNano = 50000000;
+    Deque<URI> hostsReceivingRequest = new ConcurrentLinkedDeque<>();
+    Deque<ByteString> entitiesReceived = new ConcurrentLinkedDeque<>();
+    AtomicInteger canceledResponses = new AtomicInteger();
+    BackupRequestsClient client = createAlwaysBackupClientWithHosts(
+        Arrays.asList("http://test1.com:123", "http://test2.com:123"), hostsReceivingRequest, entitiesReceived,
+        canceledResponses, responseDelayNano, backupDelayNano, BackupRequestsClient.DEFAULT_MAX_BUFFERED_STREAM_ENTITY_SIZE);
+
+    StreamRequest streamRequest = new StreamRequestBuilder(URI.create("d2://testService"))
+        .build(EntityStreams.newEntityStream(new ByteStringWriter(CONTENT)));
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(R2Constants.OPERATION, "get");
+    FutureCallback<StreamResponse> callback = new FutureCallback<>();
+    client.streamRequest(streamRequest, context, callback);
+    StreamResponse response = callback.get();
+    assertEquals(response.getStatus(), 200);
+    response.getEntityStream().setReader(new DrainReader());
+
+    // wait for the backup request to complete
+    long deadline = System.currentTimeMillis() + 5000;
+    while (canceledResponses.get() == 0 && System.currentTimeMillis() < deadline)
+    {
+      Thread.sleep(10);
+    }
+    assertEquals(new HashSet<>(hostsReceivingRequest).size(), 2);
+    assertEquals(entitiesReceived.size(), 2);
+    entitiesReceived.forEach(entity -> assertEquals(entity, CONTENT));
+    assertEquals(canceledResponses.get(), 1);
+  }
+
+  @Test
+  public void testStreamRequestEntityTooLargeForBackup() throws Exception
+  {
+    int responseDelayNano = 100000000;
+    int backupDelayNano = 50000000;
+    Deque<URI> hostsReceivingRequest = new ConcurrentLinkedDeque<>();
+    BackupRequestsClient client = createAlwaysBackupClientWithHosts(
+        Arrays.asList("http://test1.com:123", "http://test2.com:123"), hostsReceivingRequest,
+        new ConcurrentLinkedDeque<>(), new AtomicInteger(), responseDelayNano, backupDelayNano, CONTENT.length() - 1);
+
+    StreamRequest streamRequest = new StreamRequestBuilder(URI.create("d2://testService"))
+        .build(EntityStreams.newEntityStream(new ByteStringWriter(CONTENT)));
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(R2Constants.OPERATION, "get");
+    FutureCallback<StreamResponse> callback = new FutureCallback<>();
+    client.streamRequest(streamRequest, context, callback);
+    assertEquals(callback.get().getStatus(), 200);
+    assertEquals(hostsReceivingRequest.size(), 1);
+  }
+
   // @Test - Disabled due to flakiness. See SI-3077 to track and resolve this.
   public void testBackupRequestsRun() throws Exception
   {
@@ -565,10 +673,27 @@ public class TestBackupRequestsClient
 
   private BackupRequestsClient createAlwaysBackupClientWithHosts(List<String> uris, Deque<URI> hostsReceivingRequestList, int responseDelayNano, int backupDelayNano)
       throws IOException
+  {
+    return createAlwaysBackupClientWithHosts(uris, hostsReceivingRequestList, new ConcurrentLinkedDeque<>(),
+        new AtomicInteger(), responseDelayNano, backupDelayNano, BackupRequestsClient.DEFAULT_MAX_BUFFERED_STREAM_ENTITY_SIZE);
+  }
+
+  private BackupRequestsClient createAlwaysBackupClientWithHosts(List<String> uris, Deque<URI> hostsReceivingRequestList,
+      Deque<ByteString> entitiesReceived, AtomicInteger canceledResponses, int responseDelayNano, int backupDelayNano,
+      int maxBufferedStreamEntitySize)
+      throws IOException
   {
     Map<URI,Map<Integer, PartitionData>> partitionDescriptions = new HashMap<URI, Map<Integer, PartitionData>>();
     uris.forEach(uri -> partitionDescriptions.put(URI.create(uri), Collections.singletonMap(0, new PartitionData(1))));
+    return createAlwaysBackupClientWithHosts(partitionDescriptions, hostsReceivingRequestList, entitiesReceived,
+        canceledResponses, responseDelayNano, backupDelayNano, maxBufferedStreamEntitySize);
+  }
 
+  private BackupRequestsClient createAlwaysBackupClientWithHosts(Map<URI,Map<Integer, PartitionData>> partitionDescriptions,
+      Deque<URI> hostsReceivingRequestList, Deque<ByteString> entitiesReceived, AtomicInteger canceledResponses,
+      int responseDelayNano, int backupDelayNano, int maxBufferedStreamEntitySize)
+      throws IOException
+  {
     StaticLoadBalancerState LbState = new StaticLoadBalancerState()
     {
       @Override
@@ -588,6 +713,54 @@ public class TestBackupRequestsClient
                 () -> callback.onResponse(TransportResponseImpl.success(new RestResponseBuilder().build())), responseDelayNano,
                 TimeUnit.NANOSECONDS);
           }
+
+          @Override
+          public void streamRequest(StreamRequest request,
+              RequestContext requestContext,
+              Map<String, String> wireAttrs,
+              TransportCallback<StreamResponse> callback)
+          {
+            hostsReceivingRequestList.add(uri);
+            request.getEntityStream().setReader(new FullEntityReader(new Callback<ByteString>()
+            {
+              @Override
+              public void onError(Throwable e)
+              {
+                callback.onResponse(TransportResponseImpl.error(e));
+              }
+
+              @Override
+              public void onSuccess(ByteString result)
+              {
+                entitiesReceived.add(result);
+                // respond with an entity that records whether it was canceled instead of read
+                StreamResponse response = new StreamResponseBuilder().build(EntityStreams.newEntityStream(new Writer()
+                {
+                  private WriteHandle _wh;
+
+                  @Override
+                  public void onInit(WriteHandle wh)
+                  {
+                    _wh = wh;
+                  }
+
+                  @Override
+                  public void onWritePossible()
+                  {
+                    _wh.done();
+                  }
+
+                  @Override
+                  public void onAbort(Throwable e)
+                  {
+                    canceledResponses.incrementAndGet();
+                  }
+                }));
+                _executor.schedule(() -> callback.onResponse(TransportResponseImpl.success(response)), responseDelayNano,
+                    TimeUnit.NANOSECONDS);
+              }
+            }));
+          }
         };
       }
     };
@@ -597,7 +770,8 @@ public class TestBackupRequestsClient
     LoadBalancer loadBalancer = new SimpleLoadBalancer(LbState, _executor);
     DynamicClient dynamicClient = new DynamicClient(loadBalancer, null);
 
-    return new BackupRequestsClient(dynamicClient, loadBalancer, _executor, null, 10, TimeUnit.SECONDS) {
+    return new BackupRequestsClient(dynamicClient, loadBalancer, _executor, null, 10, TimeUnit.SECONDS,
+        maxBufferedStreamEntitySize) {
       @Override
       Optional<TrackingBackupRequestsStrategy> getStrategy(final String serviceName, final String operation)
       {
@@ -87,6 +87,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -531,6 +532,55 @@ public class SimpleLoadBalancerStateTest
     assertEquals(client.getUri(), uri);
   }
 
+  @Test(groups = { "small", "back-end" })
+  public void testIncrementalUriUpdates()
+  {
+    reset();
+
+    URI uri1 = URI.create("http://cluster-1/test1");
+    URI uri2 = URI.create("http://cluster-1/test2");
+    URI uri3 = URI.create("http://cluster-1/test3");
+    Map<Integer, PartitionData> partitionData = Collections.singletonMap(DefaultPartitionAccessor.DEFAULT_PARTITION_ID,
+        new PartitionData(1d));
+    Map<URI, Map<Integer, PartitionData>> uriData = new HashMap<>();
+    uriData.put(uri1, partitionData);
+    uriData.put(uri2, partitionData);
+
+    _state.listenToCluster("cluster-1", new NullStateListenerCallback());
+    _state.listenToService("service-1", new NullStateListenerCallback());
+    _serviceRegistry.put("service-1", new ServiceProperties("service-1", "cluster-1",
+        "/test", Arrays.asList("random"), Collections.emptyMap(),
+        null, null, Collections.singletonList("http"), null));
+    _uriRegistry.put("cluster-1", new UriProperties("cluster-1", uriData));
+
+    TrackerClient client1 = _state.getClient("service-1", uri1);
+    TrackerClient client2 = _state.getClient("service-1", uri2);
+    assertNotNull(client1);
+    assertNotNull(client2);
+
+    // change the weight of uri2 and add uri3
+    uriData = new HashMap<>(uriData);
+    uriData.put(uri2, Collections.singletonMap(DefaultPartitionAccessor.DEFAULT_PARTITION_ID, new PartitionData(0.5d)));
+    uriData.put(uri3, partitionData);
+    _uriRegistry.put("cluster-1", new UriProperties("cluster-1", uriData));
+
+    // untouched hosts keep their tracker client, changed ones get a new one
+    assertSame(_state.getClient("service-1", uri1), client1);
+    assertNotSame(_state.getClient("service-1", uri2), client2);
+    assertEquals(_state.getClient("service-1", uri2).getPartitionWeight(DefaultPartitionAccessor.DEFAULT_PARTITION_ID).doubleValue(), 0.5d);
+    assertNotNull(_state.getClient("service-1", uri3));
+
+    // change only the uri specific properties of uri1, and remove uri3
+    uriData.remove(uri3);
+    Map<URI, Map<String, Object>> uriSpecificProperties = Collections.singletonMap(uri1,
+        Collections.<String, Object>singletonMap(PropertyKeys.DO_NOT_SLOW_START, true));
+    _uriRegistry.put("cluster-1", new UriProperties("cluster-1", uriData, uriSpecificProperties));
+
+    assertNotSame(_state.getClient("service-1", uri1), client1);
+    assertNull(_state.getClient("service-1", uri3));
+    assertEquals(_state.getTrackerClientCount("cluster-1"), 2);
+  }
+
   @Test(groups = { "small", "back-end" })
   public void testGetClientWithoutScheme() throws URISyntaxException
   {
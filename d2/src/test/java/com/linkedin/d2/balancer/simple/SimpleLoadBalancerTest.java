@@ -1174,6 +1174,88 @@ public class SimpleLoadBalancerTest
   }
 
 
+  @Test(groups = { "small", "back-end" })
+  public void testLoadBalancerWithTargetPartitionHint() throws URISyntaxException,
+      ServiceUnavailableException,
+      InterruptedException, ExecutionException
+  {
+    Map<String, LoadBalancerStrategyFactory<? extends LoadBalancerStrategy>> loadBalancerStrategyFactories =
+        new HashMap<String, LoadBalancerStrategyFactory<? extends LoadBalancerStrategy>>();
+    Map<String, TransportClientFactory> clientFactories = new HashMap<String, TransportClientFactory>();
+    List<String> prioritizedSchemes = Collections.singletonList(PropertyKeys.HTTP_SCHEME);
+
+    MockStore<ServiceProperties> serviceRegistry = new MockStore<ServiceProperties>();
+    MockStore<ClusterProperties> clusterRegistry = new MockStore<ClusterProperties>();
+    MockStore<UriProperties> uriRegistry = new MockStore<UriProperties>();
+
+    ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+    loadBalancerStrategyFactories.put("degrader", new DegraderLoadBalancerStrategyFactoryV3());
+    clientFactories.put(PropertyKeys.HTTP_SCHEME, new DoNothingClientFactory());
+
+    SimpleLoadBalancerState state = new SimpleLoadBalancerState(executorService, uriRegistry, clusterRegistry,
+        serviceRegistry, clientFactories, loadBalancerStrategyFactories);
+    SimpleLoadBalancer loadBalancer = new SimpleLoadBalancer(state, 5, TimeUnit.SECONDS, executorService);
+
+    FutureCallback<None> balancerCallback = new FutureCallback<None>();
+    loadBalancer.start(balancerCallback);
+    balancerCallback.get();
+
+    // uri1 serves both partitions, uri2 only partition 0 and uri3 only partition 1
+    URI uri1 = URI.create("http://test.qa1.com:1234");
+    URI uri2 = URI.create("http://test.qa2.com:2345");
+    URI uri3 = URI.create("http://test.qa3.com:6789");
+    Map<URI, Map<Integer, PartitionData>> partitionDesc = new HashMap<URI, Map<Integer, PartitionData>>();
+    Map<Integer, PartitionData> server1 = new HashMap<Integer, PartitionData>();
+    server1.put(0, new PartitionData(1d));
+    server1.put(1, new PartitionData(1d));
+    partitionDesc.put(uri1, server1);
+    partitionDesc.put(uri2, Collections.singletonMap(0, new PartitionData(1d)));
+    partitionDesc.put(uri3, Collections.singletonMap(1, new PartitionData(1d)));
+
+    clusterRegistry.put("cluster-1", new ClusterProperties("cluster-1", null, new HashMap<String, String>(),
+        new HashSet<URI>(), new RangeBasedPartitionProperties("id=(\\d+)", 0, 50, 2)));
+    serviceRegistry.put("foo", new ServiceProperties("foo", "cluster-1", "/foo", Arrays.asList("degrader"),
+        Collections.<String, Object>emptyMap(), null, null, prioritizedSchemes, null));
+    uriRegistry.put("cluster-1", new UriProperties("cluster-1", partitionDesc));
+
+    // A batch URI doesn't map to a partition, so the request is routed to a host of the hinted partition instead.
+    URIRequest batchRequest = new URIRequest("d2://foo/?ids=1&ids=2");
+    try
+    {
+      loadBalancer.getClient(batchRequest, new RequestContext());
+      fail("should have failed to find the partition of a batch URI without a target partition hint");
+    }
+    catch (ServiceUnavailableException e)
+    {
+    }
+
+    Set<URI> partition0Uris = new HashSet<URI>(Arrays.asList(URI.create(uri1 + "/foo"), URI.create(uri2 + "/foo")));
+    Set<URI> partition1Uris = new HashSet<URI>(Arrays.asList(URI.create(uri1 + "/foo"), URI.create(uri3 + "/foo")));
+    Set<URI> chosenPartition0Uris = new HashSet<URI>();
+    Set<URI> chosenPartition1Uris = new HashSet<URI>();
+    for (int i = 0; i < 100; ++i)
+    {
+      RequestContext partition0Context = new RequestContext();
+      KeyMapper.TargetHostHints.setRequestContextTargetPartition(partition0Context, 0);
+      chosenPartition0Uris.add(((RewriteLoadBalancerClient) loadBalancer.getClient(batchRequest, partition0Context)).getUri());
+
+      RequestContext partition1Context = new RequestContext();
+      KeyMapper.TargetHostHints.setRequestContextTargetPartition(partition1Context, 1);
+      chosenPartition1Uris.add(((RewriteLoadBalancerClient) loadBalancer.getClient(batchRequest, partition1Context)).getUri());
+    }
+    assertTrue(partition0Uris.containsAll(chosenPartition0Uris), chosenPartition0Uris.toString());
+    assertTrue(partition1Uris.containsAll(chosenPartition1Uris), chosenPartition1Uris.toString());
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    PropertyEventShutdownCallback callback = latch::countDown;
+    state.shutdown(callback);
+    if (!latch.await(60, TimeUnit.SECONDS))
+    {
+      fail("unable to shutdown state");
+    }
+    executorService.shutdownNow();
+  }
+
   @Test(groups = { "small", "back-end" })
   public void testLoadBalancerWithWait() throws URISyntaxException,
       ServiceUnavailableException,
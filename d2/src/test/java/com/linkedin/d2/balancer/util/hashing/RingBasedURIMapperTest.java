@@ -236,6 +236,11 @@ public class RingBasedURIMapperTest
     Assert.assertTrue(unmappedKeys.isEmpty());
     Assert.assertEquals(1, mapping.size());
     Assert.assertEquals(1000, mapping.values().iterator().next().size());
+
+    // keys are still grouped by the partition they belong to
+    Map<Integer, Set<Integer>> keysByPartition = results.getMappedKeysByPartition().get(host);
+    Assert.assertEquals(partitionCount, keysByPartition.size());
+    keysByPartition.values().forEach(keys -> Assert.assertEquals(requestPerPartition, keys.size()));
   }
 
   @Test
@@ -28,16 +28,21 @@ import com.linkedin.test.util.AssertionMethods;
 import com.linkedin.test.util.ClockedExecutor;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
@@ -349,6 +354,194 @@ public class ZooKeeperEphemeralStoreChildrenDelayedWatcherTest
     client.shutdown();
   }
 
+  @Test
+  public void testChildNodeAddedAndRemovedWithinReadWindow()
+    throws Exception
+  {
+    final int zookeeperReadWindowMs = 1000;
+    ZKConnection client = getZookeeperConnection();
+    client.start();
+
+    // counts the delayed reads scheduled by the watcher, the event bus only uses execute()
+    final AtomicInteger scheduledReads = new AtomicInteger();
+    final ClockedExecutor executor = new ClockedExecutor()
+    {
+      @Override
+      public ScheduledFuture<Void> schedule(Runnable cmd, long delay, TimeUnit unit)
+      {
+        scheduledReads.incrementAndGet();
+        return super.schedule(cmd, delay, unit);
+      }
+    };
+    final ZooKeeperEphemeralStore<Set<String>> publisher =
+        getEphemeralStorePublisher(zookeeperReadWindowMs, client, executor);
+    addNodeInZookeeper("/bucket/child-0", "0");
+
+    final CountDownLatch initLatch = new CountDownLatch(1);
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    final List<Set<String>> published = new CopyOnWriteArrayList<>();
+
+    final PropertyEventSubscriber<Set<String>> subscriber = new PropertyEventSubscriber<Set<String>>()
+    {
+      @Override
+      public void onInitialize(String propertyName, Set<String> propertyValue)
+      {
+        initLatch.countDown();
+      }
+
+      @Override
+      public void onAdd(String propertyName, Set<String> propertyValue)
+      {
+        published.add(new HashSet<>(propertyValue));
+      }
+
+      @Override
+      public void onRemove(String propertyName)
+      {
+      }
+    };
+
+    publisher.start(new Callback<None>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+      }
+
+      @Override
+      public void onSuccess(None result)
+      {
+        _eventBus = new PropertyEventBusImpl<>(executor, publisher);
+        _eventBus.register(Collections.singleton("bucket"), subscriber);
+        startLatch.countDown();
+      }
+    });
+
+    if (!startLatch.await(5, TimeUnit.SECONDS))
+    {
+      Assert.fail("unable to start ZookeeperChildrenDataPublisher");
+    }
+
+    AssertionMethods.assertWithTimeout(5000, () -> {
+      executor.runFor(0);
+      Assert.assertEquals(initLatch.getCount(), 0, "unable to publish initial property value");
+    });
+
+    // a child that is gone by the time the delayed read happens leaves the membership unchanged
+    addNodeInZookeeper("/bucket/child-1", "1");
+    AssertionMethods.assertWithTimeout(5000, () -> Assert.assertEquals(scheduledReads.get(), 1));
+    FutureCallback<None> callback = new FutureCallback<>();
+    _zkClient.removeNodeUnsafe("/bucket/child-1", callback);
+    callback.get();
+    executor.runFor(zookeeperReadWindowMs);
+
+    // the next change is only watched for once the delayed read has completed, so it is published after it
+    addNodeInZookeeper("/bucket/child-2", "2");
+    AssertionMethods.assertWithTimeout(5000, () -> Assert.assertEquals(scheduledReads.get(), 2));
+    AssertionMethods.assertWithTimeout(5000, () -> {
+      executor.runFor(zookeeperReadWindowMs);
+      Assert.assertFalse(published.isEmpty(), "didn't get notified for the new node");
+    });
+
+    Assert.assertEquals(published, Collections.singletonList(new HashSet<>(Arrays.asList("0", "2"))));
+    _eventBus.unregister(Collections.singleton("bucket"), subscriber);
+    client.shutdown();
+    executor.shutdown();
+  }
+
+  @Test
+  public void testNodeRecreatedEmptyWithinReadWindow()
+    throws Exception
+  {
+    final int zookeeperReadWindowMs = 1000;
+    ZKConnection client = getZookeeperConnection();
+    client.start();
+
+    final AtomicInteger scheduledReads = new AtomicInteger();
+    final ClockedExecutor executor = new ClockedExecutor()
+    {
+      @Override
+      public ScheduledFuture<Void> schedule(Runnable cmd, long delay, TimeUnit unit)
+      {
+        scheduledReads.incrementAndGet();
+        return super.schedule(cmd, delay, unit);
+      }
+    };
+    final ZooKeeperEphemeralStore<Set<String>> publisher =
+        getEphemeralStorePublisher(zookeeperReadWindowMs, client, executor);
+    addNodeInZookeeper("/bucket/child-0", "0");
+
+    final CountDownLatch initLatch = new CountDownLatch(1);
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    final List<Set<String>> published = new CopyOnWriteArrayList<>();
+
+    final PropertyEventSubscriber<Set<String>> subscriber = new PropertyEventSubscriber<Set<String>>()
+    {
+      @Override
+      public void onInitialize(String propertyName, Set<String> propertyValue)
+      {
+        initLatch.countDown();
+      }
+
+      @Override
+      public void onAdd(String propertyName, Set<String> propertyValue)
+      {
+        published.add(propertyValue);
+      }
+
+      @Override
+      public void onRemove(String propertyName)
+      {
+      }
+    };
+
+    publisher.start(new Callback<None>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+      }
+
+      @Override
+      public void onSuccess(None result)
+      {
+        _eventBus = new PropertyEventBusImpl<>(executor, publisher);
+        _eventBus.register(Collections.singleton("bucket"), subscriber);
+        startLatch.countDown();
+      }
+    });
+
+    if (!startLatch.await(5, TimeUnit.SECONDS))
+    {
+      Assert.fail("unable to start ZookeeperChildrenDataPublisher");
+    }
+
+    AssertionMethods.assertWithTimeout(5000, () -> {
+      executor.runFor(0);
+      Assert.assertEquals(initLatch.getCount(), 0, "unable to publish initial property value");
+    });
+
+    // the node is deleted and recreated without children before the delayed read happens
+    FutureCallback<None> callback = new FutureCallback<>();
+    _zkClient.removeNodeUnsafeRecursive("/bucket", callback);
+    callback.get();
+    AssertionMethods.assertWithTimeout(5000, () -> Assert.assertEquals(scheduledReads.get(), 1));
+    callback = new FutureCallback<>();
+    _zkClient.ensurePersistentNodeExists("/bucket", callback);
+    callback.get(5, TimeUnit.SECONDS);
+
+    AssertionMethods.assertWithTimeout(5000, () -> {
+      executor.runFor(zookeeperReadWindowMs);
+      Assert.assertFalse(published.isEmpty(), "didn't get notified for the recreated node");
+    });
+
+    // the merger turns no children into null, which replaces the stale value subscribers had
+    Assert.assertEquals(published, Collections.singletonList(null));
+    _eventBus.unregister(Collections.singleton("bucket"), subscriber);
+    client.shutdown();
+    executor.shutdown();
+  }
+
   private ZKConnection getZookeeperConnection()
   {
     return new ZKConnection("localhost:" + _port, 5000);
@@ -356,9 +549,16 @@ public class ZooKeeperEphemeralStoreChildrenDelayedWatcherTest
 
   private ZooKeeperEphemeralStore<Set<String>> getEphemeralStorePublisher(int zookeeperReadWindowMs, ZKConnection client)
     throws IOException
+  {
+    return getEphemeralStorePublisher(zookeeperReadWindowMs, client, _clockedExecutor);
+  }
+
+  private ZooKeeperEphemeralStore<Set<String>> getEphemeralStorePublisher(int zookeeperReadWindowMs, ZKConnection client,
+      ClockedExecutor executor)
+    throws IOException
   {
     String tmpDataPath = LoadBalancerUtil.createTempDirectory("EphemeralStoreFileStore").getAbsolutePath();
     return new ZooKeeperEphemeralStore<>(client, new PropertySetStringSerializer(), new PropertySetStringMerger(), "/", false, true, tmpDataPath,
-                                         _clockedExecutor, zookeeperReadWindowMs);
+                                         executor, zookeeperReadWindowMs);
   }
 }
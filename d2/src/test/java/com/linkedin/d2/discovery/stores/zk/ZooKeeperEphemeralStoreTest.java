@@ -24,9 +24,15 @@ import com.linkedin.d2.discovery.stores.PropertyStringMerger;
 import com.linkedin.d2.discovery.stores.PropertyStringSerializer;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.zookeeper.AsyncCallback;
+import org.apache.zookeeper.Watcher;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
@@ -129,6 +135,96 @@ public class ZooKeeperEphemeralStoreTest
     }
   }
 
+  @Test(groups = { "small", "back-end" })
+  public void testGetWithBoundedOutstandingReads()
+          throws InterruptedException, IOException, PropertyStoreException, ExecutionException
+  {
+    final AtomicReference<OutstandingReadsZooKeeper> zooKeeper = new AtomicReference<>();
+    ZKConnection client = new ZKConnection("localhost:" + _port, 5000, 0, false, null, 0, false, false, zk -> {
+      zooKeeper.set(new OutstandingReadsZooKeeper(zk));
+      return zooKeeper.get();
+    });
+    client.start();
+
+    ZooKeeperEphemeralStore<String> store = new ZooKeeperEphemeralStore<String>(
+            client,
+            new PropertyStringSerializer(),
+            new PropertyStringMerger(),
+            "/test-path-bounded",
+            false,
+            true,
+            null,
+            null,
+            ZooKeeperStore.DEFAULT_READ_WINDOW_MS,
+            2);
+    FutureCallback<None> startCallback = new FutureCallback<None>();
+    store.start(startCallback);
+    startCallback.get();
+
+    for (int i = 0; i < 5; i++)
+    {
+      store.put("service-1", String.valueOf(i));
+    }
+
+    String merged = store.get("service-1");
+    assertEquals(new HashSet<>(Arrays.asList(merged.split(","))), new HashSet<>(Arrays.asList("0", "1", "2", "3", "4")));
+    assertEquals(zooKeeper.get()._reads.get(), 5);
+    assertTrue(zooKeeper.get()._maxOutstandingReads.get() <= 2,
+        "max outstanding reads: " + zooKeeper.get()._maxOutstandingReads.get());
+
+    store.removePartial("service-1", "3");
+    assertEquals(new HashSet<>(Arrays.asList(store.get("service-1").split(","))),
+        new HashSet<>(Arrays.asList("0", "1", "2", "4")));
+
+    final FutureCallback<None> callback = new FutureCallback<>();
+    store.shutdown(callback);
+    try
+    {
+      callback.get(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException | ExecutionException | TimeoutException e)
+    {
+      fail("unable to shut down store");
+    }
+  }
+
+  /**
+   * Records how many asynchronous getData calls are issued and how many of them are in flight at most.
+   */
+  private static class OutstandingReadsZooKeeper extends AbstractZooKeeper
+  {
+    private final AtomicInteger _reads = new AtomicInteger();
+    private final AtomicInteger _outstandingReads = new AtomicInteger();
+    private final AtomicInteger _maxOutstandingReads = new AtomicInteger();
+
+    private OutstandingReadsZooKeeper(ZooKeeper zk)
+    {
+      super(zk);
+    }
+
+    @Override
+    public void getData(String path, boolean watch, AsyncCallback.DataCallback cb, Object ctx)
+    {
+      _zk.getData(path, watch, track(cb), ctx);
+    }
+
+    @Override
+    public void getData(String path, Watcher watcher, AsyncCallback.DataCallback cb, Object ctx)
+    {
+      _zk.getData(path, watcher, track(cb), ctx);
+    }
+
+    private AsyncCallback.DataCallback track(AsyncCallback.DataCallback cb)
+    {
+      _reads.incrementAndGet();
+      _maxOutstandingReads.accumulateAndGet(_outstandingReads.incrementAndGet(), Math::max);
+      return (rc, path, ctx, data, stat) -> {
+        _outstandingReads.decrementAndGet();
+        cb.processResult(rc, path, ctx, data, stat);
+      };
+    }
+  }
+
   @Test(groups = { "small", "back-end" })
   public void testShutdown()
           throws InterruptedException, IOException, PropertyStoreException, ExecutionException
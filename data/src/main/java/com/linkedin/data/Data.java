@@ -244,6 +244,18 @@ public class Data
     {
     }
 
+    /**
+     * Invoked when a {@link DataMap} that has not been decoded from its {@link LazyDataMapSource} yet is traversed,
+     * which gives the callback a chance to use the serialized map as it is instead of decoding it.
+     *
+     * @param source provides the serialized map.
+     * @return true if the callback has handled the map, in which case the map is not traversed, false otherwise.
+     */
+    default boolean lazyMap(LazyDataMapSource source) throws IOException
+    {
+      return false;
+    }
+
     /**
      * Invoked when an empty {@link DataMap} is traversed.
      * The {@link #startMap}, {@link #key(String)}, various value,
@@ -342,6 +354,11 @@ public class Data
       case 3:
       {
         DataMap map = (DataMap) obj;
+        LazyDataMapSource lazySource = map.getLazySource();
+        if (lazySource != null && callback.lazyMap(lazySource))
+        {
+          return;
+        }
         if (map.isEmpty())
         {
           callback.emptyMap();
@@ -16,24 +16,110 @@
 
 package com.linkedin.data;
 
-import java.util.HashMap;
 
+/**
+ * Identity table of the complex objects already copied by {@link Data#copy(Object, DataComplexTable)}, mapping
+ * each source object to its copy.
+ *
+ * The table uses open addressing with linear probing over parallel arrays keyed by
+ * {@link DataComplex#dataComplexHashCode()}, so that no key boxing or entry node is allocated per copied object.
+ * Since hash codes assigned on different threads may collide, sources are compared by identity.
+ */
 class DataComplexTable
 {
-  private final HashMap<Integer, DataComplex> _map;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] _hashCodes;
+  private DataComplex[] _sources;
+  private DataComplex[] _copies;
+  private int _size;
 
   DataComplexTable()
   {
-    _map = new HashMap<>();
   }
 
   public DataComplex get(DataComplex index)
   {
-    return _map.get(index.dataComplexHashCode());
+    if (_sources == null)
+    {
+      return null;
+    }
+    int hashCode = index.dataComplexHashCode();
+    int mask = _sources.length - 1;
+    for (int i = mix(hashCode) & mask; _sources[i] != null; i = (i + 1) & mask)
+    {
+      if (_hashCodes[i] == hashCode && _sources[i] == index)
+      {
+        return _copies[i];
+      }
+    }
+    return null;
   }
 
   public void put(DataComplex src, DataComplex clone)
   {
-    _map.put(src.dataComplexHashCode(), clone);
+    if (_sources == null)
+    {
+      allocate(INITIAL_CAPACITY);
+    }
+    else if ((_size + 1) << 1 > _sources.length)
+    {
+      resize();
+    }
+    if (insert(src.dataComplexHashCode(), src, clone))
+    {
+      _size++;
+    }
+  }
+
+  private boolean insert(int hashCode, DataComplex src, DataComplex clone)
+  {
+    int mask = _sources.length - 1;
+    int i = mix(hashCode) & mask;
+    while (_sources[i] != null)
+    {
+      if (_hashCodes[i] == hashCode && _sources[i] == src)
+      {
+        _copies[i] = clone;
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    _hashCodes[i] = hashCode;
+    _sources[i] = src;
+    _copies[i] = clone;
+    return true;
+  }
+
+  private void resize()
+  {
+    int[] hashCodes = _hashCodes;
+    DataComplex[] sources = _sources;
+    DataComplex[] copies = _copies;
+    allocate(sources.length << 1);
+    for (int i = 0; i < sources.length; i++)
+    {
+      if (sources[i] != null)
+      {
+        insert(hashCodes[i], sources[i], copies[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity)
+  {
+    _hashCodes = new int[capacity];
+    _sources = new DataComplex[capacity];
+    _copies = new DataComplex[capacity];
+  }
+
+  /**
+   * Hash codes are assigned from a sequential counter, spread them so that objects created in a burst
+   * don't end up in one long probe sequence.
+   */
+  private static int mix(int hashCode)
+  {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
   }
 }
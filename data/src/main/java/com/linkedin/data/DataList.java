@@ -104,9 +104,27 @@ public final class DataList extends CheckedList<Object> implements DataComplex
   @Override
   public DataList copy() throws CloneNotSupportedException
   {
+    if (containsOnlyPrimitiveValues())
+    {
+      // Nothing below this list needs to be copied or tracked, the (copy-on-write) clone is the deep copy.
+      return clone();
+    }
     return Data.copy(this, new DataComplexTable());
   }
 
+  private boolean containsOnlyPrimitiveValues()
+  {
+    for (int i = 0, count = size(); i < count; ++i)
+    {
+      Object value = get(i);
+      if (value != null && !Data.isPrimitive(value))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Deep copy this object and the complex Data objects referenced by this object.
    *
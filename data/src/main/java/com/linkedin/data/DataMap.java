@@ -19,8 +19,11 @@ package com.linkedin.data;
 import com.linkedin.data.collections.CheckedMap;
 import com.linkedin.data.collections.CommonMap;
 import com.linkedin.data.collections.MapChecker;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -52,6 +55,10 @@ import java.util.Map;
  *
  * Since {@link DataMap} extends {@link CheckedMap}, copying of the {@link DataMap} is lazy and may be
  * delayed until the {@link DataMap} is about to be modified.
+ * <p>
+ *
+ * A {@link DataMap} constructed from a {@link LazyDataMapSource} is not decoded until it is first accessed. Until
+ * then, clones share the same source and encoders of the same format may write the source bytes as they are.
  *
  * @author slim
  */
@@ -111,9 +118,68 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
     super(initialCapacity, loadFactor, _checker);
   }
 
+  /**
+   * Constructs a {@link DataMap} whose entries are decoded from the specified source when the map is first accessed.
+   *
+   * @param source provides the serialized entries of the new {@link DataMap}.
+   */
+  public DataMap(LazyDataMapSource source)
+  {
+    super(_checker);
+    _lazySource = source;
+  }
+
+  /**
+   * Returns the source of this map if it has not been decoded yet.
+   *
+   * @return the {@link LazyDataMapSource} this map has been constructed from, or {@code null} if the map is not
+   *         lazily decoded or has already been decoded.
+   */
+  public LazyDataMapSource getLazySource()
+  {
+    return _lazySource;
+  }
+
+  private void ensureDecoded()
+  {
+    if (_lazySource != null)
+    {
+      decodeLazySource();
+    }
+  }
+
+  private synchronized void decodeLazySource()
+  {
+    LazyDataMapSource source = _lazySource;
+    if (source == null)
+    {
+      return;
+    }
+
+    DataMap decoded;
+    try
+    {
+      decoded = source.decode();
+    }
+    catch (IOException e)
+    {
+      throw new IllegalStateException("Failed to decode lazily decoded DataMap", e);
+    }
+    loadWithoutChecking(decoded);
+    if (_madeReadOnly)
+    {
+      for (Object value : decoded.values())
+      {
+        Data.makeReadOnly(value);
+      }
+    }
+    _lazySource = null;
+  }
+
   @Override
   public DataMap clone() throws CloneNotSupportedException
   {
+    // A map that has not been decoded yet is cloned by sharing its immutable source.
     DataMap o = (DataMap) super.clone();
     o._madeReadOnly = false;
     o._instrumented = false;
@@ -126,6 +192,7 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
   @Override
   public Object get(Object key)
   {
+    ensureDecoded();
     instrumentAccess(key);
     return super.get(key);
   }
@@ -133,16 +200,139 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
   @Override
   public boolean containsKey(Object key)
   {
+    ensureDecoded();
     instrumentAccess(key);
     return super.containsKey(key);
   }
 
+  @Override
+  public boolean containsValue(Object value)
+  {
+    ensureDecoded();
+    return super.containsValue(value);
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet()
+  {
+    ensureDecoded();
+    return super.entrySet();
+  }
+
+  @Override
+  public Set<String> keySet()
+  {
+    ensureDecoded();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<Object> values()
+  {
+    ensureDecoded();
+    return super.values();
+  }
+
+  @Override
+  public int size()
+  {
+    ensureDecoded();
+    return super.size();
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    ensureDecoded();
+    return super.isEmpty();
+  }
+
+  @Override
+  public Object put(String key, Object value)
+  {
+    ensureDecoded();
+    return super.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends Object> m)
+  {
+    ensureDecoded();
+    super.putAll(m);
+  }
+
+  @Override
+  public Object remove(Object key)
+  {
+    ensureDecoded();
+    return super.remove(key);
+  }
+
+  @Override
+  public void clear()
+  {
+    ensureDecoded();
+    super.clear();
+  }
+
+  @Override
+  public boolean equals(Object object)
+  {
+    ensureDecoded();
+    return super.equals(object);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    ensureDecoded();
+    return super.hashCode();
+  }
+
+  @Override
+  public String toString()
+  {
+    ensureDecoded();
+    return super.toString();
+  }
+
+  @Override
+  protected Object putWithoutChecking(String key, Object value)
+  {
+    ensureDecoded();
+    return super.putWithoutChecking(key, value);
+  }
+
+  @Override
+  protected void putAllWithoutChecking(Map<? extends String, ? extends Object> src)
+  {
+    ensureDecoded();
+    super.putAllWithoutChecking(src);
+  }
+
   @Override
   public DataMap copy() throws CloneNotSupportedException
   {
+    if (_lazySource != null || containsOnlyPrimitiveValues())
+    {
+      // Nothing below this map needs to be copied or tracked, the (copy-on-write) clone is the deep copy.
+      return clone();
+    }
     return Data.copy(this, new DataComplexTable());
   }
 
+  private boolean containsOnlyPrimitiveValues()
+  {
+    for (Object value : values())
+    {
+      if (value != null && !Data.isPrimitive(value))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Deep copy this object and the complex Data objects referenced by this object.
    *
@@ -151,6 +341,11 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
    */
   public void copyReferencedObjects(DataComplexTable alreadyCopied) throws CloneNotSupportedException
   {
+    if (_lazySource != null)
+    {
+      // Decoding the source creates new objects, so the copy does not share anything with the original.
+      return;
+    }
     for (Map.Entry<String,?> e : entrySet())
     {
       Object value = e.getValue();
@@ -165,6 +360,19 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
   @Override
   public void makeReadOnly()
   {
+    if (!_madeReadOnly && _lazySource != null)
+    {
+      synchronized (this)
+      {
+        if (_lazySource != null)
+        {
+          // The decoded values are made read-only once the map is decoded.
+          setReadOnly();
+          _madeReadOnly = true;
+          return;
+        }
+      }
+    }
     if (!_madeReadOnly)
     {
       for (Map.Entry<String,?> e : entrySet())
@@ -403,6 +611,7 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
   // Unit test use only
   Map<String, Object> getUnderlying()
   {
+    ensureDecoded();
     return getObject();
   }
 
@@ -428,6 +637,7 @@ public final class DataMap extends CheckedMap<String,Object> implements DataComp
     }
   };
 
+  private volatile LazyDataMapSource _lazySource;
   private boolean _madeReadOnly = false;
   private boolean _instrumented = false;
   private Map<String, Integer> _accessMap;
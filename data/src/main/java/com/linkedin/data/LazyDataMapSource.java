@@ -0,0 +1,48 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data;
+
+import java.io.IOException;
+
+
+/**
+ * Serialized form of a {@link DataMap} whose decoding has been deferred until the map is first accessed.
+ *
+ * Implementations must be immutable, since the same source may be shared by a {@link DataMap} and its clones.
+ *
+ * @see DataMap#DataMap(LazyDataMapSource)
+ */
+public interface LazyDataMapSource
+{
+  /**
+   * @return the serialized map.
+   */
+  ByteString getBytes();
+
+  /**
+   * @return name of the serialization format of {@link #getBytes()}, which lets an encoder of the same format write
+   *         the bytes as they are instead of decoding and re-encoding them.
+   */
+  String getFormat();
+
+  /**
+   * Decodes the map. Maps nested in the decoded map may themselves be lazily decoded.
+   *
+   * @throws IOException if the bytes cannot be decoded.
+   */
+  DataMap decode() throws IOException;
+}
@@ -39,6 +39,7 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 
 /**
@@ -72,6 +73,23 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     return objectToBytes(list);
   }
 
+  @Override
+  public byte[] mapToBytes(DataMap map, SchemaWritePlan plan) throws IOException
+  {
+    FastByteArrayOutputStream out = new FastByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
+    JsonGenerator generator = createJsonGenerator(out);
+    try
+    {
+      plan.traverse(map, createTraverseCallback(generator));
+      generator.flush();
+    }
+    finally
+    {
+      DataCodec.closeQuietly(generator);
+    }
+    return out.toByteArray();
+  }
+
   protected byte[] objectToBytes(Object object) throws IOException
   {
     FastByteArrayOutputStream out = new FastByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
@@ -159,6 +177,24 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     return parse(_factory.createParser(in), DataList.class);
   }
 
+  /**
+   * Parses the chunks of the {@link ByteString} directly, instead of adapting it to an {@link InputStream}.
+   */
+  @Override
+  public DataMap readMap(ByteString in) throws IOException
+  {
+    return parse(ByteStringJsonParser.create(_factory, in), DataMap.class);
+  }
+
+  /**
+   * Parses the chunks of the {@link ByteString} directly, instead of adapting it to an {@link InputStream}.
+   */
+  @Override
+  public DataList readList(ByteString in) throws IOException
+  {
+    return parse(ByteStringJsonParser.create(_factory, in), DataList.class);
+  }
+
   protected <T extends DataComplex> T parse(JsonParser jsonParser, Class<T> expectType) throws IOException
   {
     try
@@ -175,6 +211,38 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     }
   }
 
+  /**
+   * Parses a map from a slice of a byte array, deferring the decoding of nested maps until they are first accessed.
+   * Nested maps keep a reference to the byte array, which must therefore not be modified afterwards.
+   *
+   * @param input provides the byte array.
+   * @param offset offset of the map in the byte array.
+   * @param length length of the map in the byte array.
+   * @return the parsed map, whose nested maps are constructed from a {@link com.linkedin.data.LazyDataMapSource}.
+   * @throws IOException if there is a syntax error in the input.
+   */
+  protected DataMap parseLazily(byte[] input, int offset, int length) throws IOException
+  {
+    JsonParser jsonParser = _factory.createParser(input, offset, length);
+    try
+    {
+      return new Parser(this, input, offset).parse(jsonParser, DataMap.class);
+    }
+    finally
+    {
+      DataCodec.closeQuietly(jsonParser);
+    }
+  }
+
+  /**
+   * @return name of the format of the serialized maps passed to {@link com.linkedin.data.LazyDataMapSource}s created
+   *         by {@link #parseLazily(byte[], int, int)}.
+   */
+  protected String getLazySourceFormat()
+  {
+    return _factory.getFormatName();
+  }
+
   /**
    * Uses the {@link JsonParser} and parses its contents into a list of Data objects.
    *
@@ -243,7 +311,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     Data.traverse(object, callback);
   }
 
-  public static class JacksonTraverseCallback implements Data.TraverseCallback
+  public static class JacksonTraverseCallback implements Data.TraverseCallback, SchemaWritePlan.FieldKeyWriter
   {
     protected final JsonGenerator _generator;
     private final boolean _orderMapEntriesByKey;
@@ -333,6 +401,32 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
       _generator.writeFieldName(key);
     }
 
+    /**
+     * Writes the key of a record field. This callback writes the precomputed name of the field, while subclasses get
+     * {@link #key(String)} invoked so that their overrides apply, unless they write the precomputed name themselves
+     * with {@link #writeSerializedFieldName(SchemaWritePlan.Field)}.
+     */
+    @Override
+    public void fieldKey(SchemaWritePlan.Field field) throws IOException
+    {
+      if (getClass() == JacksonTraverseCallback.class)
+      {
+        writeSerializedFieldName(field);
+      }
+      else
+      {
+        key(field.getName());
+      }
+    }
+
+    /**
+     * Writes the precomputed name of the field, which is equivalent to the {@link #key(String)} of this class.
+     */
+    protected final void writeSerializedFieldName(SchemaWritePlan.Field field) throws IOException
+    {
+      _generator.writeFieldName(field.getSerializedName());
+    }
+
     @Override
     public Iterable<Map.Entry<String, Object>> orderMap(DataMap map)
     {
@@ -395,6 +489,15 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     private Deque<Object> _nameStack = null;
     private Map<Object, DataLocation> _locationMap = null;
 
+    // Entries of the lists and large maps being parsed, so that they can be created with their final size.
+    private final DataComplexBuffer _buffer = new DataComplexBuffer();
+    private final Consumer<String> _duplicateKeyHandler = this::reportDuplicateKey;
+
+    // Set when nested maps are lazily decoded, see parseLazily.
+    private final AbstractJacksonDataCodec _lazyCodec;
+    private final byte[] _lazyInput;
+    private final int _lazyInputOffset;
+
     Parser()
     {
       this(false);
@@ -403,6 +506,17 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
     Parser(boolean debug)
     {
       _debug = debug;
+      _lazyCodec = null;
+      _lazyInput = null;
+      _lazyInputOffset = 0;
+    }
+
+    Parser(AbstractJacksonDataCodec lazyCodec, byte[] lazyInput, int lazyInputOffset)
+    {
+      _debug = false;
+      _lazyCodec = lazyCodec;
+      _lazyInput = lazyInput;
+      _lazyInputOffset = lazyInputOffset;
     }
 
     /**
@@ -530,7 +644,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
       switch (token)
       {
         case START_OBJECT:
-          value = parseDataMap();
+          value = _lazyCodec == null ? parseDataMap() : parseLazyDataMap();
           if (shouldUpdateParent)
           {
             updateParent(parent, name, value);
@@ -562,11 +676,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
         Object replaced = CheckedUtil.putWithoutChecking((DataMap) parent, name, value);
         if (replaced != null)
         {
-          if (_errorBuilder == null)
-          {
-            _errorBuilder = new StringBuilder();
-          }
-          _errorBuilder.append(new Location(_parser.getTokenLocation())).append(": \"").append(name).append("\" defined more than once.\n");
+          reportDuplicateKey(name);
         }
       }
       else
@@ -575,6 +685,15 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
       }
     }
 
+    private void reportDuplicateKey(String name)
+    {
+      if (_errorBuilder == null)
+      {
+        _errorBuilder = new StringBuilder();
+      }
+      _errorBuilder.append(new Location(_parser.getTokenLocation())).append(": \"").append(name).append("\" defined more than once.\n");
+    }
+
     private Object parsePrimitive(JsonToken token) throws IOException
     {
       Object object;
@@ -639,6 +758,19 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
       return parseDataMapRecursive(0);
     }
 
+    /**
+     * Skips over a nested map, which is only tokenized, and returns a map that decodes it on first access.
+     * Byte offsets reported by the parser are relative to the start of its input.
+     */
+    private DataMap parseLazyDataMap() throws IOException
+    {
+      int start = (int) _parser.getTokenLocation().getByteOffset();
+      _parser.skipChildren();
+      int end = (int) _parser.getCurrentLocation().getByteOffset();
+      return new DataMap(
+          new JacksonLazyDataMapSource(_lazyCodec, _lazyInput, _lazyInputOffset + start, end - start));
+    }
+
     /**
      * This parses DataMap's recursively, keeping objects on the stack until the Map gets too large
      * or we are done parsing the map.
@@ -651,7 +783,7 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
         return new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize(dataMapSize));
       // prevent stack from getting too deep
       } else if (dataMapSize >= MAX_DATA_MAP_RECURSION_SIZE) {
-        return parseDataMapIterative();
+        return parseDataMapIterative(dataMapSize);
       }
       String key = _parser.getCurrentName();
       if (_debug)
@@ -675,34 +807,46 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
 
     /**
      * this should only be called from parseDataMapRecursive; it assumes the current token is a Map-Key.
+     * Entries are buffered until the end of the map, so that it is created with its final size.
+     *
+     * @param dataMapSize the number of entries kept on the stack by parseDataMapRecursive, which are added
+     *                    to the map once it is returned
      */
-    private DataMap parseDataMapIterative() throws IOException {
-      DataMap map = new DataMap();
-      addToMap(map);
+    private DataMap parseDataMapIterative(int dataMapSize) throws IOException {
+      int mark = _buffer.mark();
+      bufferMapEntry();
       while (_parser.nextToken() != JsonToken.END_OBJECT)
       {
-        addToMap(map);
+        bufferMapEntry();
       }
-      return map;
+      return _buffer.popMap(mark, dataMapSize, _duplicateKeyHandler);
     }
 
-    private void addToMap(DataMap map) throws IOException {
+    private void bufferMapEntry() throws IOException {
       String key = _parser.getCurrentName();
       if (_debug)
       {
         _nameStack.addLast(key);
       }
       JsonToken token = _parser.nextToken();
-      parse(map, key, token);
+      Object value = parse(token);
+      if (value != null)
+      {
+        _buffer.push(key);
+        _buffer.push(value);
+      }
       if (_debug)
       {
         _nameStack.removeLast();
       }
     }
 
+    /**
+     * Elements are buffered until the end of the list, so that it is created with its final size.
+     */
     private DataList parseDataList() throws IOException
     {
-      DataList list = new DataList();
+      int mark = _buffer.mark();
       JsonToken token;
       int index = 0;
       while ((token = _parser.nextToken()) != JsonToken.END_ARRAY)
@@ -712,13 +856,17 @@ public abstract class AbstractJacksonDataCodec implements DataCodec
           _nameStack.addLast(index);
           index++;
         }
-        parse(list, null, token);
+        Object value = parse(token);
+        if (value != null)
+        {
+          _buffer.push(value);
+        }
         if (_debug)
         {
           _nameStack.removeLast();
         }
       }
-      return list;
+      return _buffer.popList(mark);
     }
 
     private void error(JsonToken token, JsonParser.NumberType type) throws IOException
@@ -0,0 +1,167 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.data.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.linkedin.data.ByteString;
+import java.io.IOException;
+
+
+/**
+ * A blocking {@link JsonParser} over the chunks of a {@link ByteString}.
+ *
+ * <p>A single chunk is parsed in place by a regular parser. Multiple chunks are fed one at a time to a non-blocking
+ * parser whenever it runs out of input, so that neither the chunks are copied into one array nor is the
+ * {@link ByteString} adapted to an {@link java.io.InputStream}.</p>
+ */
+final class ByteStringJsonParser extends JsonParserDelegate
+{
+  private final ByteString _input;
+  private final ByteArrayFeeder _feeder;
+  private int _nextChunkIndex;
+  private boolean _endOfInput;
+
+  private ByteStringJsonParser(JsonParser nonBlockingParser, ByteString input)
+  {
+    super(nonBlockingParser);
+    _input = input;
+    _feeder = (ByteArrayFeeder) nonBlockingParser;
+    _nextChunkIndex = 0;
+    _endOfInput = false;
+  }
+
+  /**
+   * Creates a parser over the given {@link ByteString}.
+   *
+   * @param factory the factory to create the underlying parser from.
+   * @param input the bytes to parse.
+   * @return the parser.
+   * @throws IOException if the parser could not be created.
+   */
+  static JsonParser create(JsonFactory factory, ByteString input) throws IOException
+  {
+    if (input.isEmpty())
+    {
+      return factory.createParser(new byte[0]);
+    }
+
+    SingleChunkFeeder singleChunk = new SingleChunkFeeder();
+    if (input.feed(singleChunk, 0) < 0)
+    {
+      return factory.createParser(singleChunk._array, singleChunk._offset, singleChunk._end - singleChunk._offset);
+    }
+
+    return new ByteStringJsonParser(factory.createNonBlockingByteArrayParser(), input);
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException
+  {
+    JsonToken token = delegate.nextToken();
+    while (token == JsonToken.NOT_AVAILABLE)
+    {
+      if (_endOfInput)
+      {
+        throw new DataDecodingException("Unexpected end of input.");
+      }
+      if (_nextChunkIndex < 0)
+      {
+        _feeder.endOfInput();
+        _endOfInput = true;
+      }
+      else
+      {
+        _nextChunkIndex = _input.feed(_feeder, _nextChunkIndex);
+      }
+      token = delegate.nextToken();
+    }
+    return token;
+  }
+
+  @Override
+  public JsonToken nextValue() throws IOException
+  {
+    JsonToken token = nextToken();
+    return token == JsonToken.FIELD_NAME ? nextToken() : token;
+  }
+
+  /**
+   * Skips through {@link #nextToken()}, since the non-blocking parser would stop at the end of the current chunk.
+   */
+  @Override
+  public JsonParser skipChildren() throws IOException
+  {
+    JsonToken token = currentToken();
+    if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)
+    {
+      return this;
+    }
+
+    int open = 1;
+    while (open > 0)
+    {
+      token = nextToken();
+      if (token == null)
+      {
+        break;
+      }
+      if (token.isStructStart())
+      {
+        open++;
+      }
+      else if (token.isStructEnd())
+      {
+        open--;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Captures the only chunk of a {@link ByteString} without copying it.
+   */
+  private static class SingleChunkFeeder implements ByteArrayFeeder
+  {
+    private byte[] _array;
+    private int _offset;
+    private int _end;
+
+    @Override
+    public void feedInput(byte[] array, int offset, int end)
+    {
+      _array = array;
+      _offset = offset;
+      _end = end;
+    }
+
+    @Override
+    public boolean needMoreInput()
+    {
+      return _array == null;
+    }
+
+    @Override
+    public void endOfInput()
+    {
+    }
+  }
+}
@@ -132,6 +132,20 @@ public interface DataCodec
     return readList(in.asInputStream());
   }
 
+  /**
+   * Serializes a record to a byte array, traversing it with the given {@link SchemaWritePlan} of its schema if this
+   * codec supports write plans. The default implementation ignores the plan.
+   *
+   * @param map the record to serialize
+   * @param plan the write plan compiled from the schema of the record
+   * @return the output serialized from the given record
+   * @throws IOException if there is a serialization error
+   */
+  default byte[] mapToBytes(DataMap map, SchemaWritePlan plan) throws IOException
+  {
+    return mapToBytes(map);
+  }
+
   /**
    * Close the given closeable, silently swallowing any {@link IOException} that arises as a result of
    * invoking {@link Closeable#close()}.
@@ -0,0 +1,110 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.data.codec;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.DataMapBuilder;
+import com.linkedin.data.collections.CheckedUtil;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+
+/**
+ * Holds the entries decoded for the containers that are currently open, so that each {@link DataList} and
+ * {@link DataMap} can be created with its final size when it is closed instead of growing while it is decoded.
+ *
+ * <p>Containers are decoded depth first, so the entries of a container always sit on top of the entries of its
+ * enclosing containers. A decoder records {@link #mark()} when a container starts, pushes its entries, and pops them
+ * into a container when it ends. Instances are not thread-safe and are meant to be reused for one decoding.</p>
+ */
+final class DataComplexBuffer
+{
+  private static final int INITIAL_CAPACITY = 32;
+
+  private Object[] _entries = new Object[INITIAL_CAPACITY];
+  private int _size = 0;
+
+  /**
+   * @return the position that the entries of a container starting now will be pushed at.
+   */
+  int mark()
+  {
+    return _size;
+  }
+
+  void push(Object entry)
+  {
+    if (_size == _entries.length)
+    {
+      _entries = Arrays.copyOf(_entries, _size * 2);
+    }
+    _entries[_size++] = entry;
+  }
+
+  /**
+   * Pops the elements pushed since the given mark into a new list.
+   */
+  DataList popList(int mark)
+  {
+    DataList list = new DataList(_size - mark);
+    for (int i = mark; i < _size; i++)
+    {
+      CheckedUtil.addWithoutChecking(list, _entries[i]);
+      _entries[i] = null;
+    }
+    _size = mark;
+    return list;
+  }
+
+  /**
+   * Pops the alternating keys and values pushed since the given mark into a new map. Entries are put in the order
+   * they were pushed, so the last of duplicated keys wins.
+   *
+   * @param mark the mark recorded when the map started.
+   * @param duplicateKeyHandler if not null, called with each key that is defined more than once.
+   * @return the map.
+   */
+  DataMap popMap(int mark, Consumer<String> duplicateKeyHandler)
+  {
+    return popMap(mark, 0, duplicateKeyHandler);
+  }
+
+  /**
+   * Same as {@link #popMap(int, Consumer)}, for a map that is going to get more entries once popped.
+   *
+   * @param extraSize the number of entries the caller is going to add to the map, which it is sized for.
+   */
+  DataMap popMap(int mark, int extraSize, Consumer<String> duplicateKeyHandler)
+  {
+    DataMap map = new DataMap(DataMapBuilder.getOptimumHashMapCapacityFromSize((_size - mark) / 2 + extraSize));
+    for (int i = mark; i < _size; i += 2)
+    {
+      String key = (String) _entries[i];
+      Object replaced = CheckedUtil.putWithoutChecking(map, key, _entries[i + 1]);
+      if (replaced != null && duplicateKeyHandler != null)
+      {
+        duplicateKeyHandler.accept(key);
+      }
+      _entries[i] = null;
+      _entries[i + 1] = null;
+    }
+    _size = mark;
+    return map;
+  }
+}
@@ -16,14 +16,18 @@
 
 package com.linkedin.data.codec;
 
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
+import com.linkedin.data.LazyDataMapSource;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +49,7 @@ public class JacksonDataCodec extends AbstractJacksonDataCodec implements TextDa
   protected boolean _allowComments;
   protected PrettyPrinter _prettyPrinter;
   protected JsonEncoding _jsonEncoding = JsonEncoding.UTF8;
+  protected boolean _lazyDecoding;
 
   public JacksonDataCodec()
   {
@@ -63,6 +68,43 @@ public class JacksonDataCodec extends AbstractJacksonDataCodec implements TextDa
     _allowComments = allowComments;
   }
 
+  /**
+   * Sets whether maps nested in a map decoded from a byte array or {@link ByteString} are lazily decoded.
+   *
+   * When enabled, nested maps are only tokenized when the outer map is decoded, and are decoded when they are first
+   * accessed, see {@link com.linkedin.data.LazyDataMapSource}. Nested maps that have not been accessed are written
+   * as they were received, including any whitespace and comments, when the outer map is encoded by this codec without
+   * ordering map entries by key. Errors such as unsupported numbers are reported in the nested map instead of the
+   * outer map. Maps decoded from streams, readers and strings are always eagerly decoded.
+   */
+  public void setLazyDecoding(boolean lazyDecoding)
+  {
+    _lazyDecoding = lazyDecoding;
+  }
+
+  @Override
+  public DataMap bytesToMap(byte[] input) throws IOException
+  {
+    return _lazyDecoding ? parseLazily(input, 0, input.length) : super.bytesToMap(input);
+  }
+
+  @Override
+  public DataMap readMap(ByteString in) throws IOException
+  {
+    if (_lazyDecoding)
+    {
+      byte[] input = in.copyBytes();
+      return parseLazily(input, 0, input.length);
+    }
+    return super.readMap(in);
+  }
+
+  @Override
+  protected Data.TraverseCallback createTraverseCallback(JsonGenerator generator, boolean traverseMapBySortedKeyOrder)
+  {
+    return new JsonTraverseCallback(generator, traverseMapBySortedKeyOrder, getLazySourceFormat());
+  }
+
   /**
    * Gets an instance of {@link PrettyPrinter}. If the PrettyPrinter is stateless and doesn't implement {@link Instantiatable},
    * the same instance is returned every time. Otherwise, an instance created by {@link Instantiatable#createInstance()}
@@ -184,4 +226,37 @@ public class JacksonDataCodec extends AbstractJacksonDataCodec implements TextDa
   {
     return parse(_factory.createParser(in), mesg, locationMap);
   }
+
+  /**
+   * Writes lazily decoded maps of the same format as they are.
+   */
+  private static class JsonTraverseCallback extends JacksonTraverseCallback
+  {
+    private final boolean _orderMapEntriesByKey;
+    private final String _format;
+
+    JsonTraverseCallback(JsonGenerator generator, boolean orderMapEntriesByKey, String format)
+    {
+      super(generator, orderMapEntriesByKey);
+      _orderMapEntriesByKey = orderMapEntriesByKey;
+      _format = format;
+    }
+
+    @Override
+    public void fieldKey(SchemaWritePlan.Field field) throws IOException
+    {
+      writeSerializedFieldName(field);
+    }
+
+    @Override
+    public boolean lazyMap(LazyDataMapSource source) throws IOException
+    {
+      if (_orderMapEntriesByKey || !_format.equals(source.getFormat()))
+      {
+        return false;
+      }
+      _generator.writeRawValue(source.getBytes().asString(StandardCharsets.UTF_8));
+      return true;
+    }
+  }
 }
@@ -27,7 +27,6 @@ import com.linkedin.data.DataComplex;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.codec.symbol.SymbolTable;
-import com.linkedin.data.collections.CheckedUtil;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +121,8 @@ public class JacksonLICORDataCodec extends AbstractJacksonDataCodec
   {
     private final JsonParser _parser;
     private final SymbolTable _symbolTable;
+    // Entries of the maps and lists being parsed, so that they can be created with their final size.
+    private final DataComplexBuffer _buffer = new DataComplexBuffer();
 
     LICORParser(JsonParser jsonParser, SymbolTable symbolTable)
     {
@@ -145,7 +146,7 @@ public class JacksonLICORDataCodec extends AbstractJacksonDataCodec
           switch (marker)
           {
             case MAP_ORDINAL: {
-              DataMap dataMap = new DataMap();
+              int mark = _buffer.mark();
               while (_parser.nextToken() != JsonToken.END_ARRAY)
               {
                 String key;
@@ -171,23 +172,24 @@ public class JacksonLICORDataCodec extends AbstractJacksonDataCodec
                   throw new DataDecodingException("Found key: " + key + " without corresponding value");
                 }
                 Object value = parse(false);
-                CheckedUtil.putWithoutChecking(dataMap, key, value);
+                _buffer.push(key);
+                _buffer.push(value);
               }
-              return dataMap;
+              return _buffer.popMap(mark, null);
             }
             case LIST_ORDINAL: {
-              DataList dataList = new DataList();
+              int mark = _buffer.mark();
 
               do {
                 JsonToken elementType = _parser.nextToken();
                 if (elementType == JsonToken.END_ARRAY)
                 {
-                  return dataList;
+                  return _buffer.popList(mark);
                 }
                 Object listElement = parse(false);
                 if (listElement != null)
                 {
-                  CheckedUtil.addWithoutChecking(dataList, listElement);
+                  _buffer.push(listElement);
                 }
               } while(true);
             }
@@ -254,6 +256,20 @@ public class JacksonLICORDataCodec extends AbstractJacksonDataCodec
       }
     }
 
+    @Override
+    public void fieldKey(SchemaWritePlan.Field field) throws IOException
+    {
+      int token;
+      if (_symbolTable != null && (token = field.getSymbolId(_symbolTable)) != SymbolTable.UNKNOWN_SYMBOL_ID)
+      {
+        _generator.writeNumber(token);
+      }
+      else
+      {
+        _generator.writeString(field.getName());
+      }
+    }
+
     @Override
     public void startList(DataList list) throws IOException {
       _generator.writeStartArray();
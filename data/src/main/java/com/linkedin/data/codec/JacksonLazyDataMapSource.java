@@ -0,0 +1,67 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.LazyDataMapSource;
+import java.io.IOException;
+
+
+/**
+ * A {@link LazyDataMapSource} backed by a slice of the byte array a map nested in it was parsed from by an
+ * {@link AbstractJacksonDataCodec}.
+ */
+class JacksonLazyDataMapSource implements LazyDataMapSource
+{
+  private final AbstractJacksonDataCodec _codec;
+  private final byte[] _input;
+  private final int _offset;
+  private final int _length;
+
+  JacksonLazyDataMapSource(AbstractJacksonDataCodec codec, byte[] input, int offset, int length)
+  {
+    _codec = codec;
+    _input = input;
+    _offset = offset;
+    _length = length;
+  }
+
+  @Override
+  public ByteString getBytes()
+  {
+    return ByteString.unsafeWrap(_input, _offset, _length);
+  }
+
+  @Override
+  public String getFormat()
+  {
+    return _codec.getLazySourceFormat();
+  }
+
+  @Override
+  public DataMap decode() throws IOException
+  {
+    return _codec.parseLazily(_input, _offset, _length);
+  }
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "{format=" + getFormat() + ", length=" + _length + "}";
+  }
+}
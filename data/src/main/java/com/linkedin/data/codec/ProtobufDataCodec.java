@@ -100,6 +100,16 @@ public class ProtobufDataCodec implements DataCodec
     return baos.toByteArray();
   }
 
+  @Override
+  public byte[] mapToBytes(DataMap map, SchemaWritePlan plan) throws IOException
+  {
+    FastByteArrayOutputStream baos = new FastByteArrayOutputStream();
+    ProtoWriter protoWriter = new ProtoWriter(baos);
+    plan.traverse(map, createTraverseCallback(protoWriter, _symbolTable));
+    protoWriter.flush();
+    return baos.toByteArray();
+  }
+
   @Override
   public byte[] listToBytes(DataList list) throws IOException
   {
@@ -289,7 +299,7 @@ public class ProtobufDataCodec implements DataCodec
     return ordinal == MAP_ORDINAL;
   }
 
-  public static class ProtobufTraverseCallback implements TraverseCallback
+  public static class ProtobufTraverseCallback implements TraverseCallback, SchemaWritePlan.FieldKeyWriter
   {
     protected final ProtoWriter _protoWriter;
     protected final SymbolTable _symbolTable;
@@ -450,6 +460,27 @@ public class ProtobufDataCodec implements DataCodec
       stringValue(key);
     }
 
+    /**
+     * Invoked instead of {@link #key(String)} for the key of a record field traversed by a {@link SchemaWritePlan},
+     * to look up its symbol id only once per symbol table.
+     *
+     * @param field the record field.
+     */
+    @Override
+    public void fieldKey(SchemaWritePlan.Field field) throws IOException
+    {
+      int symbolId;
+      if ((symbolId = field.getSymbolId(_symbolTable)) != SymbolTable.UNKNOWN_SYMBOL_ID)
+      {
+        _protoWriter.writeByte(STRING_REFERENCE_ORDINAL);
+        _protoWriter.writeUInt32(symbolId);
+      }
+      else
+      {
+        key(field.getName());
+      }
+    }
+
     /**
      * Invoked when an empty list is traversed.
      * There {@link #startList}, {@link #index(int)}, various value, and
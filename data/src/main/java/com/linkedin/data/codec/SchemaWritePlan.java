@@ -0,0 +1,455 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.data.codec;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.symbol.SymbolTable;
+import com.linkedin.data.schema.ArrayDataSchema;
+import com.linkedin.data.schema.DataSchema;
+import com.linkedin.data.schema.MapDataSchema;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A write plan compiled from a {@link RecordDataSchema}, which traverses records of that schema without the generic
+ * type dispatch of {@link Data#traverse(Object, Data.TraverseCallback)}.
+ *
+ * <p>Fields are written in schema order, and each value is checked against the single Java type that its schema
+ * expects. Field names are precomputed in the forms that codecs write them in, see {@link FieldKeyWriter}. Data that
+ * does not match the schema, such as a record with fields that are not in the schema, a value of an unexpected type
+ * or a lazily decoded map, is traversed generically, so the output is always equivalent to that of
+ * {@link Data#traverse(Object, Data.TraverseCallback)} up to the order of map entries.</p>
+ *
+ * <p>Plans are immutable and thread-safe, and are meant to be compiled once per schema, for example through
+ * {@link #forRecordClass(Class)}.</p>
+ */
+public final class SchemaWritePlan
+{
+  private static final Map<Class<?>, SchemaWritePlan> _classToPlanMap = new ConcurrentHashMap<>();
+
+  private final RecordDataSchema _schema;
+  private final RecordWriter _writer;
+
+  private SchemaWritePlan(RecordDataSchema schema)
+  {
+    _schema = schema;
+    _writer = new Compiler().compileRecord(schema);
+  }
+
+  /**
+   * Compiles a plan for the given schema.
+   */
+  public static SchemaWritePlan forSchema(RecordDataSchema schema)
+  {
+    return new SchemaWritePlan(schema);
+  }
+
+  /**
+   * Gets the plan for the schema of the given record template class, compiling and caching it on first use.
+   *
+   * @throws com.linkedin.data.template.TemplateRuntimeException if the schema of the class cannot be provided.
+   */
+  public static SchemaWritePlan forRecordClass(Class<? extends RecordTemplate> recordClass)
+  {
+    // Pre-screen before computeIfAbsent for the same reason as DataTemplateUtil.getSchema(Class).
+    SchemaWritePlan plan = _classToPlanMap.get(recordClass);
+    return (plan != null) ? plan : _classToPlanMap.computeIfAbsent(recordClass,
+        key -> forSchema((RecordDataSchema) DataTemplateUtil.getSchema(key)));
+  }
+
+  public RecordDataSchema getSchema()
+  {
+    return _schema;
+  }
+
+  /**
+   * @return the fields of the record, in schema order.
+   */
+  public List<Field> getFields()
+  {
+    return Collections.unmodifiableList(Arrays.asList(_writer._fields));
+  }
+
+  /**
+   * Traverses the given map, which is expected to be a record of the schema of this plan.
+   *
+   * @param map the map to traverse.
+   * @param callback the callback to invoke, which may implement {@link FieldKeyWriter}.
+   * @throws IOException if the callback throws.
+   */
+  public void traverse(DataMap map, Data.TraverseCallback callback) throws IOException
+  {
+    _writer.write(map, callback);
+  }
+
+  /**
+   * Implemented by {@link Data.TraverseCallback}s that can write the key of a record field faster from its
+   * precomputed forms than from its name. Record fields are then passed to {@link #fieldKey(Field)} instead of
+   * {@link Data.TraverseCallback#key(String)}.
+   */
+  public interface FieldKeyWriter
+  {
+    /**
+     * Invoked when the key of a record field is traversed, instead of {@link Data.TraverseCallback#key(String)}.
+     */
+    void fieldKey(Field field) throws IOException;
+  }
+
+  /**
+   * A record field with its name precomputed in the forms that codecs write it in.
+   */
+  public static final class Field
+  {
+    private final String _name;
+    private final SerializedString _serializedName;
+    private volatile SymbolId _symbolId;
+
+    private Field(String name)
+    {
+      _name = name;
+      _serializedName = new SerializedString(name);
+    }
+
+    public String getName()
+    {
+      return _name;
+    }
+
+    /**
+     * @return the name as a {@link SerializableString}, which caches its encoded forms for Jackson generators.
+     */
+    public SerializableString getSerializedName()
+    {
+      return _serializedName;
+    }
+
+    /**
+     * Gets the id of the name in the given symbol table. The id for the last symbol table asked for is cached.
+     *
+     * @return the symbol id, or {@link SymbolTable#UNKNOWN_SYMBOL_ID} if the name is not in the symbol table.
+     */
+    public int getSymbolId(SymbolTable symbolTable)
+    {
+      SymbolId symbolId = _symbolId;
+      if (symbolId == null || symbolId._symbolTable != symbolTable)
+      {
+        symbolId = new SymbolId(symbolTable, symbolTable.getSymbolId(_name));
+        _symbolId = symbolId;
+      }
+      return symbolId._id;
+    }
+
+    @Override
+    public String toString()
+    {
+      return _name;
+    }
+  }
+
+  private static final class SymbolId
+  {
+    private final SymbolTable _symbolTable;
+    private final int _id;
+
+    private SymbolId(SymbolTable symbolTable, int id)
+    {
+      _symbolTable = symbolTable;
+      _id = id;
+    }
+  }
+
+  /**
+   * Compiles writers from schemas, sharing the writer of every record schema so that recursive schemas terminate.
+   */
+  private static class Compiler
+  {
+    private final Map<RecordDataSchema, RecordWriter> _recordWriters = new IdentityHashMap<>();
+
+    RecordWriter compileRecord(RecordDataSchema schema)
+    {
+      RecordWriter writer = _recordWriters.get(schema);
+      if (writer == null)
+      {
+        List<RecordDataSchema.Field> fields = schema.getFields();
+        writer = new RecordWriter(fields.size());
+        _recordWriters.put(schema, writer);
+        for (int i = 0; i < fields.size(); i++)
+        {
+          RecordDataSchema.Field field = fields.get(i);
+          writer._fields[i] = new Field(field.getName());
+          writer._valueWriters[i] = compile(field.getType());
+        }
+      }
+      return writer;
+    }
+
+    ValueWriter compile(DataSchema schema)
+    {
+      DataSchema dereferenced = schema.getDereferencedDataSchema();
+      switch (dereferenced.getType())
+      {
+        case BOOLEAN:
+          return (value, callback) ->
+          {
+            if (value.getClass() == Boolean.class)
+            {
+              callback.booleanValue((Boolean) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case INT:
+          return (value, callback) ->
+          {
+            if (value.getClass() == Integer.class)
+            {
+              callback.integerValue((Integer) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case LONG:
+          return (value, callback) ->
+          {
+            if (value.getClass() == Long.class)
+            {
+              callback.longValue((Long) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case FLOAT:
+          return (value, callback) ->
+          {
+            if (value.getClass() == Float.class)
+            {
+              callback.floatValue((Float) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case DOUBLE:
+          return (value, callback) ->
+          {
+            if (value.getClass() == Double.class)
+            {
+              callback.doubleValue((Double) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case STRING:
+        case ENUM:
+          return (value, callback) ->
+          {
+            if (value.getClass() == String.class)
+            {
+              callback.stringValue((String) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case BYTES:
+        case FIXED:
+          return (value, callback) ->
+          {
+            if (value.getClass() == ByteString.class)
+            {
+              callback.byteStringValue((ByteString) value);
+            }
+            else
+            {
+              Data.traverse(value, callback);
+            }
+          };
+        case RECORD:
+          return compileRecord((RecordDataSchema) dereferenced);
+        case ARRAY:
+          return new ArrayWriter(compile(((ArrayDataSchema) dereferenced).getItems()));
+        case MAP:
+          return new MapWriter(compile(((MapDataSchema) dereferenced).getValues()));
+        default:
+          // Unions and nulls are written generically.
+          return Data::traverse;
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter
+  {
+    void write(Object value, Data.TraverseCallback callback) throws IOException;
+  }
+
+  private static class RecordWriter implements ValueWriter
+  {
+    private final Field[] _fields;
+    private final ValueWriter[] _valueWriters;
+
+    RecordWriter(int fieldCount)
+    {
+      _fields = new Field[fieldCount];
+      _valueWriters = new ValueWriter[fieldCount];
+    }
+
+    @Override
+    public void write(Object value, Data.TraverseCallback callback) throws IOException
+    {
+      if (value.getClass() != DataMap.class)
+      {
+        Data.traverse(value, callback);
+        return;
+      }
+
+      DataMap map = (DataMap) value;
+      int size = map.size();
+      if (size == 0 || size > _fields.length || map.getLazySource() != null)
+      {
+        Data.traverse(map, callback);
+        return;
+      }
+
+      // Look up all fields first, so that a record with fields that are not in the schema is written generically.
+      Object[] values = new Object[_fields.length];
+      int found = 0;
+      for (int i = 0; i < _fields.length; i++)
+      {
+        Object fieldValue = map.get(_fields[i].getName());
+        if (fieldValue != null)
+        {
+          values[i] = fieldValue;
+          found++;
+        }
+      }
+      if (found != size)
+      {
+        Data.traverse(map, callback);
+        return;
+      }
+
+      FieldKeyWriter fieldKeyWriter = (callback instanceof FieldKeyWriter) ? (FieldKeyWriter) callback : null;
+      callback.startMap(map);
+      for (int i = 0; i < _fields.length; i++)
+      {
+        if (values[i] != null)
+        {
+          if (fieldKeyWriter != null)
+          {
+            fieldKeyWriter.fieldKey(_fields[i]);
+          }
+          else
+          {
+            callback.key(_fields[i].getName());
+          }
+          _valueWriters[i].write(values[i], callback);
+        }
+      }
+      callback.endMap();
+    }
+  }
+
+  private static class ArrayWriter implements ValueWriter
+  {
+    private final ValueWriter _itemWriter;
+
+    ArrayWriter(ValueWriter itemWriter)
+    {
+      _itemWriter = itemWriter;
+    }
+
+    @Override
+    public void write(Object value, Data.TraverseCallback callback) throws IOException
+    {
+      if (value.getClass() != DataList.class || ((DataList) value).isEmpty())
+      {
+        Data.traverse(value, callback);
+        return;
+      }
+
+      DataList list = (DataList) value;
+      callback.startList(list);
+      for (int index = 0; index < list.size(); index++)
+      {
+        callback.index(index);
+        _itemWriter.write(list.get(index), callback);
+      }
+      callback.endList();
+    }
+  }
+
+  private static class MapWriter implements ValueWriter
+  {
+    private final ValueWriter _valueWriter;
+
+    MapWriter(ValueWriter valueWriter)
+    {
+      _valueWriter = valueWriter;
+    }
+
+    @Override
+    public void write(Object value, Data.TraverseCallback callback) throws IOException
+    {
+      if (value.getClass() != DataMap.class)
+      {
+        Data.traverse(value, callback);
+        return;
+      }
+
+      DataMap map = (DataMap) value;
+      if (map.isEmpty() || map.getLazySource() != null)
+      {
+        Data.traverse(map, callback);
+        return;
+      }
+
+      callback.startMap(map);
+      for (Map.Entry<String, Object> entry : callback.orderMap(map))
+      {
+        callback.key(entry.getKey());
+        _valueWriter.write(entry.getValue(), callback);
+      }
+      callback.endMap();
+    }
+  }
+}
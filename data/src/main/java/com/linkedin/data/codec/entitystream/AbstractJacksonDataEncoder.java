@@ -23,13 +23,19 @@ import com.linkedin.data.Data;
 import com.linkedin.data.DataComplex;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
+import com.linkedin.entitystream.EntityStream;
+import com.linkedin.entitystream.ReadHandle;
+import com.linkedin.entitystream.Reader;
 import com.linkedin.entitystream.WriteHandle;
 import java.io.IOException;
+import java.util.AbstractMap;
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +47,11 @@ import org.slf4j.LoggerFactory;
  * implementation that has a fixed-size primary buffer and an unbounded overflow buffer. Because the bytes are pulled
  * from the encoder asynchronously, it needs to keep the state in a stack.
  *
+ * <p>When constructed with a streamed field, the value of that field in the root map is not read from the map but
+ * pulled one element at a time from an {@link EntityStream} of {@link DataMap}, and encoded as a list. An element is
+ * only requested once the previous one has been encoded and the output buffer has room for more, so a slow reader of
+ * the encoded bytes slows down the producer of the elements instead of letting them accumulate in memory.</p>
+ *
  * @author kramgopa, xma
  */
 abstract class AbstractJacksonDataEncoder implements DataEncoder
@@ -49,6 +60,8 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
 
   private static final Object MAP = new Object();
   private static final Object LIST = new Object();
+  private static final Object STREAMED_LIST = new Object();
+  private static final DataList STREAMED_LIST_PLACEHOLDER = new DataList();
 
   protected JsonFactory _jsonFactory;
   protected JsonGenerator _generator;
@@ -59,6 +72,11 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
   private WriteHandle<? super ByteString> _writeHandle;
   private boolean _done;
 
+  private String _streamedField;
+  private EntityStream<? extends DataMap> _streamedElements;
+  private StreamedElementReader _streamedElementReader;
+  private boolean _waitingForElement;
+
   private AbstractJacksonDataEncoder(JsonFactory jsonFactory, int bufferSize)
   {
     _jsonFactory = jsonFactory;
@@ -85,6 +103,23 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
     _typeStack.push(LIST);
   }
 
+  /**
+   * Creates an encoder for a {@link DataMap} whose streamed field is a list of elements supplied incrementally.
+   *
+   * <p>The streamed field is encoded first, followed by the other entries of the map. Those entries are only read
+   * once the element stream is done, so they may still be added to the map until then, for example by an
+   * {@link com.linkedin.entitystream.Observer} of the element stream. Any value of the streamed field in the map
+   * itself is ignored.</p>
+   */
+  protected AbstractJacksonDataEncoder(JsonFactory jsonFactory, DataMap dataMap, String streamedField,
+      EntityStream<? extends DataMap> streamedElements, int bufferSize)
+  {
+    this(jsonFactory, dataMap, bufferSize);
+
+    _streamedField = streamedField;
+    _streamedElements = streamedElements;
+  }
+
   @Override
   public void onInit(WriteHandle<? super ByteString> wh)
   {
@@ -182,11 +217,20 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
   }
 
   @Override
-  public void onWritePossible()
+  public synchronized void onWritePossible()
   {
     while (_writeHandle.remaining() > 0)
     {
-      if (_done)
+      if (_waitingForElement)
+      {
+        // Hand over what has been encoded so far while the next element is produced.
+        if (_out.isEmpty())
+        {
+          break;
+        }
+        _writeHandle.write(_out.getBytes());
+      }
+      else if (_done)
       {
         if (_out.isEmpty())
         {
@@ -231,7 +275,14 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
           DataMap dataMap = preProcessMap((DataMap) current);
           if (dataMap != null)
           {
-            _iteratorStack.push(createIterator(dataMap));
+            if (_streamedField != null && _stack.size() == 1)
+            {
+              _iteratorStack.push(new StreamedFieldFirstIterator(dataMap));
+            }
+            else
+            {
+              _iteratorStack.push(createIterator(dataMap));
+            }
             writeStartObject();
           }
           else
@@ -247,6 +298,13 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
             }
           }
         }
+        else if (_typeStack.peek() == STREAMED_LIST)
+        {
+          _streamedElementReader = new StreamedElementReader();
+          _streamedElements.setReader(_streamedElementReader);
+          _iteratorStack.push(Collections.emptyIterator());
+          writeStartArray();
+        }
         else
         {
           DataList dataList = preProcessList((DataList) current);
@@ -272,6 +330,19 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
         continue;
       }
 
+      if (_typeStack.peek() == STREAMED_LIST)
+      {
+        if (!generateStreamedElement())
+        {
+          // The next element has not been produced yet. Flush the generator so that the encoded bytes can be written
+          // out, and resume once the element is available.
+          _generator.flush();
+          _waitingForElement = true;
+          break;
+        }
+        continue;
+      }
+
       Iterator<?> curr = _iteratorStack.peek();
 
       if (curr.hasNext())
@@ -313,6 +384,46 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
     }
   }
 
+  /**
+   * Makes progress on the streamed list, by either encoding the next element, ending the list, or requesting the
+   * next element.
+   *
+   * @return false if no progress can be made until the next element is produced.
+   */
+  private boolean generateStreamedElement() throws Exception
+  {
+    StreamedElementReader reader = _streamedElementReader;
+    if (reader._error != null)
+    {
+      throw new IOException("Failed to read streamed elements of field " + _streamedField, reader._error);
+    }
+
+    if (reader._element != null)
+    {
+      DataMap element = reader._element;
+      reader._element = null;
+      writeValue(element);
+    }
+    else if (reader._done)
+    {
+      _stack.pop();
+      _iteratorStack.pop();
+      _typeStack.pop();
+      writeEndArray();
+    }
+    else if (!reader._requested)
+    {
+      // The element may be delivered synchronously, in which case it is encoded in the next iteration.
+      reader._requested = true;
+      reader._readHandle.request(1);
+    }
+    else
+    {
+      return false;
+    }
+    return true;
+  }
+
   private void writeValue(Object value) throws Exception
   {
     if (value == null || value == Data.NULL)
@@ -321,6 +432,13 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
       return;
     }
 
+    if (value == STREAMED_LIST_PLACEHOLDER)
+    {
+      _stack.push(STREAMED_LIST_PLACEHOLDER);
+      _typeStack.push(STREAMED_LIST);
+      return;
+    }
+
     switch (Data.TYPE_MAP.get(value.getClass()))
     {
       case 1:
@@ -358,8 +476,13 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
   }
 
   @Override
-  public void onAbort(Throwable e)
+  public synchronized void onAbort(Throwable e)
   {
+    if (_streamedElementReader != null && !_streamedElementReader._done)
+    {
+      _streamedElementReader._readHandle.cancel();
+    }
+
     try
     {
       _generator.close();
@@ -369,4 +492,129 @@ abstract class AbstractJacksonDataEncoder implements DataEncoder
       LOGGER.warn("Error closing JsonGenerator on abort due to " + e.getMessage(), ioe);
     }
   }
+
+  /**
+   * Iterates the streamed field of the root map first, then the other entries of the map. The iterator over the
+   * other entries is only created after the streamed field has been encoded.
+   */
+  private class StreamedFieldFirstIterator implements Iterator<Map.Entry<String, Object>>
+  {
+    private final DataMap _dataMap;
+    private boolean _streamedFieldReturned;
+    private Iterator<Map.Entry<String, Object>> _remaining;
+    private Map.Entry<String, Object> _next;
+
+    private StreamedFieldFirstIterator(DataMap dataMap)
+    {
+      _dataMap = dataMap;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      if (!_streamedFieldReturned || _next != null)
+      {
+        return true;
+      }
+
+      if (_remaining == null)
+      {
+        try
+        {
+          _remaining = createIterator(_dataMap);
+        }
+        catch (IOException e)
+        {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      while (_remaining.hasNext())
+      {
+        Map.Entry<String, Object> entry = _remaining.next();
+        if (!_streamedField.equals(entry.getKey()))
+        {
+          _next = entry;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Map.Entry<String, Object> next()
+    {
+      if (!_streamedFieldReturned)
+      {
+        _streamedFieldReturned = true;
+        return new AbstractMap.SimpleImmutableEntry<>(_streamedField, STREAMED_LIST_PLACEHOLDER);
+      }
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<String, Object> entry = _next;
+      _next = null;
+      return entry;
+    }
+  }
+
+  /**
+   * Reads the elements of the streamed field one at a time, as requested by the encoder.
+   */
+  private class StreamedElementReader implements Reader<DataMap>
+  {
+    private ReadHandle _readHandle;
+    private DataMap _element;
+    private boolean _requested;
+    private boolean _done;
+    private Throwable _error;
+
+    @Override
+    public void onInit(ReadHandle rh)
+    {
+      _readHandle = rh;
+    }
+
+    @Override
+    public void onDataAvailable(DataMap data)
+    {
+      synchronized (AbstractJacksonDataEncoder.this)
+      {
+        _element = data;
+        _requested = false;
+        resume();
+      }
+    }
+
+    @Override
+    public void onDone()
+    {
+      synchronized (AbstractJacksonDataEncoder.this)
+      {
+        _done = true;
+        resume();
+      }
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      synchronized (AbstractJacksonDataEncoder.this)
+      {
+        _error = e;
+        _done = true;
+        resume();
+      }
+    }
+
+    private void resume()
+    {
+      if (_waitingForElement)
+      {
+        _waitingForElement = false;
+        onWritePossible();
+      }
+    }
+  }
 }
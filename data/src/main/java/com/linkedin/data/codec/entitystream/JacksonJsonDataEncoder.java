@@ -20,6 +20,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.linkedin.data.ByteString;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
+import com.linkedin.entitystream.EntityStream;
 
 
 /**
@@ -42,4 +43,10 @@ public class JacksonJsonDataEncoder extends AbstractJacksonDataEncoder implement
   {
     super(JacksonStreamDataCodec.JSON_FACTORY, dataList, bufferSize);
   }
+
+  public JacksonJsonDataEncoder(DataMap dataMap, String streamedField, EntityStream<? extends DataMap> streamedElements,
+      int bufferSize)
+  {
+    super(JacksonStreamDataCodec.JSON_FACTORY, dataMap, streamedField, streamedElements, bufferSize);
+  }
 }
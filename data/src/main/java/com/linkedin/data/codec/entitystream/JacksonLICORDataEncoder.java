@@ -19,6 +19,7 @@ package com.linkedin.data.codec.entitystream;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.codec.symbol.SymbolTable;
+import com.linkedin.entitystream.EntityStream;
 import java.io.IOException;
 
 /**
@@ -60,6 +61,13 @@ public class JacksonLICORDataEncoder extends AbstractJacksonDataEncoder
     _symbolTable = symbolTable;
   }
 
+  public JacksonLICORDataEncoder(DataMap dataMap, String streamedField, EntityStream<? extends DataMap> streamedElements,
+      int bufferSize, boolean encodeBinary, SymbolTable symbolTable)
+  {
+    super(JacksonLICORStreamDataCodec.getFactory(encodeBinary), dataMap, streamedField, streamedElements, bufferSize);
+    _symbolTable = symbolTable;
+  }
+
   protected void writeStartObject() throws IOException
   {
     _generator.writeStartArray();
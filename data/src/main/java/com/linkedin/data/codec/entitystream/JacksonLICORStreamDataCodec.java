@@ -105,6 +105,20 @@ public class JacksonLICORStreamDataCodec implements StreamDataCodec
     return EntityStreams.newEntityStream(encoder);
   }
 
+  @Override
+  public boolean supportsStreamedFields()
+  {
+    return true;
+  }
+
+  @Override
+  public EntityStream<ByteString> encodeMap(DataMap map, String streamedField, EntityStream<? extends DataMap> elements)
+  {
+    JacksonLICORDataEncoder encoder =
+        new JacksonLICORDataEncoder(map, streamedField, elements, _bufferSize, _useBinary, _symbolTable);
+    return EntityStreams.newEntityStream(encoder);
+  }
+
   static JsonFactory getFactory(boolean encodeBinary)
   {
     return encodeBinary ? BINARY_FACTORY : TEXT_FACTORY;
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.linkedin.data.ByteString;
 import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
+import com.linkedin.entitystream.EntityStream;
 import com.linkedin.entitystream.WriteHandle;
 import java.io.IOException;
 import java.util.ArrayDeque;
@@ -53,4 +54,10 @@ public class JacksonSmileDataEncoder extends AbstractJacksonDataEncoder implemen
   {
     super(smileFactory, dataList, bufferSize);
   }
+
+  public JacksonSmileDataEncoder(SmileFactory smileFactory, DataMap dataMap, String streamedField,
+      EntityStream<? extends DataMap> streamedElements, int bufferSize)
+  {
+    super(smileFactory, dataMap, streamedField, streamedElements, bufferSize);
+  }
 }
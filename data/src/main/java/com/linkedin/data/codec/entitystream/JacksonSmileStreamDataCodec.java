@@ -85,4 +85,17 @@ public class JacksonSmileStreamDataCodec implements StreamDataCodec
   {
     return EntityStreams.newEntityStream(new JacksonSmileDataEncoder(_smileFactory, list, _bufferSize));
   }
+
+  @Override
+  public boolean supportsStreamedFields()
+  {
+    return true;
+  }
+
+  @Override
+  public EntityStream<ByteString> encodeMap(DataMap map, String streamedField, EntityStream<? extends DataMap> elements)
+  {
+    return EntityStreams.newEntityStream(
+        new JacksonSmileDataEncoder(_smileFactory, map, streamedField, elements, _bufferSize));
+  }
 }
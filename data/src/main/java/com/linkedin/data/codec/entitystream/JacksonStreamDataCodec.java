@@ -78,4 +78,17 @@ public class JacksonStreamDataCodec implements StreamDataCodec
     JacksonJsonDataEncoder encoder = new JacksonJsonDataEncoder(list, _bufferSize);
     return EntityStreams.newEntityStream(encoder);
   }
+
+  @Override
+  public boolean supportsStreamedFields()
+  {
+    return true;
+  }
+
+  @Override
+  public EntityStream<ByteString> encodeMap(DataMap map, String streamedField, EntityStream<? extends DataMap> elements)
+  {
+    JacksonJsonDataEncoder encoder = new JacksonJsonDataEncoder(map, streamedField, elements, _bufferSize);
+    return EntityStreams.newEntityStream(encoder);
+  }
 }
@@ -54,4 +54,27 @@ public interface StreamDataCodec
    * Encodes a <code>DataList</code> to an <code>EntityStream</code>.
    */
   EntityStream<ByteString> encodeList(DataList list);
+
+  /**
+   * Returns whether this codec implements {@link #encodeMap(DataMap, String, EntityStream)}. Callers should check
+   * this before streaming a field, and encode a fully built map otherwise.
+   */
+  default boolean supportsStreamedFields()
+  {
+    return false;
+  }
+
+  /**
+   * Encodes a <code>DataMap</code> to an <code>EntityStream</code>, where the value of <code>streamedField</code> is
+   * a list whose elements are read from <code>elements</code> as they are encoded, rather than from the map. The
+   * streamed field is encoded before the other entries of the map, which may still be added to the map until the
+   * element stream is done.
+   *
+   * @throws UnsupportedOperationException if this codec does not support streamed fields, see
+   *         {@link #supportsStreamedFields()}.
+   */
+  default EntityStream<ByteString> encodeMap(DataMap map, String streamedField, EntityStream<? extends DataMap> elements)
+  {
+    throw new UnsupportedOperationException(getClass().getName() + " does not support streamed fields");
+  }
 }
@@ -0,0 +1,271 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.snapshot;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.DataCodec;
+import com.linkedin.data.codec.DataDecodingException;
+import com.linkedin.data.codec.ProtobufDataCodec;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.util.ArgumentUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * A read-only, memory-mapped set of keyed {@link DataMap}s written by {@link DataMapSnapshotWriter}.
+ *
+ * The records and the index are kept in the mapped file rather than on heap, so large reference data sets do not
+ * add to the old generation. A lookup binary searches the mapped index and returns a read-only {@link DataMap}
+ * that is decoded straight from the mapped region when it is first accessed. Every lookup returns a new view, so
+ * callers that access the same record repeatedly should hold on to the view instead of looking it up again.
+ *
+ * Lookups are thread safe. Java 8 cannot unmap a file explicitly, so the mapping is released once this object and
+ * all views that have not been decoded yet are garbage collected.
+ */
+public class DataMapSnapshot implements Closeable
+{
+  private final DataCodec _codec;
+  private final MappedByteBuffer[] _segments;
+  private final int _segmentSize;
+  private final long _size;
+  private final long _indexPosition;
+  private volatile boolean _closed;
+
+  private DataMapSnapshot(DataCodec codec, MappedByteBuffer[] segments, int segmentSize, long size, long indexPosition)
+  {
+    _codec = codec;
+    _segments = segments;
+    _segmentSize = segmentSize;
+    _size = size;
+    _indexPosition = indexPosition;
+  }
+
+  /**
+   * Maps a snapshot written with the default {@link ProtobufDataCodec}.
+   */
+  public static DataMapSnapshot open(Path file) throws IOException
+  {
+    return open(file, new ProtobufDataCodec());
+  }
+
+  /**
+   * Maps a snapshot written with the given codec.
+   *
+   * @throws DataDecodingException if the file is not a snapshot.
+   */
+  public static DataMapSnapshot open(Path file, DataCodec codec) throws IOException
+  {
+    return open(file, codec, DataMapSnapshotFormat.SEGMENT_SIZE);
+  }
+
+  /**
+   * Maps a snapshot in segments of the given size instead of {@link DataMapSnapshotFormat#SEGMENT_SIZE}, which lets
+   * tests exercise regions lying across segment boundaries with small files.
+   */
+  static DataMapSnapshot open(Path file, DataCodec codec, int segmentSize) throws IOException
+  {
+    ArgumentUtil.notNull(file, "file");
+    ArgumentUtil.notNull(codec, "codec");
+    ArgumentUtil.checkArgument(segmentSize > 0, "segmentSize");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+    {
+      long fileSize = channel.size();
+      ByteBuffer header = ByteBuffer.allocate(DataMapSnapshotFormat.HEADER_SIZE);
+      while (header.hasRemaining())
+      {
+        if (channel.read(header, header.position()) < 0)
+        {
+          break;
+        }
+      }
+      if (header.hasRemaining()
+          || header.getInt(DataMapSnapshotFormat.MAGIC_OFFSET) != DataMapSnapshotFormat.MAGIC)
+      {
+        throw new DataDecodingException(file + " is not a DataMap snapshot");
+      }
+      int version = header.getInt(DataMapSnapshotFormat.VERSION_OFFSET);
+      if (version != DataMapSnapshotFormat.VERSION)
+      {
+        throw new DataDecodingException("Unsupported DataMap snapshot version " + version + " in " + file);
+      }
+      long size = header.getLong(DataMapSnapshotFormat.COUNT_OFFSET);
+      long indexPosition = header.getLong(DataMapSnapshotFormat.INDEX_POSITION_OFFSET);
+      int maxRegionLength = header.getInt(DataMapSnapshotFormat.MAX_REGION_LENGTH_OFFSET);
+      if (size < 0 || maxRegionLength < 0 || maxRegionLength > Integer.MAX_VALUE - segmentSize
+          || indexPosition + size * DataMapSnapshotFormat.INDEX_ENTRY_SIZE != fileSize)
+      {
+        throw new DataDecodingException("Corrupted DataMap snapshot header in " + file);
+      }
+
+      // Segments overlap by the largest region, so every key, record and index entry lies within a single segment.
+      int segmentCount = (int) ((fileSize + segmentSize - 1) / segmentSize);
+      MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++)
+      {
+        long position = (long) i * segmentSize;
+        long length = Math.min(fileSize - position, (long) segmentSize + maxRegionLength);
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+      }
+      return new DataMapSnapshot(codec, segments, segmentSize, size, indexPosition);
+    }
+  }
+
+  /**
+   * @return the number of records in this snapshot.
+   */
+  public long size()
+  {
+    return _size;
+  }
+
+  public boolean containsKey(String key)
+  {
+    return find(key) >= 0;
+  }
+
+  /**
+   * Looks up a record.
+   *
+   * @return a read-only {@link DataMap} that is decoded from the mapped file when it is first accessed, or
+   *         {@code null} if there is no record with the given key.
+   */
+  public DataMap get(String key)
+  {
+    long index = find(key);
+    if (index < 0)
+    {
+      return null;
+    }
+
+    long entryPosition = _indexPosition + index * DataMapSnapshotFormat.INDEX_ENTRY_SIZE;
+    long recordPosition = getLong(entryPosition + DataMapSnapshotFormat.INDEX_RECORD_POSITION_OFFSET);
+    int recordLength = getInt(entryPosition + DataMapSnapshotFormat.INDEX_RECORD_LENGTH_OFFSET);
+    DataMap map = new DataMap(new MappedDataMapSource(_codec, region(recordPosition, recordLength)));
+    map.makeReadOnly();
+    return map;
+  }
+
+  /**
+   * Looks up a record and wraps it in the given {@link RecordTemplate} class. Setters of the returned template
+   * throw {@link UnsupportedOperationException}.
+   *
+   * @return the wrapped record, or {@code null} if there is no record with the given key.
+   */
+  public <T extends RecordTemplate> T get(String key, Class<T> recordClass)
+  {
+    DataMap map = get(key);
+    return (map == null) ? null : DataTemplateUtil.wrap(map, recordClass);
+  }
+
+  /**
+   * Marks this snapshot as closed. Views returned by earlier lookups remain readable until they are garbage
+   * collected, see the class documentation.
+   */
+  @Override
+  public void close()
+  {
+    _closed = true;
+  }
+
+  private long find(String key)
+  {
+    ArgumentUtil.notNull(key, "key");
+    if (_closed)
+    {
+      throw new IllegalStateException("DataMap snapshot has already been closed");
+    }
+
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    long low = 0;
+    long high = _size - 1;
+    while (low <= high)
+    {
+      long mid = (low + high) >>> 1;
+      int cmp = compareKeyAt(mid, keyBytes);
+      if (cmp < 0)
+      {
+        low = mid + 1;
+      }
+      else if (cmp > 0)
+      {
+        high = mid - 1;
+      }
+      else
+      {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private int compareKeyAt(long index, byte[] key)
+  {
+    long entryPosition = _indexPosition + index * DataMapSnapshotFormat.INDEX_ENTRY_SIZE;
+    long keyPosition = getLong(entryPosition + DataMapSnapshotFormat.INDEX_KEY_POSITION_OFFSET);
+    int keyLength = getInt(entryPosition + DataMapSnapshotFormat.INDEX_KEY_LENGTH_OFFSET);
+
+    MappedByteBuffer segment = _segments[segmentIndex(keyPosition)];
+    int offset = segmentOffset(keyPosition);
+    int length = Math.min(keyLength, key.length);
+    for (int i = 0; i < length; i++)
+    {
+      int diff = (segment.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+      if (diff != 0)
+      {
+        return diff;
+      }
+    }
+    return keyLength - key.length;
+  }
+
+  private ByteBuffer region(long position, int length)
+  {
+    ByteBuffer buffer = _segments[segmentIndex(position)].duplicate();
+    int offset = segmentOffset(position);
+    buffer.limit(offset + length);
+    buffer.position(offset);
+    return buffer.slice();
+  }
+
+  private long getLong(long position)
+  {
+    return _segments[segmentIndex(position)].getLong(segmentOffset(position));
+  }
+
+  private int getInt(long position)
+  {
+    return _segments[segmentIndex(position)].getInt(segmentOffset(position));
+  }
+
+  private int segmentIndex(long position)
+  {
+    return (int) (position / _segmentSize);
+  }
+
+  private int segmentOffset(long position)
+  {
+    return (int) (position % _segmentSize);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.snapshot;
+
+/**
+ * Layout of the files written by {@link DataMapSnapshotWriter} and read by {@link DataMapSnapshot}.
+ *
+ * <pre>
+ *   header  : magic (int), version (int), entry count (long), index position (long), max region length (int)
+ *   records : encoded maps, in the order they were added
+ *   keys    : UTF-8 encoded keys, sorted by their unsigned bytes
+ *   index   : one fixed size entry per key, in key order:
+ *             key position (long), key length (int), record position (long), record length (int)
+ * </pre>
+ *
+ * All numbers are big endian. The max region length is the length of the largest key, record or index entry, which
+ * lets a reader map the file in overlapping segments so that no region ever spans two segments.
+ */
+final class DataMapSnapshotFormat
+{
+  static final int MAGIC = 0x444D5353;
+  static final int VERSION = 1;
+
+  static final int HEADER_SIZE = 32;
+  static final int MAGIC_OFFSET = 0;
+  static final int VERSION_OFFSET = 4;
+  static final int COUNT_OFFSET = 8;
+  static final int INDEX_POSITION_OFFSET = 16;
+  static final int MAX_REGION_LENGTH_OFFSET = 24;
+
+  static final int INDEX_ENTRY_SIZE = 24;
+  static final int INDEX_KEY_POSITION_OFFSET = 0;
+  static final int INDEX_KEY_LENGTH_OFFSET = 8;
+  static final int INDEX_RECORD_POSITION_OFFSET = 12;
+  static final int INDEX_RECORD_LENGTH_OFFSET = 20;
+
+  /**
+   * Size of the segments a file is mapped in. A segment is mapped with the max region length as overlap, so this
+   * plus the largest region must fit in a single {@link java.nio.MappedByteBuffer}.
+   */
+  static final int SEGMENT_SIZE = 1 << 30;
+  static final int MAX_REGION_LENGTH = Integer.MAX_VALUE - SEGMENT_SIZE;
+
+  private DataMapSnapshotFormat()
+  {
+  }
+
+  /**
+   * Compares two UTF-8 encoded keys by their unsigned bytes, which is the order keys are stored in.
+   */
+  static int compareKeys(byte[] a, byte[] b)
+  {
+    int length = Math.min(a.length, b.length);
+    for (int i = 0; i < length; i++)
+    {
+      int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (diff != 0)
+      {
+        return diff;
+      }
+    }
+    return a.length - b.length;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.snapshot;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.DataCodec;
+import com.linkedin.data.codec.ProtobufDataCodec;
+import com.linkedin.data.codec.SchemaWritePlan;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.util.ArgumentUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Writes keyed {@link DataMap}s to a file that can be memory-mapped by {@link DataMapSnapshot}.
+ *
+ * Records are encoded and written to the file as they are added, so only the keys are held on heap while a
+ * snapshot is being written. Keys must be unique, a key that has already been added is rejected by {@code add}.
+ * The keys and the index are written when the writer is closed.
+ *
+ * The same {@link DataCodec} must be used to open the snapshot. It should be a binary codec, such as the
+ * {@link ProtobufDataCodec} used by default.
+ */
+public class DataMapSnapshotWriter implements Closeable
+{
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel _channel;
+  private final DataCodec _codec;
+  private final List<Entry> _entries = new ArrayList<>();
+  // wraps the key bytes held by the entries, ByteBuffer compares by content
+  private final Set<ByteBuffer> _keys = new HashSet<>();
+  private long _position = DataMapSnapshotFormat.HEADER_SIZE;
+  private int _maxRegionLength = DataMapSnapshotFormat.INDEX_ENTRY_SIZE;
+  private boolean _closed;
+
+  public DataMapSnapshotWriter(Path file) throws IOException
+  {
+    this(file, new ProtobufDataCodec());
+  }
+
+  public DataMapSnapshotWriter(Path file, DataCodec codec) throws IOException
+  {
+    ArgumentUtil.notNull(file, "file");
+    ArgumentUtil.notNull(codec, "codec");
+    _codec = codec;
+    _channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    _channel.position(_position);
+  }
+
+  /**
+   * Adds a record, encoding it with the precompiled {@link SchemaWritePlan} of its class.
+   *
+   * @throws IllegalArgumentException if an entry has already been added with the same key.
+   */
+  public void add(String key, RecordTemplate record) throws IOException
+  {
+    ArgumentUtil.notNull(record, "record");
+    add(key, _codec.mapToBytes(record.data(), SchemaWritePlan.forRecordClass(record.getClass())));
+  }
+
+  /**
+   * Adds a map.
+   *
+   * @throws IllegalArgumentException if an entry has already been added with the same key.
+   */
+  public void add(String key, DataMap map) throws IOException
+  {
+    ArgumentUtil.notNull(map, "map");
+    add(key, _codec.mapToBytes(map));
+  }
+
+  private void add(String key, byte[] bytes) throws IOException
+  {
+    ArgumentUtil.notNull(key, "key");
+    if (_closed)
+    {
+      throw new IllegalStateException("Snapshot writer has already been closed");
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    checkRegionLength(key, keyBytes.length);
+    checkRegionLength(key, bytes.length);
+    if (!_keys.add(ByteBuffer.wrap(keyBytes)))
+    {
+      throw new IllegalArgumentException("Key " + key + " has been added more than once");
+    }
+
+    writeFully(ByteBuffer.wrap(bytes));
+    _entries.add(new Entry(keyBytes, _position, bytes.length));
+    _position += bytes.length;
+  }
+
+  /**
+   * Writes the keys, the index and the header, and closes the file.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    if (_closed)
+    {
+      return;
+    }
+    _closed = true;
+
+    try
+    {
+      _entries.sort((a, b) -> DataMapSnapshotFormat.compareKeys(a._key, b._key));
+
+      ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+      long[] keyPositions = new long[_entries.size()];
+      for (int i = 0; i < _entries.size(); i++)
+      {
+        byte[] key = _entries.get(i)._key;
+        keyPositions[i] = _position;
+        _position += key.length;
+        if (key.length > buffer.remaining())
+        {
+          flush(buffer);
+        }
+        if (key.length > buffer.remaining())
+        {
+          writeFully(ByteBuffer.wrap(key));
+        }
+        else
+        {
+          buffer.put(key);
+        }
+      }
+
+      long indexPosition = _position;
+      for (int i = 0; i < _entries.size(); i++)
+      {
+        Entry entry = _entries.get(i);
+        if (buffer.remaining() < DataMapSnapshotFormat.INDEX_ENTRY_SIZE)
+        {
+          flush(buffer);
+        }
+        buffer.putLong(keyPositions[i]).putInt(entry._key.length).putLong(entry._position).putInt(entry._length);
+      }
+      flush(buffer);
+
+      ByteBuffer header = ByteBuffer.allocate(DataMapSnapshotFormat.HEADER_SIZE);
+      header.putInt(DataMapSnapshotFormat.MAGIC_OFFSET, DataMapSnapshotFormat.MAGIC)
+          .putInt(DataMapSnapshotFormat.VERSION_OFFSET, DataMapSnapshotFormat.VERSION)
+          .putLong(DataMapSnapshotFormat.COUNT_OFFSET, _entries.size())
+          .putLong(DataMapSnapshotFormat.INDEX_POSITION_OFFSET, indexPosition)
+          .putInt(DataMapSnapshotFormat.MAX_REGION_LENGTH_OFFSET, _maxRegionLength);
+      _channel.position(0);
+      writeFully(header);
+      _channel.force(false);
+    }
+    finally
+    {
+      _channel.close();
+    }
+  }
+
+  private void checkRegionLength(String key, int length)
+  {
+    if (length > DataMapSnapshotFormat.MAX_REGION_LENGTH)
+    {
+      throw new IllegalArgumentException("Entry for key " + key + " is too large to be mapped: " + length + " bytes");
+    }
+    _maxRegionLength = Math.max(_maxRegionLength, length);
+  }
+
+  private void flush(ByteBuffer buffer) throws IOException
+  {
+    buffer.flip();
+    writeFully(buffer);
+    buffer.clear();
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException
+  {
+    while (buffer.hasRemaining())
+    {
+      _channel.write(buffer);
+    }
+  }
+
+  private static class Entry
+  {
+    private final byte[] _key;
+    private final long _position;
+    private final int _length;
+
+    private Entry(byte[] key, long position, int length)
+    {
+      _key = key;
+      _position = position;
+      _length = length;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.snapshot;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.LazyDataMapSource;
+import com.linkedin.data.codec.DataCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+
+/**
+ * A {@link LazyDataMapSource} backed by the region of a memory-mapped {@link DataMapSnapshot} a record has been
+ * written to. The record is read straight from the mapped region when it is decoded.
+ */
+class MappedDataMapSource implements LazyDataMapSource
+{
+  private final DataCodec _codec;
+  private final ByteBuffer _region;
+
+  MappedDataMapSource(DataCodec codec, ByteBuffer region)
+  {
+    _codec = codec;
+    _region = region;
+  }
+
+  @Override
+  public ByteString getBytes()
+  {
+    return ByteString.copy(_region.duplicate());
+  }
+
+  @Override
+  public String getFormat()
+  {
+    return _codec.getClass().getName();
+  }
+
+  @Override
+  public DataMap decode() throws IOException
+  {
+    return _codec.readMap(new ByteBufferInputStream(_region.duplicate()));
+  }
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "{format=" + getFormat() + ", length=" + _region.remaining() + "}";
+  }
+
+  private static class ByteBufferInputStream extends InputStream
+  {
+    private final ByteBuffer _buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer)
+    {
+      _buffer = buffer;
+    }
+
+    @Override
+    public int read()
+    {
+      return _buffer.hasRemaining() ? _buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len)
+    {
+      if (len == 0)
+      {
+        return 0;
+      }
+      if (!_buffer.hasRemaining())
+      {
+        return -1;
+      }
+      int count = Math.min(len, _buffer.remaining());
+      _buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n)
+    {
+      int count = (int) Math.max(0, Math.min(n, _buffer.remaining()));
+      _buffer.position(_buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available()
+    {
+      return _buffer.remaining();
+    }
+  }
+}
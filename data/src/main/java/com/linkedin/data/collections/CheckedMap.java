@@ -352,6 +352,17 @@ public class CheckedMap<K,V> implements CommonMap<K,V>, Cloneable
     _map.putAll(src);
   }
 
+  /**
+   * Copies the content of another map without checking it, even if this map is read-only. This is only meant to
+   * fill in the content of a map whose content was deferred, use with caution.
+   *
+   * @param src source map that should be copied to this map.
+   */
+  protected void loadWithoutChecking(Map<? extends K, ? extends V> src)
+  {
+    _map.putAll(src);
+  }
+
   void putAllWithAssertedChecking(Map<? extends K, ? extends V> src)
   {
     assert(assertCheckMap(src)) : "Check is failed";
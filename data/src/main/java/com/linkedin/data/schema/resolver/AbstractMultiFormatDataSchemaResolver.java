@@ -25,6 +25,8 @@ import com.linkedin.data.schema.SchemaParser;
 import com.linkedin.data.schema.SchemaParserFactory;
 import com.linkedin.data.schema.grammar.PdlSchemaParser;
 import com.linkedin.data.schema.grammar.PdlSchemaParserFactory;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -43,7 +45,7 @@ import java.util.Map;
  * own file format specific parsers, can be combined into a single resolver able to look up
  * schemas of either file format.
  */
-public abstract class AbstractMultiFormatDataSchemaResolver implements DataSchemaResolver
+public abstract class AbstractMultiFormatDataSchemaResolver implements DataSchemaResolver, Closeable
 {
   /**
    * File extensions for all builtin parsers: PDSC, PDL.
@@ -70,6 +72,21 @@ public abstract class AbstractMultiFormatDataSchemaResolver implements DataSchem
     this._resolvers.add(resolver);
   }
 
+  /**
+   * Closes the resolvers that hold resources, such as the jar files opened by {@link FileDataSchemaResolver}.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    for (DataSchemaResolver resolver: _resolvers)
+    {
+      if (resolver instanceof Closeable)
+      {
+        ((Closeable) resolver).close();
+      }
+    }
+  }
+
   @Override
   public Map<String, NamedDataSchema> bindings()
   {
@@ -23,6 +23,7 @@ import com.linkedin.data.schema.DataSchemaResolver;
 import com.linkedin.data.schema.SchemaParser;
 import com.linkedin.data.schema.NamedDataSchema;
 import com.linkedin.internal.common.InternalConstants;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -54,9 +55,12 @@ import java.util.jar.JarFile;
  * locations to search are "/a/foo/bar/baz.pdsc" and "/b/c/foo/bar/baz.pdsc".
  * <p>
  *
+ * Jar files in the search paths are opened on first use and kept open until {@link #close()} is called.
+ * <p>
+ *
  * @author slim
  */
-public class FileDataSchemaResolver extends AbstractDataSchemaResolver
+public class FileDataSchemaResolver extends AbstractDataSchemaResolver implements Closeable
 {
   /**
    * The default path separator is provided by the system through {@link File#pathSeparator}.
@@ -225,12 +229,19 @@ public class FileDataSchemaResolver extends AbstractDataSchemaResolver
         boolean isJar = path.endsWith(JAR_EXTENSION);
         if (isJar)
         {
+          // Jar files are opened once and kept open until the resolver is closed, so that every lookup does not have
+          // to read the central directory of every jar in the search paths again.
           JarFile jarFile = _pathToJarFile.get(path);
           if (jarFile == null)
           {
+            if (_pathToJarFile.containsKey(path))
+            {
+              return null;
+            }
             try
             {
               jarFile = new JarFile(path);
+              _pathToJarFile.put(path, jarFile);
             }
             catch (IOException exc)
             {
@@ -261,6 +272,35 @@ public class FileDataSchemaResolver extends AbstractDataSchemaResolver
     };
   }
 
+  /**
+   * Closes the jar files opened by lookups. Jar files are opened again if the resolver is used afterwards.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    IOException failure = null;
+    for (JarFile jarFile : _pathToJarFile.values())
+    {
+      if (jarFile == null)
+      {
+        continue;
+      }
+      try
+      {
+        jarFile.close();
+      }
+      catch (IOException e)
+      {
+        failure = e;
+      }
+    }
+    _pathToJarFile.clear();
+    if (failure != null)
+    {
+      throw failure;
+    }
+  }
+
   @Override
   protected InputStream locationToInputStream(DataSchemaLocation location,
                                               StringBuilder errorMessageBuilder)
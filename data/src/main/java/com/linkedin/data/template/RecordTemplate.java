@@ -19,6 +19,7 @@ package com.linkedin.data.template;
 
 import com.linkedin.data.DataMap;
 import com.linkedin.data.schema.RecordDataSchema;
+import java.util.Arrays;
 
 
 /**
@@ -41,6 +42,14 @@ import com.linkedin.data.schema.RecordDataSchema;
  * to fields whose values require DataTemplate's to proxy access.
  * The arrays, unions, records, and fixed field values are accessed
  * using the wrapping methods.
+ * <p>
+ *
+ * Generated templates use the variants of the wrapping and custom type methods that take a field index. The
+ * index is a small per-record constant assigned by the code generator, and values obtained through these
+ * variants are cached in an array slot instead of a {@link DataObjectToObjectCache}, which saves a hash lookup
+ * and a key allocation on every access. Generated getters for int, long, boolean and double fields use
+ * {@link #obtainInteger(RecordDataSchema.Field, GetMode)} and its siblings, which skip the coercer lookup when the
+ * underlying value already has the expected class.
  */
 public abstract class RecordTemplate implements DataTemplate<DataMap>
 {
@@ -76,6 +85,7 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     RecordTemplate clone = (RecordTemplate) super.clone();
     clone._map = clone._map.clone();
     clone._cache = clone._cache != null ? clone._cache.clone() : null;
+    clone._fieldCache = clone._fieldCache != null ? clone._fieldCache.clone() : null;
     clone._initialCacheCapacity = _initialCacheCapacity;
     return clone;
   }
@@ -99,6 +109,7 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     RecordTemplate copy = (RecordTemplate) super.clone();
     copy._map = _map.copy();
     copy._cache = null;
+    copy._fieldCache = null;
     return copy;
   }
 
@@ -206,6 +217,37 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     }
   }
 
+  /**
+   * Set the value of field whose type has needs to be coerced by {@link DirectCoercer}, caching the value in the
+   * field cache slot identified by fieldIndex.
+   *
+   * @see #putCustomType(RecordDataSchema.Field, Class, Class, Object, SetMode)
+   *
+   * @param field provides the field to set.
+   * @param fieldIndex provides the index of the field cache slot, assigned by the code generator.
+   * @param valueClass provides the expected class of the input value.
+   * @param dataClass provides the class stored in the underlying {@link DataMap}.
+   * @param object provides the value to set.
+   * @param mode determines how should happen if the value provided is null.
+   * @param <T> is the type of the object.
+   * @throws ClassCastException if provided object is not the same as the expected class or
+   *                            it cannot be coerced to the expected class.
+   * @throws NullPointerException if null is not allowed, see {@link SetMode#DISALLOW_NULL}.
+   * @throws IllegalArgumentException if attempting to remove a mandatory field by setting it to null,
+   *                                  see {@link SetMode#REMOVE_OPTIONAL_IF_NULL}.
+   */
+  protected <T> void putCustomType(RecordDataSchema.Field field, int fieldIndex, Class<T> valueClass, Class<?> dataClass,
+      T object, SetMode mode)
+    throws ClassCastException
+  {
+    if (checkPutNullValue(field, object, mode))
+    {
+      final Object coerced = DataTemplateUtil.coerceInput(object, valueClass, dataClass);
+      _map.put(field.getName(), coerced);
+      putFieldCache(fieldIndex, coerced, object);
+    }
+  }
+
   /**
    * Set the value of field.
    *
@@ -287,6 +329,42 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     }
   }
 
+  /**
+   * Set the value of field, caching the value in the field cache slot identified by fieldIndex.
+   *
+   * This is wrapping method. The value is a {@link DataTemplate}.
+   *
+   * @see #putWrapped(RecordDataSchema.Field, Class, DataTemplate, SetMode)
+   *
+   * @param field provides the field to set.
+   * @param fieldIndex provides the index of the field cache slot, assigned by the code generator.
+   * @param valueClass provides the expected class of the input value.
+   * @param object provides the value to set.
+   * @param mode determines how should happen if the value provided is null.
+   * @param <T> is the type of the input object.
+   * @throws ClassCastException if class of the provided value is not the same as the expected class.
+   * @throws NullPointerException if null is not allowed, see {@link SetMode#DISALLOW_NULL}.
+   * @throws IllegalArgumentException if attempting to remove a mandatory field by setting it to null,
+   *                                  see {@link SetMode#REMOVE_OPTIONAL_IF_NULL}.
+   */
+  protected <T extends DataTemplate<?>> void putWrapped(RecordDataSchema.Field field, int fieldIndex, Class<T> valueClass,
+      T object, SetMode mode)
+      throws ClassCastException
+  {
+    if (checkPutNullValue(field, object, mode))
+    {
+      if (object.getClass() == valueClass)
+      {
+        _map.put(field.getName(), object.data());
+        putFieldCache(fieldIndex, object.data(), object);
+      }
+      else
+      {
+        throw new ClassCastException("Input " + object + " should be a " + valueClass.getName());
+      }
+    }
+  }
+
   /**
    * Set the value of field with {@link SetMode#DISALLOW_NULL}.
    *
@@ -333,6 +411,95 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
   }
 
 
+  /**
+   * Get the value of an int field.
+   *
+   * This is equivalent to {@code obtainDirect(field, Integer.class, mode)}, but skips the coercer lookup
+   * when the underlying value is already an {@link Integer}.
+   *
+   * @param field provides the field to get.
+   * @param mode determines what should happen if the field is not present.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field cannot be coerced to an {@link Integer}.
+   */
+  protected Integer obtainInteger(RecordDataSchema.Field field, GetMode mode)
+      throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null || found.getClass() == Integer.class)
+    {
+      return (Integer) found;
+    }
+    return DataTemplateUtil.coerceOutput(found, Integer.class);
+  }
+
+  /**
+   * Get the value of a long field.
+   *
+   * @see #obtainInteger(RecordDataSchema.Field, GetMode)
+   *
+   * @param field provides the field to get.
+   * @param mode determines what should happen if the field is not present.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field cannot be coerced to a {@link Long}.
+   */
+  protected Long obtainLong(RecordDataSchema.Field field, GetMode mode)
+      throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null || found.getClass() == Long.class)
+    {
+      return (Long) found;
+    }
+    return DataTemplateUtil.coerceOutput(found, Long.class);
+  }
+
+  /**
+   * Get the value of a boolean field.
+   *
+   * @see #obtainInteger(RecordDataSchema.Field, GetMode)
+   *
+   * @param field provides the field to get.
+   * @param mode determines what should happen if the field is not present.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field cannot be coerced to a {@link Boolean}.
+   */
+  protected Boolean obtainBoolean(RecordDataSchema.Field field, GetMode mode)
+      throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null || found.getClass() == Boolean.class)
+    {
+      return (Boolean) found;
+    }
+    return DataTemplateUtil.coerceOutput(found, Boolean.class);
+  }
+
+  /**
+   * Get the value of a double field.
+   *
+   * @see #obtainInteger(RecordDataSchema.Field, GetMode)
+   *
+   * @param field provides the field to get.
+   * @param mode determines what should happen if the field is not present.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field cannot be coerced to a {@link Double}.
+   */
+  protected Double obtainDouble(RecordDataSchema.Field field, GetMode mode)
+      throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null || found.getClass() == Double.class)
+    {
+      return (Double) found;
+    }
+    return DataTemplateUtil.coerceOutput(found, Double.class);
+  }
+
   /**
    * Get the value of field whose type has needs to be coerced by {@link DirectCoercer}.
    *
@@ -368,6 +535,41 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     return coerced;
   }
 
+  /**
+   * Get the value of field whose type has needs to be coerced by {@link DirectCoercer}, using the field cache
+   * slot identified by fieldIndex.
+   *
+   * @see #obtainCustomType(RecordDataSchema.Field, Class, GetMode)
+   *
+   * @param field provides the field to get.
+   * @param fieldIndex provides the index of the field cache slot, assigned by the code generator.
+   * @param valueClass provides the expected class of the result.
+   * @param mode determines what should happen if the field is not present.
+   * @param <T> is the type of the result object.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field is not the expected class or
+   *                                     it cannot be coerced to the expected class.
+   */
+  protected <T> T obtainCustomType(RecordDataSchema.Field field, int fieldIndex, Class<T> valueClass, GetMode mode)
+    throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null)
+    {
+      return null;
+    }
+    Object customTypeValue = getFieldCache(fieldIndex, found);
+    // the underlying data type of the custom typed field should be immutable, thus checking class equality suffices
+    if (customTypeValue != null && customTypeValue.getClass() == valueClass)
+    {
+      return valueClass.cast(customTypeValue);
+    }
+    T coerced = DataTemplateUtil.coerceOutput(found, valueClass);
+    putFieldCache(fieldIndex, found, coerced);
+    return coerced;
+  }
+
   /**
    * Get the value of field.
    *
@@ -403,6 +605,41 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     return wrapped;
   }
 
+  /**
+   * Get the value of field, using the field cache slot identified by fieldIndex.
+   *
+   * This is wrapping method. The result is a {@link DataTemplate}.
+   *
+   * @see #obtainWrapped(RecordDataSchema.Field, Class, GetMode)
+   *
+   * @param field provides the field to get.
+   * @param fieldIndex provides the index of the field cache slot, assigned by the code generator.
+   * @param valueClass provides the expected class of the result.
+   * @param mode determines what should happen if the field is not present.
+   * @param <T> is the type of the result object.
+   * @return value of field or null with semantics defined by mode.
+   * @throws RequiredFieldNotPresentException if mode is STRICT and the field is required but not present.
+   * @throws TemplateOutputCastException if the value of the field cannot be wrapped by the expected class.
+   */
+  protected <T extends DataTemplate<?>> T obtainWrapped(final RecordDataSchema.Field field, int fieldIndex,
+      Class<T> valueClass, GetMode mode)
+      throws RequiredFieldNotPresentException, TemplateOutputCastException
+  {
+    Object found = obtainValueOrDefault(field, mode);
+    if (found == null)
+    {
+      return null;
+    }
+    Object template = getFieldCache(fieldIndex, found);
+    if (template != null)
+    {
+      return valueClass.cast(template);
+    }
+    T wrapped = DataTemplateUtil.wrap(found, field.getType(), valueClass);
+    putFieldCache(fieldIndex, found, wrapped);
+    return wrapped;
+  }
+
   /**
    * Obtain the value of field from the underlying {@link DataMap}.
    *
@@ -499,8 +736,51 @@ public abstract class RecordTemplate implements DataTemplate<DataMap>
     return _cache;
   }
 
+  /**
+   * Get the cached value of the field cache slot identified by fieldIndex.
+   *
+   * @param fieldIndex provides the index of the field cache slot.
+   * @param dataObject provides the current value of the field in the underlying {@link DataMap}.
+   * @return the cached value if it was cached for the same data object, else null.
+   */
+  private Object getFieldCache(int fieldIndex, Object dataObject)
+  {
+    final Object[] fieldCache = _fieldCache;
+    final int slot = fieldIndex << 1;
+    if (fieldCache != null && slot < fieldCache.length && fieldCache[slot] == dataObject)
+    {
+      return fieldCache[slot + 1];
+    }
+    return null;
+  }
+
+  /**
+   * Cache a value in the field cache slot identified by fieldIndex, growing the field cache if needed. The field
+   * cache is an array of data object and value pairs, so that a cached value is only returned while the underlying
+   * {@link DataMap} still holds the same data object.
+   *
+   * @param fieldIndex provides the index of the field cache slot.
+   * @param dataObject provides the value of the field in the underlying {@link DataMap}.
+   * @param value provides the value to cache.
+   */
+  private void putFieldCache(int fieldIndex, Object dataObject, Object value)
+  {
+    final int slot = fieldIndex << 1;
+    if (_fieldCache == null)
+    {
+      _fieldCache = new Object[slot + 2];
+    }
+    else if (slot >= _fieldCache.length)
+    {
+      _fieldCache = Arrays.copyOf(_fieldCache, Math.max(slot + 2, _fieldCache.length << 1));
+    }
+    _fieldCache[slot] = dataObject;
+    _fieldCache[slot + 1] = value;
+  }
+
   private DataMap _map;
   private final RecordDataSchema _schema;
   private int _initialCacheCapacity;
   private DataObjectToObjectCache<Object> _cache;
+  private Object[] _fieldCache;
 }
@@ -868,6 +868,51 @@ public class TestData
     }
   }
 
+  @Test
+  public void testCopyPreservesSharedReferences() throws CloneNotSupportedException
+  {
+    // enough distinct complex objects to grow the table of already copied objects several times
+    DataList shared = new DataList();
+    DataMap root = new DataMap();
+    for (int i = 0; i < 1000; i++)
+    {
+      DataMap child = new DataMap();
+      child.put("i", i);
+      child.put("shared", shared);
+      root.put("child" + i, child);
+    }
+    shared.add(1);
+
+    DataMap rootCopy = root.copy();
+    assertEquals(rootCopy, root);
+    DataList sharedCopy = rootCopy.getDataMap("child0").getDataList("shared");
+    assertNotSame(sharedCopy, shared);
+    for (int i = 0; i < 1000; i++)
+    {
+      DataMap childCopy = rootCopy.getDataMap("child" + i);
+      assertNotSame(childCopy, root.getDataMap("child" + i));
+      assertSame(childCopy.getDataList("shared"), sharedCopy);
+    }
+  }
+
+  @Test
+  public void testCopyOfPrimitivesOnly() throws CloneNotSupportedException
+  {
+    DataMap map = new DataMap(asMap("a", 1, "b", "x"));
+    DataMap mapCopy = map.copy();
+    assertNotSame(mapCopy, map);
+    assertEquals(mapCopy, map);
+    mapCopy.put("c", true);
+    assertFalse(map.containsKey("c"));
+
+    DataList list = new DataList(Arrays.asList(1, 2L, "x"));
+    DataList listCopy = list.copy();
+    assertNotSame(listCopy, list);
+    assertEquals(listCopy, list);
+    listCopy.add(3);
+    assertEquals(list.size(), 3);
+  }
+
   @Test
   public void mapClonesHaveDifferentHashValues() throws CloneNotSupportedException
   {
@@ -153,6 +153,13 @@ public class TestCodec
 
     assertEquals(sb3.toString(), sb1.toString());
 
+    // test readList (ByteString)
+
+    DataList list6 = codec.readList(toByteString(outputStreamBytes));
+    StringBuilder sb6 = new StringBuilder();
+    Data.dump("list", list6, "", sb6);
+
+    assertEquals(sb6.toString(), sb1.toString());
 
     if (codec instanceof TextDataCodec)
     {
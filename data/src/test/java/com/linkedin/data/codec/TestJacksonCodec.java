@@ -21,6 +21,7 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.core.util.Instantiatable;
+import com.linkedin.data.ByteString;
 import com.linkedin.data.Data;
 import com.linkedin.data.DataComplex;
 import com.linkedin.data.DataList;
@@ -28,6 +29,7 @@ import com.linkedin.data.DataMap;
 import com.linkedin.data.TestData;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
 import org.testng.Assert;
@@ -129,6 +131,51 @@ public class TestJacksonCodec extends TestCodec
     assertEquals(dataMap.getError(), "1,21: \"foo\" defined more than once.\n");
   }
 
+  @Test
+  public void testDuplicateMapValuesInLargeMapCreateError() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+
+    String json = "{ \"a\": 1, \"b\": 2, \"c\": 3, \"d\": 4, \"e\": 5, \"f\": 6, \"g\": 7, \"h\": 8, \"g\": 9 }";
+    DataMap dataMap = codec.stringToMap(json);
+    assertEquals(dataMap.getInteger("g"), Integer.valueOf(9));
+    assertEquals(dataMap.getInteger("h"), Integer.valueOf(8));
+    assertEquals(dataMap.getError(), "1,74: \"g\" defined more than once.\n");
+  }
+
+  @Test
+  public void testReadByteString() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+
+    String json = "{ \"list\" : [ 1, /* comment */ 2, 3 ], \"long\" : 12345678901, \"string\" : \"value\" }";
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    DataMap expected = codec.bytesToMap(bytes);
+
+    // single chunk
+    assertEquals(codec.readMap(ByteString.unsafeWrap(bytes)), expected);
+
+    // one chunk per byte
+    ByteString.Builder builder = new ByteString.Builder();
+    for (int i = 0; i < bytes.length; i++)
+    {
+      builder.append(ByteString.unsafeWrap(bytes, i, 1));
+    }
+    assertEquals(codec.readMap(builder.build()), expected);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testReadByteStringErrorTruncatedInput() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+
+    byte[] bytes = "{ \"a\" : [ 1, 2".getBytes(StandardCharsets.UTF_8);
+    codec.readMap(new ByteString.Builder()
+        .append(ByteString.unsafeWrap(bytes, 0, 4))
+        .append(ByteString.unsafeWrap(bytes, 4, bytes.length - 4))
+        .build());
+  }
+
   @Test
   public void testLongValues() throws IOException
   {
@@ -172,6 +219,24 @@ public class TestJacksonCodec extends TestCodec
     assertSame(key, keyName);
   }
 
+  /**
+   * Test to make sure that field names are interned when parsing a {@link ByteString} of multiple chunks.
+   */
+  @Test
+  public void testStringInternFromByteString() throws IOException
+  {
+    final String keyName = "testChunkedKey";
+    final byte[] jsonAsBytes = ("{ \"" + keyName + "\" : 1 }").getBytes(Data.UTF_8_CHARSET);
+
+    final JacksonDataCodec codec = new JacksonDataCodec();
+    final DataMap map = codec.readMap(new ByteString.Builder()
+        .append(ByteString.unsafeWrap(jsonAsBytes, 0, 8))
+        .append(ByteString.unsafeWrap(jsonAsBytes, 8, jsonAsBytes.length - 8))
+        .build());
+    final String key = map.keySet().iterator().next();
+    assertSame(key, keyName);
+  }
+
   @Test(dataProvider = "longKeyFromByteSource", dataProviderClass = CodecDataProviders.class)
   public void testLongKeyFromByteSource(byte[] bytes) throws IOException
   {
@@ -234,6 +299,51 @@ public class TestJacksonCodec extends TestCodec
     assertEquals(s1, s2);
   }
 
+  @Test(dataProvider = "codecData", dataProviderClass = CodecDataProviders.class)
+  public void testLazyDecodingJacksonDataCodec(String testName, DataComplex dataComplex) throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    codec.setLazyDecoding(true);
+    testDataCodec(codec, dataComplex);
+  }
+
+  @Test
+  public void testLazyDecodingWritesUntouchedMapsAsIs() throws IOException, CloneNotSupportedException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    codec.setLazyDecoding(true);
+    String nested = "{ \"b\" :  [ 1,2 , { \"c\" : true } ] }";
+    DataMap map = codec.bytesToMap(("{\"a\":" + nested + ",\"d\":\"e\"}").getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(map.get("d"), "e");
+    DataMap lazyMap = (DataMap) map.get("a");
+    Assert.assertNotNull(lazyMap.getLazySource());
+
+    // untouched nested maps are written byte for byte
+    assertTrue(codec.mapToString(map).contains(nested));
+
+    DataMap copy = map.copy();
+    assertEquals(lazyMap.getDataList("b").size(), 3);
+    Assert.assertNull(lazyMap.getLazySource());
+    assertTrue(codec.mapToString(map).contains("{\"b\":[1,2,{ \"c\" : true }]}"));
+    assertEquals(copy, map);
+    assertEquals(map, new JacksonDataCodec().bytesToMap(codec.mapToBytes(map)));
+  }
+
+  @Test
+  public void testLazyDecodingReadOnly() throws IOException
+  {
+    JacksonDataCodec codec = new JacksonDataCodec();
+    codec.setLazyDecoding(true);
+    DataMap map = codec.bytesToMap("{\"a\":{\"b\":{\"c\":1}}}".getBytes(StandardCharsets.UTF_8));
+    map.makeReadOnly();
+
+    DataMap nested = map.getDataMap("a").getDataMap("b");
+    assertTrue(nested.isReadOnly());
+    assertEquals(nested.getInteger("c"), Integer.valueOf(1));
+    Assert.assertThrows(UnsupportedOperationException.class, () -> nested.put("d", 2));
+  }
+
   class StatefulPrettyPrinter implements PrettyPrinter
   {
     private int _count;
@@ -0,0 +1,167 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.data.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.linkedin.data.Data;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.TestUtil;
+import com.linkedin.data.codec.symbol.InMemorySymbolTable;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link SchemaWritePlan}.
+ */
+public class TestSchemaWritePlan
+{
+  private static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema(
+      "{ \"type\" : \"record\", \"name\" : \"Node\", \"namespace\" : \"com.linkedin.data.codec\", \"fields\" : [ "
+          + "{ \"name\" : \"id\", \"type\" : \"long\" }, "
+          + "{ \"name\" : \"name\", \"type\" : \"string\", \"optional\" : true }, "
+          + "{ \"name\" : \"kind\", \"type\" : { \"type\" : \"enum\", \"name\" : \"Kind\", \"symbols\" : [ \"LEAF\", \"INNER\" ] } }, "
+          + "{ \"name\" : \"weight\", \"type\" : \"double\", \"optional\" : true }, "
+          + "{ \"name\" : \"payload\", \"type\" : \"bytes\", \"optional\" : true }, "
+          + "{ \"name\" : \"counts\", \"type\" : { \"type\" : \"map\", \"values\" : \"int\" }, \"optional\" : true }, "
+          + "{ \"name\" : \"value\", \"type\" : [ \"int\", \"string\" ], \"optional\" : true }, "
+          + "{ \"name\" : \"children\", \"type\" : { \"type\" : \"array\", \"items\" : \"Node\" }, \"optional\" : true } "
+          + "] }");
+
+  @DataProvider
+  public Object[][] codecs()
+  {
+    InMemorySymbolTable symbolTable = new InMemorySymbolTable("test", Arrays.asList("id", "kind", "children"));
+    return new Object[][]
+        {
+            { new JacksonDataCodec() },
+            { new JacksonSmileDataCodec() },
+            { new JacksonLICORDataCodec(true, symbolTable) },
+            { new ProtobufDataCodec(symbolTable) },
+            { new PsonDataCodec() }
+        };
+  }
+
+  @Test(dataProvider = "codecs")
+  public void testRoundTrip(DataCodec codec) throws IOException
+  {
+    SchemaWritePlan plan = SchemaWritePlan.forSchema(SCHEMA);
+    DataMap node = createNode(1L);
+    DataList children = new DataList();
+    children.add(createNode(2L));
+    children.add(createNode(3L));
+    node.put("children", children);
+
+    TestUtil.assertEquivalent(codec.bytesToMap(codec.mapToBytes(node, plan)), node);
+  }
+
+  @Test(dataProvider = "codecs")
+  public void testRoundTripDataNotMatchingSchema(DataCodec codec) throws IOException
+  {
+    SchemaWritePlan plan = SchemaWritePlan.forSchema(SCHEMA);
+
+    // A field that is not in the schema.
+    DataMap node = createNode(1L);
+    node.put("unknown", "value");
+    TestUtil.assertEquivalent(codec.bytesToMap(codec.mapToBytes(node, plan)), node);
+
+    // Values of unexpected types, at the top level and in a nested record.
+    node = createNode(1L);
+    node.put("id", "notALong");
+    node.put("weight", Data.NULL);
+    DataMap child = createNode(2L);
+    child.put("kind", 1);
+    node.put("children", new DataList(Arrays.asList(child, "notARecord")));
+    TestUtil.assertEquivalent(codec.bytesToMap(codec.mapToBytes(node, plan)), node);
+  }
+
+  @Test
+  public void testFieldsInSchemaOrder() throws IOException
+  {
+    DataMap node = new DataMap();
+    node.put("weight", 0.5);
+    node.put("name", "node");
+    node.put("kind", "LEAF");
+    node.put("id", 1L);
+
+    JacksonDataCodec codec = new JacksonDataCodec();
+    String json = new String(codec.mapToBytes(node, SchemaWritePlan.forSchema(SCHEMA)), Data.UTF_8_CHARSET);
+    Assert.assertEquals(json, "{\"id\":1,\"name\":\"node\",\"kind\":\"LEAF\",\"weight\":0.5}");
+  }
+
+  @Test
+  public void testFieldKeysUseKeyOverrides() throws IOException
+  {
+    DataMap node = new DataMap();
+    node.put("id", 1L);
+    node.put("name", "node");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JsonGenerator generator = new JsonFactory().createGenerator(out);
+    SchemaWritePlan.forSchema(SCHEMA).traverse(node, new AbstractJacksonDataCodec.JacksonTraverseCallback(generator)
+    {
+      @Override
+      public void key(String key) throws IOException
+      {
+        super.key(key.toUpperCase());
+      }
+    });
+    generator.close();
+
+    Assert.assertEquals(new String(out.toByteArray(), Data.UTF_8_CHARSET), "{\"ID\":1,\"NAME\":\"node\"}");
+  }
+
+  @Test
+  public void testSymbolIdCache()
+  {
+    SchemaWritePlan plan = SchemaWritePlan.forSchema(SCHEMA);
+    SchemaWritePlan.Field field = plan.getFields().get(2);
+    Assert.assertEquals(field.getName(), "kind");
+
+    InMemorySymbolTable first = new InMemorySymbolTable("first", Arrays.asList("id", "kind"));
+    InMemorySymbolTable second = new InMemorySymbolTable("second", Arrays.asList("kind"));
+    Assert.assertEquals(field.getSymbolId(first), 1);
+    Assert.assertEquals(field.getSymbolId(second), 0);
+    Assert.assertEquals(field.getSymbolId(first), 1);
+  }
+
+  private static DataMap createNode(long id)
+  {
+    DataMap node = new DataMap();
+    node.put("id", id);
+    node.put("name", "node" + id);
+    node.put("kind", "LEAF");
+    node.put("weight", 0.5);
+    DataMap counts = new DataMap();
+    counts.put("a", 1);
+    counts.put("b", 2);
+    node.put("counts", counts);
+    DataMap value = new DataMap();
+    value.put("string", "union");
+    node.put("value", value);
+    return node;
+  }
+}
@@ -24,13 +24,20 @@ import com.linkedin.data.DataList;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.TestUtil;
 import com.linkedin.data.codec.CodecDataProviders;
+import com.linkedin.data.codec.JacksonDataCodec;
 import com.linkedin.entitystream.CollectingReader;
 import com.linkedin.entitystream.EntityStream;
 import com.linkedin.entitystream.EntityStreams;
+import com.linkedin.entitystream.Observer;
+import com.linkedin.entitystream.WriteHandle;
+import com.linkedin.entitystream.Writer;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 
 public class TestJacksonJsonDataEncoder
@@ -45,6 +52,92 @@ public class TestJacksonJsonDataEncoder
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void testEncoderWithStreamedField()
+      throws Exception
+  {
+    List<DataMap> elements = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+    {
+      DataMap element = new DataMap();
+      element.put("id", i);
+      element.put("name", "element" + i);
+      elements.add(element);
+    }
+
+    List<Integer> remainingWhenWritten = new ArrayList<>();
+    EntityStream<DataMap> elementStream = EntityStreams.newEntityStream(new Writer<DataMap>()
+    {
+      private WriteHandle<? super DataMap> _wh;
+      private int _index;
+
+      @Override
+      public void onInit(WriteHandle<? super DataMap> wh)
+      {
+        _wh = wh;
+      }
+
+      @Override
+      public void onWritePossible()
+      {
+        while (_wh.remaining() > 0)
+        {
+          if (_index == elements.size())
+          {
+            _wh.done();
+            break;
+          }
+          remainingWhenWritten.add(_wh.remaining());
+          _wh.write(elements.get(_index++));
+        }
+      }
+
+      @Override
+      public void onAbort(Throwable e)
+      {
+      }
+    });
+
+    DataMap envelope = new DataMap();
+    envelope.put("elements", new DataList());
+    envelope.put("metadata", new DataMap());
+    elementStream.addObserver(new Observer<DataMap>()
+    {
+      @Override
+      public void onDataAvailable(DataMap data)
+      {
+      }
+
+      @Override
+      public void onDone()
+      {
+        // Entries added before the element stream is done are still encoded.
+        envelope.put("count", elements.size());
+      }
+
+      @Override
+      public void onError(Throwable e)
+      {
+      }
+    });
+
+    JacksonJsonDataEncoder encoder = new JacksonJsonDataEncoder(envelope, "elements", elementStream, 3);
+    EntityStream<ByteString> entityStream = EntityStreams.newEntityStream(encoder);
+    CollectingReader<ByteString, ?, ChunkedByteStringCollector.Result> reader = new CollectingReader<>(new ChunkedByteStringCollector());
+    entityStream.setReader(reader);
+    byte[] actual = reader.getResult().toCompletableFuture().get().data;
+
+    DataMap expected = new DataMap();
+    expected.put("elements", new DataList(elements));
+    expected.put("metadata", new DataMap());
+    expected.put("count", elements.size());
+    assertEquals(new JacksonDataCodec().bytesToMap(actual), expected);
+
+    // Elements are pulled one at a time.
+    assertEquals(remainingWhenWritten.size(), elements.size());
+    assertTrue(remainingWhenWritten.stream().allMatch(remaining -> remaining == 1));
+  }
+
   private byte[] encode(DataComplex data)
       throws Exception
   {
@@ -0,0 +1,294 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.data.codec.snapshot;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.DataDecodingException;
+import com.linkedin.data.codec.ProtobufDataCodec;
+import com.linkedin.data.codec.PsonDataCodec;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.GetMode;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.data.template.SetMode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link DataMapSnapshotWriter} and {@link DataMapSnapshot}.
+ */
+public class TestDataMapSnapshot
+{
+  private Path _file;
+
+  @BeforeMethod
+  public void setUp() throws IOException
+  {
+    _file = File.createTempFile(getClass().getSimpleName(), ".snapshot").toPath();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException
+  {
+    Files.deleteIfExists(_file);
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException
+  {
+    DataMap second = new DataMap();
+    second.put("name", "second");
+    second.put("tags", new DataList(Arrays.asList("a", "b")));
+    DataMap nested = new DataMap();
+    nested.put("count", 3);
+    second.put("nested", nested);
+
+    try (DataMapSnapshotWriter writer = new DataMapSnapshotWriter(_file))
+    {
+      writer.add("first", new Item().setId(1).setName("first"));
+      writer.add("second", second);
+      writer.add("\u00e9t\u00e9", new Item().setId(3).setName("summer"));
+      writer.add("empty", new DataMap());
+    }
+
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file))
+    {
+      Assert.assertEquals(snapshot.size(), 4);
+      Assert.assertTrue(snapshot.containsKey("first"));
+      Assert.assertFalse(snapshot.containsKey("missing"));
+      Assert.assertNull(snapshot.get("missing"));
+      Assert.assertNull(snapshot.get("missing", Item.class));
+
+      DataMap map = snapshot.get("second");
+      Assert.assertNotNull(map.getLazySource());
+      Assert.assertTrue(map.isReadOnly());
+      Assert.assertEquals(map, second);
+      Assert.assertNull(map.getLazySource());
+      Assert.assertTrue(map.getDataMap("nested").isReadOnly());
+
+      Item item = snapshot.get("\u00e9t\u00e9", Item.class);
+      Assert.assertEquals(item.getId(), Integer.valueOf(3));
+      Assert.assertEquals(item.getName(), "summer");
+      Assert.assertEquals(snapshot.get("first", Item.class), new Item().setId(1).setName("first"));
+      Assert.assertTrue(snapshot.get("empty").isEmpty());
+    }
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testRecordViewIsReadOnly() throws IOException
+  {
+    try (DataMapSnapshotWriter writer = new DataMapSnapshotWriter(_file))
+    {
+      writer.add("first", new Item().setId(1));
+    }
+
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file))
+    {
+      snapshot.get("first", Item.class).setId(2);
+    }
+  }
+
+  @Test
+  public void testManyKeys() throws IOException
+  {
+    try (DataMapSnapshotWriter writer = new DataMapSnapshotWriter(_file, new PsonDataCodec()))
+    {
+      // Added in reverse order, the writer sorts the index.
+      for (int i = 1000; i > 0; i--)
+      {
+        writer.add("key" + i, new Item().setId(i));
+      }
+    }
+
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file, new PsonDataCodec()))
+    {
+      Assert.assertEquals(snapshot.size(), 1000);
+      for (int i = 1; i <= 1000; i++)
+      {
+        Assert.assertEquals(snapshot.get("key" + i, Item.class).getId(), Integer.valueOf(i));
+      }
+      Assert.assertFalse(snapshot.containsKey("key0"));
+      Assert.assertFalse(snapshot.containsKey("key1001"));
+    }
+  }
+
+  @DataProvider
+  public Object[][] segmentSizes()
+  {
+    // Smaller than most keys and records, the size of an index entry, and sizes that do not divide it.
+    return new Object[][] {
+        { 7 },
+        { DataMapSnapshotFormat.INDEX_ENTRY_SIZE },
+        { DataMapSnapshotFormat.INDEX_ENTRY_SIZE + 1 },
+        { 64 }
+    };
+  }
+
+  @Test(dataProvider = "segmentSizes")
+  public void testRegionsAcrossSegmentBoundaries(int segmentSize) throws IOException
+  {
+    // Keys and records of varying lengths, some longer than a segment, so they start at every offset of a segment.
+    try (DataMapSnapshotWriter writer = new DataMapSnapshotWriter(_file))
+    {
+      for (int i = 0; i < 300; i++)
+      {
+        writer.add(boundaryKey(i), new Item().setId(i).setName(repeat('n', i % 97)));
+      }
+    }
+    Assert.assertTrue(Files.size(_file) > 100L * segmentSize);
+
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file, new ProtobufDataCodec(), segmentSize))
+    {
+      Assert.assertEquals(snapshot.size(), 300);
+      for (int i = 0; i < 300; i++)
+      {
+        Assert.assertEquals(snapshot.get(boundaryKey(i), Item.class), new Item().setId(i).setName(repeat('n', i % 97)));
+        // Shares a prefix with the stored key, so the comparison reads the stored key up to its end.
+        Assert.assertFalse(snapshot.containsKey(boundaryKey(i) + "x"));
+      }
+      Assert.assertFalse(snapshot.containsKey(""));
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidSegmentSize() throws IOException
+  {
+    new DataMapSnapshotWriter(_file).close();
+    DataMapSnapshot.open(_file, new ProtobufDataCodec(), 0);
+  }
+
+  @Test
+  public void testEmptySnapshot() throws IOException
+  {
+    new DataMapSnapshotWriter(_file).close();
+
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file))
+    {
+      Assert.assertEquals(snapshot.size(), 0);
+      Assert.assertNull(snapshot.get("key"));
+    }
+  }
+
+  @Test
+  public void testDuplicateKey() throws IOException
+  {
+    DataMap first = new DataMap();
+    first.put("name", "first");
+    try (DataMapSnapshotWriter writer = new DataMapSnapshotWriter(_file))
+    {
+      writer.add("key", first);
+      try
+      {
+        writer.add("key", new Item().setId(2));
+        Assert.fail("Expected the duplicate key to be rejected");
+      }
+      catch (IllegalArgumentException e)
+      {
+        // expected
+      }
+    }
+
+    // the rejected entry leaves the snapshot usable
+    try (DataMapSnapshot snapshot = DataMapSnapshot.open(_file))
+    {
+      Assert.assertEquals(snapshot.size(), 1);
+      Assert.assertEquals(snapshot.get("key"), first);
+    }
+  }
+
+  @Test(expectedExceptions = DataDecodingException.class)
+  public void testNotASnapshot() throws IOException
+  {
+    Files.write(_file, new byte[] { 1, 2, 3 });
+    DataMapSnapshot.open(_file);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testClosed() throws IOException
+  {
+    new DataMapSnapshotWriter(_file).close();
+
+    DataMapSnapshot snapshot = DataMapSnapshot.open(_file);
+    snapshot.close();
+    snapshot.get("key");
+  }
+
+  private static String boundaryKey(int i)
+  {
+    return String.format("%03d", i) + repeat('k', i % 150);
+  }
+
+  private static String repeat(char c, int count)
+  {
+    char[] chars = new char[count];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+
+  public static class Item extends RecordTemplate
+  {
+    public static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema(
+        "{ \"type\" : \"record\", \"name\" : \"Item\", \"namespace\" : \"com.linkedin.data.codec.snapshot\", \"fields\" : [ "
+            + "{ \"name\" : \"id\", \"type\" : \"int\" }, "
+            + "{ \"name\" : \"name\", \"type\" : \"string\", \"optional\" : true } "
+            + "] }");
+    private static final RecordDataSchema.Field FIELD_id = SCHEMA.getField("id");
+    private static final RecordDataSchema.Field FIELD_name = SCHEMA.getField("name");
+
+    public Item()
+    {
+      super(new DataMap(), SCHEMA);
+    }
+
+    public Item(DataMap data)
+    {
+      super(data, SCHEMA);
+    }
+
+    public Integer getId()
+    {
+      return obtainDirect(FIELD_id, Integer.TYPE, GetMode.STRICT);
+    }
+
+    public Item setId(int value)
+    {
+      putDirect(FIELD_id, Integer.class, Integer.class, value, SetMode.DISALLOW_NULL);
+      return this;
+    }
+
+    public String getName()
+    {
+      return obtainDirect(FIELD_name, String.class, GetMode.STRICT);
+    }
+
+    public Item setName(String value)
+    {
+      putDirect(FIELD_name, String.class, String.class, value, SetMode.DISALLOW_NULL);
+      return this;
+    }
+  }
+}
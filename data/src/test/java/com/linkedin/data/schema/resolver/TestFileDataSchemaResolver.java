@@ -47,6 +47,7 @@ public class TestFileDataSchemaResolver
     JAR_ENTRIES.put("legacyPegasusSchemas/com/example/models/IgnoreAlternative.pdl", "namespace com.example.models record IgnoreAlternative {}");
     JAR_ENTRIES.put("com/example/models/Foo.pdl", "namespace com.example.models @impostor record Foo {}");
     JAR_ENTRIES.put("com/example/models/IgnoreRoot.pdl", "namespace com.example.models record IgnoreRoot {}");
+    JAR_ENTRIES.put("pegasus/com/example/models/Bar.pdl", "namespace com.example.models record Bar {}");
   }
 
   private File _tempJar;
@@ -92,4 +93,20 @@ public class TestFileDataSchemaResolver
     schema = resolver.findDataSchema("com.example.models.IgnoreRoot", new StringBuilder());
     Assert.assertNull(schema);
   }
+
+  /**
+   * Ensures that the resolver can still resolve schemas from JARs after the JARs it opened have been closed.
+   */
+  @Test
+  public void testCloseJars() throws IOException
+  {
+    FileDataSchemaResolver resolver = new FileDataSchemaResolver(PdlSchemaParserFactory.instance(), _tempJar.getCanonicalPath());
+    resolver.setExtension(".pdl");
+    Assert.assertNotNull(resolver.findDataSchema("com.example.models.Foo", new StringBuilder()));
+
+    resolver.close();
+    Assert.assertNotNull(resolver.findDataSchema("com.example.models.Bar", new StringBuilder()));
+    resolver.close();
+    resolver.close();
+  }
 }
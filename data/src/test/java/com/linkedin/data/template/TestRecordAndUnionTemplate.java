@@ -3158,4 +3158,104 @@ public class TestRecordAndUnionTemplate
     FakeRecordNoSchema r2 = new FakeRecordNoSchema(new DataMap(asMap("double", -4.0, "int", 99, "float", 1.0f)));
     assertEquals(DataTemplateUtil.areEqual(r1, r2), false);
   }
+
+  public static class IndexedRecord extends RecordTemplate
+  {
+    public static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema
+    (
+      "{ \"type\" : \"record\", \"name\" : \"IndexedRecord\", \"fields\" : [ " +
+      "{ \"name\" : \"int\", \"type\" : \"int\" }, " +
+      "{ \"name\" : \"long\", \"type\" : \"long\", \"optional\" : true }, " +
+      "{ \"name\" : \"record\", \"type\" : { \"type\" : \"record\", \"name\" : \"Bar\", \"fields\" : [ { \"name\" : \"int\", \"type\" : \"int\" } ] } }, " +
+      "{ \"name\" : \"array\", \"type\" : { \"type\" : \"array\", \"items\" : \"int\" }, \"optional\" : true } ] }"
+    );
+    private static final RecordDataSchema.Field FIELD_int = SCHEMA.getField("int");
+    private static final RecordDataSchema.Field FIELD_long = SCHEMA.getField("long");
+    private static final RecordDataSchema.Field FIELD_record = SCHEMA.getField("record");
+    private static final int FIELD_INDEX_record = 0;
+    private static final RecordDataSchema.Field FIELD_array = SCHEMA.getField("array");
+    private static final int FIELD_INDEX_array = 1;
+
+    public IndexedRecord()
+    {
+      super(new DataMap(), SCHEMA);
+    }
+
+    public IndexedRecord(DataMap map)
+    {
+      super(map, SCHEMA);
+    }
+
+    public Integer getInt(GetMode mode)
+    {
+      return obtainInteger(FIELD_int, mode);
+    }
+
+    public Long getLong(GetMode mode)
+    {
+      return obtainLong(FIELD_long, mode);
+    }
+
+    public Bar getRecord(GetMode mode)
+    {
+      return obtainWrapped(FIELD_record, FIELD_INDEX_record, Bar.class, mode);
+    }
+
+    public IndexedRecord setRecord(Bar value, SetMode mode)
+    {
+      putWrapped(FIELD_record, FIELD_INDEX_record, Bar.class, value, mode);
+      return this;
+    }
+
+    public IntegerArray getArray(GetMode mode)
+    {
+      return obtainWrapped(FIELD_array, FIELD_INDEX_array, IntegerArray.class, mode);
+    }
+
+    @Override
+    public IndexedRecord clone() throws CloneNotSupportedException
+    {
+      return (IndexedRecord) super.clone();
+    }
+
+    @Override
+    public IndexedRecord copy() throws CloneNotSupportedException
+    {
+      return (IndexedRecord) super.copy();
+    }
+  }
+
+  @Test
+  public void testIndexedFieldCache() throws CloneNotSupportedException
+  {
+    IndexedRecord record = new IndexedRecord(new DataMap(asMap("int", 1L, "long", 2, "array", new DataList(asList(1, 2)))));
+
+    // primitive getters coerce values of a different class
+    assertEquals(record.getInt(GetMode.STRICT), Integer.valueOf(1));
+    assertEquals(record.getLong(GetMode.STRICT), Long.valueOf(2));
+    assertNull(new IndexedRecord().getLong(GetMode.STRICT));
+
+    // wrapped values are cached per field
+    IntegerArray array = record.getArray(GetMode.STRICT);
+    assertSame(record.getArray(GetMode.STRICT), array);
+    assertNull(record.getRecord(GetMode.NULL));
+
+    Bar bar = new Bar().setInt(3);
+    record.setRecord(bar, SetMode.DISALLOW_NULL);
+    assertSame(record.getRecord(GetMode.STRICT), bar);
+    assertSame(record.getArray(GetMode.STRICT), array);
+
+    // replacing the underlying data object invalidates the cached value
+    DataMap barMap = new DataMap(asMap("int", 4));
+    record.data().put("record", barMap);
+    Bar replaced = record.getRecord(GetMode.STRICT);
+    assertNotSame(replaced, bar);
+    assertSame(replaced.data(), barMap);
+
+    IndexedRecord clone = record.clone();
+    assertSame(clone.getRecord(GetMode.STRICT), replaced);
+    IndexedRecord copy = record.copy();
+    assertNotSame(copy.getRecord(GetMode.STRICT), replaced);
+    assertEquals(copy.getRecord(GetMode.STRICT), replaced);
+  }
 }
@@ -23,8 +23,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 
+/**
+ * The stream state, the number of data chunks the reader has requested and whether the writer is waiting for
+ * {@link Writer#onWritePossible()} are packed into a single {@link AtomicLong} and updated with compare-and-set,
+ * so {@link WriteHandle} and {@link ReadHandle} calls do not contend on a monitor. Only the one-time initialization
+ * through {@link #addObserver(Observer)} and {@link #setReader(Reader)} still takes a lock.
+ */
 class EntityStreamImpl<T> implements EntityStream<T>
 {
   private static final Logger LOG = LoggerFactory.getLogger(EntityStreamImpl.class);
@@ -38,23 +45,25 @@ class EntityStreamImpl<T> implements EntityStream<T>
     ABORT_REQUESTED,
   }
 
+  private static final State[] STATES = State.values();
+
+  // bits 0-31 hold the remaining count, bit 32 the notify-write-possible flag and the bits above it the state ordinal
+  private static final long REMAINING_MASK = 0xFFFFFFFFL;
+  private static final long NOTIFY_WRITE_POSSIBLE_BIT = 1L << 32;
+  private static final int STATE_SHIFT = 33;
+
   private final Writer<? extends T> _writer;
   private final Object _lock;
+  private final AtomicLong _ctl;
   private List<Observer<? super T>> _observers;
   private Reader<? super T> _reader;
 
-  private int _remaining;
-  private boolean _notifyWritePossible;
-  private State _state;
-
   EntityStreamImpl(Writer<? extends T> writer)
   {
     _writer = writer;
     _lock = new Object();
     _observers = new ArrayList<>();
-    _remaining = 0;
-    _notifyWritePossible = true;
-    _state = State.UNINITIALIZED;
+    _ctl = new AtomicLong(ctl(State.UNINITIALIZED, true, 0));
   }
 
   public void addObserver(Observer<? super T> o)
@@ -71,9 +80,10 @@ class EntityStreamImpl<T> implements EntityStream<T>
     synchronized (_lock)
     {
       checkInit();
-      _state = State.ACTIVE;
       _reader = r;
       _observers = Collections.unmodifiableList(_observers);
+      // the volatile write publishes _reader and _observers to any thread that subsequently reads the state
+      _ctl.set(ctl(State.ACTIVE, true, 0));
     }
 
     final WriteHandle<T> wh = new WriteHandleImpl();
@@ -85,10 +95,7 @@ class EntityStreamImpl<T> implements EntityStream<T>
     catch (Throwable ex)
     {
       LOG.warn("Writer throws exception at onInit", ex);
-      synchronized (_lock)
-      {
-        _state = State.ABORTED;
-      }
+      forceAborted();
       safeAbortWriter(ex);
       writerInitEx = ex;
     }
@@ -134,15 +141,17 @@ class EntityStreamImpl<T> implements EntityStream<T>
     catch (RuntimeException ex)
     {
       LOG.warn("Reader throws exception at onInit", ex);
-      synchronized (_lock)
+      while (true)
       {
-        if (_state != State.ACTIVE && _state != State.ABORT_REQUESTED && writerInitEx == null)
+        final long c = _ctl.get();
+        final State state = stateOf(c);
+        if (state != State.ACTIVE && state != State.ABORT_REQUESTED && writerInitEx == null)
         {
           return;
         }
-        else
+        if (state == State.ABORTED || _ctl.compareAndSet(c, withState(c, State.ABORTED)))
         {
-          _state = State.ABORTED;
+          break;
         }
       }
       if (writerInitEx == null)
@@ -165,38 +174,37 @@ class EntityStreamImpl<T> implements EntityStream<T>
     @Override
     public void write(final T data)
     {
-      boolean doCancelNow = false;
-
-      synchronized (_lock)
+      while (true)
       {
-        if (_state == State.FINISHED)
+        final long c = _ctl.get();
+        final State state = stateOf(c);
+        if (state == State.FINISHED)
         {
           throw new IllegalStateException("Attempting to write after done or error of WriteHandle is invoked");
         }
 
-        if (_state == State.ABORTED)
+        if (state == State.ABORTED)
         {
           return;
         }
 
-        _remaining--;
-
-        if (_remaining < 0)
+        if (remainingOf(c) == 0)
         {
           throw new IllegalStateException("Attempt to write when remaining is 0");
         }
 
-        if (_state == State.ABORT_REQUESTED)
+        if (state == State.ABORT_REQUESTED)
         {
-          doCancelNow = true;
-          _state = State.ABORTED;
+          if (_ctl.compareAndSet(c, withState(c - 1, State.ABORTED)))
+          {
+            doCancel(getAbortedException(), false);
+            return;
+          }
+        }
+        else if (_ctl.compareAndSet(c, c - 1))
+        {
+          break;
         }
-      }
-
-      if (doCancelNow)
-      {
-        doCancel(getAbortedException(), false);
-        return;
       }
 
       for (Observer<? super T> observer : _observers)
@@ -219,11 +227,8 @@ class EntityStreamImpl<T> implements EntityStream<T>
       {
         LOG.warn("Reader throws exception at onDataAvailable", ex);
 
-        // the lock ensures that once we change the _state to ABORTED, it will stay as ABORTED
-        synchronized (_lock)
-        {
-          _state = State.ABORTED;
-        }
+        // once we change the state to ABORTED, it will stay as ABORTED
+        forceAborted();
 
         // we can safely do cancel here because no other place could be doing cancel (mutually exclusively by design)
         doCancel(ex, true);
@@ -233,32 +238,17 @@ class EntityStreamImpl<T> implements EntityStream<T>
     @Override
     public void done()
     {
-      boolean doCancelNow = false;
-      synchronized (_lock)
+      final State previous = finish();
+      if (previous == State.ABORT_REQUESTED)
       {
-        if (_state != State.ACTIVE && _state != State.ABORT_REQUESTED)
-        {
-          return;
-        }
-
-        if (_state == State.ABORT_REQUESTED)
-        {
-          doCancelNow = true;
-          _state = State.ABORTED;
-        }
-        else
-        {
-          _state = State.FINISHED;
-        }
+        doCancel(getAbortedException(), false);
+        return;
       }
-
-      if (doCancelNow)
+      else if (previous != State.ACTIVE)
       {
-        doCancel(getAbortedException(), false);
         return;
       }
 
-
       for (Observer<? super T> observer : _observers)
       {
         try
@@ -287,28 +277,14 @@ class EntityStreamImpl<T> implements EntityStream<T>
     @Override
     public void error(final Throwable e)
     {
-      boolean doCancelNow = false;
-      synchronized (_lock)
+      final State previous = finish();
+      if (previous == State.ABORT_REQUESTED)
       {
-        if (_state != State.ACTIVE && _state != State.ABORT_REQUESTED)
-        {
-          return;
-        }
-
-        if (_state == State.ABORT_REQUESTED)
-        {
-          doCancelNow = true;
-          _state = State.ABORTED;
-        }
-        else
-        {
-          _state = State.FINISHED;
-        }
+        doCancel(getAbortedException(), false);
+        return;
       }
-
-      if (doCancelNow)
+      else if (previous != State.ACTIVE)
       {
-        doCancel(getAbortedException(), false);
         return;
       }
 
@@ -330,37 +306,56 @@ class EntityStreamImpl<T> implements EntityStream<T>
     @Override
     public int remaining()
     {
-      int result;
-      boolean doCancelNow = false;
-      synchronized (_lock)
+      while (true)
       {
-        if (_state != State.ACTIVE && _state != State.ABORT_REQUESTED)
+        final long c = _ctl.get();
+        final State state = stateOf(c);
+        if (state != State.ACTIVE && state != State.ABORT_REQUESTED)
         {
           return 0;
         }
 
-        if (_state == State.ABORT_REQUESTED)
+        if (state == State.ABORT_REQUESTED)
         {
-          doCancelNow = true;
-          _state = State.ABORTED;
-          result = 0;
-        }
-        else
-        {
-          if (_remaining == 0)
+          if (_ctl.compareAndSet(c, withState(c, State.ABORTED)))
           {
-            _notifyWritePossible = true;
+            doCancel(getAbortedException(), false);
+            return 0;
           }
-          result = _remaining;
+          continue;
+        }
+
+        final int remaining = remainingOf(c);
+        if (remaining > 0 || (c & NOTIFY_WRITE_POSSIBLE_BIT) != 0
+            || _ctl.compareAndSet(c, c | NOTIFY_WRITE_POSSIBLE_BIT))
+        {
+          return remaining;
         }
       }
+    }
 
-      if (doCancelNow)
+    /**
+     * Moves an ACTIVE stream to FINISHED, or an ABORT_REQUESTED stream to ABORTED.
+     *
+     * @return the state before the transition; other states are returned as is and left unchanged.
+     */
+    private State finish()
+    {
+      while (true)
       {
-        doCancel(getAbortedException(), false);
-      }
+        final long c = _ctl.get();
+        final State state = stateOf(c);
+        if (state != State.ACTIVE && state != State.ABORT_REQUESTED)
+        {
+          return state;
+        }
 
-      return result;
+        final State next = state == State.ABORT_REQUESTED ? State.ABORTED : State.FINISHED;
+        if (_ctl.compareAndSet(c, withState(c, next)))
+        {
+          return state;
+        }
+      }
     }
   }
 
@@ -374,30 +369,31 @@ class EntityStreamImpl<T> implements EntityStream<T>
         throw new IllegalArgumentException("cannot request non-positive number of data chunks: " + chunkNum);
       }
 
-      boolean needNotify = false;
-      synchronized (_lock)
+      boolean needNotify;
+      boolean overflow;
+      while (true)
       {
-        if (_state != State.ACTIVE)
+        final long c = _ctl.get();
+        if (stateOf(c) != State.ACTIVE)
         {
           return;
         }
 
-        _remaining += chunkNum;
-        // overflow
-        if (_remaining < 0)
-        {
-          LOG.warn("chunkNum overflow, setting to Integer.MAX_VALUE");
-          _remaining = Integer.MAX_VALUE;
-        }
-
+        final long remaining = (long) remainingOf(c) + chunkNum;
+        overflow = remaining > Integer.MAX_VALUE;
         // notify the writer if needed
-        if (_notifyWritePossible)
+        needNotify = (c & NOTIFY_WRITE_POSSIBLE_BIT) != 0;
+        if (_ctl.compareAndSet(c, ctl(State.ACTIVE, false, overflow ? Integer.MAX_VALUE : (int) remaining)))
         {
-          needNotify = true;
-          _notifyWritePossible = false;
+          break;
         }
       }
 
+      if (overflow)
+      {
+        LOG.warn("chunkNum overflow, setting to Integer.MAX_VALUE");
+      }
+
       if (needNotify)
       {
         try
@@ -408,10 +404,7 @@ class EntityStreamImpl<T> implements EntityStream<T>
         {
           LOG.warn("Writer throws at onWritePossible", ex);
           // we can safely do cancel here as no WriteHandle method could be called at the same time
-          synchronized (_lock)
-          {
-            _state = State.ABORTED;
-          }
+          forceAborted();
           doCancel(ex, true);
         }
       }
@@ -420,39 +413,70 @@ class EntityStreamImpl<T> implements EntityStream<T>
     @Override
     public void cancel()
     {
-      boolean doCancelNow;
-      synchronized (_lock)
+      while (true)
       {
-        // this means writer is waiting for onWritePossible (cannot call WriteHandle.write) and has not called
-        // WriteHandle.onDone() or WriteHandle.onError() yet, so we can safely do cancel here
-
-        // otherwise, we would let the writer thread invoke doCancel later
-        doCancelNow = _notifyWritePossible && _state == State.ACTIVE;
-        if (doCancelNow)
+        final long c = _ctl.get();
+        if (stateOf(c) != State.ACTIVE)
         {
-          _state = State.ABORTED;
+          return;
         }
-        else if (_state == State.ACTIVE)
+
+        // if the writer is waiting for onWritePossible (cannot call WriteHandle.write) and has not called
+        // WriteHandle.onDone() or WriteHandle.onError() yet, we can safely do cancel here
+
+        // otherwise, we let the writer thread invoke doCancel later
+        final boolean doCancelNow = (c & NOTIFY_WRITE_POSSIBLE_BIT) != 0;
+        if (_ctl.compareAndSet(c, withState(c, doCancelNow ? State.ABORTED : State.ABORT_REQUESTED)))
         {
-          _state = State.ABORT_REQUESTED;
+          if (doCancelNow)
+          {
+            doCancel(getAbortedException(), false);
+          }
+          return;
         }
       }
-
-      if (doCancelNow)
-      {
-        doCancel(getAbortedException(), false);
-      }
     }
   }
 
   private void checkInit()
   {
-    if (_state != State.UNINITIALIZED)
+    if (stateOf(_ctl.get()) != State.UNINITIALIZED)
     {
       throw new IllegalStateException("EntityStream had already been initialized and can no longer accept Observers or Reader");
     }
   }
 
+  private void forceAborted()
+  {
+    long c;
+    do
+    {
+      c = _ctl.get();
+    }
+    while (!_ctl.compareAndSet(c, withState(c, State.ABORTED)));
+  }
+
+  private static long ctl(State state, boolean notifyWritePossible, int remaining)
+  {
+    return ((long) state.ordinal() << STATE_SHIFT) | (notifyWritePossible ? NOTIFY_WRITE_POSSIBLE_BIT : 0L)
+        | (remaining & REMAINING_MASK);
+  }
+
+  private static long withState(long c, State state)
+  {
+    return ((long) state.ordinal() << STATE_SHIFT) | (c & (NOTIFY_WRITE_POSSIBLE_BIT | REMAINING_MASK));
+  }
+
+  private static State stateOf(long c)
+  {
+    return STATES[(int) (c >>> STATE_SHIFT)];
+  }
+
+  private static int remainingOf(long c)
+  {
+    return (int) (c & REMAINING_MASK);
+  }
+
   private void safeAbortWriter(Throwable throwable)
   {
     try
@@ -24,6 +24,8 @@ import com.linkedin.data.schema.resolver.DefaultDataSchemaResolver;
 
 import com.linkedin.data.schema.resolver.MultiFormatDataSchemaResolver;
 import com.linkedin.pegasus.generator.spec.UnionTemplateSpec;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -75,6 +77,20 @@ public class CodeUtil
     }
   }
 
+  /**
+   * Release the resources held by a {@link DataSchemaResolver}, such as the resolver path jars kept open by
+   * {@link com.linkedin.data.schema.resolver.FileDataSchemaResolver}.
+   *
+   * @param resolver the resolver, typically created by {@link #createSchemaResolver(String)}
+   */
+  public static void closeSchemaResolver(DataSchemaResolver resolver) throws IOException
+  {
+    if (resolver instanceof Closeable)
+    {
+      ((Closeable) resolver).close();
+    }
+  }
+
   /**
    * Capitalize the input name.
    *
@@ -0,0 +1,167 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.pegasus.generator;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+
+/**
+ * A {@link CodeWriter} that writes generated files into a target directory like
+ * {@link com.sun.codemodel.writer.FileCodeWriter}, but does not rewrite files whose content did not change.
+ *
+ * Generated files are buffered in memory and written out on a {@link ForkJoinPool} when the writer is closed.
+ * Unchanged files keep their content, so tools that compare content, like Gradle's incremental compilation, only
+ * recompile the classes whose schemas actually changed. Their last modified time is still updated, because the
+ * generators skip generation when the target files are newer than the sources, see
+ * {@link com.linkedin.util.FileUtil#upToDate(java.util.Collection, java.util.Collection)}.
+ */
+public class IncrementalFileCodeWriter extends CodeWriter
+{
+  private final File _targetDirectory;
+  private final boolean _markReadOnly;
+  private final ForkJoinPool _pool;
+  private final Map<File, ByteArrayOutputStream> _pendingFiles = new LinkedHashMap<>();
+  private final List<File> _modifiedFiles = Collections.synchronizedList(new ArrayList<>());
+
+  /**
+   * @param targetDirectory directory to write generated files to.
+   * @param markReadOnly whether written files should be marked read only.
+   */
+  public IncrementalFileCodeWriter(File targetDirectory, boolean markReadOnly)
+  {
+    this(targetDirectory, markReadOnly, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param targetDirectory directory to write generated files to.
+   * @param markReadOnly whether written files should be marked read only.
+   * @param pool pool used to compare and write generated files.
+   */
+  public IncrementalFileCodeWriter(File targetDirectory, boolean markReadOnly, ForkJoinPool pool)
+  {
+    _targetDirectory = targetDirectory;
+    _markReadOnly = markReadOnly;
+    _pool = pool;
+  }
+
+  @Override
+  public OutputStream openBinary(JPackage pkg, String fileName)
+  {
+    final File directory = pkg.isUnnamed() ? _targetDirectory :
+        new File(_targetDirectory, pkg.name().replace('.', File.separatorChar));
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    _pendingFiles.put(new File(directory, fileName), content);
+    return content;
+  }
+
+  /**
+   * Writes the generated files that differ from the files already in the target directory. This may be called more
+   * than once, e.g. by {@link com.sun.codemodel.JCodeModel#build(CodeWriter)}, which closes the same writer as both
+   * source and resource writer.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    if (_pendingFiles.isEmpty())
+    {
+      return;
+    }
+
+    final List<Map.Entry<File, ByteArrayOutputStream>> pendingFiles = new ArrayList<>(_pendingFiles.entrySet());
+    _pendingFiles.clear();
+    try
+    {
+      _pool.submit(() -> pendingFiles.parallelStream().forEach(entry -> write(entry.getKey(), entry.getValue().toByteArray())))
+          .get();
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing generated files to " + _targetDirectory, e);
+    }
+    catch (ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException)
+      {
+        throw ((UncheckedIOException) cause).getCause();
+      }
+      throw new IOException("Failed to write generated files to " + _targetDirectory, cause);
+    }
+  }
+
+  /**
+   * @return the files that have been written because they did not exist or their content changed, sorted by path.
+   *         Files that were only touched are not included.
+   */
+  public List<File> getModifiedFiles()
+  {
+    synchronized (_modifiedFiles)
+    {
+      return _modifiedFiles.stream().sorted().collect(Collectors.toList());
+    }
+  }
+
+  private void write(File file, byte[] content)
+  {
+    try
+    {
+      // Unchanged files are touched instead of rewritten, falling back to rewriting them if that fails.
+      if (file.isFile() && file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content)
+          && file.setLastModified(System.currentTimeMillis()))
+      {
+        return;
+      }
+
+      if (file.exists() && !file.delete())
+      {
+        throw new IOException(file + ": Can't delete previous version");
+      }
+      final File directory = file.getParentFile();
+      if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory())
+      {
+        throw new IOException(directory + ": Can't create directory");
+      }
+      Files.write(file.toPath(), content);
+      if (_markReadOnly)
+      {
+        file.setReadOnly();
+      }
+      _modifiedFiles.add(file);
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
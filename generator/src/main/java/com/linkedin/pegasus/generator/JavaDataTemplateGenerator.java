@@ -69,6 +69,7 @@ import com.linkedin.pegasus.generator.spec.TyperefTemplateSpec;
 import com.linkedin.pegasus.generator.spec.UnionTemplateSpec;
 
 import com.sun.codemodel.JFieldRef;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -148,6 +149,19 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
   private static final SchemaFormatType DEFAULT_SCHEMA_FORMAT_TYPE = SchemaFormatType.PDSC;
 
   private static final int DEFAULT_DATAMAP_INITIAL_CAPACITY = 16; // From HashMap's default initial capacity
+
+  /*
+   * Getters of RecordTemplate that skip the coercer lookup for the primitive types they handle.
+   */
+  private static final Map<DataSchema.Type, String> PRIMITIVE_GETTERS = new EnumMap<>(DataSchema.Type.class);
+  static
+  {
+    PRIMITIVE_GETTERS.put(DataSchema.Type.INT, "obtainInteger");
+    PRIMITIVE_GETTERS.put(DataSchema.Type.LONG, "obtainLong");
+    PRIMITIVE_GETTERS.put(DataSchema.Type.BOOLEAN, "obtainBoolean");
+    PRIMITIVE_GETTERS.put(DataSchema.Type.DOUBLE, "obtainDouble");
+  }
+
   private static final Logger _log = LoggerFactory.getLogger(JavaDataTemplateGenerator.class);
   //
   // Deprecated annotation utils
@@ -672,9 +686,13 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
     generateDataMapConstructor(templateClass, schemaFieldVar, recordSpec.getFields().size(), recordSpec.getWrappedFields().size());
     generateConstructorWithArg(templateClass, schemaFieldVar, _dataMapClass);
 
+    // Wrapped and custom typed fields get consecutive indexes into the record template's field cache.
+    int fieldCacheIndex = 0;
     for (RecordTemplateSpec.Field field : recordSpec.getFields())
     {
-      generateRecordFieldAccessors(templateClass, field, generate(field.getType()), schemaFieldVar);
+      final boolean isCached = !CodeUtil.isDirectType(field.getSchemaField().getType()) || field.getCustomInfo() != null;
+      generateRecordFieldAccessors(templateClass, field, generate(field.getType()), schemaFieldVar,
+          isCached ? fieldCacheIndex++ : -1);
     }
 
     recordSpec.getFields().stream()
@@ -782,7 +800,14 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
     staticFieldsAccessor.body()._return(staticFields);
   }
 
-  private void generateRecordFieldAccessors(JDefinedClass templateClass, RecordTemplateSpec.Field field, JClass type, JVar schemaFieldVar)
+  /**
+   * Generates the accessors of a record field.
+   * @param fieldCacheIndex index of the field in the record template's field cache, or -1 if the field values are
+   *                        not cached, in which case int, long, boolean and double fields use the dedicated getters
+   *                        of {@link RecordTemplate} where possible.
+   */
+  private void generateRecordFieldAccessors(JDefinedClass templateClass, RecordTemplateSpec.Field field, JClass type,
+      JVar schemaFieldVar, int fieldCacheIndex)
   {
     final RecordDataSchema.Field schemaField = field.getSchemaField();
     final DataSchema fieldSchema = schemaField.getType();
@@ -802,6 +827,19 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
     final JFieldVar fieldField = templateClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, RecordDataSchema.Field.class, fieldFieldName);
     fieldField.init(schemaFieldVar.invoke("getField").arg(schemaField.getName()));
 
+    final JFieldVar fieldIndexField;
+    if (fieldCacheIndex >= 0)
+    {
+      fieldIndexField = templateClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, getCodeModel().INT,
+          "FIELD_INDEX_" + capitalizedName, JExpr.lit(fieldCacheIndex));
+    }
+    else
+    {
+      fieldIndexField = null;
+    }
+    final String primitiveGetter = fieldIndexField == null && field.getCustomInfo() == null ?
+        PRIMITIVE_GETTERS.get(fieldSchema.getDereferencedType()) : null;
+
     // Generate has method.
     final JMethod has = templateClass.method(JMod.PUBLIC, getCodeModel().BOOLEAN, "has" + capitalizedName);
     addAccessorDoc(templateClass, has, schemaField, "Existence checker");
@@ -831,8 +869,7 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
       setDeprecatedAnnotationAndJavadoc(getterWithMode, schemaField);
       JVar modeParam = getterWithMode.param(_getModeClass, "mode");
       final JBlock getterWithModeBody = getterWithMode.body();
-      res = JExpr.invoke("obtain" + wrappedOrDirect).arg(fieldField).arg(JExpr.dotclass(type)).arg(modeParam);
-      getterWithModeBody._return(res);
+      getterWithModeBody._return(obtainFieldValue(wrappedOrDirect, primitiveGetter, fieldField, fieldIndexField, type, modeParam));
     }
 
     // Getter method without mode.
@@ -851,8 +888,7 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
       returnComment.add("Required field. Could be null for partial record.");
     }
     final JBlock getterWithoutModeBody = getterWithoutMode.body();
-    res = JExpr.invoke("obtain" + wrappedOrDirect).arg(fieldField).arg(JExpr.dotclass(type)).arg(_strictGetMode);
-    getterWithoutModeBody._return(res);
+    getterWithoutModeBody._return(obtainFieldValue(wrappedOrDirect, primitiveGetter, fieldField, fieldIndexField, type, _strictGetMode));
 
     // Determine dataClass
     final JClass dataClass = generate(field.getDataClass());
@@ -866,7 +902,7 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
       setDeprecatedAnnotationAndJavadoc(setterWithMode, schemaField);
       JVar param = setterWithMode.param(type, "value");
       JVar modeParam = setterWithMode.param(_setModeClass, "mode");
-      JInvocation inv = setterWithMode.body().invoke("put" + wrappedOrDirect).arg(fieldField).arg(JExpr.dotclass(type));
+      JInvocation inv = putFieldValue(setterWithMode.body(), wrappedOrDirect, fieldField, fieldIndexField, type);
       dataClassArg(inv, dataClass).arg(param).arg(modeParam);
       setterWithMode.body()._return(JExpr._this());
     }
@@ -879,7 +915,7 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
     param.annotate(Nonnull.class);
     JCommentPart paramDoc = setter.javadoc().addParam(param);
     paramDoc.add("Must not be null. For more control, use setters with mode instead.");
-    JInvocation inv = setter.body().invoke("put" + wrappedOrDirect).arg(fieldField).arg(JExpr.dotclass(type));
+    JInvocation inv = putFieldValue(setter.body(), wrappedOrDirect, fieldField, fieldIndexField, type);
     dataClassArg(inv, dataClass).arg(param).arg(_disallowNullSetMode);
     setter.body()._return(JExpr._this());
 
@@ -890,12 +926,38 @@ public class JavaDataTemplateGenerator extends JavaCodeGeneratorBase
       addAccessorDoc(templateClass, unboxifySetter, schemaField, "Setter");
       setDeprecatedAnnotationAndJavadoc(unboxifySetter, schemaField);
       param = unboxifySetter.param(type.unboxify(), "value");
-      inv = unboxifySetter.body().invoke("put" + wrappedOrDirect).arg(fieldField).arg(JExpr.dotclass(type));
+      inv = putFieldValue(unboxifySetter.body(), wrappedOrDirect, fieldField, fieldIndexField, type);
       dataClassArg(inv, dataClass).arg(param).arg(_disallowNullSetMode);
       unboxifySetter.body()._return(JExpr._this());
     }
   }
 
+  private JExpression obtainFieldValue(String wrappedOrDirect, String primitiveGetter, JFieldVar fieldField,
+      JFieldVar fieldIndexField, JClass type, JExpression mode)
+  {
+    if (primitiveGetter != null)
+    {
+      return JExpr.invoke(primitiveGetter).arg(fieldField).arg(mode);
+    }
+    final JInvocation inv = JExpr.invoke("obtain" + wrappedOrDirect).arg(fieldField);
+    if (fieldIndexField != null)
+    {
+      inv.arg(fieldIndexField);
+    }
+    return inv.arg(JExpr.dotclass(type)).arg(mode);
+  }
+
+  private JInvocation putFieldValue(JBlock body, String wrappedOrDirect, JFieldVar fieldField, JFieldVar fieldIndexField,
+      JClass type)
+  {
+    final JInvocation inv = body.invoke("put" + wrappedOrDirect).arg(fieldField);
+    if (fieldIndexField != null)
+    {
+      inv.arg(fieldIndexField);
+    }
+    return inv.arg(JExpr.dotclass(type));
+  }
+
   protected void generateTyperef(JDefinedClass typerefClass, TyperefTemplateSpec typerefSpec)
   {
     typerefClass.javadoc().append(typerefSpec.getSchema().getDoc());
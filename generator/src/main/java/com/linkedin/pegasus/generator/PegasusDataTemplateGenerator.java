@@ -25,7 +25,6 @@ import com.linkedin.util.FileUtil;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
-import com.sun.codemodel.writer.FileCodeWriter;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
@@ -118,6 +117,20 @@ public class PegasusDataTemplateGenerator
       throws IOException
   {
     final DataSchemaParser schemaParser = new DataSchemaParser(resolverPath);
+    try
+    {
+      return generate(schemaParser, defaultPackage, rootPath, generateImported, targetDirectoryPath, sources);
+    }
+    finally
+    {
+      CodeUtil.closeSchemaResolver(schemaParser.getSchemaResolver());
+    }
+  }
+
+  private static GeneratorResult generate(DataSchemaParser schemaParser, String defaultPackage, String rootPath,
+      final boolean generateImported, String targetDirectoryPath, String[] sources)
+      throws IOException
+  {
     final TemplateSpecGenerator specGenerator = new TemplateSpecGenerator(schemaParser.getSchemaResolver());
     final JavaDataTemplateGenerator dataTemplateGenerator = new JavaDataTemplateGenerator(defaultPackage, rootPath);
 
@@ -150,12 +163,14 @@ public class PegasusDataTemplateGenerator
     }
     else
     {
-      modifiedFiles = targetFiles;
       _log.info("Generating " + targetFiles.size() + " files");
       _log.debug("Files: "+ targetFiles);
       validateDefinedClassRegistration(dataTemplateGenerator.getCodeModel(), dataTemplateGenerator.getGeneratedClasses().keySet());
       targetDirectory.mkdirs();
-      dataTemplateGenerator.getCodeModel().build(new FileCodeWriter(targetDirectory, true));
+      final IncrementalFileCodeWriter codeWriter = new IncrementalFileCodeWriter(targetDirectory, true);
+      dataTemplateGenerator.getCodeModel().build(codeWriter);
+      modifiedFiles = codeWriter.getModifiedFiles();
+      _log.info("Wrote " + modifiedFiles.size() + " changed files, " + (targetFiles.size() - modifiedFiles.size()) + " files are unchanged");
     }
 
     return new DefaultGeneratorResult(parseResult.getSourceFiles(), targetFiles, modifiedFiles);
@@ -18,6 +18,7 @@ package com.linkedin.pegasus.generator;
 
 import com.linkedin.data.schema.SchemaFormatType;
 import com.linkedin.data.schema.generator.AbstractGenerator;
+import com.linkedin.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -147,6 +148,38 @@ public class TestPegasusDataTemplateGenerator
     testRunGenerator(pegasusFilename, expectedTypeNamesToSourceFileMap, pegasusDir);
   }
 
+  @Test
+  public void testRegenerationSkipsUnchangedFiles() throws Exception
+  {
+    File sourceDir = new File(_tempDir, "source");
+    File targetDir = new File(_tempDir, "target");
+    Assert.assertTrue(sourceDir.mkdir());
+    File pegasusFile = new File(sourceDir, "WithoutResolverExamplePdl.pdl");
+    Files.copy(new File(pegasusDir + FS + pegasusFile.getName()).toPath(), pegasusFile.toPath());
+    String[] sources = new String[] {pegasusFile.getAbsolutePath()};
+
+    GeneratorResult result = PegasusDataTemplateGenerator.run(null, null, null, true, targetDir.getAbsolutePath(), sources);
+    Assert.assertFalse(result.getTargetFiles().isEmpty());
+    Assert.assertEquals(result.getModifiedFiles().size(), result.getTargetFiles().size());
+
+    // Make the source look edited after the files were generated, without changing what is generated from it.
+    long now = System.currentTimeMillis();
+    for (File targetFile : result.getTargetFiles())
+    {
+      Assert.assertTrue(targetFile.setLastModified(now - 60000L));
+    }
+    Assert.assertTrue(pegasusFile.setLastModified(now - 30000L));
+    Assert.assertFalse(FileUtil.upToDate(result.getSourceFiles(), result.getTargetFiles()));
+    File targetFile = result.getTargetFiles().iterator().next();
+    byte[] content = Files.readAllBytes(targetFile.toPath());
+
+    result = PegasusDataTemplateGenerator.run(null, null, null, true, targetDir.getAbsolutePath(), sources);
+    Assert.assertTrue(result.getModifiedFiles().isEmpty(), "Unchanged files were written: " + result.getModifiedFiles());
+    Assert.assertEquals(Files.readAllBytes(targetFile.toPath()), content);
+    // Unchanged files are touched, so that the next run finds them up-to-date again.
+    Assert.assertTrue(FileUtil.upToDate(result.getSourceFiles(), result.getTargetFiles()));
+  }
+
   private void testRunGenerator(String pegasusFilename, Map<String, String> expectedTypeNamesToSourceFileMap,
       String expectedGeneratedDir) throws Exception
   {
@@ -0,0 +1,91 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.common.callback;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * A {@link Callback} that is also a {@link CompletableFuture}, so that a callback based API can return a
+ * {@link java.util.concurrent.CompletionStage} that is completed directly by the callback.
+ *
+ * <p>By default the future is completed on the thread that invokes the callback, which also runs the dependent stages
+ * that are registered by then. If an {@link Executor} is given, the future is completed on it instead, for example to
+ * keep dependent stages off I/O threads. If the executor rejects the completion, the future is completed exceptionally
+ * with the {@link RejectedExecutionException} on the invoking thread.</p>
+ *
+ * @param <T> type of the result.
+ */
+public class CompletableFutureCallback<T> extends CompletableFuture<T> implements Callback<T>
+{
+  private final Executor _executor;
+
+  public CompletableFutureCallback()
+  {
+    this(null);
+  }
+
+  /**
+   * @param executor the executor to complete the future on, or null to complete it on the invoking thread.
+   */
+  public CompletableFutureCallback(Executor executor)
+  {
+    _executor = executor;
+  }
+
+  @Override
+  public void onSuccess(T result)
+  {
+    if (_executor == null)
+    {
+      complete(result);
+    }
+    else
+    {
+      completeOnExecutor(() -> complete(result));
+    }
+  }
+
+  @Override
+  public void onError(Throwable e)
+  {
+    Throwable error = e != null ? e : new NullPointerException("Null error is passed to onError!");
+    if (_executor == null)
+    {
+      completeExceptionally(error);
+    }
+    else
+    {
+      completeOnExecutor(() -> completeExceptionally(error));
+    }
+  }
+
+  private void completeOnExecutor(Runnable completion)
+  {
+    try
+    {
+      _executor.execute(completion);
+    }
+    catch (RejectedExecutionException e)
+    {
+      completeExceptionally(e);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.common.callback;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link CompletableFutureCallback}.
+ */
+public class TestCompletableFutureCallback
+{
+  @Test
+  public void testCompletesOnInvokingThread() throws Exception
+  {
+    CompletableFutureCallback<String> callback = new CompletableFutureCallback<>();
+    Thread[] completingThread = new Thread[1];
+    callback.thenRun(() -> completingThread[0] = Thread.currentThread());
+
+    callback.onSuccess("result");
+    Assert.assertEquals(callback.get(), "result");
+    Assert.assertSame(completingThread[0], Thread.currentThread());
+  }
+
+  @Test
+  public void testCompletesOnExecutor() throws Exception
+  {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try
+    {
+      CompletableFutureCallback<String> callback = new CompletableFutureCallback<>(executor);
+      Thread executorThread = executor.submit(Thread::currentThread).get();
+      Thread[] completingThread = new Thread[1];
+      callback.thenRun(() -> completingThread[0] = Thread.currentThread());
+
+      callback.onSuccess("result");
+      Assert.assertEquals(callback.get(10, TimeUnit.SECONDS), "result");
+      executor.submit(() -> { }).get();
+      Assert.assertSame(completingThread[0], executorThread);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testError() throws Exception
+  {
+    CompletableFutureCallback<String> callback = new CompletableFutureCallback<>();
+    Exception error = new Exception("error");
+    callback.onError(error);
+
+    try
+    {
+      callback.get();
+      Assert.fail("Should have thrown");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertSame(e.getCause(), error);
+    }
+  }
+
+  @Test
+  public void testRejectedByExecutor() throws Exception
+  {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    CompletableFutureCallback<String> callback = new CompletableFutureCallback<>(executor);
+    callback.onSuccess("result");
+
+    Assert.assertTrue(callback.isCompletedExceptionally());
+    try
+    {
+      callback.get();
+      Assert.fail("Should have thrown");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+  }
+}
@@ -21,6 +21,7 @@ package com.linkedin.r2.caprep;
 import com.linkedin.r2.caprep.db.DefaultMessageSerializer;
 import com.linkedin.r2.caprep.db.DirectoryDbSink;
 import com.linkedin.r2.caprep.db.DirectoryDbSource;
+import com.linkedin.r2.caprep.db.MappedLogDbSink;
 import com.linkedin.r2.filter.NextFilter;
 import com.linkedin.r2.filter.message.rest.RestFilter;
 import com.linkedin.r2.filter.message.stream.StreamFilter;
@@ -48,11 +49,13 @@ public class CapRepFilter implements RestFilter, StreamFilter, CapRepAdmin
 
   private final ReplaceableFilter _filter = new ReplaceableFilter(PASS_THROUGH_FILTER);
 
+  private MappedLogDbSink _captureLog;
+
   @Override
   public void capture(String directory) throws IOException
   {
     _log.debug("Switching to capture mode. Directory: " + directory);
-    _filter.setFilter(PASS_THROUGH_FILTER);
+    switchToPassThrough();
     try
     {
       _filter.setFilter(new CaptureFilter(new DirectoryDbSink(directory,
@@ -70,11 +73,44 @@ public class CapRepFilter implements RestFilter, StreamFilter, CapRepAdmin
     }
   }
 
+  /**
+   * Puts the CapRep system into capture mode, appending requests and responses to a memory-mapped
+   * capture log in {@code directory}, see {@link MappedLogDbSink}. Unlike {@link #capture}, this
+   * mode keeps the request timings and is cheap enough to record production traffic; the log can be
+   * replayed against a live server with {@link CaptureLogReplayer}.
+   *
+   * @param directory the directory in which to store the capture log segments.
+   * @throws IOException if an error occurs while switching to capture mode.
+   *                     In this case the CapRep system will fall back to
+   *                     passThrough().
+   */
+  public synchronized void captureToLog(String directory) throws IOException
+  {
+    _log.debug("Switching to capture log mode. Directory: " + directory);
+    switchToPassThrough();
+    try
+    {
+      final MappedLogDbSink captureLog = new MappedLogDbSink(directory);
+      _filter.setFilter(new CaptureFilter(captureLog));
+      _captureLog = captureLog;
+    }
+    catch (IOException e)
+    {
+      _log.warn("Error switching to capture log mode", e);
+      throw e;
+    }
+    catch (RuntimeException e)
+    {
+      _log.warn("Error switching to capture log mode", e);
+      throw e;
+    }
+  }
+
   @Override
   public void replay(String directory) throws IOException
   {
     _log.debug("Switching to replay mode. Directory: " + directory);
-    _filter.setFilter(PASS_THROUGH_FILTER);
+    switchToPassThrough();
     try
     {
       _filter.setFilter(new ReplayFilter(new DirectoryDbSource(directory,
@@ -96,7 +132,17 @@ public class CapRepFilter implements RestFilter, StreamFilter, CapRepAdmin
   public void passThrough()
   {
     _log.debug("Switching to pass-through mode.");
+    switchToPassThrough();
+  }
+
+  private synchronized void switchToPassThrough()
+  {
     _filter.setFilter(PASS_THROUGH_FILTER);
+    if (_captureLog != null)
+    {
+      _captureLog.close();
+      _captureLog = null;
+    }
   }
 
   @Override
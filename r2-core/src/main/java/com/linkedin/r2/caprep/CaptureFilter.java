@@ -41,6 +41,7 @@ public class CaptureFilter implements RestFilter
   private static final Logger _log = LoggerFactory.getLogger(CaptureFilter.class);
 
   private static final String REQ_ATTR = CaptureFilter.class.getName() + ".req";
+  private static final String REQ_START_ATTR = CaptureFilter.class.getName() + ".reqStart";
 
   private final DbSink _db;
 
@@ -60,6 +61,7 @@ public class CaptureFilter implements RestFilter
   {
     // Save request so that it can be associated with the response
     requestContext.putLocalAttr(REQ_ATTR, req);
+    requestContext.putLocalAttr(REQ_START_ATTR, System.nanoTime());
 
     nextFilter.onRequest(req, requestContext, wireAttrs);
   }
@@ -89,12 +91,21 @@ public class CaptureFilter implements RestFilter
   private void saveResponse(RestResponse res, RequestContext requestContext)
   {
     final RestRequest req = (RestRequest) requestContext.removeLocalAttr(REQ_ATTR);
+    final Long start = (Long) requestContext.removeLocalAttr(REQ_START_ATTR);
     if (req != null)
     {
       _log.debug("Saving response for request: " + req.getURI());
       try
       {
-        _db.record(req, res);
+        if (start != null)
+        {
+          final long latencyNanos = System.nanoTime() - start;
+          _db.record(req, res, System.currentTimeMillis() - latencyNanos / 1000000, latencyNanos);
+        }
+        else
+        {
+          _db.record(req, res);
+        }
       }
       catch (IOException e)
       {
@@ -0,0 +1,266 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.caprep;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.r2.caprep.db.CapturedExchange;
+import com.linkedin.r2.caprep.db.MappedLogDbSink;
+import com.linkedin.r2.caprep.db.MappedLogReader;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.timing.HdrHistogramTimingAggregator;
+import com.linkedin.r2.transport.common.Client;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Re-issues the requests of a capture log written by {@link MappedLogDbSink} against a {@link Client}, for example a
+ * client of a local build of a service, to replay a recorded traffic shape for performance regression testing.
+ * <p/>
+ *
+ * Requests are sent open loop: each one is sent at the same offset from the start of the replay as it had from the
+ * first captured request, divided by the speedup, whether or not the previous requests have completed. Because the
+ * log is written in the order responses complete, requests that overlapped at capture time may be sent slightly out
+ * of order; such requests are sent as soon as they are read. The latencies of the replayed requests and the latencies
+ * recorded at capture time are collected in separate histograms so they can be compared.
+ */
+public class CaptureLogReplayer
+{
+  private static final Logger _log = LoggerFactory.getLogger(CaptureLogReplayer.class);
+
+  private final Client _client;
+  private final double _speedup;
+
+  /**
+   * Construct a new instance that replays requests at the captured rate.
+   *
+   * @param client the client to send the captured requests with.
+   */
+  public CaptureLogReplayer(Client client)
+  {
+    this(client, 1.0);
+  }
+
+  /**
+   * Construct a new instance that replays requests at a multiple of the captured rate.
+   *
+   * @param client the client to send the captured requests with.
+   * @param speedup the factor by which the captured rate is multiplied, e.g. 2.0 replays the log in half the time it
+   *                took to capture it. {@link Double#POSITIVE_INFINITY} sends the requests as fast as they are read.
+   */
+  public CaptureLogReplayer(Client client, double speedup)
+  {
+    if (!(speedup > 0))
+    {
+      throw new IllegalArgumentException("Speedup must be positive: " + speedup);
+    }
+    _client = client;
+    _speedup = speedup;
+  }
+
+  /**
+   * Replays all requests of the capture log in the specified directory and waits for their responses.
+   *
+   * @param dir the directory used as a message store by {@link MappedLogDbSink}.
+   * @return the statistics of the replay.
+   * @throws IOException if the capture log cannot be read.
+   * @throws InterruptedException if interrupted while waiting for the outstanding responses.
+   */
+  public ReplayStats replay(File dir) throws IOException, InterruptedException
+  {
+    final Recorder latencies = newRecorder();
+    final Recorder capturedLatencies = newRecorder();
+    final AtomicLong errors = new AtomicLong();
+    // one extra party for the replaying thread, so the latch cannot be released before all requests are sent
+    final AtomicInteger outstanding = new AtomicInteger(1);
+    final CountDownLatch drained = new CountDownLatch(1);
+
+    long requests = 0;
+    long firstRequestTimeMillis = 0;
+    final long startNanos = System.nanoTime();
+    final MappedLogReader reader = new MappedLogReader(dir);
+    try
+    {
+      for (CapturedExchange exchange = reader.next(); exchange != null; exchange = reader.next())
+      {
+        if (requests == 0)
+        {
+          firstRequestTimeMillis = exchange.getRequestTimeMillis();
+        }
+        if (exchange.getLatencyNanos() >= 0)
+        {
+          capturedLatencies.recordValue(narrow(exchange.getLatencyNanos()));
+        }
+
+        if (_speedup != Double.POSITIVE_INFINITY)
+        {
+          final long offsetNanos = TimeUnit.MILLISECONDS.toNanos(exchange.getRequestTimeMillis() - firstRequestTimeMillis);
+          final long sendNanos = startNanos + (long) (offsetNanos / _speedup);
+          for (long delay = sendNanos - System.nanoTime(); delay > 0; delay = sendNanos - System.nanoTime())
+          {
+            LockSupport.parkNanos(delay);
+          }
+        }
+
+        requests++;
+        outstanding.incrementAndGet();
+        final long sentNanos = System.nanoTime();
+        final Callback<RestResponse> callback = new Callback<RestResponse>()
+        {
+          @Override
+          public void onSuccess(RestResponse result)
+          {
+            complete();
+          }
+
+          @Override
+          public void onError(Throwable e)
+          {
+            _log.debug("Replayed request failed", e);
+            errors.incrementAndGet();
+            complete();
+          }
+
+          private void complete()
+          {
+            latencies.recordValue(narrow(System.nanoTime() - sentNanos));
+            if (outstanding.decrementAndGet() == 0)
+            {
+              drained.countDown();
+            }
+          }
+        };
+
+        try
+        {
+          _client.restRequest(exchange.getRequest(), new RequestContext(), callback);
+        }
+        catch (RuntimeException e)
+        {
+          callback.onError(e);
+        }
+      }
+    }
+    finally
+    {
+      reader.close();
+      if (outstanding.decrementAndGet() == 0)
+      {
+        drained.countDown();
+      }
+    }
+
+    drained.await();
+    return new ReplayStats(requests, errors.get(), System.nanoTime() - startNanos,
+        latencies.getIntervalHistogram(), capturedLatencies.getIntervalHistogram());
+  }
+
+  private static Recorder newRecorder()
+  {
+    return new Recorder(HdrHistogramTimingAggregator.LOWEST_DISCERNIBLE_VALUE,
+        HdrHistogramTimingAggregator.HIGHEST_TRACKABLE_VALUE,
+        HdrHistogramTimingAggregator.NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+  }
+
+  private static long narrow(long durationNano)
+  {
+    return Math.max(HdrHistogramTimingAggregator.LOWEST_DISCERNIBLE_VALUE,
+        Math.min(durationNano, HdrHistogramTimingAggregator.HIGHEST_TRACKABLE_VALUE));
+  }
+
+  /**
+   * Statistics of a replay. All durations are in nanoseconds.
+   */
+  public static class ReplayStats
+  {
+    private final long _requestCount;
+    private final long _errorCount;
+    private final long _durationNanos;
+    private final Histogram _latencies;
+    private final Histogram _capturedLatencies;
+
+    ReplayStats(long requestCount, long errorCount, long durationNanos, Histogram latencies,
+        Histogram capturedLatencies)
+    {
+      _requestCount = requestCount;
+      _errorCount = errorCount;
+      _durationNanos = durationNanos;
+      _latencies = latencies;
+      _capturedLatencies = capturedLatencies;
+    }
+
+    public long getRequestCount()
+    {
+      return _requestCount;
+    }
+
+    /**
+     * @return the number of replayed requests that completed with an error, including error responses.
+     */
+    public long getErrorCount()
+    {
+      return _errorCount;
+    }
+
+    /**
+     * @return the time from the start of the replay until the last response was received.
+     */
+    public long getDurationNanos()
+    {
+      return _durationNanos;
+    }
+
+    /**
+     * @return the latencies of the replayed requests.
+     */
+    public Histogram getLatencies()
+    {
+      return _latencies;
+    }
+
+    /**
+     * @return the latencies recorded when the requests were captured.
+     */
+    public Histogram getCapturedLatencies()
+    {
+      return _capturedLatencies;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "ReplayStats{requests=" + _requestCount + ", errors=" + _errorCount
+          + ", durationMs=" + TimeUnit.NANOSECONDS.toMillis(_durationNanos)
+          + ", p50=" + _latencies.getValueAtPercentile(50) + ", p99=" + _latencies.getValueAtPercentile(99)
+          + ", capturedP50=" + _capturedLatencies.getValueAtPercentile(50)
+          + ", capturedP99=" + _capturedLatencies.getValueAtPercentile(99) + "}";
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.caprep.db;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+
+
+/**
+ * A request/response pair read back from a capture log, together with when the request was received and how long
+ * it took to get its response at capture time.
+ *
+ * @see MappedLogReader
+ */
+public class CapturedExchange
+{
+  private final long _requestTimeMillis;
+  private final long _latencyNanos;
+  private final RestRequest _request;
+  private final RestResponse _response;
+
+  public CapturedExchange(long requestTimeMillis, long latencyNanos, RestRequest request, RestResponse response)
+  {
+    _requestTimeMillis = requestTimeMillis;
+    _latencyNanos = latencyNanos;
+    _request = request;
+    _response = response;
+  }
+
+  /**
+   * @return the wall clock time, in milliseconds since the epoch, at which the request was captured.
+   */
+  public long getRequestTimeMillis()
+  {
+    return _requestTimeMillis;
+  }
+
+  /**
+   * @return the captured latency of the request in nanoseconds, or -1 if it is unknown.
+   */
+  public long getLatencyNanos()
+  {
+    return _latencyNanos;
+  }
+
+  public RestRequest getRequest()
+  {
+    return _request;
+  }
+
+  public RestResponse getResponse()
+  {
+    return _response;
+  }
+}
@@ -38,4 +38,18 @@ public interface DbSink
    * @throws IOException
    */
   void record(RestRequest req, RestResponse res) throws IOException;
+
+  /**
+   * Record a request/response pair together with its timing. Sinks that do not keep timings ignore them.
+   *
+   * @param req the request to be recorded.
+   * @param res the response to be recorded.
+   * @param requestTimeMillis the wall clock time, in milliseconds since the epoch, at which the request was received.
+   * @param latencyNanos the time it took to get the response, in nanoseconds.
+   * @throws IOException
+   */
+  default void record(RestRequest req, RestResponse res, long requestTimeMillis, long latencyNanos) throws IOException
+  {
+    record(req, res);
+  }
 }
@@ -0,0 +1,207 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.caprep.db;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * DbSink which appends messages to a segmented, memory-mapped log in a directory on the filesystem. Each segment is
+ * a file of a fixed size that is mapped into memory when it is created; captured exchanges are encoded with
+ * {@link BinaryMessageSerializer} off the lock and then copied into the mapped segment, so recording does not
+ * create a file or issue a write system call per message. A new segment is started when the current one is full.
+ * <p/>
+ *
+ * A segment starts with a {@link #MAGIC} number and a {@link #VERSION}, followed by records. Each record is a 4 byte
+ * length followed by the request time in milliseconds, the latency in nanoseconds, the request and the response.
+ * The unused tail of a segment is left zeroed, and a zero length marks the end of the segment.<p/>
+ *
+ * Use {@link MappedLogReader} to read the log back. Recording into a directory that already holds segments appends
+ * new segments after the existing ones.<p/>
+ *
+ * The sink may be closed while exchanges are still being recorded, e.g. when switching out of capture mode with
+ * requests in flight. Such late exchanges are dropped and counted, see {@link #getDroppedCount()}.
+ */
+public class MappedLogDbSink implements DbSink, Closeable
+{
+  static final int MAGIC = 0x52324350;
+  static final int VERSION = 1;
+  static final int SEGMENT_HEADER_SIZE = 8;
+  static final int RECORD_HEADER_SIZE = 4;
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private final File _dir;
+  private final int _segmentSize;
+  private final MessageSerializer _serializer;
+
+  private int _nextSegmentIndex;
+  private MappedByteBuffer _segment;
+  private volatile boolean _closed;
+  private final AtomicLong _droppedCount = new AtomicLong();
+
+  /**
+   * Construct a new instance with the specified directory and the {@link #DEFAULT_SEGMENT_SIZE}.
+   *
+   * @param dir the directory path to be used as a message store.
+   * @throws IOException
+   */
+  public MappedLogDbSink(String dir) throws IOException
+  {
+    this(new File(dir), DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Construct a new instance with the specified directory and segment size.
+   *
+   * @param dir the {@link File} object for the directory to be used as a message store.
+   * @param segmentSize size of each segment file in bytes, which bounds the size of a single captured exchange.
+   * @throws IOException
+   */
+  public MappedLogDbSink(File dir, int segmentSize) throws IOException
+  {
+    if (segmentSize <= SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE)
+    {
+      throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+    }
+
+    _dir = dir;
+    if (!_dir.exists() & !_dir.mkdirs())
+    {
+      throw new IOException("Could not create directory: " + _dir);
+    }
+
+    _segmentSize = segmentSize;
+    _serializer = new BinaryMessageSerializer();
+
+    int maxIndex = -1;
+    for (File segment : MappedLogReader.listSegments(_dir))
+    {
+      maxIndex = Math.max(maxIndex, MappedLogReader.getSegmentIndex(segment));
+    }
+    _nextSegmentIndex = maxIndex + 1;
+  }
+
+  @Override
+  public void record(RestRequest req, RestResponse res) throws IOException
+  {
+    record(req, res, System.currentTimeMillis(), -1);
+  }
+
+  @Override
+  public void record(RestRequest req, RestResponse res, long requestTimeMillis, long latencyNanos) throws IOException
+  {
+    if (_closed)
+    {
+      _droppedCount.incrementAndGet();
+      return;
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    final DataOutputStream out = new DataOutputStream(bytes);
+    // placeholder for the record length
+    out.writeInt(0);
+    out.writeLong(requestTimeMillis);
+    out.writeLong(latencyNanos);
+    _serializer.writeRequest(out, req);
+    _serializer.writeResponse(out, res);
+    out.flush();
+
+    final byte[] record = bytes.toByteArray();
+    final int length = record.length - RECORD_HEADER_SIZE;
+    record[0] = (byte) (length >>> 24);
+    record[1] = (byte) (length >>> 16);
+    record[2] = (byte) (length >>> 8);
+    record[3] = (byte) length;
+
+    if (record.length > _segmentSize - SEGMENT_HEADER_SIZE)
+    {
+      throw new IOException("Captured exchange of " + record.length + " bytes does not fit in a segment of "
+          + _segmentSize + " bytes");
+    }
+
+    append(record);
+  }
+
+  private synchronized void append(byte[] record) throws IOException
+  {
+    if (_closed)
+    {
+      // closed while the record was being encoded
+      _droppedCount.incrementAndGet();
+      return;
+    }
+
+    if (_segment == null || _segment.remaining() < record.length)
+    {
+      _segment = newSegment();
+    }
+    _segment.put(record);
+  }
+
+  private MappedByteBuffer newSegment() throws IOException
+  {
+    final File file = MappedLogReader.segmentFile(_dir, _nextSegmentIndex++);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel())
+    {
+      // the mapping stays valid after the channel is closed
+      final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, _segmentSize);
+      segment.putInt(MAGIC);
+      segment.putInt(VERSION);
+      return segment;
+    }
+  }
+
+  /**
+   * Flushes the current segment to storage. Records written before this call survive a crash of the process.
+   */
+  public synchronized void flush()
+  {
+    if (_segment != null)
+    {
+      _segment.force();
+    }
+  }
+
+  /**
+   * @return the number of exchanges that were dropped because they were recorded after the sink was closed.
+   */
+  public long getDroppedCount()
+  {
+    return _droppedCount.get();
+  }
+
+  @Override
+  public synchronized void close()
+  {
+    flush();
+    _segment = null;
+    _closed = true;
+  }
+}
@@ -0,0 +1,219 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.caprep.db;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+
+/**
+ * Reads the captured exchanges of a log written by {@link MappedLogDbSink}, in the order they were recorded. Each
+ * segment is mapped read-only in turn and messages are decoded straight from the mapped memory.
+ *
+ * The log should not be read while it is still being written to.
+ */
+public class MappedLogReader implements Closeable
+{
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final Pattern SEGMENT_PATTERN = Pattern.compile(SEGMENT_PREFIX + "\\d+\\" + SEGMENT_SUFFIX);
+
+  private final List<File> _segments;
+  private final MessageSerializer _serializer;
+
+  private int _nextSegment;
+  private MappedByteBuffer _segment;
+
+  /**
+   * Construct a new instance reading the segments in the specified directory.
+   *
+   * @param dir the directory path used as a message store by {@link MappedLogDbSink}.
+   * @throws IOException
+   */
+  public MappedLogReader(String dir) throws IOException
+  {
+    this(new File(dir));
+  }
+
+  /**
+   * Construct a new instance reading the segments in the specified directory.
+   *
+   * @param dir the {@link File} object for the directory used as a message store by {@link MappedLogDbSink}.
+   * @throws IOException
+   */
+  public MappedLogReader(File dir) throws IOException
+  {
+    if (!dir.isDirectory())
+    {
+      throw new IOException("Not a directory: " + dir);
+    }
+    _segments = listSegments(dir);
+    _serializer = new BinaryMessageSerializer();
+  }
+
+  /**
+   * @return the next captured exchange, or {@code null} if all of them have been read.
+   * @throws IOException if a segment cannot be read or is corrupted.
+   */
+  public CapturedExchange next() throws IOException
+  {
+    while (true)
+    {
+      if (_segment == null || _segment.remaining() < MappedLogDbSink.RECORD_HEADER_SIZE)
+      {
+        if (_nextSegment == _segments.size())
+        {
+          _segment = null;
+          return null;
+        }
+        _segment = openSegment(_segments.get(_nextSegment++));
+        continue;
+      }
+
+      final int length = _segment.getInt();
+      if (length == 0)
+      {
+        // end of the segment
+        _segment = null;
+        continue;
+      }
+      if (length < 0 || length > _segment.remaining())
+      {
+        throw new IOException("Corrupted record of " + length + " bytes in segment "
+            + _segments.get(_nextSegment - 1));
+      }
+
+      final ByteBuffer record = _segment.slice();
+      record.limit(length);
+      _segment.position(_segment.position() + length);
+
+      final DataInputStream in = new DataInputStream(new ByteBufferInputStream(record));
+      final long requestTimeMillis = in.readLong();
+      final long latencyNanos = in.readLong();
+      final RestRequest request = _serializer.readRestRequest(in);
+      final RestResponse response = _serializer.readRestResponse(in);
+      return new CapturedExchange(requestTimeMillis, latencyNanos, request, response);
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    _segment = null;
+    _nextSegment = _segments.size();
+  }
+
+  private static MappedByteBuffer openSegment(File file) throws IOException
+  {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+    {
+      final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (segment.remaining() < MappedLogDbSink.SEGMENT_HEADER_SIZE || segment.getInt() != MappedLogDbSink.MAGIC)
+      {
+        throw new IOException("Not a capture log segment: " + file);
+      }
+      final int version = segment.getInt();
+      if (version != MappedLogDbSink.VERSION)
+      {
+        throw new IOException("Unsupported capture log version " + version + " in segment " + file);
+      }
+      return segment;
+    }
+  }
+
+  static List<File> listSegments(File dir)
+  {
+    final List<File> segments = new ArrayList<>();
+    final File[] files = dir.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        if (file.isFile() && SEGMENT_PATTERN.matcher(file.getName()).matches())
+        {
+          segments.add(file);
+        }
+      }
+    }
+    segments.sort(Comparator.comparingInt(MappedLogReader::getSegmentIndex));
+    return segments;
+  }
+
+  static int getSegmentIndex(File segment)
+  {
+    final String name = segment.getName();
+    return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  static File segmentFile(File dir, int index)
+  {
+    return new File(dir, String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+  }
+
+  private static class ByteBufferInputStream extends InputStream
+  {
+    private final ByteBuffer _buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer)
+    {
+      _buffer = buffer;
+    }
+
+    @Override
+    public int read()
+    {
+      return _buffer.hasRemaining() ? _buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length)
+    {
+      if (length == 0)
+      {
+        return 0;
+      }
+      if (!_buffer.hasRemaining())
+      {
+        return -1;
+      }
+      final int count = Math.min(length, _buffer.remaining());
+      _buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public int available()
+    {
+      return _buffer.remaining();
+    }
+  }
+}
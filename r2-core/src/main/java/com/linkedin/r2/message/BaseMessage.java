@@ -25,7 +25,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 
 /**
@@ -35,7 +34,7 @@ import java.util.TreeMap;
  */
 public abstract class BaseMessage implements MessageHeaders
 {
-  private final Map<String, String> _headers;
+  private final HeaderMap _headers;
 
   private final List<String> _cookies;
 
@@ -43,9 +42,8 @@ public abstract class BaseMessage implements MessageHeaders
   {
     ArgumentUtil.notNull(headers, "headers");
     ArgumentUtil.notNull(cookies, "cookies");
-    TreeMap<String, String> tmpHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    tmpHeaders.putAll(headers);
-    _headers = Collections.unmodifiableSortedMap(tmpHeaders);
+    // headers coming from a builder are shared with it rather than copied
+    _headers = HeaderMap.immutableCopyOf(headers);
     _cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
   }
 
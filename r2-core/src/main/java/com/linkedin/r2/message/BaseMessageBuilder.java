@@ -26,7 +26,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 
@@ -45,7 +44,7 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
 
   private static final String CANONICAL_REPLACEMENT = " ";
 
-  private TreeMap<String, String> _headers;
+  private final HeaderMap _headers = new HeaderMap();
 
   private List<String> _cookies;
 
@@ -117,7 +116,7 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
   @Override
   public B clearHeaders()
   {
-    _headers.clear();
+    _headers.removeAllHeaders();
     return thisBuilder();
   }
 
@@ -125,7 +124,7 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
   public B removeHeader(String name)
   {
     validateFieldName(name);
-    _headers.remove(name);
+    _headers.removeHeader(name);
     return thisBuilder();
   }
 
@@ -139,7 +138,8 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
   @Override
   public Map<String, String> getHeaders()
   {
-    return Collections.unmodifiableSortedMap(_headers);
+    // the map is read-only through the Map API
+    return _headers;
   }
 
   @Override
@@ -175,7 +175,7 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
    */
   public B unsafeSetHeader(String name, String value)
   {
-    _headers.put(name, value);
+    _headers.putHeader(name, value);
     return thisBuilder();
   }
 
@@ -195,13 +195,13 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
 
     if (current == null)
     {
-      _headers.put(name, value);
+      _headers.putHeader(name, value);
     }
     else
     {
       StringBuilder builder = new StringBuilder();
       builder.append(current).append(',').append(value);
-      _headers.put(name, builder.toString());
+      _headers.putHeader(name, builder.toString());
     }
 
     return thisBuilder();
@@ -216,8 +216,8 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
    */
   public B unsafeSetHeaders(Map<String, String> headers)
   {
-    _headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
-    return unsafeOverwriteHeaders(headers);
+    _headers.setAllHeaders(headers);
+    return thisBuilder();
   }
 
   /**
@@ -229,7 +229,7 @@ public abstract class BaseMessageBuilder<B extends BaseMessageBuilder<B>>
    */
   public B unsafeOverwriteHeaders(Map<String, String> headers)
   {
-    _headers.putAll(headers);
+    _headers.putAllHeaders(headers);
     return thisBuilder();
   }
 
@@ -0,0 +1,494 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.message;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+/**
+ * Compact storage for message headers, used by {@link BaseMessageBuilder} and {@link BaseMessage} in place of a
+ * {@code TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER)}.<p/>
+ *
+ * Header names and values are kept in flat arrays in {@link String#CASE_INSENSITIVE_ORDER}, so iteration order is
+ * the same as before, together with a case-insensitive hash of each name. A lookup first scans for the very same
+ * name instance, which is the common case since well-known header names are interned on insertion and callers
+ * mostly use string constants, and then compares hashes before comparing names. Well-known header names have
+ * their hash precomputed.<p/>
+ *
+ * The {@link Map} API of this class is read-only; the builder mutates it through the package private methods.
+ * When a message is built, {@link #share()} hands the arrays to the message without copying them, and the builder
+ * copies them the next time it is modified.
+ */
+final class HeaderMap extends AbstractMap<String, String> implements SortedMap<String, String>
+{
+  private static final String[] EMPTY = new String[0];
+  private static final int[] EMPTY_HASHES = new int[0];
+  private static final int INITIAL_CAPACITY = 8;
+
+  private static final String[] WELL_KNOWN_NAMES = {
+      "Accept",
+      "Accept-Encoding",
+      "Accept-Language",
+      "Authorization",
+      "Cache-Control",
+      "Connection",
+      "Content-Disposition",
+      "Content-Encoding",
+      "Content-ID",
+      "Content-Length",
+      "Content-Type",
+      "Cookie",
+      "Date",
+      "Host",
+      "Location",
+      "Server",
+      "Set-Cookie",
+      "Transfer-Encoding",
+      "User-Agent",
+      "X-LinkedIn-Error-Response",
+      "X-LinkedIn-Id",
+      "X-RestLi-Error-Response",
+      "X-RestLi-Id",
+      "X-RestLi-Method",
+      "X-RestLi-Protocol-Version",
+      "X-Response-Compression-Threshold",
+      "x-restli-service-scoped-path",
+  };
+
+  // maps the canonical and the lower case spelling of each well-known name to its interned instance and hash
+  private static final Map<String, Name> WELL_KNOWN = new HashMap<>();
+
+  static
+  {
+    for (String name : WELL_KNOWN_NAMES)
+    {
+      final int hash = hash(name);
+      final String lowerCase = name.toLowerCase();
+      WELL_KNOWN.put(name, new Name(name, hash));
+      WELL_KNOWN.put(lowerCase, new Name(lowerCase, hash));
+    }
+  }
+
+  private static final class Name
+  {
+    private final String _name;
+    private final int _hash;
+
+    private Name(String name, int hash)
+    {
+      _name = name;
+      _hash = hash;
+    }
+  }
+
+  private final boolean _immutable;
+  private String[] _names;
+  private String[] _values;
+  private int[] _hashes;
+  private int _size;
+  // true if the arrays are also referenced by a message built from this map
+  private boolean _shared;
+
+  /**
+   * Creates an empty, mutable map.
+   */
+  HeaderMap()
+  {
+    this(EMPTY, EMPTY, EMPTY_HASHES, 0, false);
+  }
+
+  private HeaderMap(String[] names, String[] values, int[] hashes, int size, boolean immutable)
+  {
+    _names = names;
+    _values = values;
+    _hashes = hashes;
+    _size = size;
+    _immutable = immutable;
+  }
+
+  /**
+   * @return an immutable map with the given headers. If {@code headers} is a {@link HeaderMap}, its arrays are shared
+   *         instead of copied.
+   */
+  static HeaderMap immutableCopyOf(Map<String, String> headers)
+  {
+    if (headers instanceof HeaderMap)
+    {
+      return ((HeaderMap) headers).share();
+    }
+
+    final HeaderMap copy = new HeaderMap();
+    copy.putAllHeaders(headers);
+    return new HeaderMap(copy._names, copy._values, copy._hashes, copy._size, true);
+  }
+
+  /**
+   * @return an immutable map with the current headers, which shares the arrays of this map until it is next modified.
+   */
+  HeaderMap share()
+  {
+    if (_immutable)
+    {
+      return this;
+    }
+    _shared = true;
+    return new HeaderMap(_names, _values, _hashes, _size, true);
+  }
+
+  /**
+   * Replaces all headers of this mutable map with the given ones, sharing their arrays if they are a {@link HeaderMap}.
+   */
+  void setAllHeaders(Map<String, String> headers)
+  {
+    if (headers instanceof HeaderMap)
+    {
+      final HeaderMap other = (HeaderMap) headers;
+      if (other != this)
+      {
+        final HeaderMap shared = other.share();
+        _names = shared._names;
+        _values = shared._values;
+        _hashes = shared._hashes;
+        _size = shared._size;
+        _shared = true;
+      }
+    }
+    else
+    {
+      removeAllHeaders();
+      putAllHeaders(headers);
+    }
+  }
+
+  void putAllHeaders(Map<String, String> headers)
+  {
+    for (Map.Entry<String, String> entry : headers.entrySet())
+    {
+      putHeader(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Sets the value of a header. If a header with the same name in a different case exists, its name is kept.
+   *
+   * @return the previous value of the header, or {@code null} if there was none.
+   */
+  String putHeader(String name, String value)
+  {
+    if (name == null)
+    {
+      throw new NullPointerException("header name");
+    }
+
+    final int hash;
+    final Name wellKnown = WELL_KNOWN.get(name);
+    if (wellKnown != null)
+    {
+      name = wellKnown._name;
+      hash = wellKnown._hash;
+    }
+    else
+    {
+      hash = hash(name);
+    }
+
+    final int index = indexOf(name, hash);
+    prepareForWrite();
+    if (index >= 0)
+    {
+      final String previous = _values[index];
+      _values[index] = value;
+      return previous;
+    }
+
+    // keep the names sorted; comparisons are only needed when a new name is inserted
+    final int insertAt = -(Arrays.binarySearch(_names, 0, _size, name, String.CASE_INSENSITIVE_ORDER) + 1);
+    if (_size == _names.length)
+    {
+      final int capacity = Math.max(INITIAL_CAPACITY, _size * 2);
+      _names = Arrays.copyOf(_names, capacity);
+      _values = Arrays.copyOf(_values, capacity);
+      _hashes = Arrays.copyOf(_hashes, capacity);
+    }
+    System.arraycopy(_names, insertAt, _names, insertAt + 1, _size - insertAt);
+    System.arraycopy(_values, insertAt, _values, insertAt + 1, _size - insertAt);
+    System.arraycopy(_hashes, insertAt, _hashes, insertAt + 1, _size - insertAt);
+    _names[insertAt] = name;
+    _values[insertAt] = value;
+    _hashes[insertAt] = hash;
+    _size++;
+    return null;
+  }
+
+  String removeHeader(Object name)
+  {
+    final int index = indexOf(name);
+    if (index < 0)
+    {
+      return null;
+    }
+
+    prepareForWrite();
+    final String previous = _values[index];
+    final int moved = _size - index - 1;
+    System.arraycopy(_names, index + 1, _names, index, moved);
+    System.arraycopy(_values, index + 1, _values, index, moved);
+    System.arraycopy(_hashes, index + 1, _hashes, index, moved);
+    _size--;
+    _names[_size] = null;
+    _values[_size] = null;
+    return previous;
+  }
+
+  void removeAllHeaders()
+  {
+    if (_shared)
+    {
+      // the arrays belong to a built message now, start over with new ones
+      _names = EMPTY;
+      _values = EMPTY;
+      _hashes = EMPTY_HASHES;
+      _shared = false;
+    }
+    else
+    {
+      Arrays.fill(_names, 0, _size, null);
+      Arrays.fill(_values, 0, _size, null);
+    }
+    _size = 0;
+  }
+
+  private void prepareForWrite()
+  {
+    if (_immutable)
+    {
+      throw new UnsupportedOperationException();
+    }
+    if (_shared)
+    {
+      final int capacity = Math.max(INITIAL_CAPACITY, _size + 1);
+      _names = Arrays.copyOf(_names, capacity);
+      _values = Arrays.copyOf(_values, capacity);
+      _hashes = Arrays.copyOf(_hashes, capacity);
+      _shared = false;
+    }
+  }
+
+  private int indexOf(Object key)
+  {
+    if (!(key instanceof String))
+    {
+      return -1;
+    }
+
+    final String name = (String) key;
+    for (int i = 0; i < _size; i++)
+    {
+      if (_names[i] == name)
+      {
+        return i;
+      }
+    }
+
+    final Name wellKnown = WELL_KNOWN.get(name);
+    return indexOf(name, wellKnown != null ? wellKnown._hash : hash(name));
+  }
+
+  private int indexOf(String name, int hash)
+  {
+    for (int i = 0; i < _size; i++)
+    {
+      if (_hashes[i] == hash && (_names[i] == name || String.CASE_INSENSITIVE_ORDER.compare(_names[i], name) == 0))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Hash of {@code name} that is consistent with {@link String#CASE_INSENSITIVE_ORDER}, which considers two characters
+   * equal if they are equal after converting them to upper case and then to lower case.
+   */
+  private static int hash(String name)
+  {
+    int hash = 0;
+    for (int i = 0; i < name.length(); i++)
+    {
+      char ch = name.charAt(i);
+      if (ch < 128)
+      {
+        if (ch >= 'A' && ch <= 'Z')
+        {
+          ch += 'a' - 'A';
+        }
+      }
+      else
+      {
+        ch = Character.toLowerCase(Character.toUpperCase(ch));
+      }
+      hash = 31 * hash + ch;
+    }
+    return hash;
+  }
+
+  @Override
+  public String get(Object key)
+  {
+    final int index = indexOf(key);
+    return index < 0 ? null : _values[index];
+  }
+
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public int size()
+  {
+    return _size;
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return _size == 0;
+  }
+
+  @Override
+  public String put(String key, String value)
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends String> m)
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String remove(Object key)
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet()
+  {
+    return new AbstractSet<Map.Entry<String, String>>()
+    {
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator()
+      {
+        return new Iterator<Map.Entry<String, String>>()
+        {
+          private int _next = 0;
+
+          @Override
+          public boolean hasNext()
+          {
+            return _next < _size;
+          }
+
+          @Override
+          public Map.Entry<String, String> next()
+          {
+            if (_next >= _size)
+            {
+              throw new NoSuchElementException();
+            }
+            final int index = _next++;
+            return new AbstractMap.SimpleImmutableEntry<>(_names[index], _values[index]);
+          }
+        };
+      }
+
+      @Override
+      public int size()
+      {
+        return _size;
+      }
+    };
+  }
+
+  @Override
+  public Comparator<? super String> comparator()
+  {
+    return String.CASE_INSENSITIVE_ORDER;
+  }
+
+  @Override
+  public String firstKey()
+  {
+    if (_size == 0)
+    {
+      throw new NoSuchElementException();
+    }
+    return _names[0];
+  }
+
+  @Override
+  public String lastKey()
+  {
+    if (_size == 0)
+    {
+      throw new NoSuchElementException();
+    }
+    return _names[_size - 1];
+  }
+
+  // range views are rarely used, so they are served from a copy
+
+  @Override
+  public SortedMap<String, String> subMap(String fromKey, String toKey)
+  {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(this).subMap(fromKey, toKey));
+  }
+
+  @Override
+  public SortedMap<String, String> headMap(String toKey)
+  {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(this).headMap(toKey));
+  }
+
+  @Override
+  public SortedMap<String, String> tailMap(String fromKey)
+  {
+    return Collections.unmodifiableSortedMap(new TreeMap<>(this).tailMap(fromKey));
+  }
+}
@@ -20,6 +20,7 @@
 
 package com.linkedin.r2.message;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,12 +28,22 @@ import java.util.Map;
 /**
  * RequestContext should not be shared across requests.
  *
+ * <p>Besides the String keyed attributes exposed through {@link #getLocalAttrs()}, a RequestContext can
+ * hold typed attributes identified by a {@link RequestContextKey}. Typed attributes live in an array indexed
+ * by the slot of their key, and are neither hashed nor synchronized. They are intended for the usual request
+ * flow in which a RequestContext is only touched by one thread at a time, with hand-offs between threads
+ * going through executors or callbacks. Typed attributes are a separate namespace: they are not visible
+ * through the {@link Map} view returned by {@link #getLocalAttrs()}.</p>
+ *
  * @author Josh Walker
  * @version $Revision: $
  */
 public class RequestContext
 {
+  private static final Object[] EMPTY_ATTRS = new Object[0];
+
   private final Map<String, Object> _localAttrs;
+  private Object[] _attrs;
 
   /**
    * Construct a new instance with an empty set of attributes.
@@ -44,6 +55,7 @@ public class RequestContext
     // returned Map that must support null values because there is plenty of code
     // that is using this property.
     _localAttrs = Collections.synchronizedMap(new HashMap<>());
+    _attrs = EMPTY_ATTRS;
   }
 
   /**
@@ -55,11 +67,13 @@ public class RequestContext
   public RequestContext(RequestContext other)
   {
     _localAttrs = Collections.synchronizedMap(new HashMap<>(other._localAttrs));
+    _attrs = copyAttrs(other._attrs);
   }
 
-  private RequestContext(Map<String, Object> localAttrs)
+  private RequestContext(Map<String, Object> localAttrs, Object[] attrs)
   {
     _localAttrs = localAttrs;
+    _attrs = attrs;
   }
 
   /**
@@ -105,30 +119,132 @@ public class RequestContext
     return _localAttrs.remove(key);
   }
 
+  /**
+   * Return a specific typed attribute from this object.
+   *
+   * @param key the key for the attribute to be obtained.
+   * @return the value of the specified attribute, or null if the attribute does not exist.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T getAttr(RequestContextKey<T> key)
+  {
+    final Object[] attrs = _attrs;
+    final int index = key.getIndex();
+    return index < attrs.length ? (T) attrs[index] : null;
+  }
+
+  /**
+   * Set the value of a specific typed attribute in this object.
+   *
+   * @param key the key for the attribute to be set.
+   * @param value the value for the attribute to be set.
+   */
+  public <T> void putAttr(RequestContextKey<T> key, T value)
+  {
+    final int index = key.getIndex();
+    if (index >= _attrs.length)
+    {
+      if (value == null)
+      {
+        return;
+      }
+      _attrs = Arrays.copyOf(_attrs, Math.max(index + 1, RequestContextKey.getRegisteredKeyCount()));
+    }
+    _attrs[index] = value;
+  }
+
+  /**
+   * Remove a specific typed attribute from this object.
+   *
+   * @param key the key for the attribute to be removed.
+   * @return the previous value of the attribute, or null if the attribute does not exist.
+   */
+  public <T> T removeAttr(RequestContextKey<T> key)
+  {
+    final T previous = getAttr(key);
+    if (previous != null)
+    {
+      _attrs[key.getIndex()] = null;
+    }
+    return previous;
+  }
+
   @Override
   public RequestContext clone()
   {
     Map<String, Object> localAttrs = new HashMap<>();
     localAttrs.putAll(this._localAttrs);
-    return new RequestContext(Collections.synchronizedMap(localAttrs));
+    return new RequestContext(Collections.synchronizedMap(localAttrs), copyAttrs(_attrs));
   }
 
   @Override
   public boolean equals(Object o)
   {
-    return (o instanceof RequestContext) &&
-            ((RequestContext)o)._localAttrs.equals(this._localAttrs);
+    if (!(o instanceof RequestContext))
+    {
+      return false;
+    }
+    RequestContext other = (RequestContext) o;
+    return other._localAttrs.equals(this._localAttrs) && attrsEqual(other._attrs, this._attrs);
   }
 
   @Override
   public int hashCode()
   {
-    return _localAttrs.hashCode();
+    // Trailing empty slots must not contribute, so that equal contexts with differently sized slot arrays
+    // share a hash code and contexts without typed attributes keep the hash code of their attribute map.
+    int attrsHash = 0;
+    for (int i = 0; i < _attrs.length; i++)
+    {
+      if (_attrs[i] != null)
+      {
+        attrsHash += i ^ _attrs[i].hashCode();
+      }
+    }
+    return _localAttrs.hashCode() + attrsHash;
   }
 
   @Override
   public String toString()
   {
-    return _localAttrs.toString();
+    if (_attrs.length == 0)
+    {
+      return _localAttrs.toString();
+    }
+
+    StringBuilder sb = new StringBuilder(_localAttrs.toString());
+    Map<String, Object> typedAttrs = new HashMap<>();
+    for (int i = 0; i < _attrs.length; i++)
+    {
+      if (_attrs[i] != null)
+      {
+        typedAttrs.put(RequestContextKey.getKey(i).getName(), _attrs[i]);
+      }
+    }
+    if (!typedAttrs.isEmpty())
+    {
+      sb.append(" typedAttrs=").append(typedAttrs);
+    }
+    return sb.toString();
+  }
+
+  private static Object[] copyAttrs(Object[] attrs)
+  {
+    return attrs.length == 0 ? EMPTY_ATTRS : attrs.clone();
+  }
+
+  private static boolean attrsEqual(Object[] a, Object[] b)
+  {
+    final int length = Math.max(a.length, b.length);
+    for (int i = 0; i < length; i++)
+    {
+      Object x = i < a.length ? a[i] : null;
+      Object y = i < b.length ? b[i] : null;
+      if (x == null ? y != null : !x.equals(y))
+      {
+        return false;
+      }
+    }
+    return true;
   }
 }
@@ -0,0 +1,119 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * A typed key for an attribute stored in a {@link RequestContext}. Every key is assigned a fixed slot index
+ * when it is registered, which lets {@link RequestContext} keep typed attributes in a plain array instead of
+ * hashing and locking on every access.
+ *
+ * Keys are expected to be registered once and held in {@code static final} fields, in the same way as
+ * {@link com.linkedin.r2.message.timing.TimingKey}.
+ *
+ * @param <T> type of the attribute value
+ * @see RequestContext#getAttr(RequestContextKey)
+ */
+public final class RequestContextKey<T>
+{
+  private static final Map<String, RequestContextKey<?>> _pool = new HashMap<>();
+  private static final List<RequestContextKey<?>> _keysByIndex = new ArrayList<>();
+  private static final AtomicInteger _nextIndex = new AtomicInteger();
+
+  private final String _name;
+  private final Class<T> _type;
+  private final int _index;
+
+  private RequestContextKey(String name, Class<T> type, int index)
+  {
+    _name = name;
+    _type = type;
+    _index = index;
+  }
+
+  /**
+   * Registers a new key.
+   *
+   * @param name unique name of the key, only used for debugging and {@link RequestContext#toString()}
+   * @param type type of the values associated with this key
+   * @return the registered key
+   * @throws IllegalStateException if a key with the same name has already been registered
+   */
+  public static <T> RequestContextKey<T> register(String name, Class<T> type)
+  {
+    synchronized (_pool)
+    {
+      if (_pool.containsKey(name))
+      {
+        throw new IllegalStateException("Request context key " + name + " has already been registered!");
+      }
+      RequestContextKey<T> key = new RequestContextKey<>(name, type, _nextIndex.getAndIncrement());
+      _pool.put(name, key);
+      _keysByIndex.add(key);
+      return key;
+    }
+  }
+
+  public String getName()
+  {
+    return _name;
+  }
+
+  public Class<T> getType()
+  {
+    return _type;
+  }
+
+  /**
+   * @return the slot index assigned to this key.
+   */
+  int getIndex()
+  {
+    return _index;
+  }
+
+  /**
+   * @return the number of keys registered so far, which is also the minimum slot array size needed to hold them.
+   */
+  static int getRegisteredKeyCount()
+  {
+    return _nextIndex.get();
+  }
+
+  /**
+   * @return the key assigned to the given slot index.
+   */
+  static RequestContextKey<?> getKey(int index)
+  {
+    synchronized (_pool)
+    {
+      return _keysByIndex.get(index);
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return _name;
+  }
+}
@@ -0,0 +1,181 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message.timing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * A {@link TimingAggregator} that folds completed timings into one HdrHistogram {@link Recorder} per {@link TimingKey}.
+ * Recording is wait-free, so this aggregator can be called from I/O threads.
+ *
+ * Histograms are harvested by {@link #snapshot()}, either directly or periodically once {@link #start} has been
+ * called. Each snapshot contains the values recorded since the previous one, is handed to the registered listeners
+ * and is kept as the latest snapshot, which is what {@link HdrHistogramTimingAggregatorJmx} exposes.
+ *
+ * Only keys whose {@link TimingImportance} is at least the configured threshold are aggregated.
+ */
+public class HdrHistogramTimingAggregator implements TimingAggregator
+{
+  private static final Logger LOG = LoggerFactory.getLogger(HdrHistogramTimingAggregator.class);
+
+  public static final long LOWEST_DISCERNIBLE_VALUE = TimeUnit.MICROSECONDS.toNanos(1);
+  public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.SECONDS.toNanos(100);
+  public static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
+
+  private final TimingImportance _timingImportanceThreshold;
+  private final Map<TimingKey, Recorder> _recorders = new ConcurrentHashMap<>();
+  private final Map<TimingKey, Histogram> _recycledHistograms = new HashMap<>();
+  private final CopyOnWriteArrayList<Consumer<Map<TimingKey, Histogram>>> _listeners = new CopyOnWriteArrayList<>();
+
+  private volatile Map<TimingKey, Histogram> _latestSnapshot = Collections.emptyMap();
+  private ScheduledFuture<?> _scheduledSnapshot;
+
+  /**
+   * Creates an aggregator that aggregates timing keys of all importance levels.
+   */
+  public HdrHistogramTimingAggregator()
+  {
+    this(TimingImportance.LOW);
+  }
+
+  /**
+   * @param timingImportanceThreshold timing keys less important than this threshold are ignored
+   */
+  public HdrHistogramTimingAggregator(TimingImportance timingImportanceThreshold)
+  {
+    _timingImportanceThreshold = timingImportanceThreshold;
+  }
+
+  @Override
+  public void record(TimingKey timingKey, long durationNano)
+  {
+    if (durationNano < 0 || !timingKey.getTimingImportance().isAtLeast(_timingImportanceThreshold))
+    {
+      return;
+    }
+
+    Recorder recorder = _recorders.get(timingKey);
+    if (recorder == null)
+    {
+      recorder = _recorders.computeIfAbsent(timingKey,
+          key -> new Recorder(LOWEST_DISCERNIBLE_VALUE, HIGHEST_TRACKABLE_VALUE, NUMBER_OF_SIGNIFICANT_VALUE_DIGITS));
+    }
+    recorder.recordValue(narrow(durationNano));
+  }
+
+  /**
+   * Harvests the values recorded since the previous snapshot, publishes them to the listeners and keeps them as the
+   * latest snapshot. Histograms handed out by a snapshot are only valid until the next snapshot is taken, callers
+   * wanting to keep them longer must copy them.
+   * @return histograms of the values recorded since the previous snapshot, by timing key
+   */
+  public synchronized Map<TimingKey, Histogram> snapshot()
+  {
+    Map<TimingKey, Histogram> snapshot = new HashMap<>();
+    for (Map.Entry<TimingKey, Recorder> entry : _recorders.entrySet())
+    {
+      // Recycle the histograms of the previous snapshot, which are replaced by this one
+      Histogram histogram = entry.getValue().getIntervalHistogram(_recycledHistograms.get(entry.getKey()));
+      snapshot.put(entry.getKey(), histogram);
+    }
+    _recycledHistograms.clear();
+    _recycledHistograms.putAll(_latestSnapshot);
+    _latestSnapshot = Collections.unmodifiableMap(snapshot);
+
+    for (Consumer<Map<TimingKey, Histogram>> listener : _listeners)
+    {
+      try
+      {
+        listener.accept(_latestSnapshot);
+      }
+      catch (RuntimeException e)
+      {
+        LOG.warn("Timing histogram listener threw an exception", e);
+      }
+    }
+    return _latestSnapshot;
+  }
+
+  /**
+   * @return the histograms of the latest snapshot, by timing key
+   */
+  public Map<TimingKey, Histogram> getLatestSnapshot()
+  {
+    return _latestSnapshot;
+  }
+
+  /**
+   * Registers a listener receiving every snapshot, used to export the histograms to a metrics system.
+   * @param listener invoked with the histograms of each snapshot
+   */
+  public void addListener(Consumer<Map<TimingKey, Histogram>> listener)
+  {
+    _listeners.add(listener);
+  }
+
+  /**
+   * Starts taking snapshots periodically.
+   * @param executor executor running the snapshots
+   * @param interval interval between two snapshots
+   * @param unit time unit of the interval
+   */
+  public synchronized void start(ScheduledExecutorService executor, long interval, TimeUnit unit)
+  {
+    if (_scheduledSnapshot != null)
+    {
+      throw new IllegalStateException("Periodic snapshots have already been started");
+    }
+    _scheduledSnapshot = executor.scheduleAtFixedRate(this::snapshot, interval, interval, unit);
+  }
+
+  /**
+   * Stops taking snapshots periodically.
+   */
+  public synchronized void stop()
+  {
+    if (_scheduledSnapshot != null)
+    {
+      _scheduledSnapshot.cancel(false);
+      _scheduledSnapshot = null;
+    }
+  }
+
+  /**
+   * Make sure that recorded value is within a supported range.
+   */
+  private static long narrow(long durationNano)
+  {
+    if (durationNano < LOWEST_DISCERNIBLE_VALUE)
+    {
+      return LOWEST_DISCERNIBLE_VALUE;
+    }
+    return Math.min(durationNano, HIGHEST_TRACKABLE_VALUE);
+  }
+}
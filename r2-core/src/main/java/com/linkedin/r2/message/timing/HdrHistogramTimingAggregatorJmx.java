@@ -0,0 +1,78 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message.timing;
+
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+
+/**
+ * Implementation of {@link HdrHistogramTimingAggregatorJmxMBean}. Values are read from the latest snapshot of the
+ * aggregator, and are all zero for timing keys absent from it.
+ */
+public class HdrHistogramTimingAggregatorJmx implements HdrHistogramTimingAggregatorJmxMBean
+{
+  private final HdrHistogramTimingAggregator _aggregator;
+
+  public HdrHistogramTimingAggregatorJmx(HdrHistogramTimingAggregator aggregator)
+  {
+    _aggregator = aggregator;
+  }
+
+  @Override
+  public String[] getTimingKeyNames()
+  {
+    return _aggregator.getLatestSnapshot().keySet().stream().map(TimingKey::getName).sorted().toArray(String[]::new);
+  }
+
+  @Override
+  public long getCount(String timingKeyName)
+  {
+    Histogram histogram = getHistogram(timingKeyName);
+    return histogram == null ? 0 : histogram.getTotalCount();
+  }
+
+  @Override
+  public double getMeanNano(String timingKeyName)
+  {
+    Histogram histogram = getHistogram(timingKeyName);
+    return histogram == null ? 0 : histogram.getMean();
+  }
+
+  @Override
+  public long getMaxNano(String timingKeyName)
+  {
+    Histogram histogram = getHistogram(timingKeyName);
+    return histogram == null ? 0 : histogram.getMaxValue();
+  }
+
+  @Override
+  public long getPercentileNano(String timingKeyName, double percentile)
+  {
+    Histogram histogram = getHistogram(timingKeyName);
+    return histogram == null ? 0 : histogram.getValueAtPercentile(percentile);
+  }
+
+  private Histogram getHistogram(String timingKeyName)
+  {
+    return _aggregator.getLatestSnapshot().entrySet().stream()
+        .filter(entry -> entry.getKey().getName().equals(timingKeyName))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message.timing;
+
+/**
+ * Receives the duration of every completed timing record, across all requests. An aggregator can be installed
+ * with {@link TimingContextUtil#setTimingAggregator(TimingAggregator)} to continuously summarize the timings
+ * recorded in request contexts, without having to inspect each request.
+ *
+ * Implementations are invoked on the thread completing the timing, which is often an I/O thread, and must be
+ * thread safe and cheap.
+ *
+ * @see HdrHistogramTimingAggregator
+ */
+public interface TimingAggregator
+{
+  /**
+   * Records the duration of a completed timing record.
+   * @param timingKey key of the completed timing record
+   * @param durationNano duration of the timing record in nanoseconds
+   */
+  void record(TimingKey timingKey, long durationNano);
+}
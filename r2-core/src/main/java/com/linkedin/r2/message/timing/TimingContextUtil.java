@@ -17,6 +17,7 @@
 package com.linkedin.r2.message.timing;
 
 import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.RequestContextKey;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
@@ -40,6 +41,24 @@ public class TimingContextUtil
   // Used to temporarily disable latency instrumentation for scatter-gather requests
   public static final String TIMINGS_DISABLED_KEY_NAME = "timingsDisabled";
 
+  // Typed slot caching the timings map, so that marking timings does not go through the synchronized attribute map
+  @SuppressWarnings("unchecked")
+  private static final RequestContextKey<Map<TimingKey, TimingContext>> TIMINGS_KEY =
+      RequestContextKey.register(TIMINGS_KEY_NAME, (Class<Map<TimingKey, TimingContext>>) (Class<?>) Map.class);
+
+  private static volatile TimingAggregator _timingAggregator = null;
+
+  /**
+   * Installs a {@link TimingAggregator} receiving every timing record completed from now on, or removes the current
+   * one if null is given. Timing records excluded by the {@link TimingImportance} threshold of their request are
+   * never recorded and thus never aggregated.
+   * @param timingAggregator the aggregator, or null to disable aggregation
+   */
+  public static void setTimingAggregator(TimingAggregator timingAggregator)
+  {
+    _timingAggregator = timingAggregator;
+  }
+
   /**
    * Looks for all timing records in the RequestContext, initiate one if not present.
    * @param context RequestContext for the request
@@ -48,11 +67,14 @@ public class TimingContextUtil
   @SuppressWarnings("unchecked")
   public static Map<TimingKey, TimingContext> getTimingsMap(RequestContext context)
   {
-    Map<TimingKey, TimingContext> timings = (Map<TimingKey, TimingContext>)context.getLocalAttr(TIMINGS_KEY_NAME);
+    Map<TimingKey, TimingContext> timings = context.getAttr(TIMINGS_KEY);
     if (timings == null)
     {
-      timings = new ConcurrentHashMap<>();
-      context.putLocalAttr(TIMINGS_KEY_NAME, timings);
+      // The timings map is still published under TIMINGS_KEY_NAME for callers reading it through the attribute map.
+      // Going through computeIfAbsent guarantees a single map even if timings are first marked concurrently.
+      timings = (Map<TimingKey, TimingContext>) context.getLocalAttrs()
+          .computeIfAbsent(TIMINGS_KEY_NAME, k -> new ConcurrentHashMap<TimingKey, TimingContext>());
+      context.putAttr(TIMINGS_KEY, timings);
     }
 
     return timings;
@@ -78,7 +100,7 @@ public class TimingContextUtil
     Map<TimingKey, TimingContext> timings = getTimingsMap(requestContext);
     if (timings.containsKey(timingKey))
     {
-      timings.get(timingKey).complete();
+      complete(timings.get(timingKey));
     }
     else
     {
@@ -114,6 +136,7 @@ public class TimingContextUtil
       if (checkTimingImportanceThreshold(requestContext, timingKey))
       {
         timings.put(timingKey, new TimingContext(timingKey, durationNano));
+        aggregate(timingKey, durationNano);
       }
     }
   }
@@ -161,7 +184,7 @@ public class TimingContextUtil
     Map<TimingKey, TimingContext> timings = getTimingsMap(requestContext);
     if (timings.containsKey(timingKey))
     {
-      timings.get(timingKey).complete();
+      complete(timings.get(timingKey));
     }
     else if (checkTimingImportanceThreshold(requestContext, timingKey))
     {
@@ -195,6 +218,29 @@ public class TimingContextUtil
     return timingsDisabled instanceof Boolean && (boolean) timingsDisabled;
   }
 
+  /**
+   * Completes a timing record, and passes it to the {@link TimingAggregator} if this call completed it.
+   * @param timingContext timing record to be completed
+   */
+  private static void complete(TimingContext timingContext)
+  {
+    final boolean wasComplete = timingContext.isComplete();
+    timingContext.complete();
+    if (!wasComplete)
+    {
+      aggregate(timingContext.getName(), timingContext.getDurationNano());
+    }
+  }
+
+  private static void aggregate(TimingKey timingKey, long durationNano)
+  {
+    final TimingAggregator timingAggregator = _timingAggregator;
+    if (timingAggregator != null)
+    {
+      timingAggregator.record(timingKey, durationNano);
+    }
+  }
+
   /**
    * Logs a warning. If debug logging in enabled then it also logs the current stacktrace. This is done because
    * we expect to encounter issues with this functionality and we want to have more info when it happens.
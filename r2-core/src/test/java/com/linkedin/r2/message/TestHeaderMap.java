@@ -0,0 +1,141 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.r2.message;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link HeaderMap} and its use by message builders.
+ */
+public class TestHeaderMap
+{
+  @Test
+  public void testCaseInsensitiveLookup()
+  {
+    HeaderMap headers = new HeaderMap();
+    headers.putHeader("Content-Type", "application/json");
+    headers.putHeader("x-custom-header", "value");
+
+    Assert.assertEquals(headers.get("content-type"), "application/json");
+    Assert.assertEquals(headers.get("CONTENT-TYPE"), "application/json");
+    Assert.assertEquals(headers.get(new String("Content-Type")), "application/json");
+    Assert.assertEquals(headers.get("X-Custom-Header"), "value");
+    Assert.assertTrue(headers.containsKey("X-CUSTOM-HEADER"));
+    Assert.assertNull(headers.get("Accept"));
+    Assert.assertNull(headers.get(1));
+  }
+
+  @Test
+  public void testPutKeepsExistingName()
+  {
+    HeaderMap headers = new HeaderMap();
+    headers.putHeader("X-Header", "1");
+    Assert.assertEquals(headers.putHeader("x-header", "2"), "1");
+
+    Assert.assertEquals(headers.size(), 1);
+    Assert.assertEquals(headers.firstKey(), "X-Header");
+    Assert.assertEquals(headers.get("X-HEADER"), "2");
+  }
+
+  @Test
+  public void testSameOrderAsCaseInsensitiveTreeMap()
+  {
+    TreeMap<String, String> expected = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    HeaderMap headers = new HeaderMap();
+    for (String name : Arrays.asList("X-RestLi-Method", "accept", "Content-Type", "b", "X-Z", "a", "Zeta", "content-type"))
+    {
+      expected.put(name, name.toUpperCase());
+      headers.putHeader(name, name.toUpperCase());
+    }
+    expected.remove("B");
+    headers.removeHeader("B");
+
+    Assert.assertEquals(new ArrayList<>(headers.entrySet()), new ArrayList<>(expected.entrySet()));
+    Assert.assertEquals(headers, expected);
+    Assert.assertEquals(expected, headers);
+    Assert.assertEquals(headers.hashCode(), expected.hashCode());
+    Assert.assertEquals(headers.comparator(), String.CASE_INSENSITIVE_ORDER);
+    Assert.assertEquals(headers.lastKey(), expected.lastKey());
+
+    // copying into a TreeMap keeps the case insensitive ordering
+    SortedMap<String, String> copy = new TreeMap<>(headers);
+    Assert.assertEquals(copy.get("ACCEPT"), "ACCEPT");
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testMapApiIsReadOnly()
+  {
+    new HeaderMap().put("X-Header", "value");
+  }
+
+  @Test
+  public void testBuilderSharesHeadersWithMessage()
+  {
+    RestRequestBuilder builder = new RestRequestBuilder(URI.create("http://localhost"))
+        .setHeader("X-Header", "1")
+        .setHeader("Content-Type", "application/json");
+    RestRequest first = builder.build();
+
+    // modifying the builder after building does not affect the built message
+    builder.setHeader("X-Header", "2").setHeader("X-Other", "3").removeHeader("Content-Type");
+    RestRequest second = builder.build();
+    builder.clearHeaders();
+
+    Assert.assertEquals(first.getHeaders().size(), 2);
+    Assert.assertEquals(first.getHeader("x-header"), "1");
+    Assert.assertEquals(first.getHeader("content-type"), "application/json");
+    Assert.assertNull(first.getHeader("X-Other"));
+
+    Assert.assertEquals(second.getHeaders().size(), 2);
+    Assert.assertEquals(second.getHeader("x-header"), "2");
+    Assert.assertEquals(second.getHeader("x-other"), "3");
+    Assert.assertTrue(builder.getHeaders().isEmpty());
+
+    // a builder created from a message starts from the message headers and copies them on the first change
+    RestRequest third = first.builder().addHeaderValue("x-header", "4").build();
+    Assert.assertEquals(third.getHeader("X-Header"), "1,4");
+    Assert.assertEquals(first.getHeader("X-Header"), "1");
+  }
+
+  @Test
+  public void testMessageFromPlainMap()
+  {
+    Map<String, String> map = new HashMap<>();
+    map.put("content-type", "text/plain");
+    map.put("X-Header", "value");
+    RestResponse response = new RestResponseBuilder().setHeaders(map).build();
+
+    Assert.assertEquals(response.getHeader("Content-Type"), "text/plain");
+    Assert.assertEquals(response.getHeaders().keySet().iterator().next(), "content-type");
+    Assert.assertEquals(response.getHeaders(), map);
+    Assert.assertEquals(response, new RestResponseBuilder().setHeaders(response.getHeaders()).build());
+  }
+}
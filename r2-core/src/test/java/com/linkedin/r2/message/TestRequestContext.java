@@ -0,0 +1,95 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for the typed attributes of {@link RequestContext}.
+ */
+public class TestRequestContext
+{
+  private static final RequestContextKey<String> STRING_KEY =
+      RequestContextKey.register(TestRequestContext.class.getName() + ".string", String.class);
+  private static final RequestContextKey<Integer> INTEGER_KEY =
+      RequestContextKey.register(TestRequestContext.class.getName() + ".integer", Integer.class);
+
+  @Test
+  public void testPutGetRemove()
+  {
+    RequestContext context = new RequestContext();
+    Assert.assertNull(context.getAttr(STRING_KEY));
+
+    context.putAttr(STRING_KEY, "value");
+    context.putAttr(INTEGER_KEY, 1);
+    Assert.assertEquals(context.getAttr(STRING_KEY), "value");
+    Assert.assertEquals(context.getAttr(INTEGER_KEY), Integer.valueOf(1));
+
+    Assert.assertEquals(context.removeAttr(STRING_KEY), "value");
+    Assert.assertNull(context.getAttr(STRING_KEY));
+    Assert.assertNull(context.removeAttr(STRING_KEY));
+  }
+
+  @Test
+  public void testTypedAttrsAreSeparateFromLocalAttrs()
+  {
+    RequestContext context = new RequestContext();
+    context.putAttr(STRING_KEY, "value");
+
+    Assert.assertTrue(context.getLocalAttrs().isEmpty());
+    Assert.assertNull(context.getLocalAttr(STRING_KEY.getName()));
+  }
+
+  @Test
+  public void testCopy()
+  {
+    RequestContext context = new RequestContext();
+    context.putAttr(STRING_KEY, "value");
+    context.putLocalAttr("local", "localValue");
+
+    RequestContext copy = new RequestContext(context);
+    RequestContext clone = context.clone();
+    Assert.assertEquals(copy.getAttr(STRING_KEY), "value");
+    Assert.assertEquals(clone.getAttr(STRING_KEY), "value");
+    Assert.assertEquals(copy, context);
+    Assert.assertEquals(clone, context);
+    Assert.assertEquals(copy.hashCode(), context.hashCode());
+
+    copy.putAttr(STRING_KEY, "other");
+    Assert.assertEquals(context.getAttr(STRING_KEY), "value");
+    Assert.assertNotEquals(copy, context);
+  }
+
+  @Test
+  public void testEqualityIgnoresEmptySlots()
+  {
+    RequestContext context = new RequestContext();
+    context.putAttr(INTEGER_KEY, 1);
+    context.removeAttr(INTEGER_KEY);
+
+    Assert.assertEquals(context, new RequestContext());
+    Assert.assertEquals(context.hashCode(), new RequestContext().hashCode());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testDuplicateKeyName()
+  {
+    RequestContextKey.register(STRING_KEY.getName(), String.class);
+  }
+}
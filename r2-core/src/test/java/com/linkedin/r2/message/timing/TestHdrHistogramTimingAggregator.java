@@ -0,0 +1,109 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.message.timing;
+
+import com.linkedin.r2.message.RequestContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link HdrHistogramTimingAggregator}.
+ */
+public class TestHdrHistogramTimingAggregator
+{
+  private static final TimingKey KEY_H = TimingKey.registerNewKey("test/aggregator/h", TimingImportance.HIGH);
+  private static final TimingKey KEY_L = TimingKey.registerNewKey("test/aggregator/l", TimingImportance.LOW);
+
+  @AfterMethod
+  public void tearDown()
+  {
+    TimingContextUtil.setTimingAggregator(null);
+  }
+
+  @Test
+  public void testSnapshot()
+  {
+    HdrHistogramTimingAggregator aggregator = new HdrHistogramTimingAggregator();
+    aggregator.record(KEY_H, TimeUnit.MILLISECONDS.toNanos(1));
+    aggregator.record(KEY_H, TimeUnit.MILLISECONDS.toNanos(3));
+
+    Map<TimingKey, Histogram> snapshot = aggregator.snapshot();
+    Assert.assertEquals(snapshot.get(KEY_H).getTotalCount(), 2);
+    Assert.assertFalse(snapshot.containsKey(KEY_L));
+    Assert.assertSame(aggregator.getLatestSnapshot(), snapshot);
+
+    // A snapshot only contains the values recorded since the previous one
+    Assert.assertEquals(aggregator.snapshot().get(KEY_H).getTotalCount(), 0);
+  }
+
+  @Test
+  public void testTimingImportanceThreshold()
+  {
+    HdrHistogramTimingAggregator aggregator = new HdrHistogramTimingAggregator(TimingImportance.MEDIUM);
+    aggregator.record(KEY_H, 1000L);
+    aggregator.record(KEY_L, 1000L);
+
+    Map<TimingKey, Histogram> snapshot = aggregator.snapshot();
+    Assert.assertEquals(snapshot.get(KEY_H).getTotalCount(), 1);
+    Assert.assertFalse(snapshot.containsKey(KEY_L));
+  }
+
+  @Test
+  public void testListenerAndJmx()
+  {
+    HdrHistogramTimingAggregator aggregator = new HdrHistogramTimingAggregator();
+    List<Long> counts = new ArrayList<>();
+    aggregator.addListener(snapshot -> counts.add(snapshot.get(KEY_L).getTotalCount()));
+    aggregator.record(KEY_L, TimeUnit.SECONDS.toNanos(1000));
+    aggregator.snapshot();
+
+    Assert.assertEquals(counts.size(), 1);
+    Assert.assertEquals(counts.get(0).longValue(), 1L);
+
+    HdrHistogramTimingAggregatorJmx jmx = new HdrHistogramTimingAggregatorJmx(aggregator);
+    Assert.assertEquals(jmx.getTimingKeyNames(), new String[]{KEY_L.getName()});
+    Assert.assertEquals(jmx.getCount(KEY_L.getName()), 1);
+    // Values beyond the trackable range are capped
+    Assert.assertTrue(jmx.getMaxNano(KEY_L.getName()) >= HdrHistogramTimingAggregator.HIGHEST_TRACKABLE_VALUE);
+    Assert.assertEquals(jmx.getCount(KEY_H.getName()), 0);
+  }
+
+  @Test
+  public void testTimingContextUtilAggregation()
+  {
+    HdrHistogramTimingAggregator aggregator = new HdrHistogramTimingAggregator();
+    TimingContextUtil.setTimingAggregator(aggregator);
+
+    RequestContext requestContext = new RequestContext();
+    TimingContextUtil.markTiming(requestContext, KEY_H);
+    TimingContextUtil.markTiming(requestContext, KEY_H);
+    // Completing an already completed timing must not be aggregated twice
+    TimingContextUtil.markTiming(requestContext, KEY_H);
+    TimingContextUtil.markTiming(requestContext, KEY_L, 5000L);
+
+    Map<TimingKey, Histogram> snapshot = aggregator.snapshot();
+    Assert.assertEquals(snapshot.get(KEY_H).getTotalCount(), 1);
+    Assert.assertEquals(snapshot.get(KEY_L).getTotalCount(), 1);
+  }
+}
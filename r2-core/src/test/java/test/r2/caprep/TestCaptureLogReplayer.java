@@ -0,0 +1,184 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.caprep;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.caprep.CaptureLogReplayer;
+import com.linkedin.r2.caprep.db.MappedLogDbSink;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.transport.common.Client;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link CaptureLogReplayer}.
+ */
+public class TestCaptureLogReplayer
+{
+  private File _dir;
+  private ScheduledExecutorService _scheduler;
+
+  @BeforeMethod
+  public void setUp() throws Exception
+  {
+    _dir = Files.createTempDirectory(TestCaptureLogReplayer.class.getSimpleName()).toFile();
+    _scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown()
+  {
+    _scheduler.shutdownNow();
+    final File[] files = _dir.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        file.delete();
+      }
+    }
+    _dir.delete();
+  }
+
+  @Test
+  public void testReplayAtScaledRate() throws Exception
+  {
+    // ten requests captured 100ms apart
+    final MappedLogDbSink sink = new MappedLogDbSink(_dir, MappedLogDbSink.DEFAULT_SEGMENT_SIZE);
+    for (int i = 0; i < 10; i++)
+    {
+      sink.record(createRequest(i), new RestResponseBuilder().build(), 1000L + 100L * i, TimeUnit.MILLISECONDS.toNanos(5));
+    }
+    sink.close();
+
+    final RecordingClient client = new RecordingClient(false);
+    final CaptureLogReplayer.ReplayStats stats = new CaptureLogReplayer(client, 2.0).replay(_dir);
+
+    Assert.assertEquals(stats.getRequestCount(), 10);
+    Assert.assertEquals(stats.getErrorCount(), 0);
+    Assert.assertEquals(stats.getLatencies().getTotalCount(), 10);
+    Assert.assertEquals(stats.getCapturedLatencies().getTotalCount(), 10);
+    // the last request was captured 900ms after the first one, so it is replayed 450ms after the start
+    Assert.assertTrue(stats.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(450), stats.toString());
+
+    Assert.assertEquals(client._requests.size(), 10);
+    for (int i = 0; i < 10; i++)
+    {
+      Assert.assertEquals(client._requests.get(i), createRequest(i));
+    }
+  }
+
+  @Test
+  public void testReplayCountsErrors() throws Exception
+  {
+    final MappedLogDbSink sink = new MappedLogDbSink(_dir, MappedLogDbSink.DEFAULT_SEGMENT_SIZE);
+    for (int i = 0; i < 5; i++)
+    {
+      sink.record(createRequest(i), new RestResponseBuilder().build());
+    }
+    sink.close();
+
+    final CaptureLogReplayer.ReplayStats stats =
+        new CaptureLogReplayer(new RecordingClient(true), Double.POSITIVE_INFINITY).replay(_dir);
+
+    Assert.assertEquals(stats.getRequestCount(), 5);
+    Assert.assertEquals(stats.getErrorCount(), 5);
+    Assert.assertEquals(stats.getLatencies().getTotalCount(), 5);
+    // latencies were not captured
+    Assert.assertEquals(stats.getCapturedLatencies().getTotalCount(), 0);
+  }
+
+  private static RestRequest createRequest(int i)
+  {
+    return new RestRequestBuilder(URI.create("http://localhost:1234/greetings/" + i)).build();
+  }
+
+  private class RecordingClient implements Client
+  {
+    private final boolean _fail;
+    private final List<RestRequest> _requests = new CopyOnWriteArrayList<>();
+
+    RecordingClient(boolean fail)
+    {
+      _fail = fail;
+    }
+
+    @Override
+    public Future<RestResponse> restRequest(RestRequest request)
+    {
+      return restRequest(request, new RequestContext());
+    }
+
+    @Override
+    public Future<RestResponse> restRequest(RestRequest request, RequestContext requestContext)
+    {
+      final FutureCallback<RestResponse> callback = new FutureCallback<>();
+      restRequest(request, requestContext, callback);
+      return callback;
+    }
+
+    @Override
+    public void restRequest(RestRequest request, Callback<RestResponse> callback)
+    {
+      restRequest(request, new RequestContext(), callback);
+    }
+
+    @Override
+    public void restRequest(RestRequest request, RequestContext requestContext, Callback<RestResponse> callback)
+    {
+      _requests.add(request);
+      // complete asynchronously, as a real client would
+      _scheduler.schedule(() -> {
+        if (_fail)
+        {
+          callback.onError(new IllegalStateException("failed"));
+        }
+        else
+        {
+          callback.onSuccess(new RestResponseBuilder().build());
+        }
+      }, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown(Callback<None> callback)
+    {
+      callback.onSuccess(None.none());
+    }
+  }
+}
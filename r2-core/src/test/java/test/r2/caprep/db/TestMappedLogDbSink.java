@@ -0,0 +1,181 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.caprep.db;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.r2.caprep.db.BinaryMessageSerializer;
+import com.linkedin.r2.caprep.db.CapturedExchange;
+import com.linkedin.r2.caprep.db.MappedLogDbSink;
+import com.linkedin.r2.caprep.db.MappedLogReader;
+import com.linkedin.r2.caprep.db.MessageSerializer;
+import com.linkedin.r2.message.rest.RestMethod;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.message.rest.RestStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link MappedLogDbSink}, {@link MappedLogReader} and {@link BinaryMessageSerializer}.
+ */
+public class TestMappedLogDbSink
+{
+  private File _dir;
+
+  @BeforeMethod
+  public void setUp() throws IOException
+  {
+    _dir = Files.createTempDirectory(TestMappedLogDbSink.class.getSimpleName()).toFile();
+  }
+
+  @AfterMethod
+  public void tearDown()
+  {
+    final File[] files = _dir.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        file.delete();
+      }
+    }
+    _dir.delete();
+  }
+
+  @Test
+  public void testBinaryMessageSerializer() throws IOException
+  {
+    final MessageSerializer serializer = new BinaryMessageSerializer();
+    final RestRequest req = createRequest(1);
+    final RestResponse res = createResponse(1);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.writeRequest(out, req);
+    serializer.writeResponse(out, res);
+
+    final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+    Assert.assertEquals(serializer.readRestRequest(in), req);
+    Assert.assertEquals(serializer.readRestResponse(in), res);
+    Assert.assertEquals(in.available(), 0);
+  }
+
+  @Test
+  public void testRoundTripAcrossSegments() throws IOException
+  {
+    final int count = 100;
+    final MappedLogDbSink sink = new MappedLogDbSink(_dir, 4096);
+    for (int i = 0; i < count; i++)
+    {
+      sink.record(createRequest(i), createResponse(i), 1000L + i, 10L * i);
+    }
+    sink.close();
+
+    Assert.assertTrue(_dir.listFiles().length > 1, "Expected the log to span several segments");
+
+    final MappedLogReader reader = new MappedLogReader(_dir);
+    for (int i = 0; i < count; i++)
+    {
+      final CapturedExchange exchange = reader.next();
+      Assert.assertNotNull(exchange);
+      Assert.assertEquals(exchange.getRequestTimeMillis(), 1000L + i);
+      Assert.assertEquals(exchange.getLatencyNanos(), 10L * i);
+      Assert.assertEquals(exchange.getRequest(), createRequest(i));
+      Assert.assertEquals(exchange.getResponse(), createResponse(i));
+    }
+    Assert.assertNull(reader.next());
+    reader.close();
+  }
+
+  @Test
+  public void testAppendToExistingLog() throws IOException
+  {
+    final MappedLogDbSink first = new MappedLogDbSink(_dir, 4096);
+    first.record(createRequest(0), createResponse(0));
+    first.close();
+
+    final MappedLogDbSink second = new MappedLogDbSink(_dir, 4096);
+    second.record(createRequest(1), createResponse(1));
+    second.close();
+
+    final MappedLogReader reader = new MappedLogReader(_dir);
+    Assert.assertEquals(reader.next().getRequest(), createRequest(0));
+    final CapturedExchange exchange = reader.next();
+    Assert.assertEquals(exchange.getRequest(), createRequest(1));
+    Assert.assertEquals(exchange.getLatencyNanos(), -1);
+    Assert.assertNull(reader.next());
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testExchangeLargerThanSegment() throws IOException
+  {
+    final MappedLogDbSink sink = new MappedLogDbSink(_dir, 4096);
+    final RestRequest req = new RestRequestBuilder(URI.create("http://localhost:1234/large"))
+        .setMethod(RestMethod.POST)
+        .setEntity(new byte[8192])
+        .build();
+    sink.record(req, createResponse(0));
+  }
+
+  @Test
+  public void testRecordAfterCloseIsDropped() throws IOException
+  {
+    final MappedLogDbSink sink = new MappedLogDbSink(_dir, 4096);
+    sink.record(createRequest(0), createResponse(0));
+    sink.close();
+    sink.record(createRequest(1), createResponse(1));
+    sink.record(createRequest(2), createResponse(2), 1000L, 10L);
+    Assert.assertEquals(sink.getDroppedCount(), 2);
+
+    final MappedLogReader reader = new MappedLogReader(_dir);
+    Assert.assertEquals(reader.next().getRequest(), createRequest(0));
+    Assert.assertNull(reader.next());
+    reader.close();
+  }
+
+  private static RestRequest createRequest(int i)
+  {
+    return new RestRequestBuilder(URI.create("http://localhost:1234/greetings/" + i + "?q=é"))
+        .setMethod(i % 2 == 0 ? RestMethod.GET : RestMethod.PUT)
+        .setHeader("X-Request-Index", Integer.toString(i))
+        .addCookie("cookie" + i + "=value")
+        .setEntity(ByteString.copyString("request " + i, "UTF-8"))
+        .build();
+  }
+
+  private static RestResponse createResponse(int i)
+  {
+    return new RestResponseBuilder()
+        .setStatus(i % 3 == 0 ? RestStatus.OK : RestStatus.NOT_FOUND)
+        .setHeader("X-Response-Index", Integer.toString(i))
+        .setEntity(ByteString.copyString("response " + i, "UTF-8"))
+        .build();
+  }
+}
@@ -15,6 +15,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -603,6 +604,71 @@ public class TestEntityStream
     Assert.assertEquals(observer.getLastEvent(), "onError");
   }
 
+  @Test
+  public void testConcurrentRequestsAndWrites() throws Exception
+  {
+    final int requesters = 4;
+    final int requestsPerRequester = 10000;
+    final int total = requesters * requestsPerRequester;
+    ExecutorService executor = Executors.newFixedThreadPool(requesters + 1);
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    final TestWriter writer = new TestWriter();
+    TestObserver observer = new TestObserver();
+    final ControlReader reader = new ControlReader();
+    EntityStream es = EntityStreams.newEntityStream(writer);
+    es.addObserver(observer);
+    es.setReader(reader);
+
+    for (int i = 0; i < requesters; i++)
+    {
+      executor.submit(new Callable<Object>()
+      {
+        @Override
+        public Object call() throws Exception
+        {
+          startLatch.await();
+          for (int j = 0; j < requestsPerRequester; j++)
+          {
+            reader.read(1);
+          }
+          return null;
+        }
+      });
+    }
+
+    Future<?> writing = executor.submit(new Callable<Object>()
+    {
+      @Override
+      public Object call() throws Exception
+      {
+        startLatch.await();
+        int written = 0;
+        while (written < total)
+        {
+          for (int remaining = writer.remaining(); remaining > 0; remaining--)
+          {
+            writer.write();
+            written++;
+          }
+        }
+        writer.done();
+        return null;
+      }
+    });
+
+    startLatch.countDown();
+    writing.get(10, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    // every requested chunk is written exactly once and nothing is left over
+    Assert.assertEquals(writer.remaining(), 0);
+    Assert.assertEquals(reader.getChunkCount(), total);
+    Assert.assertEquals(observer.getChunkCount(), total);
+    Assert.assertEquals(reader.doneTimes(), 1);
+    Assert.assertEquals(reader.errorTimes(), 0);
+    Assert.assertEquals(writer.abortedTimes(), 0);
+  }
+
   @Test
   public void testRaceBetweenDoneAndCancel() throws Exception
   {
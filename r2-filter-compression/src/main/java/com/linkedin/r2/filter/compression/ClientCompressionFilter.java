@@ -48,6 +48,9 @@ public class ClientCompressionFilter implements RestFilter
   private final CompressionConfig _responseCompressionConfig;
   private final String _acceptEncodingHeader;
   private final ClientCompressionHelper _helper;
+  private final CompressionOffloader _offloader;
+  private final CompressionStats _compressionStats = new CompressionStats();
+  private final CompressionStats _decompressionStats = new CompressionStats();
 
 
   /**
@@ -65,6 +68,29 @@ public class ClientCompressionFilter implements RestFilter
                                  EncodingType[] acceptedEncodings,
                                  CompressionConfig responseCompressionConfig,
                                  List<String> responseCompressionOperations)
+  {
+    this(requestContentEncoding, requestCompressionConfig, acceptedEncodings, responseCompressionConfig,
+        responseCompressionOperations, CompressionOffloader.INLINE);
+  }
+
+  /**
+   * Instantiates a client compression filter which may compress requests and decompress responses off the
+   * calling thread.
+   *
+   * @param requestContentEncoding the encoding that should be used to compress requests.
+   * @param requestCompressionConfig config for determining when to compress requests.
+   * @param acceptedEncodings encodings accepted by the client, used to generate Accept-Encoding header.
+   * @param responseCompressionConfig config for determining when to ask the server to compress responses.
+   *                                  This overrides the config in the server.
+   * @param responseCompressionOperations the set of operations for which response compression will be turned on.
+   * @param offloader decides which entities are compressed and decompressed off the calling thread.
+   */
+  public ClientCompressionFilter(EncodingType requestContentEncoding,
+                                 CompressionConfig requestCompressionConfig,
+                                 EncodingType[] acceptedEncodings,
+                                 CompressionConfig responseCompressionConfig,
+                                 List<String> responseCompressionOperations,
+                                 CompressionOffloader offloader)
   {
     if (requestContentEncoding == null)
     {
@@ -95,10 +121,16 @@ public class ClientCompressionFilter implements RestFilter
     }
     // Null response compression config is allowed. This means that the default threshold on the server will be used.
 
+    if (offloader == null)
+    {
+      throw new IllegalArgumentException("offloader should not be null.");
+    }
+
     _requestContentEncoding = requestContentEncoding;
     _acceptEncodingHeader = buildAcceptEncodingHeader(acceptedEncodings);
     _responseCompressionConfig = responseCompressionConfig;
     _helper = new ClientCompressionHelper(requestCompressionConfig, responseCompressionOperations);
+    _offloader = offloader;
   }
 
   /**
@@ -117,6 +149,22 @@ public class ClientCompressionFilter implements RestFilter
         responseCompressionOperations);
   }
 
+  /**
+   * @return stats of the request compression done by this filter
+   */
+  public CompressionStats getCompressionStats()
+  {
+    return _compressionStats;
+  }
+
+  /**
+   * @return stats of the response decompression done by this filter
+   */
+  public CompressionStats getDecompressionStats()
+  {
+    return _decompressionStats;
+  }
+
 
   /**
    * Builds the accept encoding header as a string
@@ -176,51 +224,77 @@ public class ClientCompressionFilter implements RestFilter
   }
 
   /**
-   * Optionally compresses outgoing REST requests
+   * Optionally compresses outgoing REST requests. Large requests may be compressed on the offloader's executor,
+   * in which case the request is passed down the filter chain from that executor.
    * */
   @Override
   public void onRestRequest(RestRequest req, RequestContext requestContext,
                             Map<String, String> wireAttrs,
                             NextFilter<RestRequest, RestResponse> nextFilter)
+  {
+    if (_requestContentEncoding.hasCompressor()
+        && _helper.shouldCompressRequest(req.getEntity().length(),
+            (CompressionOption) requestContext.getLocalAttr(R2Constants.REQUEST_COMPRESSION_OVERRIDE)))
+    {
+      _offloader.run(req.getEntity().length(), () -> compressAndForward(req, requestContext, wireAttrs, nextFilter));
+    }
+    else
+    {
+      forwardRequest(req, requestContext, wireAttrs, nextFilter);
+    }
+  }
+
+  private void compressAndForward(RestRequest req, RequestContext requestContext,
+                                  Map<String, String> wireAttrs,
+                                  NextFilter<RestRequest, RestResponse> nextFilter)
   {
     try
     {
-      if (_requestContentEncoding.hasCompressor())
-      {
-        if (_helper.shouldCompressRequest(req.getEntity().length(),
-            (CompressionOption) requestContext.getLocalAttr(R2Constants.REQUEST_COMPRESSION_OVERRIDE)
-        ))
-        {
-          Compressor compressor = _requestContentEncoding.getCompressor();
-          byte[] compressed = compressor.deflate(req.getEntity().asInputStream());
-
-          if (compressed.length < req.getEntity().length())
-          {
-            req = req.builder().setEntity(compressed).setHeader(HttpConstants.CONTENT_ENCODING,
-                compressor.getContentEncodingName()).build();
-          }
-        }
-      }
+      Compressor compressor = _requestContentEncoding.getCompressor();
+      long startTime = System.nanoTime();
+      byte[] compressed = compressor.deflate(req.getEntity().asInputStream());
+      _compressionStats.record(_requestContentEncoding, req.getEntity().length(), compressed.length,
+          System.nanoTime() - startTime);
 
-      String operation = (String) requestContext.getLocalAttr(R2Constants.OPERATION);
-      if (!_acceptEncodingHeader.isEmpty() && _helper.shouldCompressResponseForOperation(operation))
+      if (compressed.length < req.getEntity().length())
       {
-        CompressionOption responseCompressionOverride =
-            (CompressionOption) requestContext.getLocalAttr(R2Constants.RESPONSE_COMPRESSION_OVERRIDE);
-        req = addResponseCompressionHeaders(responseCompressionOverride, req);
+        req = req.builder().setEntity(compressed).setHeader(HttpConstants.CONTENT_ENCODING,
+            compressor.getContentEncodingName()).build();
       }
     }
     catch (CompressionException e)
     {
       LOG.error(e.getMessage(), e.getCause());
     }
+    catch (Throwable e)
+    {
+      // Nothing would catch this on the offloader's executor, so fail the request rather than leaving it pending.
+      nextFilter.onError(e, requestContext, wireAttrs);
+      return;
+    }
+
+    forwardRequest(req, requestContext, wireAttrs, nextFilter);
+  }
+
+  private void forwardRequest(RestRequest req, RequestContext requestContext,
+                              Map<String, String> wireAttrs,
+                              NextFilter<RestRequest, RestResponse> nextFilter)
+  {
+    String operation = (String) requestContext.getLocalAttr(R2Constants.OPERATION);
+    if (!_acceptEncodingHeader.isEmpty() && _helper.shouldCompressResponseForOperation(operation))
+    {
+      CompressionOption responseCompressionOverride =
+          (CompressionOption) requestContext.getLocalAttr(R2Constants.RESPONSE_COMPRESSION_OVERRIDE);
+      req = addResponseCompressionHeaders(responseCompressionOverride, req);
+    }
 
     //Specify the actual compression algorithm used
     nextFilter.onRequest(req, requestContext, wireAttrs);
   }
 
   /**
-   *  Decompresses server response
+   *  Decompresses server response. Large responses may be decompressed on the offloader's executor,
+   *  in which case the response is passed down the filter chain from that executor.
    */
   @Override
   public void onRestResponse(RestResponse res, RequestContext requestContext,
@@ -230,39 +304,53 @@ public class ClientCompressionFilter implements RestFilter
     Boolean decompressionOff = (Boolean) requestContext.getLocalAttr(R2Constants.RESPONSE_DECOMPRESSION_OFF);
     if (decompressionOff == null || !decompressionOff)
     {
+      //Check for header encoding
+      String compressionHeader = res.getHeader(HttpConstants.CONTENT_ENCODING);
+
+      //Compress if necessary
+      if (compressionHeader != null && res.getEntity().length() > 0)
+      {
+        _offloader.run(res.getEntity().length(),
+            () -> decompressAndForward(res, compressionHeader, requestContext, wireAttrs, nextFilter));
+        return;
+      }
+    }
+
+    nextFilter.onResponse(res, requestContext, wireAttrs);
+  }
+
+  private void decompressAndForward(RestResponse res, String compressionHeader, RequestContext requestContext,
+                                    Map<String, String> wireAttrs,
+                                    NextFilter<RestRequest, RestResponse> nextFilter)
+  {
+    try
+    {
+      EncodingType encoding = null;
       try
       {
-        //Check for header encoding
-        String compressionHeader = res.getHeader(HttpConstants.CONTENT_ENCODING);
-
-        //Compress if necessary
-        if (compressionHeader != null && res.getEntity().length() > 0)
-        {
-          EncodingType encoding = null;
-          try
-          {
-            encoding = EncodingType.get(compressionHeader.trim().toLowerCase());
-          }
-          catch (IllegalArgumentException e)
-          {
-            throw new CompressionException(CompressionConstants.SERVER_ENCODING_ERROR + compressionHeader);
-          }
-          if (!encoding.hasCompressor())
-          {
-            throw new CompressionException(CompressionConstants.SERVER_ENCODING_ERROR + compressionHeader);
-          }
-          byte[] inflated = encoding.getCompressor().inflate(res.getEntity().asInputStream());
-          Map<String, String> headers = new HashMap<String, String>(res.getHeaders());
-          headers.remove(HttpConstants.CONTENT_ENCODING);
-          headers.put(HttpConstants.CONTENT_LENGTH, Integer.toString(inflated.length));
-          res = res.builder().setEntity(inflated).setHeaders(headers).build();
-        }
+        encoding = EncodingType.get(compressionHeader.trim().toLowerCase());
       }
-      catch (CompressionException e)
+      catch (IllegalArgumentException e)
       {
-        nextFilter.onError(e, requestContext, wireAttrs);
-        return;
+        throw new CompressionException(CompressionConstants.SERVER_ENCODING_ERROR + compressionHeader);
       }
+      if (!encoding.hasCompressor())
+      {
+        throw new CompressionException(CompressionConstants.SERVER_ENCODING_ERROR + compressionHeader);
+      }
+      long startTime = System.nanoTime();
+      byte[] inflated = encoding.getCompressor().inflate(res.getEntity().asInputStream());
+      _decompressionStats.record(encoding, inflated.length, res.getEntity().length(), System.nanoTime() - startTime);
+      Map<String, String> headers = new HashMap<String, String>(res.getHeaders());
+      headers.remove(HttpConstants.CONTENT_ENCODING);
+      headers.put(HttpConstants.CONTENT_LENGTH, Integer.toString(inflated.length));
+      res = res.builder().setEntity(inflated).setHeaders(headers).build();
+    }
+    catch (Throwable e)
+    {
+      // Also covers unexpected failures, which nothing would catch on the offloader's executor.
+      nextFilter.onError(e, requestContext, wireAttrs);
+      return;
     }
 
     nextFilter.onResponse(res, requestContext, wireAttrs);
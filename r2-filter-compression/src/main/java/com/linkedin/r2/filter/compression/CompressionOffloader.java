@@ -0,0 +1,120 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.filter.compression;
+
+import com.linkedin.r2.util.NamedThreadFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Decides where compression and decompression run for the compression filters. Entities at least as large as the
+ * offload threshold are processed on a dedicated executor, so that compressing them does not stall the calling
+ * thread, which is often an event loop shared by many connections. Smaller entities are processed inline, since
+ * the hand-off would cost more than the compression itself.
+ *
+ * The executor is expected to be bounded. When it rejects a task, the task runs on the calling thread instead,
+ * which pushes back on the caller rather than queueing without limit.
+ *
+ * When compression is offloaded, the rest of the filter chain continues on the executor thread.
+ */
+public class CompressionOffloader
+{
+  private static final Logger LOG = LoggerFactory.getLogger(CompressionOffloader.class);
+
+  /**
+   * Offloader which processes every entity on the calling thread.
+   */
+  public static final CompressionOffloader INLINE = new CompressionOffloader(null, Integer.MAX_VALUE);
+
+  private final Executor _executor;
+  private final int _offloadThreshold;
+  private final LongAdder _offloadedCount = new LongAdder();
+  private final LongAdder _rejectedCount = new LongAdder();
+
+  /**
+   * @param executor executor running the compression of large entities, or null to never offload
+   * @param offloadThreshold minimum entity size, in bytes, for compression to be offloaded
+   */
+  public CompressionOffloader(Executor executor, int offloadThreshold)
+  {
+    if (offloadThreshold < 0)
+    {
+      throw new IllegalArgumentException("offloadThreshold should not be negative.");
+    }
+    _executor = executor;
+    _offloadThreshold = offloadThreshold;
+  }
+
+  /**
+   * Creates a bounded executor suitable for offloading compression.
+   * @param threads number of compression threads
+   * @param queueSize maximum number of compression tasks waiting for a thread
+   */
+  public static ExecutorService newBoundedExecutor(int threads, int queueSize)
+  {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+        new NamedThreadFactory("R2 Compression"), new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Runs the given task, on the executor if the entity is large enough, on the calling thread otherwise.
+   * @param entityLength size of the entity to be compressed or decompressed, in bytes
+   * @param task compression task, responsible for passing its result down the filter chain
+   */
+  void run(int entityLength, Runnable task)
+  {
+    if (_executor != null && entityLength >= _offloadThreshold)
+    {
+      try
+      {
+        _executor.execute(task);
+        _offloadedCount.increment();
+        return;
+      }
+      catch (RejectedExecutionException e)
+      {
+        _rejectedCount.increment();
+        LOG.debug("Compression executor is saturated, compressing on the calling thread", e);
+      }
+    }
+    task.run();
+  }
+
+  /**
+   * @return number of tasks run on the executor
+   */
+  public long getOffloadedCount()
+  {
+    return _offloadedCount.sum();
+  }
+
+  /**
+   * @return number of tasks rejected by the executor and run on the calling thread instead
+   */
+  public long getRejectedCount()
+  {
+    return _rejectedCount.sum();
+  }
+}
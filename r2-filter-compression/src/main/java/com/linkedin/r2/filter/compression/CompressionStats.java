@@ -0,0 +1,108 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.filter.compression;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Per-encoding counters for the compression and decompression done by a compression filter.
+ * Counters are cumulative and safe to update concurrently.
+ */
+public class CompressionStats
+{
+  private final Map<EncodingType, Counters> _counters = new EnumMap<>(EncodingType.class);
+
+  public CompressionStats()
+  {
+    for (EncodingType encoding : EncodingType.values())
+    {
+      if (encoding.hasCompressor())
+      {
+        _counters.put(encoding, new Counters());
+      }
+    }
+  }
+
+  /**
+   * Records one compression or decompression.
+   * @param encoding encoding used
+   * @param uncompressedBytes size of the uncompressed entity
+   * @param compressedBytes size of the compressed entity
+   * @param durationNano time spent compressing or decompressing
+   */
+  void record(EncodingType encoding, long uncompressedBytes, long compressedBytes, long durationNano)
+  {
+    Counters counters = _counters.get(encoding);
+    if (counters != null)
+    {
+      counters._count.increment();
+      counters._uncompressedBytes.add(uncompressedBytes);
+      counters._compressedBytes.add(compressedBytes);
+      counters._durationNano.add(durationNano);
+    }
+  }
+
+  /**
+   * @return number of entities compressed or decompressed with the given encoding
+   */
+  public long getCount(EncodingType encoding)
+  {
+    Counters counters = _counters.get(encoding);
+    return counters == null ? 0 : counters._count.sum();
+  }
+
+  /**
+   * @return total size of the compressed entities divided by the total size of the uncompressed entities for the
+   *         given encoding, or 0 if nothing has been recorded
+   */
+  public double getCompressionRatio(EncodingType encoding)
+  {
+    Counters counters = _counters.get(encoding);
+    if (counters == null)
+    {
+      return 0;
+    }
+    long uncompressed = counters._uncompressedBytes.sum();
+    return uncompressed == 0 ? 0 : (double) counters._compressedBytes.sum() / uncompressed;
+  }
+
+  /**
+   * @return average time spent compressing or decompressing an entity with the given encoding, in nanoseconds,
+   *         or 0 if nothing has been recorded
+   */
+  public double getAverageDurationNano(EncodingType encoding)
+  {
+    Counters counters = _counters.get(encoding);
+    if (counters == null)
+    {
+      return 0;
+    }
+    long count = counters._count.sum();
+    return count == 0 ? 0 : (double) counters._durationNano.sum() / count;
+  }
+
+  private static class Counters
+  {
+    private final LongAdder _count = new LongAdder();
+    private final LongAdder _uncompressedBytes = new LongAdder();
+    private final LongAdder _compressedBytes = new LongAdder();
+    private final LongAdder _durationNano = new LongAdder();
+  }
+}
@@ -49,6 +49,9 @@ public class ServerCompressionFilter implements RestFilter
 
   private final Set<EncodingType> _supportedEncoding;
   private final ServerCompressionHelper _serverCompressionHelper;
+  private final CompressionOffloader _offloader;
+  private final CompressionStats _compressionStats = new CompressionStats();
+  private final CompressionStats _decompressionStats = new CompressionStats();
 
   private static final String EMPTY = "";
 
@@ -75,24 +78,63 @@ public class ServerCompressionFilter implements RestFilter
     this(AcceptEncoding.parseAcceptEncoding(acceptedFilters), responseCompressionConfig);
   }
 
+  public ServerCompressionFilter(String acceptedFilters, CompressionConfig responseCompressionConfig,
+      CompressionOffloader offloader)
+  {
+    this(AcceptEncoding.parseAcceptEncoding(acceptedFilters), responseCompressionConfig, offloader);
+  }
+
   /** Instantiates a compression filter
    * that supports the compression methods in the given set in argument.
    * @param supportedEncoding
    */
   public ServerCompressionFilter(EncodingType[] supportedEncoding, CompressionConfig defaultResponseCompressionConfig)
+  {
+    this(supportedEncoding, defaultResponseCompressionConfig, CompressionOffloader.INLINE);
+  }
+
+  /** Instantiates a compression filter
+   * that supports the compression methods in the given set in argument.
+   * @param supportedEncoding
+   * @param offloader decides which responses are compressed off the calling thread
+   */
+  public ServerCompressionFilter(EncodingType[] supportedEncoding, CompressionConfig defaultResponseCompressionConfig,
+      CompressionOffloader offloader)
   {
     if (defaultResponseCompressionConfig == null)
     {
       throw new IllegalArgumentException(CompressionConstants.NULL_CONFIG_ERROR);
     }
+    if (offloader == null)
+    {
+      throw new IllegalArgumentException("offloader should not be null.");
+    }
     _supportedEncoding = new HashSet<EncodingType>(Arrays.asList(supportedEncoding));
     _supportedEncoding.add(EncodingType.IDENTITY);
     _supportedEncoding.add(EncodingType.ANY);
     _serverCompressionHelper = new ServerCompressionHelper(defaultResponseCompressionConfig);
+    _offloader = offloader;
+  }
+
+  /**
+   * @return stats of the response compression done by this filter
+   */
+  public CompressionStats getCompressionStats()
+  {
+    return _compressionStats;
+  }
+
+  /**
+   * @return stats of the request decompression done by this filter
+   */
+  public CompressionStats getDecompressionStats()
+  {
+    return _decompressionStats;
   }
 
   /**
-   * Handles compression tasks for incoming requests
+   * Handles compression tasks for incoming requests. Requests are always decompressed on the calling thread,
+   * since the rest of the request pipeline is expected to run there.
    */
   @Override
   public void onRestRequest(RestRequest req, RequestContext requestContext,
@@ -126,7 +168,10 @@ public class ServerCompressionFilter implements RestFilter
         //Process the correct compression types only
         if (encoding.hasCompressor())
         {
+          long startTime = System.nanoTime();
           byte[] decompressedContent = encoding.getCompressor().inflate(req.getEntity().asInputStream());
+          _decompressionStats.record(encoding, decompressedContent.length, req.getEntity().length(),
+              System.nanoTime() - startTime);
           Map<String, String> headers = new HashMap<String, String>(req.getHeaders());
           headers.remove(HttpConstants.CONTENT_ENCODING);
           headers.put(HttpConstants.CONTENT_LENGTH, Integer.toString(decompressedContent.length));
@@ -159,7 +204,8 @@ public class ServerCompressionFilter implements RestFilter
   }
 
   /**
-   * Optionally compresses outgoing response
+   * Optionally compresses outgoing response. Large responses may be compressed on the offloader's executor,
+   * in which case the response is passed down the filter chain from that executor.
    * */
   @Override
   public void onRestResponse(RestResponse res, RequestContext requestContext,
@@ -185,17 +231,10 @@ public class ServerCompressionFilter implements RestFilter
           if (selectedEncoding.hasCompressor() &&
               res.getEntity().length() > (Integer) requestContext.getLocalAttr(HttpConstants.HEADER_RESPONSE_COMPRESSION_THRESHOLD))
           {
-            Compressor compressor = selectedEncoding.getCompressor();
-            byte[] compressed = compressor.deflate(res.getEntity().asInputStream());
-
-            if (compressed.length < res.getEntity().length())
-            {
-              RestResponseBuilder resCompress = res.builder();
-              resCompress.removeHeader(HttpConstants.CONTENT_LENGTH);
-              resCompress.addHeaderValue(HttpConstants.CONTENT_ENCODING, compressor.getContentEncodingName());
-              resCompress.setEntity(compressed);
-              res = resCompress.build();
-            }
+            final RestResponse response = res;
+            _offloader.run(res.getEntity().length(),
+                () -> compressAndForward(response, selectedEncoding, requestContext, wireAttrs, nextFilter));
+            return;
           }
         }
         else
@@ -213,6 +252,38 @@ public class ServerCompressionFilter implements RestFilter
     nextFilter.onResponse(res, requestContext, wireAttrs);
   }
 
+  private void compressAndForward(RestResponse res, EncodingType encoding, RequestContext requestContext,
+      Map<String, String> wireAttrs, NextFilter<RestRequest, RestResponse> nextFilter)
+  {
+    try
+    {
+      Compressor compressor = encoding.getCompressor();
+      long startTime = System.nanoTime();
+      byte[] compressed = compressor.deflate(res.getEntity().asInputStream());
+      _compressionStats.record(encoding, res.getEntity().length(), compressed.length, System.nanoTime() - startTime);
+
+      if (compressed.length < res.getEntity().length())
+      {
+        RestResponseBuilder resCompress = res.builder();
+        resCompress.removeHeader(HttpConstants.CONTENT_LENGTH);
+        resCompress.addHeaderValue(HttpConstants.CONTENT_ENCODING, compressor.getContentEncodingName());
+        resCompress.setEntity(compressed);
+        res = resCompress.build();
+      }
+    }
+    catch (CompressionException e)
+    {
+      LOG.error(e.getMessage(), e.getCause());
+    }
+    catch (Throwable e)
+    {
+      // Nothing would catch this on the offloader's executor, so fail the response rather than leaving it pending.
+      nextFilter.onError(e, requestContext, wireAttrs);
+      return;
+    }
+
+    nextFilter.onResponse(res, requestContext, wireAttrs);
+  }
 
   @Override
   public void onRestError(Throwable ex, RequestContext requestContext,
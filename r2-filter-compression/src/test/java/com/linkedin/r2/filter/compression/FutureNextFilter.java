@@ -0,0 +1,82 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.filter.compression;
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.r2.filter.NextFilter;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+import java.util.Map;
+
+
+/**
+ * Captures the message a filter passes on, along with the thread it is passed on from, so that tests can assert on
+ * it from the test thread even when the filter forwards it from another thread.
+ */
+class FutureNextFilter implements NextFilter<RestRequest, RestResponse>
+{
+  private final FutureCallback<RestRequest> _request = new FutureCallback<>();
+  private final FutureCallback<RestResponse> _response = new FutureCallback<>();
+  private volatile Thread _thread;
+
+  @Override
+  public void onRequest(RestRequest restRequest, RequestContext requestContext, Map<String, String> wireAttrs)
+  {
+    _thread = Thread.currentThread();
+    _request.onSuccess(restRequest);
+  }
+
+  @Override
+  public void onResponse(RestResponse restResponse, RequestContext requestContext, Map<String, String> wireAttrs)
+  {
+    _thread = Thread.currentThread();
+    _response.onSuccess(restResponse);
+  }
+
+  @Override
+  public void onError(Throwable ex, RequestContext requestContext, Map<String, String> wireAttrs)
+  {
+    _thread = Thread.currentThread();
+    _request.onError(ex);
+    _response.onError(ex);
+  }
+
+  /**
+   * @return the request passed on, the future fails if an error was passed on instead.
+   */
+  FutureCallback<RestRequest> getRequest()
+  {
+    return _request;
+  }
+
+  /**
+   * @return the response passed on, the future fails if an error was passed on instead.
+   */
+  FutureCallback<RestResponse> getResponse()
+  {
+    return _response;
+  }
+
+  /**
+   * @return the thread the last message was passed on from, only set once one of the futures is done.
+   */
+  Thread getThread()
+  {
+    return _thread;
+  }
+}
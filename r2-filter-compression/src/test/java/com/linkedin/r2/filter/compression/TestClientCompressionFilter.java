@@ -25,6 +25,7 @@ import com.linkedin.r2.message.rest.RestMethod;
 import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestRequestBuilder;
 import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
 import com.linkedin.r2.transport.http.common.HttpConstants;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -36,6 +37,9 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test compression rules
@@ -258,4 +262,64 @@ public class TestClientCompressionFilter
   {
     Assert.assertEquals(ClientCompressionFilter.buildAcceptEncodingHeader(encoding), acceptEncoding);
   }
+
+  @Test
+  public void testOffloadedCompression() throws Exception
+  {
+    ExecutorService executor = CompressionOffloader.newBoundedExecutor(1, 2);
+    try
+    {
+      CompressionOffloader offloader = new CompressionOffloader(executor, 100);
+      ClientCompressionFilter clientCompressionFilter = new ClientCompressionFilter(EncodingType.GZIP,
+          new CompressionConfig(0), new EncodingType[]{EncodingType.GZIP}, new CompressionConfig(Integer.MAX_VALUE),
+          Collections.<String>emptyList(), offloader);
+
+      byte[] entity = new byte[1000];
+      Arrays.fill(entity, (byte) 'A');
+      FutureNextFilter request = new FutureNextFilter();
+      clientCompressionFilter.onRestRequest(
+          new RestRequestBuilder(new URI(URI)).setMethod(RestMethod.POST).setEntity(entity).build(),
+          new RequestContext(), Collections.<String, String>emptyMap(), request);
+
+      RestRequest compressedRequest = request.getRequest().get(10, TimeUnit.SECONDS);
+      Assert.assertEquals(compressedRequest.getHeader(HttpConstants.CONTENT_ENCODING), EncodingType.GZIP.getHttpName());
+      Assert.assertTrue(compressedRequest.getEntity().length() < entity.length);
+      Assert.assertNotSame(request.getThread(), Thread.currentThread());
+
+      byte[] compressed = EncodingType.GZIP.getCompressor().deflate(new ByteArrayInputStream(new byte[1000]));
+      FutureNextFilter response = new FutureNextFilter();
+      clientCompressionFilter.onRestResponse(new RestResponseBuilder().setEntity(new byte[1000])
+              .setHeader(HttpConstants.CONTENT_ENCODING, EncodingType.GZIP.getHttpName()).build(),
+          new RequestContext(), Collections.<String, String>emptyMap(), response);
+      FutureNextFilter smallResponse = new FutureNextFilter();
+      clientCompressionFilter.onRestResponse(new RestResponseBuilder().setEntity(compressed)
+              .setHeader(HttpConstants.CONTENT_ENCODING, EncodingType.GZIP.getHttpName()).build(),
+          new RequestContext(), Collections.<String, String>emptyMap(), smallResponse);
+
+      // A response that fails to decompress on the executor is failed rather than left pending.
+      try
+      {
+        response.getResponse().get(10, TimeUnit.SECONDS);
+        Assert.fail("Decompressing an invalid entity should have failed");
+      }
+      catch (ExecutionException e)
+      {
+        Assert.assertTrue(e.getCause() instanceof CompressionException);
+      }
+      Assert.assertNotSame(response.getThread(), Thread.currentThread());
+
+      RestResponse decompressedResponse = smallResponse.getResponse().get(10, TimeUnit.SECONDS);
+      Assert.assertNull(decompressedResponse.getHeader(HttpConstants.CONTENT_ENCODING));
+      Assert.assertEquals(decompressedResponse.getEntity().copyBytes(), new byte[1000]);
+      Assert.assertSame(smallResponse.getThread(), Thread.currentThread());
+
+      Assert.assertEquals(offloader.getOffloadedCount(), 2);
+      Assert.assertEquals(clientCompressionFilter.getCompressionStats().getCount(EncodingType.GZIP), 1);
+      Assert.assertEquals(clientCompressionFilter.getDecompressionStats().getCount(EncodingType.GZIP), 1);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.linkedin.r2.filter.compression;
 
+import com.linkedin.r2.filter.CompressionConfig;
 import com.linkedin.r2.filter.NextFilter;
 import com.linkedin.r2.message.RequestContext;
 import com.linkedin.r2.message.rest.RestRequest;
@@ -31,6 +32,8 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test compression rules
@@ -124,4 +127,50 @@ public class TestServerCompressionFilter
     serverCompressionFilter.onRestResponse(restResponse, context, Collections.<String, String>emptyMap(),
                                            new HeaderCaptureFilter(HttpConstants.CONTENT_ENCODING, expectedContentEncodingName, compressedLength));
   }
+
+  @Test
+  public void testOffloadedResponseCompression() throws Exception
+  {
+    ExecutorService executor = CompressionOffloader.newBoundedExecutor(1, 1);
+    try
+    {
+      CompressionOffloader offloader = new CompressionOffloader(executor, 100);
+      ServerCompressionFilter serverCompressionFilter = new ServerCompressionFilter(
+          AcceptEncoding.parseAcceptEncoding(ACCEPT_COMPRESSIONS), new CompressionConfig(Integer.MAX_VALUE), offloader);
+
+      FutureNextFilter smallResponse = compressResponse(serverCompressionFilter, 50);
+      FutureNextFilter largeResponse = compressResponse(serverCompressionFilter, 1000);
+
+      Assert.assertEquals(smallResponse.getResponse().get(10, TimeUnit.SECONDS).getHeader(HttpConstants.CONTENT_ENCODING),
+          EncodingType.GZIP.getHttpName());
+      Assert.assertEquals(largeResponse.getResponse().get(10, TimeUnit.SECONDS).getHeader(HttpConstants.CONTENT_ENCODING),
+          EncodingType.GZIP.getHttpName());
+      Assert.assertSame(smallResponse.getThread(), Thread.currentThread());
+      Assert.assertNotNull(largeResponse.getThread());
+      Assert.assertNotSame(largeResponse.getThread(), Thread.currentThread());
+      Assert.assertEquals(offloader.getOffloadedCount(), 1);
+
+      CompressionStats stats = serverCompressionFilter.getCompressionStats();
+      Assert.assertEquals(stats.getCount(EncodingType.GZIP), 2);
+      Assert.assertTrue(stats.getCompressionRatio(EncodingType.GZIP) < 1.0);
+      Assert.assertTrue(stats.getAverageDurationNano(EncodingType.GZIP) > 0);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  private static FutureNextFilter compressResponse(ServerCompressionFilter filter, int length)
+  {
+    RequestContext context = new RequestContext();
+    context.putLocalAttr(HttpConstants.ACCEPT_ENCODING, "gzip");
+    context.putLocalAttr(HttpConstants.HEADER_RESPONSE_COMPRESSION_THRESHOLD, 0);
+    byte[] entity = new byte[length];
+    Arrays.fill(entity, (byte) 'A');
+    FutureNextFilter nextFilter = new FutureNextFilter();
+    filter.onRestResponse(new RestResponseBuilder().setEntity(entity).build(), context,
+        Collections.<String, String>emptyMap(), nextFilter);
+    return nextFilter;
+  }
 }
@@ -0,0 +1,383 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.r2.util.NamedThreadFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * A bounded, multi-lane queue of requests drained by a fixed number of dispatch threads, which drops requests
+ * that have waited too long using controlled delay. See {@link DispatchQueueConfig} for the dropping policy.
+ */
+/* package private */ class CoDelDispatchQueue implements DispatchQueueStats
+{
+  private static final Logger LOG = LoggerFactory.getLogger(CoDelDispatchQueue.class);
+
+  /**
+   * A request waiting in the queue.
+   */
+  interface DispatchTask extends Runnable
+  {
+    /**
+     * Invoked instead of {@link #run()} when the request is not dispatched.
+     *
+     * @param reason why the request was not dispatched.
+     */
+    void drop(String reason);
+  }
+
+  private static final class Entry
+  {
+    private final DispatchTask _task;
+    private final long _enqueueTimeNano;
+
+    private Entry(DispatchTask task, long enqueueTimeNano)
+    {
+      _task = task;
+      _enqueueTimeNano = enqueueTimeNano;
+    }
+  }
+
+  private final ArrayDeque<Entry>[] _lanes;
+  private final int _maxQueueSize;
+  private final long _targetDelayNano;
+  private final long _sloughTimeoutNano;
+  private final long _intervalNano;
+  private final int _threadCount;
+  private final String _threadName;
+
+  private final ReentrantLock _lock = new ReentrantLock();
+  private final Condition _notEmpty = _lock.newCondition();
+  private final List<Thread> _threads = new ArrayList<>();
+  private int _size = 0;
+  private boolean _shutdown = false;
+
+  // CoDel state, only accessed while holding _lock
+  private long _intervalEndNano;
+  private long _minDelayNano = Long.MAX_VALUE;
+  private volatile boolean _overloaded = false;
+
+  private final LongAdder _dispatchedCount = new LongAdder();
+  private final LongAdder _rejectedCount = new LongAdder();
+  private final LongAdder _droppedCount = new LongAdder();
+  private final LongAdder _totalQueueTimeNano = new LongAdder();
+  private final LongAccumulator _maxQueueTimeNano = new LongAccumulator(Math::max, 0);
+
+  @SuppressWarnings("unchecked")
+  CoDelDispatchQueue(DispatchQueueConfig config, int laneCount, int threadCount, String threadName)
+  {
+    _lanes = new ArrayDeque[laneCount];
+    for (int i = 0; i < laneCount; i++)
+    {
+      _lanes[i] = new ArrayDeque<>();
+    }
+    _maxQueueSize = config.getMaxQueueSize();
+    _targetDelayNano = TimeUnit.MILLISECONDS.toNanos(config.getTargetDelayMs());
+    _sloughTimeoutNano = 2 * _targetDelayNano;
+    _intervalNano = TimeUnit.MILLISECONDS.toNanos(config.getIntervalMs());
+    _intervalEndNano = System.nanoTime() + _intervalNano;
+    _threadCount = threadCount;
+    _threadName = threadName;
+  }
+
+  /**
+   * Starts the dispatch threads.
+   */
+  void start()
+  {
+    final NamedThreadFactory threadFactory = new NamedThreadFactory(_threadName);
+    for (int i = 0; i < _threadCount; i++)
+    {
+      final Thread thread = threadFactory.newThread(this::dispatchLoop);
+      _threads.add(thread);
+      thread.start();
+    }
+  }
+
+  /**
+   * Stops accepting requests, drops the requests still in the queue and stops the dispatch threads.
+   */
+  void shutdown()
+  {
+    final List<Entry> remaining = new ArrayList<>();
+    _lock.lock();
+    try
+    {
+      _shutdown = true;
+      for (ArrayDeque<Entry> lane : _lanes)
+      {
+        remaining.addAll(lane);
+        lane.clear();
+      }
+      _size = 0;
+      _notEmpty.signalAll();
+    }
+    finally
+    {
+      _lock.unlock();
+    }
+    for (Entry entry : remaining)
+    {
+      dropQuietly(entry._task, "Server is shutting down");
+    }
+  }
+
+  /**
+   * Waits for the dispatch threads to stop after {@link #shutdown()}.
+   */
+  void awaitTermination() throws InterruptedException
+  {
+    for (Thread thread : _threads)
+    {
+      thread.join();
+    }
+  }
+
+  /**
+   * Adds a request to a lane, or drops it right away if the queue is full.
+   *
+   * @param lane index of the lane, 0 being the highest priority.
+   * @param task the request.
+   * @return true if the request has been queued.
+   */
+  boolean offer(int lane, DispatchTask task)
+  {
+    return offer(lane, task, System.nanoTime());
+  }
+
+  /**
+   * Adds a request that has already been waiting since the given time, which counts towards its time in the queue.
+   *
+   * @param enqueueTimeNano {@link System#nanoTime()} when the request started waiting.
+   * @return true if the request has been queued.
+   */
+  boolean offer(int lane, DispatchTask task, long enqueueTimeNano)
+  {
+    final String rejection;
+    _lock.lock();
+    try
+    {
+      if (_shutdown)
+      {
+        rejection = "Server is shutting down";
+      }
+      else if (_size >= _maxQueueSize)
+      {
+        rejection = "Dispatch queue is full";
+        _rejectedCount.increment();
+      }
+      else
+      {
+        _lanes[lane].addLast(new Entry(task, enqueueTimeNano));
+        _size++;
+        _notEmpty.signal();
+        return true;
+      }
+    }
+    finally
+    {
+      _lock.unlock();
+    }
+    dropQuietly(task, rejection);
+    return false;
+  }
+
+  /**
+   * Drops a request that was rejected before reaching the queue, counting it like a request arriving when the queue
+   * is full.
+   */
+  void reject(DispatchTask task, String reason)
+  {
+    _rejectedCount.increment();
+    dropQuietly(task, reason);
+  }
+
+  /**
+   * Takes the next request to dispatch, dropping on the way the requests that waited too long.
+   *
+   * @return the next request, or null if the queue has been shut down.
+   */
+  DispatchTask take() throws InterruptedException
+  {
+    while (true)
+    {
+      final Entry entry;
+      final long delayNano;
+      final boolean drop;
+      _lock.lockInterruptibly();
+      try
+      {
+        while (_size == 0)
+        {
+          if (_shutdown)
+          {
+            return null;
+          }
+          _notEmpty.await();
+        }
+        entry = poll();
+        final long nowNano = System.nanoTime();
+        delayNano = nowNano - entry._enqueueTimeNano;
+        drop = shouldDrop(delayNano, nowNano);
+      }
+      finally
+      {
+        _lock.unlock();
+      }
+
+      _totalQueueTimeNano.add(delayNano);
+      _maxQueueTimeNano.accumulate(delayNano);
+      if (!drop)
+      {
+        _dispatchedCount.increment();
+        return entry._task;
+      }
+      _droppedCount.increment();
+      dropQuietly(entry._task, "Request waited " + TimeUnit.NANOSECONDS.toMillis(delayNano) + "ms in the dispatch queue");
+    }
+  }
+
+  /**
+   * Controlled delay decision for a request leaving the queue, must be called while holding the lock. The queue is
+   * overloaded if the minimum delay of the previous interval exceeded the target delay, and while overloaded requests
+   * that waited for more than twice the target delay are dropped.
+   */
+  boolean shouldDrop(long delayNano, long nowNano)
+  {
+    if (nowNano - _intervalEndNano > 0)
+    {
+      // _minDelayNano is still Long.MAX_VALUE if nothing left the queue during the interval
+      _overloaded = _minDelayNano != Long.MAX_VALUE && _minDelayNano > _targetDelayNano;
+      _minDelayNano = delayNano;
+      _intervalEndNano = nowNano + _intervalNano;
+    }
+    else if (delayNano < _minDelayNano)
+    {
+      _minDelayNano = delayNano;
+    }
+    return _overloaded && delayNano > _sloughTimeoutNano;
+  }
+
+  private Entry poll()
+  {
+    for (ArrayDeque<Entry> lane : _lanes)
+    {
+      final Entry entry = lane.pollFirst();
+      if (entry != null)
+      {
+        _size--;
+        return entry;
+      }
+    }
+    throw new IllegalStateException("Dispatch queue is empty");
+  }
+
+  private void dispatchLoop()
+  {
+    try
+    {
+      DispatchTask task;
+      while ((task = take()) != null)
+      {
+        try
+        {
+          task.run();
+        }
+        catch (Throwable e)
+        {
+          LOG.error("Uncaught exception while dispatching request", e);
+        }
+      }
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void dropQuietly(DispatchTask task, String reason)
+  {
+    try
+    {
+      task.drop(reason);
+    }
+    catch (Throwable e)
+    {
+      LOG.error("Uncaught exception while dropping request", e);
+    }
+  }
+
+  @Override
+  public int getQueueSize()
+  {
+    _lock.lock();
+    try
+    {
+      return _size;
+    }
+    finally
+    {
+      _lock.unlock();
+    }
+  }
+
+  @Override
+  public long getDispatchedCount()
+  {
+    return _dispatchedCount.sum();
+  }
+
+  @Override
+  public long getRejectedCount()
+  {
+    return _rejectedCount.sum();
+  }
+
+  @Override
+  public long getDroppedCount()
+  {
+    return _droppedCount.sum();
+  }
+
+  @Override
+  public long getTotalQueueTimeNano()
+  {
+    return _totalQueueTimeNano.sum();
+  }
+
+  @Override
+  public long getMaxQueueTimeNano()
+  {
+    return _maxQueueTimeNano.get();
+  }
+
+  @Override
+  public boolean isOverloaded()
+  {
+    return _overloaded;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.util.ArgumentUtil;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Configuration of the dispatch queue that {@link HttpNettyServer} puts in front of its {@link HttpDispatcher}
+ * when configured through {@link HttpNettyServerBuilder#dispatchQueueConfig(DispatchQueueConfig)}.
+ *
+ * The queue is bounded by {@link #getMaxQueueSize()}, and drops requests using controlled delay (CoDel): once the
+ * minimum time requests spent in the queue during an interval of {@link #getIntervalMs()} exceeds
+ * {@link #getTargetDelayMs()}, the queue is considered overloaded and requests that have waited for more than twice
+ * the target delay are answered with a 503 instead of being dispatched. The queue leaves the overloaded state as soon
+ * as an interval passes in which some request was dispatched within the target delay.
+ *
+ * Requests can optionally be assigned to priority lanes based on the value of a request header. Lanes are served in
+ * strict priority order, and requests without a matching header value go to the lowest priority lane.
+ */
+public class DispatchQueueConfig
+{
+  public static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+  public static final long DEFAULT_TARGET_DELAY_MS = 5;
+  public static final long DEFAULT_INTERVAL_MS = 100;
+  public static final int DEFAULT_MAX_PIPELINED_REQUESTS = 16;
+
+  private int _maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  private long _targetDelayMs = DEFAULT_TARGET_DELAY_MS;
+  private long _intervalMs = DEFAULT_INTERVAL_MS;
+  private int _maxPipelinedRequests = DEFAULT_MAX_PIPELINED_REQUESTS;
+  private String _priorityHeader = null;
+  private List<String> _priorityValues = Collections.emptyList();
+
+  public int getMaxQueueSize()
+  {
+    return _maxQueueSize;
+  }
+
+  /**
+   * @param maxQueueSize maximum number of requests waiting to be dispatched, across all lanes. Requests arriving
+   *                     when the queue is full are answered with a 503. A connection has at most one request in
+   *                     the queue, requests pipelined after it wait for it to leave the queue, see
+   *                     {@link #setMaxPipelinedRequests(int)}.
+   */
+  public DispatchQueueConfig setMaxQueueSize(int maxQueueSize)
+  {
+    ArgumentUtil.checkArgument(maxQueueSize > 0, "maxQueueSize");
+    _maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  public long getTargetDelayMs()
+  {
+    return _targetDelayMs;
+  }
+
+  /**
+   * @param targetDelayMs the queueing delay the queue tolerates without being considered overloaded.
+   */
+  public DispatchQueueConfig setTargetDelayMs(long targetDelayMs)
+  {
+    ArgumentUtil.checkArgument(targetDelayMs > 0, "targetDelayMs");
+    _targetDelayMs = targetDelayMs;
+    return this;
+  }
+
+  public long getIntervalMs()
+  {
+    return _intervalMs;
+  }
+
+  /**
+   * @param intervalMs the interval over which the minimum queueing delay is measured.
+   */
+  public DispatchQueueConfig setIntervalMs(long intervalMs)
+  {
+    ArgumentUtil.checkArgument(intervalMs > 0, "intervalMs");
+    _intervalMs = intervalMs;
+    return this;
+  }
+
+  public int getMaxPipelinedRequests()
+  {
+    return _maxPipelinedRequests;
+  }
+
+  /**
+   * @param maxPipelinedRequests maximum number of requests of a connection waiting for its request in the queue to
+   *                             leave it. The server stops reading from a connection once this many of its requests
+   *                             are waiting, and requests that were already read past this limit are answered with a
+   *                             503 in their turn. The time requests wait there counts towards their queueing delay.
+   */
+  public DispatchQueueConfig setMaxPipelinedRequests(int maxPipelinedRequests)
+  {
+    ArgumentUtil.checkArgument(maxPipelinedRequests > 0, "maxPipelinedRequests");
+    _maxPipelinedRequests = maxPipelinedRequests;
+    return this;
+  }
+
+  public String getPriorityHeader()
+  {
+    return _priorityHeader;
+  }
+
+  public List<String> getPriorityValues()
+  {
+    return _priorityValues;
+  }
+
+  /**
+   * Enables priority lanes.
+   *
+   * @param priorityHeader name of the request header that selects the lane.
+   * @param priorityValues header values in decreasing priority order. A request whose header equals the i-th value
+   *                       is put in lane i, other requests are put in the lowest priority lane after all of these.
+   */
+  public DispatchQueueConfig setPriorityLanes(String priorityHeader, List<String> priorityValues)
+  {
+    ArgumentUtil.notNull(priorityHeader, "priorityHeader");
+    ArgumentUtil.notNull(priorityValues, "priorityValues");
+    _priorityHeader = priorityHeader;
+    _priorityValues = Collections.unmodifiableList(priorityValues);
+    return this;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "{maxQueueSize=" + _maxQueueSize + ", targetDelayMs=" + _targetDelayMs + ", intervalMs=" + _intervalMs
+        + ", maxPipelinedRequests=" + _maxPipelinedRequests + ", priorityHeader=" + _priorityHeader + ", priorityValues=" + _priorityValues + "}";
+  }
+}
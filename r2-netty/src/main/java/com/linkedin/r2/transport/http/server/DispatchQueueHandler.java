@@ -0,0 +1,210 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestStatus;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandler;
+import io.netty.channel.SimpleChannelInboundHandler;
+import java.util.ArrayDeque;
+import java.util.List;
+
+
+/**
+ * Puts requests in a {@link CoDelDispatchQueue} instead of handling them on the I/O thread. The dispatch threads of
+ * the queue hand them over to the wrapped request handler, and requests dropped by the queue are answered with a 503.
+ *
+ * A new handler is created for every channel, and at most one request of the channel is in the queue at a time: the
+ * next request is only offered once the previous one has been handed over or dropped. Requests of a channel are thus
+ * dispatched in the order they were read, like they are on the single executor a channel is bound to without the
+ * queue, which keeps the responses to HTTP/1.1 pipelined requests in order as long as they are completed in order.
+ *
+ * The requests waiting behind the queued one are bounded by {@link DispatchQueueConfig#getMaxPipelinedRequests()}:
+ * reading from the channel is paused once the bound is reached, and requests that had already been read past it are
+ * rejected with a 503 in their turn. Requests enter the queue with the time they were read, so the time spent waiting
+ * behind earlier requests of the channel counts towards their queueing delay.
+ */
+class DispatchQueueHandler extends SimpleChannelInboundHandler<RestRequest>
+{
+  private static final String TOO_MANY_PIPELINED_REQUESTS = "Too many pipelined requests on the connection";
+
+  private final ChannelInboundHandler _handler;
+  private final CoDelDispatchQueue _queue;
+  private final String _priorityHeader;
+  private final List<String> _priorityValues;
+  private final int _maxPipelinedRequests;
+
+  // Only accessed on the I/O thread of the channel
+  private final ArrayDeque<PendingRequest> _pendingRequests = new ArrayDeque<>();
+  private boolean _requestQueued = false;
+
+  /**
+   * A request read while another request of the channel was in the queue.
+   */
+  private static final class PendingRequest
+  {
+    // null if the request was read past the pipelining limit and has to be rejected
+    private final RestRequest _request;
+    private final long _readTimeNano;
+
+    private PendingRequest(RestRequest request, long readTimeNano)
+    {
+      _request = request;
+      _readTimeNano = readTimeNano;
+    }
+  }
+
+  DispatchQueueHandler(ChannelInboundHandler handler, CoDelDispatchQueue queue, DispatchQueueConfig config)
+  {
+    _handler = handler;
+    _queue = queue;
+    _priorityHeader = config.getPriorityHeader();
+    _priorityValues = config.getPriorityValues();
+    _maxPipelinedRequests = config.getMaxPipelinedRequests();
+  }
+
+  /**
+   * @return number of lanes needed for the given config.
+   */
+  static int laneCount(DispatchQueueConfig config)
+  {
+    return config.getPriorityValues().size() + 1;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, RestRequest request)
+  {
+    final long readTimeNano = System.nanoTime();
+    if (!_requestQueued)
+    {
+      _requestQueued = true;
+      _queue.offer(lane(request), new RequestTask(ctx, request), readTimeNano);
+    }
+    else if (_pendingRequests.size() < _maxPipelinedRequests)
+    {
+      _pendingRequests.addLast(new PendingRequest(request, readTimeNano));
+      if (_pendingRequests.size() == _maxPipelinedRequests)
+      {
+        ctx.channel().config().setAutoRead(false);
+      }
+    }
+    else
+    {
+      // Read from the socket before reading was paused. Only the place of its response is kept, so that it is
+      // answered after the requests read before it.
+      _pendingRequests.addLast(new PendingRequest(null, readTimeNano));
+    }
+  }
+
+  /**
+   * Offers the next pending request of the channel, on its I/O thread, once the previous one has left the queue.
+   */
+  private void offerNext(ChannelHandlerContext ctx)
+  {
+    if (ctx.executor().isShuttingDown())
+    {
+      return;
+    }
+    ctx.executor().execute(() -> {
+      final PendingRequest next = _pendingRequests.pollFirst();
+      if (next == null)
+      {
+        _requestQueued = false;
+        return;
+      }
+
+      if (_pendingRequests.size() < _maxPipelinedRequests && !ctx.channel().config().isAutoRead())
+      {
+        ctx.channel().config().setAutoRead(true);
+      }
+      if (next._request == null)
+      {
+        _queue.reject(new RequestTask(ctx, null), TOO_MANY_PIPELINED_REQUESTS);
+      }
+      else
+      {
+        _queue.offer(lane(next._request), new RequestTask(ctx, next._request), next._readTimeNano);
+      }
+    });
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception
+  {
+    _handler.exceptionCaught(ctx, cause);
+  }
+
+  private int lane(RestRequest request)
+  {
+    if (_priorityHeader != null)
+    {
+      final int index = _priorityValues.indexOf(request.getHeader(_priorityHeader));
+      if (index >= 0)
+      {
+        return index;
+      }
+    }
+    return _priorityValues.size();
+  }
+
+  /**
+   * Hands a request of the channel over to the wrapped handler, or answers it with a 503 if it is dropped.
+   */
+  private class RequestTask implements CoDelDispatchQueue.DispatchTask
+  {
+    private final ChannelHandlerContext _ctx;
+    private final RestRequest _request;
+
+    private RequestTask(ChannelHandlerContext ctx, RestRequest request)
+    {
+      _ctx = ctx;
+      _request = request;
+    }
+
+    @Override
+    public void run()
+    {
+      try
+      {
+        _handler.channelRead(_ctx, _request);
+      }
+      catch (Exception e)
+      {
+        try
+        {
+          _handler.exceptionCaught(_ctx, e);
+        }
+        catch (Exception ex)
+        {
+          _ctx.close();
+        }
+      }
+      finally
+      {
+        offerNext(_ctx);
+      }
+    }
+
+    @Override
+    public void drop(String reason)
+    {
+      _ctx.channel().writeAndFlush(RestStatus.responseForStatus(RestStatus.SERVICE_UNAVAILABLE, reason));
+      offerNext(_ctx);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+/**
+ * Statistics of the dispatch queue of a {@link HttpNettyServer}, see {@link DispatchQueueConfig}.
+ * All counts are cumulative since the server started.
+ */
+public interface DispatchQueueStats
+{
+  /**
+   * @return number of requests currently waiting to be dispatched.
+   */
+  int getQueueSize();
+
+  /**
+   * @return number of requests that have been dispatched.
+   */
+  long getDispatchedCount();
+
+  /**
+   * @return number of requests answered with a 503 because the queue was full, or because too many requests were
+   *         pipelined on their connection, see {@link DispatchQueueConfig#setMaxPipelinedRequests(int)}.
+   */
+  long getRejectedCount();
+
+  /**
+   * @return number of requests answered with a 503 because they waited too long while the queue was overloaded.
+   */
+  long getDroppedCount();
+
+  /**
+   * @return total time dispatched and dropped requests spent in the queue, in nanoseconds.
+   */
+  long getTotalQueueTimeNano();
+
+  /**
+   * @return longest time a request spent in the queue, in nanoseconds.
+   */
+  long getMaxQueueTimeNano();
+
+  /**
+   * @return whether the queue currently considers itself overloaded and drops requests that waited too long.
+   */
+  boolean isOverloaded();
+}
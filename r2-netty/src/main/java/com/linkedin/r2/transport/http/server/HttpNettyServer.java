@@ -47,10 +47,12 @@ import javax.net.ssl.SSLParameters;
   private final SSLContext _sslContext;
   private final SSLParameters _sslParameters;
   private final int _startupTimeoutMillis;
+  private final DispatchQueueConfig _dispatchQueueConfig;
 
   private NioEventLoopGroup _bossGroup;
   private NioEventLoopGroup _workerGroup;
   private EventExecutorGroup _eventExecutors;
+  private CoDelDispatchQueue _dispatchQueue;
 
   public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher)
   {
@@ -76,6 +78,17 @@ import javax.net.ssl.SSLParameters;
 
   public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher, boolean restOverStream,
                          SSLContext sslContext, SSLParameters sslParameters, int startupTimeoutMillis)
+  {
+    this(port, threadPoolSize, dispatcher, restOverStream, sslContext, sslParameters, startupTimeoutMillis, null);
+  }
+
+  /**
+   * @param dispatchQueueConfig if not null, requests are dispatched by threadPoolSize threads from a bounded
+   *                            queue configured by it, instead of being handed to unbounded per-thread queues.
+   */
+  public HttpNettyServer(int port, int threadPoolSize, HttpDispatcher dispatcher, boolean restOverStream,
+                         SSLContext sslContext, SSLParameters sslParameters, int startupTimeoutMillis,
+                         DispatchQueueConfig dispatchQueueConfig)
   {
     _port = port;
     _threadPoolSize = threadPoolSize;
@@ -84,17 +97,27 @@ import javax.net.ssl.SSLParameters;
     _sslContext = sslContext;
     _sslParameters = sslParameters;
     _startupTimeoutMillis = startupTimeoutMillis;
+    _dispatchQueueConfig = dispatchQueueConfig;
   }
 
   @Override
   public void start()
   {
-    _eventExecutors =  new DefaultEventExecutorGroup(_threadPoolSize);
+    if (_dispatchQueueConfig != null)
+    {
+      _dispatchQueue = new CoDelDispatchQueue(_dispatchQueueConfig, DispatchQueueHandler.laneCount(_dispatchQueueConfig),
+          _threadPoolSize, "R2 Dispatch");
+      _dispatchQueue.start();
+    }
+    else
+    {
+      _eventExecutors =  new DefaultEventExecutorGroup(_threadPoolSize);
+    }
     _bossGroup = new NioEventLoopGroup(1, new NamedThreadFactory("R2 Nio Boss"));
     _workerGroup = new NioEventLoopGroup(0, new NamedThreadFactory("R2 Nio Worker"));
 
     final HttpNettyServerPipelineInitializer pipelineInitializer = new HttpNettyServerPipelineInitializer(
-        _dispatcher, _eventExecutors, _sslContext, _sslParameters, _restOverStream);
+        _dispatcher, _eventExecutors, _dispatchQueue, _dispatchQueueConfig, _sslContext, _sslParameters, _restOverStream);
     ServerBootstrap bootstrap = new ServerBootstrap()
                                       .group(_bossGroup, _workerGroup)
                                       .channel(NioServerSocketChannel.class)
@@ -124,13 +147,20 @@ import javax.net.ssl.SSLParameters;
       // Do nothing
     }
 
-    try
+    if (_dispatchQueue != null)
     {
-      _eventExecutors.shutdownGracefully().sync();
+      _dispatchQueue.shutdown();
     }
-    catch(Exception ex)
+    else
     {
-      // Do nothing
+      try
+      {
+        _eventExecutors.shutdownGracefully().sync();
+      }
+      catch(Exception ex)
+      {
+        // Do nothing
+      }
     }
   }
 
@@ -139,6 +169,21 @@ import javax.net.ssl.SSLParameters;
   {
     _bossGroup.terminationFuture().await();
     _workerGroup.terminationFuture().await();
-    _eventExecutors.terminationFuture().await();
+    if (_dispatchQueue != null)
+    {
+      _dispatchQueue.awaitTermination();
+    }
+    else
+    {
+      _eventExecutors.terminationFuture().await();
+    }
+  }
+
+  /**
+   * @return statistics of the dispatch queue, or null if the server has not been started or has no dispatch queue.
+   */
+  public DispatchQueueStats getDispatchQueueStats()
+  {
+    return _dispatchQueue;
   }
 }
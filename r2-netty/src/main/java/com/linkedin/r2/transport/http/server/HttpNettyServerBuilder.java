@@ -36,6 +36,7 @@ public class HttpNettyServerBuilder
 {
   public static final int DEFAULT_NETTY_HTTP_SERVER_PORT = 8080;
   public static final int DEFAULT_THREAD_POOL_SIZE = 256;
+  public static final int DEFAULT_STARTUP_TIMEOUT_MILLIS = 10000;
 
   // The following fields are required.
   private TransportDispatcher _transportDispatcher = null;
@@ -49,6 +50,7 @@ public class HttpNettyServerBuilder
   // The following fields are optional.
   private SSLContext _sslContext = null;
   private SSLParameters _sslParameters = null;
+  private DispatchQueueConfig _dispatchQueueConfig = null;
 
   public HttpNettyServerBuilder filters(FilterChain filters)
   {
@@ -92,12 +94,22 @@ public class HttpNettyServerBuilder
     return this;
   }
 
+  /**
+   * Dispatches requests from a bounded queue with controlled delay dropping, see {@link DispatchQueueConfig}.
+   */
+  public HttpNettyServerBuilder dispatchQueueConfig(DispatchQueueConfig dispatchQueueConfig)
+  {
+    _dispatchQueueConfig = dispatchQueueConfig;
+    return this;
+  }
+
   public HttpNettyServer build()
   {
     validateParameters();
     final TransportDispatcher filterDispatcher = new FilterChainDispatcher(_transportDispatcher, _filters);
     final HttpDispatcher dispatcher = HttpDispatcherFactory.create((filterDispatcher));
-    return new HttpNettyServer(_port, _threadPoolSize, dispatcher, _sslContext, _sslParameters);
+    return new HttpNettyServer(_port, _threadPoolSize, dispatcher, _restOverStream, _sslContext, _sslParameters,
+        DEFAULT_STARTUP_TIMEOUT_MILLIS, _dispatchQueueConfig);
   }
 
   private void validateParameters()
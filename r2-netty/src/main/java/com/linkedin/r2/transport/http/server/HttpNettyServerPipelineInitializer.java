@@ -37,12 +37,28 @@ public class HttpNettyServerPipelineInitializer extends ChannelInitializer<NioSo
   private final EventExecutorGroup _eventExecutors;
   private final boolean _restOverStream;
   private final HttpDispatcher _dispatcher;
+  private final CoDelDispatchQueue _dispatchQueue;
+  private final DispatchQueueConfig _dispatchQueueConfig;
 
 
   HttpNettyServerPipelineInitializer(HttpDispatcher dispatcher, EventExecutorGroup eventExecutors,
                                      SSLContext sslContext, SSLParameters sslParameters,
                                      boolean restOverStream)
   {
+    this(dispatcher, eventExecutors, null, null, sslContext, sslParameters, restOverStream);
+  }
+
+  /**
+   * @param eventExecutors executors the request handler runs on, used if dispatchQueue is null.
+   * @param dispatchQueue queue the requests are dispatched from, or null to hand them to eventExecutors.
+   */
+  HttpNettyServerPipelineInitializer(HttpDispatcher dispatcher, EventExecutorGroup eventExecutors,
+                                     CoDelDispatchQueue dispatchQueue, DispatchQueueConfig dispatchQueueConfig,
+                                     SSLContext sslContext, SSLParameters sslParameters,
+                                     boolean restOverStream)
+  {
+    _dispatchQueue = dispatchQueue;
+    _dispatchQueueConfig = dispatchQueueConfig;
     _dispatcher = dispatcher;
     _sslContext = sslContext;
     _sslParameters = sslParameters;
@@ -68,6 +84,13 @@ public class HttpNettyServerPipelineInitializer extends ChannelInitializer<NioSo
 
     final SimpleChannelInboundHandler<RestRequest> restHandler = _restOverStream ?
         new PipelineStreamHandler(_dispatcher) : new PipelineRestHandler(_dispatcher);
-    ch.pipeline().addLast(_eventExecutors, "handler", restHandler);
+    if (_dispatchQueue != null)
+    {
+      ch.pipeline().addLast("handler", new DispatchQueueHandler(restHandler, _dispatchQueue, _dispatchQueueConfig));
+    }
+    else
+    {
+      ch.pipeline().addLast(_eventExecutors, "handler", restHandler);
+    }
   }
 }
@@ -0,0 +1,141 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestCoDelDispatchQueue
+{
+  private static class RecordingTask implements CoDelDispatchQueue.DispatchTask
+  {
+    private final String _name;
+    private final List<String> _events;
+
+    RecordingTask(String name, List<String> events)
+    {
+      _name = name;
+      _events = events;
+    }
+
+    @Override
+    public void run()
+    {
+      _events.add("run " + _name);
+    }
+
+    @Override
+    public void drop(String reason)
+    {
+      _events.add("drop " + _name);
+    }
+  }
+
+  @Test
+  public void testBoundedSize() throws InterruptedException
+  {
+    CoDelDispatchQueue queue = new CoDelDispatchQueue(new DispatchQueueConfig().setMaxQueueSize(2), 1, 1, "test");
+    List<String> events = new ArrayList<>();
+    Assert.assertTrue(queue.offer(0, new RecordingTask("a", events)));
+    Assert.assertTrue(queue.offer(0, new RecordingTask("b", events)));
+    Assert.assertFalse(queue.offer(0, new RecordingTask("c", events)));
+    Assert.assertEquals(events, Arrays.asList("drop c"));
+    Assert.assertEquals(queue.getQueueSize(), 2);
+    Assert.assertEquals(queue.getRejectedCount(), 1);
+
+    queue.take().run();
+    Assert.assertTrue(queue.offer(0, new RecordingTask("d", events)));
+    Assert.assertEquals(queue.getDispatchedCount(), 1);
+  }
+
+  @Test
+  public void testPriorityLanes() throws InterruptedException
+  {
+    CoDelDispatchQueue queue = new CoDelDispatchQueue(new DispatchQueueConfig(), 3, 1, "test");
+    List<String> events = new ArrayList<>();
+    queue.offer(2, new RecordingTask("low", events));
+    queue.offer(1, new RecordingTask("normal", events));
+    queue.offer(0, new RecordingTask("high1", events));
+    queue.offer(0, new RecordingTask("high2", events));
+    for (int i = 0; i < 4; i++)
+    {
+      queue.take().run();
+    }
+    Assert.assertEquals(events, Arrays.asList("run high1", "run high2", "run normal", "run low"));
+  }
+
+  @Test
+  public void testControlledDelay()
+  {
+    CoDelDispatchQueue queue = new CoDelDispatchQueue(
+        new DispatchQueueConfig().setTargetDelayMs(5).setIntervalMs(100), 1, 1, "test");
+    final long target = TimeUnit.MILLISECONDS.toNanos(5);
+    final long interval = TimeUnit.MILLISECONDS.toNanos(100);
+    long now = System.nanoTime() + interval + 1;
+
+    // Every request of the first interval waited longer than the target, but nothing is dropped until the interval ends.
+    Assert.assertFalse(queue.shouldDrop(3 * target, now));
+    Assert.assertFalse(queue.shouldDrop(4 * target, now + 1));
+    Assert.assertFalse(queue.isOverloaded());
+
+    // The next interval starts overloaded, and requests waiting longer than twice the target are dropped.
+    now += interval + 1;
+    Assert.assertTrue(queue.shouldDrop(3 * target, now));
+    Assert.assertTrue(queue.isOverloaded());
+    Assert.assertFalse(queue.shouldDrop(target, now + 1));
+
+    // A request dispatched within the target brings the queue out of the overloaded state in the next interval.
+    now += interval + 1;
+    Assert.assertFalse(queue.shouldDrop(3 * target, now));
+    Assert.assertFalse(queue.isOverloaded());
+  }
+
+  @Test
+  public void testDispatchThreads() throws InterruptedException
+  {
+    CoDelDispatchQueue queue = new CoDelDispatchQueue(new DispatchQueueConfig(), 1, 2, "test");
+    queue.start();
+    CountDownLatch latch = new CountDownLatch(10);
+    for (int i = 0; i < 10; i++)
+    {
+      queue.offer(0, new CoDelDispatchQueue.DispatchTask()
+      {
+        @Override
+        public void run()
+        {
+          latch.countDown();
+        }
+
+        @Override
+        public void drop(String reason)
+        {
+        }
+      });
+    }
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    queue.shutdown();
+    queue.awaitTermination();
+    Assert.assertEquals(queue.getDispatchedCount(), 10);
+    Assert.assertFalse(queue.offer(0, new RecordingTask("late", new ArrayList<>())));
+  }
+}
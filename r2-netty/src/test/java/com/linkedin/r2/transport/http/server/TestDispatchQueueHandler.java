@@ -0,0 +1,108 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestStatus;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestDispatchQueueHandler
+{
+  private static class RecordingHandler extends ChannelInboundHandlerAdapter
+  {
+    private final List<RestRequest> _requests = new ArrayList<>();
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg)
+    {
+      _requests.add((RestRequest) msg);
+    }
+  }
+
+  @Test
+  public void testPipelinedRequestsAreBounded() throws InterruptedException
+  {
+    final DispatchQueueConfig config = new DispatchQueueConfig().setMaxPipelinedRequests(1);
+    final CoDelDispatchQueue queue = new CoDelDispatchQueue(config, DispatchQueueHandler.laneCount(config), 1, "test");
+    final RecordingHandler handler = new RecordingHandler();
+    final EmbeddedChannel channel = new EmbeddedChannel(new DispatchQueueHandler(handler, queue, config));
+
+    final RestRequest first = request("first");
+    final RestRequest second = request("second");
+    final RestRequest third = request("third");
+    channel.writeInbound(first, second, third);
+
+    // The first request is in the queue and the second one waits behind it, which pauses reading. The third one had
+    // already been read and is past the limit.
+    Assert.assertEquals(queue.getQueueSize(), 1);
+    Assert.assertFalse(channel.config().isAutoRead());
+
+    queue.take().run();
+    channel.runPendingTasks();
+    Assert.assertEquals(handler._requests, Arrays.asList(first));
+    Assert.assertEquals(queue.getQueueSize(), 1);
+    Assert.assertNull(channel.readOutbound());
+
+    // The third request is answered in its turn, after the second one has been handed over.
+    queue.take().run();
+    channel.runPendingTasks();
+    Assert.assertEquals(handler._requests, Arrays.asList(first, second));
+    final RestResponse response = channel.readOutbound();
+    Assert.assertEquals(response.getStatus(), RestStatus.SERVICE_UNAVAILABLE);
+    Assert.assertEquals(queue.getRejectedCount(), 1);
+    Assert.assertEquals(queue.getQueueSize(), 0);
+    Assert.assertTrue(channel.config().isAutoRead());
+  }
+
+  @Test
+  public void testPipelinedWaitCountsTowardsQueueTime() throws InterruptedException
+  {
+    final DispatchQueueConfig config = new DispatchQueueConfig();
+    final CoDelDispatchQueue queue = new CoDelDispatchQueue(config, DispatchQueueHandler.laneCount(config), 1, "test");
+    final EmbeddedChannel channel = new EmbeddedChannel(new DispatchQueueHandler(new RecordingHandler(), queue, config));
+
+    final long start = System.nanoTime();
+    channel.writeInbound(request("first"), request("second"));
+    queue.take().run();
+    Thread.sleep(50);
+    channel.runPendingTasks();
+    queue.take().run();
+
+    // The second request enters the queue only now, but its queue time starts when it was read.
+    final long waitedNano = System.nanoTime() - start;
+    Assert.assertTrue(queue.getMaxQueueTimeNano() >= TimeUnit.MILLISECONDS.toNanos(50));
+    Assert.assertTrue(queue.getMaxQueueTimeNano() <= waitedNano);
+    Assert.assertEquals(queue.getDispatchedCount(), 2);
+  }
+
+  private static RestRequest request(String path)
+  {
+    return new RestRequestBuilder(URI.create("/" + path)).build();
+  }
+}
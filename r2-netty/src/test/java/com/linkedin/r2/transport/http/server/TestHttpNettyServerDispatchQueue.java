@@ -0,0 +1,206 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.r2.transport.http.server;
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.filter.FilterChains;
+import com.linkedin.r2.message.rest.RestException;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.message.rest.RestStatus;
+import com.linkedin.r2.transport.common.Client;
+import com.linkedin.r2.transport.common.RestRequestHandler;
+import com.linkedin.r2.transport.common.TransportClientFactory;
+import com.linkedin.r2.transport.common.bridge.client.TransportClientAdapter;
+import com.linkedin.r2.transport.common.bridge.server.TransportDispatcherBuilder;
+import com.linkedin.r2.transport.http.client.HttpClientFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests {@link HttpNettyServer} configured with a dispatch queue.
+ */
+public class TestHttpNettyServerDispatchQueue
+{
+  private static final int PORT = 8098;
+  private static final URI DISPATCH_URI = URI.create("/dispatch");
+  private static final String DELAY_HEADER = "X-Delay-Millis";
+
+  private TransportClientFactory _clientFactory;
+  private Client _client;
+  private HttpNettyServer _server;
+
+  @BeforeMethod
+  public void setup()
+  {
+    _clientFactory = new HttpClientFactory.Builder().build();
+    _client = new TransportClientAdapter(_clientFactory.getClient(Collections.<String, String>emptyMap()), true);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception
+  {
+    final FutureCallback<None> clientShutdownCallback = new FutureCallback<None>();
+    _client.shutdown(clientShutdownCallback);
+    clientShutdownCallback.get();
+
+    final FutureCallback<None> factoryShutdownCallback = new FutureCallback<None>();
+    _clientFactory.shutdown(factoryShutdownCallback);
+    factoryShutdownCallback.get();
+
+    if (_server != null)
+    {
+      _server.stop();
+      _server.waitForStop();
+      _server = null;
+    }
+  }
+
+  @Test
+  public void testFullQueueRespondsServiceUnavailable() throws Exception
+  {
+    final CountDownLatch handling = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    startServer(1, new DispatchQueueConfig().setMaxQueueSize(1), (request, requestContext, callback) -> {
+      handling.countDown();
+      try
+      {
+        release.await(10, TimeUnit.SECONDS);
+      }
+      catch (InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+      callback.onSuccess(new RestResponseBuilder().build());
+    });
+
+    // The first request occupies the only dispatch thread and the second one the only slot of the queue.
+    final FutureCallback<RestResponse> first = sendRequest();
+    Assert.assertTrue(handling.await(10, TimeUnit.SECONDS));
+    final FutureCallback<RestResponse> second = sendRequest();
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (_server.getDispatchQueueStats().getQueueSize() < 1 && System.currentTimeMillis() < deadline)
+    {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(_server.getDispatchQueueStats().getQueueSize(), 1);
+
+    try
+    {
+      sendRequest().get(10, TimeUnit.SECONDS);
+      Assert.fail("Request should have been rejected by the dispatch queue");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof RestException, "Unexpected exception: " + e.getCause());
+      Assert.assertEquals(((RestException) e.getCause()).getResponse().getStatus(), RestStatus.SERVICE_UNAVAILABLE);
+    }
+    Assert.assertEquals(_server.getDispatchQueueStats().getRejectedCount(), 1);
+
+    release.countDown();
+    Assert.assertEquals(first.get(10, TimeUnit.SECONDS).getStatus(), RestStatus.OK);
+    Assert.assertEquals(second.get(10, TimeUnit.SECONDS).getStatus(), RestStatus.OK);
+  }
+
+  @Test
+  public void testPipelinedResponsesInOrder() throws Exception
+  {
+    startServer(2, new DispatchQueueConfig(), (request, requestContext, callback) -> {
+      final String delay = request.getHeader(DELAY_HEADER);
+      if (delay != null)
+      {
+        try
+        {
+          Thread.sleep(Long.parseLong(delay));
+        }
+        catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+        }
+      }
+      callback.onSuccess(new RestResponseBuilder().setEntity(request.getEntity()).build());
+    });
+
+    // The slow request is sent first on the connection, its response must still be the first one.
+    try (Socket socket = new Socket("localhost", PORT))
+    {
+      socket.setSoTimeout(10000);
+      final OutputStream out = socket.getOutputStream();
+      out.write((pipelinedRequest("slow", 200) + pipelinedRequest("fast", 0)).getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+
+      final InputStream in = socket.getInputStream();
+      final ByteArrayOutputStream received = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[1024];
+      String responses = "";
+      while (!responses.contains("slow") || !responses.contains("fast"))
+      {
+        final int read = in.read(buffer);
+        Assert.assertTrue(read > 0, "Connection closed before both responses were received: " + responses);
+        received.write(buffer, 0, read);
+        responses = new String(received.toByteArray(), StandardCharsets.US_ASCII);
+      }
+      Assert.assertTrue(responses.indexOf("slow") < responses.indexOf("fast"), responses);
+    }
+  }
+
+  private void startServer(int threadPoolSize, DispatchQueueConfig config, RestRequestHandler handler)
+  {
+    _server = new HttpNettyServerBuilder()
+        .filters(FilterChains.empty())
+        .port(PORT)
+        .threadPoolSize(threadPoolSize)
+        .dispatchQueueConfig(config)
+        .transportDispatcher(new TransportDispatcherBuilder().addRestHandler(DISPATCH_URI, handler).build())
+        .build();
+    _server.start();
+  }
+
+  private FutureCallback<RestResponse> sendRequest()
+  {
+    final RestRequest request = new RestRequestBuilder(URI.create("http://localhost:" + PORT + DISPATCH_URI)).build();
+    final FutureCallback<RestResponse> callback = new FutureCallback<RestResponse>();
+    _client.restRequest(request, callback);
+    return callback;
+  }
+
+  private static String pipelinedRequest(String body, long delayMillis)
+  {
+    return "POST " + DISPATCH_URI + " HTTP/1.1\r\n"
+        + "Host: localhost:" + PORT + "\r\n"
+        + DELAY_HEADER + ": " + delayMillis + "\r\n"
+        + "Content-Length: " + body.length() + "\r\n"
+        + "\r\n"
+        + body;
+  }
+}
@@ -19,6 +19,9 @@ package test.r2.perf;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Chris Pettitt
@@ -42,6 +45,12 @@ public class PerfConfig
   private static final String PERF_SERVER_NUM_HEADERS = "perf.server.num_headers";
   private static final String PERF_CLIENT_HEADER_SIZE = "perf.client.header_size";
   private static final String PERF_SERVER_HEADER_SIZE = "perf.server.header_size";
+  private static final String PERF_LOOPBACK_TRANSPORTS = "perf.loopback.transports";
+  private static final String PERF_LOOPBACK_MODES = "perf.loopback.modes";
+  private static final String PERF_LOOPBACK_RATES = "perf.loopback.rates";
+  private static final String PERF_LOOPBACK_WARMUP_SECONDS = "perf.loopback.warmup_seconds";
+  private static final String PERF_LOOPBACK_DURATION_SECONDS = "perf.loopback.duration_seconds";
+  private static final String PERF_LOOPBACK_REPORT = "perf.loopback.report";
 
   // Default property values
   private static final String DEFAULT_HOST = "localhost";
@@ -60,6 +69,13 @@ public class PerfConfig
   private static final int DEFAULT_SERVER_NUM_HEADERS = 0;
   private static final int DEFAULT_SERVER_HEADER_SIZE = 0;
 
+  private static final String DEFAULT_LOOPBACK_TRANSPORTS = "NETTY,JETTY_HTTP,JETTY_H2C";
+  private static final String DEFAULT_LOOPBACK_MODES = "REST,STREAM";
+  private static final String DEFAULT_LOOPBACK_RATES = "1000,5000";
+  private static final int DEFAULT_LOOPBACK_WARMUP_SECONDS = 5;
+  private static final int DEFAULT_LOOPBACK_DURATION_SECONDS = 30;
+  private static final String DEFAULT_LOOPBACK_REPORT = "build/r2-perf-test/loopback-report.json";
+
   public static int getHttpPort()
   {
     return getInt(PERF_HTTP_PORT);
@@ -140,6 +156,44 @@ public class PerfConfig
     return getBoolean(PERF_SERVER_REST_OVER_STREAM);
   }
 
+  public static List<String> getLoopbackTransports()
+  {
+    return getList(PERF_LOOPBACK_TRANSPORTS);
+  }
+
+  public static List<String> getLoopbackModes()
+  {
+    return getList(PERF_LOOPBACK_MODES);
+  }
+
+  public static List<Integer> getLoopbackRates()
+  {
+    return getList(PERF_LOOPBACK_RATES).stream().map(Integer::parseInt).collect(Collectors.toList());
+  }
+
+  public static int getLoopbackWarmupSeconds()
+  {
+    return getInt(PERF_LOOPBACK_WARMUP_SECONDS);
+  }
+
+  public static int getLoopbackDurationSeconds()
+  {
+    return getInt(PERF_LOOPBACK_DURATION_SECONDS);
+  }
+
+  public static String getLoopbackReport()
+  {
+    return getString(PERF_LOOPBACK_REPORT);
+  }
+
+  private static List<String> getList(String propName)
+  {
+    return Arrays.stream(getString(propName).split(","))
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .collect(Collectors.toList());
+  }
+
   private static URI getUri(String propName)
   {
     final String propVal = System.getProperty(propName);
@@ -0,0 +1,95 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.perf.driver;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.PrettyPrinterJacksonDataCodec;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import test.r2.perf.PerfConfig;
+import test.r2.perf.loopback.LoopbackBenchmark;
+import test.r2.perf.loopback.LoopbackResult;
+import test.r2.perf.loopback.LoopbackTransport;
+
+/**
+ * Runs {@link LoopbackBenchmark} for every combination of the configured transports, modes and rates, one after
+ * the other, and writes the results as a JSON report.
+ *
+ * The combinations are configured with the {@code perf.loopback.*} system properties of {@link PerfConfig}, and the
+ * message size, number of headers and header size with the {@code perf.client.*} ones.
+ */
+public class RunLoopbackBenchmark
+{
+  public static void main(String[] args) throws Exception
+  {
+    final int msgSize = PerfConfig.getMessageSize();
+    final int numHeaders = PerfConfig.getNumHeaders();
+    final int headerSize = PerfConfig.getHeaderSize();
+    final int warmupSeconds = PerfConfig.getLoopbackWarmupSeconds();
+    final int durationSeconds = PerfConfig.getLoopbackDurationSeconds();
+
+    final DataList results = new DataList();
+    for (String transport : PerfConfig.getLoopbackTransports())
+    {
+      for (String mode : PerfConfig.getLoopbackModes())
+      {
+        final LoopbackBenchmark benchmark = new LoopbackBenchmark(LoopbackTransport.valueOf(transport),
+            LoopbackBenchmark.Mode.valueOf(mode), msgSize, numHeaders, headerSize);
+        for (int rate : PerfConfig.getLoopbackRates())
+        {
+          final LoopbackResult result = benchmark.run(rate, warmupSeconds, durationSeconds);
+          results.add(result.toDataMap());
+        }
+      }
+    }
+
+    final DataMap config = new DataMap();
+    config.put("messageSize", msgSize);
+    config.put("numHeaders", numHeaders);
+    config.put("headerSize", headerSize);
+    config.put("warmupSeconds", warmupSeconds);
+    config.put("durationSeconds", durationSeconds);
+    config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+    config.put("javaVersion", System.getProperty("java.version"));
+
+    final DataMap report = new DataMap();
+    report.put("config", config);
+    report.put("results", results);
+    writeReport(report, new File(PerfConfig.getLoopbackReport()));
+  }
+
+  private static void writeReport(DataMap report, File file) throws IOException
+  {
+    final File dir = file.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs())
+    {
+      throw new IOException("Unable to create directory " + dir);
+    }
+
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+    {
+      new PrettyPrinterJacksonDataCodec().writeMap(report, writer);
+    }
+    System.out.println("Wrote loopback benchmark report to " + file.getAbsolutePath());
+  }
+}
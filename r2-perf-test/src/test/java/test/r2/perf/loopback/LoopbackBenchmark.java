@@ -0,0 +1,301 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.perf.loopback;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.stream.StreamRequest;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.timing.HdrHistogramTimingAggregator;
+import com.linkedin.r2.transport.common.Client;
+import com.linkedin.r2.transport.common.Server;
+import com.linkedin.r2.transport.common.TransportClientFactory;
+import com.linkedin.r2.transport.common.bridge.client.TransportClientAdapter;
+import com.linkedin.r2.transport.http.client.HttpClientFactory;
+import com.linkedin.r2.util.NamedThreadFactory;
+import io.netty.channel.nio.NioEventLoopGroup;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import test.r2.perf.Generator;
+import test.r2.perf.PerfConfig;
+import test.r2.perf.PerfStreamReader;
+import test.r2.perf.client.RestRequestGenerator;
+import test.r2.perf.client.StreamRequestGenerator;
+import test.r2.perf.server.AbstractPerfServerFactory;
+
+/**
+ * Runs an echo server of a {@link LoopbackTransport} on the loopback interface and drives it with an
+ * {@link HttpClientFactory} client at a fixed, open-loop rate.
+ *
+ * Requests are sent on a schedule that does not depend on the responses, so a slow server does not slow down the
+ * client. Latencies are measured from the time at which each request was scheduled, which avoids the coordinated
+ * omission of closed-loop drivers such as {@link test.r2.perf.client.PerfClient}.
+ */
+public class LoopbackBenchmark
+{
+  private static final Logger LOG = LoggerFactory.getLogger(LoopbackBenchmark.class);
+
+  private static final URI ECHO_URI = URI.create("/echo");
+
+  /**
+   * How requests and responses are exchanged.
+   */
+  public enum Mode
+  {
+    /**
+     * Fully buffered requests and responses, served by {@link com.linkedin.r2.sample.echo.rest.RestEchoServer}.
+     */
+    REST,
+
+    /**
+     * Streamed requests and responses, served by a pure stream handler.
+     */
+    STREAM
+  }
+
+  private final LoopbackTransport _transport;
+  private final Mode _mode;
+  private final int _msgSize;
+  private final int _numHeaders;
+  private final int _headerSize;
+
+  public LoopbackBenchmark(LoopbackTransport transport, Mode mode, int msgSize, int numHeaders, int headerSize)
+  {
+    _transport = transport;
+    _mode = mode;
+    _msgSize = msgSize;
+    _numHeaders = numHeaders;
+    _headerSize = headerSize;
+  }
+
+  /**
+   * Starts a server and a client, sends requests at the specified rate for the warmup period, then measures the
+   * requests sent at the same rate for the specified duration. The server and the client are shut down before
+   * returning.
+   *
+   * @param rate number of requests per second.
+   * @param warmupSeconds duration of the warmup, whose results are discarded.
+   * @param durationSeconds duration of the measurement.
+   */
+  public LoopbackResult run(int rate, int warmupSeconds, int durationSeconds) throws Exception
+  {
+    final int port = findFreePort();
+    final AbstractPerfServerFactory serverFactory = _transport.serverFactory();
+    final Server server = _mode == Mode.REST
+        ? serverFactory.create(port, ECHO_URI, _msgSize)
+        : serverFactory.createPureStreamServer(port, ECHO_URI, _msgSize, _numHeaders, _headerSize);
+    server.start();
+
+    final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("R2 Netty Scheduler"));
+    final ExecutorService callbackExecutor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), new NamedThreadFactory("R2 Callback"));
+    final TransportClientFactory clientFactory = new HttpClientFactory.Builder()
+        .setNioEventLoopGroup(new NioEventLoopGroup(0 /* use default settings */, new NamedThreadFactory("R2 Nio Event Loop")))
+        .setShutDownFactory(true)
+        .setScheduleExecutorService(scheduler)
+        .setShutdownScheduledExecutorService(true)
+        .setCallbackExecutor(callbackExecutor)
+        .setShutdownCallbackExecutor(true)
+        .build();
+    try
+    {
+      final Client client = new TransportClientAdapter(
+          clientFactory.getClient(Collections.singletonMap(HttpClientFactory.HTTP_PROTOCOL_VERSION,
+              _transport.getClientProtocolVersion().literals())),
+          _mode == Mode.STREAM || PerfConfig.clientRestOverStream());
+      final URI uri = URI.create("http://127.0.0.1:" + port + ECHO_URI);
+
+      LOG.info("Warming up {} {} at {} requests per second", _transport, _mode, rate);
+      drive(client, uri, rate, warmupSeconds);
+      LOG.info("Measuring {} {} at {} requests per second", _transport, _mode, rate);
+      final LoopbackResult result = drive(client, uri, rate, durationSeconds);
+
+      final FutureCallback<None> clientShutdown = new FutureCallback<>();
+      client.shutdown(clientShutdown);
+      clientShutdown.get();
+      return result;
+    }
+    finally
+    {
+      final FutureCallback<None> factoryShutdown = new FutureCallback<>();
+      clientFactory.shutdown(factoryShutdown);
+      factoryShutdown.get();
+      server.stop();
+      server.waitForStop();
+    }
+  }
+
+  private LoopbackResult drive(Client client, URI uri, int rate, int durationSeconds) throws InterruptedException
+  {
+    final Generator<RestRequest> restRequests = _mode == Mode.REST
+        ? new RestRequestGenerator(uri, Integer.MAX_VALUE, _msgSize, _numHeaders, _headerSize)
+        : null;
+    final Generator<StreamRequest> streamRequests = _mode == Mode.STREAM
+        ? new StreamRequestGenerator(uri, Integer.MAX_VALUE, _msgSize, _numHeaders, _headerSize)
+        : null;
+
+    final Recorder latencies = newRecorder();
+    final Recorder serviceTimes = newRecorder();
+    final AtomicLong errors = new AtomicLong();
+    // one extra party for the sending thread, so the latch cannot be released before all requests are sent
+    final AtomicInteger outstanding = new AtomicInteger(1);
+    final CountDownLatch drained = new CountDownLatch(1);
+
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    final long requestCount = (long) rate * durationSeconds;
+    final long startNanos = System.nanoTime();
+    for (long i = 0; i < requestCount; i++)
+    {
+      final long scheduledNanos = startNanos + i * intervalNanos;
+      for (long delay = scheduledNanos - System.nanoTime(); delay > 0; delay = scheduledNanos - System.nanoTime())
+      {
+        LockSupport.parkNanos(delay);
+      }
+
+      outstanding.incrementAndGet();
+      final long sentNanos = System.nanoTime();
+      final Callback<None> callback = new Callback<None>()
+      {
+        @Override
+        public void onSuccess(None result)
+        {
+          complete();
+        }
+
+        @Override
+        public void onError(Throwable e)
+        {
+          LOG.debug("Request failed", e);
+          errors.incrementAndGet();
+          complete();
+        }
+
+        private void complete()
+        {
+          final long now = System.nanoTime();
+          latencies.recordValue(narrow(now - scheduledNanos));
+          serviceTimes.recordValue(narrow(now - sentNanos));
+          if (outstanding.decrementAndGet() == 0)
+          {
+            drained.countDown();
+          }
+        }
+      };
+
+      try
+      {
+        if (_mode == Mode.REST)
+        {
+          sendRestRequest(client, restRequests.nextMessage(), callback);
+        }
+        else
+        {
+          sendStreamRequest(client, streamRequests.nextMessage(), callback);
+        }
+      }
+      catch (RuntimeException e)
+      {
+        callback.onError(e);
+      }
+    }
+
+    if (outstanding.decrementAndGet() == 0)
+    {
+      drained.countDown();
+    }
+    drained.await();
+    return new LoopbackResult(_transport, _mode, rate, requestCount, errors.get(), System.nanoTime() - startNanos,
+        latencies.getIntervalHistogram(), serviceTimes.getIntervalHistogram());
+  }
+
+  private static void sendRestRequest(Client client, RestRequest request, final Callback<None> callback)
+  {
+    client.restRequest(request, new RequestContext(), new Callback<RestResponse>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+        callback.onError(e);
+      }
+
+      @Override
+      public void onSuccess(RestResponse result)
+      {
+        callback.onSuccess(None.none());
+      }
+    });
+  }
+
+  private static void sendStreamRequest(Client client, StreamRequest request, final Callback<None> callback)
+  {
+    client.streamRequest(request, new RequestContext(), new Callback<StreamResponse>()
+    {
+      @Override
+      public void onError(Throwable e)
+      {
+        callback.onError(e);
+      }
+
+      @Override
+      public void onSuccess(StreamResponse result)
+      {
+        // the response only completes once its entity has been fully read
+        result.getEntityStream().setReader(new PerfStreamReader<>(callback, None.none()));
+      }
+    });
+  }
+
+  private static int findFreePort() throws IOException
+  {
+    try (ServerSocket socket = new ServerSocket(0))
+    {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static Recorder newRecorder()
+  {
+    return new Recorder(HdrHistogramTimingAggregator.LOWEST_DISCERNIBLE_VALUE,
+        HdrHistogramTimingAggregator.HIGHEST_TRACKABLE_VALUE,
+        HdrHistogramTimingAggregator.NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+  }
+
+  private static long narrow(long durationNano)
+  {
+    return Math.max(HdrHistogramTimingAggregator.LOWEST_DISCERNIBLE_VALUE,
+        Math.min(durationNano, HdrHistogramTimingAggregator.HIGHEST_TRACKABLE_VALUE));
+  }
+}
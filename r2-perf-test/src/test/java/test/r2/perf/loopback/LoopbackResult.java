@@ -0,0 +1,128 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.perf.loopback;
+
+import com.linkedin.data.DataMap;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The outcome of one measured run of {@link LoopbackBenchmark}.
+ */
+public class LoopbackResult
+{
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+  private final LoopbackTransport _transport;
+  private final LoopbackBenchmark.Mode _mode;
+  private final int _targetRate;
+  private final long _sentCount;
+  private final long _errorCount;
+  private final long _elapsedNanos;
+  private final Histogram _latencies;
+  private final Histogram _serviceTimes;
+
+  LoopbackResult(LoopbackTransport transport, LoopbackBenchmark.Mode mode, int targetRate, long sentCount,
+      long errorCount, long elapsedNanos, Histogram latencies, Histogram serviceTimes)
+  {
+    _transport = transport;
+    _mode = mode;
+    _targetRate = targetRate;
+    _sentCount = sentCount;
+    _errorCount = errorCount;
+    _elapsedNanos = elapsedNanos;
+    _latencies = latencies;
+    _serviceTimes = serviceTimes;
+  }
+
+  public long getSentCount()
+  {
+    return _sentCount;
+  }
+
+  public long getErrorCount()
+  {
+    return _errorCount;
+  }
+
+  /**
+   * @return the number of successful responses per second, over the time from the first request to the last response.
+   */
+  public double getThroughput()
+  {
+    return (_sentCount - _errorCount) / (_elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  /**
+   * @return the latencies in nanoseconds, measured from the time at which each request was scheduled to be sent. A
+   *         client that falls behind the target rate therefore shows up as higher latencies instead of a lower rate.
+   */
+  public Histogram getLatencies()
+  {
+    return _latencies;
+  }
+
+  /**
+   * @return the latencies in nanoseconds, measured from the time at which each request was actually sent.
+   */
+  public Histogram getServiceTimes()
+  {
+    return _serviceTimes;
+  }
+
+  /**
+   * @return the result as a {@link DataMap}, with all durations in microseconds.
+   */
+  public DataMap toDataMap()
+  {
+    DataMap map = new DataMap();
+    map.put("transport", _transport.name());
+    map.put("protocolVersion", _transport.getClientProtocolVersion().literals());
+    map.put("mode", _mode.name());
+    map.put("targetRate", _targetRate);
+    map.put("sent", _sentCount);
+    map.put("errors", _errorCount);
+    map.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(_elapsedNanos));
+    map.put("throughput", getThroughput());
+    map.put("latencyMicros", toDataMap(_latencies));
+    map.put("serviceTimeMicros", toDataMap(_serviceTimes));
+    return map;
+  }
+
+  private static DataMap toDataMap(Histogram histogram)
+  {
+    DataMap map = new DataMap();
+    map.put("count", histogram.getTotalCount());
+    map.put("min", toMicros(histogram.getMinValue()));
+    map.put("mean", histogram.getMean() / 1000);
+    map.put("max", toMicros(histogram.getMaxValue()));
+    DataMap percentiles = new DataMap();
+    for (double percentile : PERCENTILES)
+    {
+      String name = percentile == Math.floor(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+      percentiles.put("p" + name, toMicros(histogram.getValueAtPercentile(percentile)));
+    }
+    map.put("percentiles", percentiles);
+    return map;
+  }
+
+  private static double toMicros(long nanos)
+  {
+    return nanos / 1000.0;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package test.r2.perf.loopback;
+
+import com.linkedin.r2.transport.http.common.HttpProtocolVersion;
+import test.r2.perf.server.AbstractPerfServerFactory;
+import test.r2.perf.server.H2cPerfServerFactory;
+import test.r2.perf.server.HttpPerfServerFactory;
+import test.r2.perf.server.NettyPerfServerFactory;
+
+/**
+ * The server transports compared by {@link LoopbackBenchmark}, each paired with the HTTP protocol version used by
+ * the client.
+ */
+public enum LoopbackTransport
+{
+  /**
+   * {@link com.linkedin.r2.transport.http.server.HttpNettyServer} over HTTP/1.1.
+   */
+  NETTY(HttpProtocolVersion.HTTP_1_1)
+  {
+    @Override
+    AbstractPerfServerFactory serverFactory()
+    {
+      return new NettyPerfServerFactory();
+    }
+  },
+
+  /**
+   * Jetty over HTTP/1.1.
+   */
+  JETTY_HTTP(HttpProtocolVersion.HTTP_1_1)
+  {
+    @Override
+    AbstractPerfServerFactory serverFactory()
+    {
+      return new HttpPerfServerFactory();
+    }
+  },
+
+  /**
+   * Jetty over HTTP/2 clear text.
+   */
+  JETTY_H2C(HttpProtocolVersion.HTTP_2)
+  {
+    @Override
+    AbstractPerfServerFactory serverFactory()
+    {
+      return new H2cPerfServerFactory();
+    }
+  };
+
+  private final HttpProtocolVersion _clientProtocolVersion;
+
+  LoopbackTransport(HttpProtocolVersion clientProtocolVersion)
+  {
+    _clientProtocolVersion = clientProtocolVersion;
+  }
+
+  abstract AbstractPerfServerFactory serverFactory();
+
+  public HttpProtocolVersion getClientProtocolVersion()
+  {
+    return _clientProtocolVersion;
+  }
+}
@@ -17,10 +17,13 @@
 package com.linkedin.restli.client;
 
 import com.linkedin.common.callback.Callback;
+import com.linkedin.common.callback.CompletableFutureCallback;
 import com.linkedin.common.util.None;
 import com.linkedin.r2.message.RequestContext;
 import com.linkedin.restli.client.multiplexer.MultiplexedRequest;
 import com.linkedin.restli.client.multiplexer.MultiplexedResponse;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -176,6 +179,58 @@ public interface Client
    */
   <T> void sendRequest(RequestBuilder<? extends Request<T>> requestBuilder, Callback<Response<T>> callback);
 
+  /**
+   * Sends a type-bound REST request, returning a {@link CompletionStage} that is completed directly by the response
+   * callback, without a blocking future in between. Dependent stages registered before the response arrives run
+   * on the thread that receives the response, which may be an I/O thread.
+   *
+   * @param request to send
+   * @return response stage. In the event of an error, the stage is completed exceptionally with a
+   *         {@link com.linkedin.r2.RemoteInvocationException}. If a valid error response was received from the
+   *         remote server, the exception is a {@link RestLiResponseException} containing the error details.
+   */
+  default <T> CompletionStage<Response<T>> sendRequestAsync(Request<T> request)
+  {
+    return sendRequestAsync(request, new RequestContext());
+  }
+
+  /**
+   * Sends a type-bound REST request, returning a {@link CompletionStage} that is completed directly by the response
+   * callback. See {@link #sendRequestAsync(Request)}.
+   *
+   * @param request to send
+   * @param requestContext context for the request
+   * @return response stage
+   */
+  default <T> CompletionStage<Response<T>> sendRequestAsync(Request<T> request, RequestContext requestContext)
+  {
+    return sendRequestAsync(request, requestContext, null);
+  }
+
+  /**
+   * Sends a type-bound REST request, returning a {@link CompletionStage} that is completed on the given executor, so
+   * that dependent stages do not run on the thread that receives the response. See {@link #sendRequestAsync(Request)}.
+   *
+   * @param request to send
+   * @param requestContext context for the request
+   * @param executor to complete the stage on, or null to complete it on the thread that receives the response
+   * @return response stage
+   */
+  default <T> CompletionStage<Response<T>> sendRequestAsync(Request<T> request, RequestContext requestContext,
+      Executor executor)
+  {
+    CompletableFutureCallback<Response<T>> callback = new CompletableFutureCallback<>(executor);
+    try
+    {
+      sendRequest(request, requestContext, callback);
+    }
+    catch (RuntimeException e)
+    {
+      callback.onError(e);
+    }
+    return callback;
+  }
+
   /**
    * Sends a multiplexed request. Responses are provided to individual requests' callbacks.
    *
@@ -63,10 +63,25 @@ public class DefaultScatterGatherStrategy implements ScatterGatherStrategy
   private static final Set<ResourceMethod> SG_STRATEGY_METHODS = EnumSet.of(ResourceMethod.BATCH_GET, ResourceMethod.BATCH_DELETE,
           ResourceMethod.BATCH_PARTIAL_UPDATE, ResourceMethod.BATCH_UPDATE);
   private final URIMapper _uriMapper;
+  private final boolean _scatterByPartition;
 
   public DefaultScatterGatherStrategy(URIMapper uriMapper)
+  {
+    this(uriMapper, false);
+  }
+
+  /**
+   * @param uriMapper mapper used to map batch request ids to hosts.
+   * @param scatterByPartition if true, keys mapped to the same host but belonging to different partitions are sent
+   *                           as separate requests, each tagged with its partition. A backup request made by
+   *                           {@link com.linkedin.d2.balancer.clients.BackupRequestsClient} for a slow scattered
+   *                           request then only re-sends the outstanding keys of that partition, to another host
+   *                           of the same partition.
+   */
+  public DefaultScatterGatherStrategy(URIMapper uriMapper, boolean scatterByPartition)
   {
     _uriMapper = uriMapper;
+    _scatterByPartition = scatterByPartition;
   }
 
   /**
@@ -426,44 +441,94 @@ public class DefaultScatterGatherStrategy implements ScatterGatherStrategy
   public <K, T> List<RequestInfo> scatterRequest(Request<T> request, RequestContext requestContext,
       URIMappingResult<K> mappingResult)
   {
+    if (_scatterByPartition)
+    {
+      return scatterRequestByPartition(request, requestContext, mappingResult);
+    }
     return defaultScatterRequestImpl(request, requestContext, mappingResult.getMappedKeys());
   }
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
   private <K, T> List<RequestInfo> defaultScatterRequestImpl(Request<T> request, RequestContext requestContext,
       Map<URI, Set<K>> mappedKeys)
   {
-    if (!isSupportedScatterGatherRequest(request))
-    {
-      throw new IllegalArgumentException(request.getMethod() +
-          " request is not supported by current ScatterGatherStrategy!");
-    }
+    checkSupportedScatterRequest(request);
     return mappedKeys.entrySet().stream().map((Map.Entry<URI, Set<K>> entry) ->
+        new RequestInfo(buildScatteredRequest(request, entry.getValue()),
+            createRequestContextWithTargetHint(requestContext, entry.getKey())))
+        .collect(Collectors.toList());
+  }
+
+  private <K, T> List<RequestInfo> scatterRequestByPartition(Request<T> request, RequestContext requestContext,
+      URIMappingResult<K> mappingResult)
+  {
+    checkSupportedScatterRequest(request);
+    List<RequestInfo> scatteredRequests = new ArrayList<>();
+    mappingResult.getMappedKeys().forEach((host, hostKeys) ->
     {
-      // for any non-BATCH request, we just fan out the same request. Custom strategy needs to override
-      // this if this does not satisfy its logic.
-      Request<T> scatteredRequest = request;
-      if (entry.getValue() != null && !entry.getValue().isEmpty())
+      Map<Integer, Set<K>> keysByPartition = mappingResult.getMappedKeysByPartition().get(host);
+      if (keysByPartition == null || hostKeys.isEmpty())
       {
-        // we only scatter batched requests when D2 host mapping result contains keys, empty key indicates
-        // custom partition id specified in ScatterGatherStrategy.getUris method.
-        if (request instanceof BatchGetRequest ||
-            request instanceof BatchGetKVRequest ||
-            request instanceof BatchGetEntityRequest ||
-            request instanceof BatchDeleteRequest)
+        // either the partition of the keys is unknown, or custom partition ids were specified in
+        // ScatterGatherStrategy.getUris method; the request is sent once to the host as usual.
+        RequestContext context = createRequestContextWithTargetHint(requestContext, host);
+        if (keysByPartition != null && keysByPartition.size() == 1)
         {
-          scatteredRequest = buildScatterBatchRequestByKeys((BatchRequest) request, entry.getValue(), null);
+          KeyMapper.TargetHostHints.setRequestContextTargetPartition(context, keysByPartition.keySet().iterator().next());
         }
-        else if (request instanceof BatchUpdateRequest ||
-            request instanceof BatchPartialUpdateRequest ||
-            request instanceof BatchPartialUpdateEntityRequest )
+        scatteredRequests.add(new RequestInfo(buildScatteredRequest(request, hostKeys), context));
+        return;
+      }
+      keysByPartition.forEach((partitionId, keys) ->
+      {
+        if (!keys.isEmpty())
         {
-          scatteredRequest = buildScatterBatchRequestByKeys((BatchRequest) request, null,
-              keyMapToInput((BatchRequest) request, entry.getValue()));
+          RequestContext context = createRequestContextWithTargetHint(requestContext, host);
+          KeyMapper.TargetHostHints.setRequestContextTargetPartition(context, partitionId);
+          scatteredRequests.add(new RequestInfo(buildScatteredRequest(request, keys), context));
         }
+      });
+    });
+    return scatteredRequests;
+  }
+
+  private <T> void checkSupportedScatterRequest(Request<T> request)
+  {
+    if (!isSupportedScatterGatherRequest(request))
+    {
+      throw new IllegalArgumentException(request.getMethod() +
+          " request is not supported by current ScatterGatherStrategy!");
+    }
+  }
+
+  /**
+   * Build the request to be sent to one host for the given mapped keys.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private <K, T> Request<T> buildScatteredRequest(Request<T> request, Set<K> keys)
+  {
+    // for any non-BATCH request, we just fan out the same request. Custom strategy needs to override
+    // this if this does not satisfy its logic.
+    Request<T> scatteredRequest = request;
+    if (keys != null && !keys.isEmpty())
+    {
+      // we only scatter batched requests when D2 host mapping result contains keys, empty key indicates
+      // custom partition id specified in ScatterGatherStrategy.getUris method.
+      if (request instanceof BatchGetRequest ||
+          request instanceof BatchGetKVRequest ||
+          request instanceof BatchGetEntityRequest ||
+          request instanceof BatchDeleteRequest)
+      {
+        scatteredRequest = buildScatterBatchRequestByKeys((BatchRequest) request, keys, null);
+      }
+      else if (request instanceof BatchUpdateRequest ||
+          request instanceof BatchPartialUpdateRequest ||
+          request instanceof BatchPartialUpdateEntityRequest )
+      {
+        scatteredRequest = buildScatterBatchRequestByKeys((BatchRequest) request, null,
+            keyMapToInput((BatchRequest) request, keys));
       }
-      return new RequestInfo(scatteredRequest, createRequestContextWithTargetHint(requestContext, entry.getKey()));
-    }).collect(Collectors.toList());
+    }
+    return scatteredRequest;
   }
 
   /**
@@ -49,9 +49,15 @@ import java.net.HttpCookie;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.activation.MimeTypeParseException;
 import org.easymock.Capture;
 import org.easymock.EasyMock;
@@ -573,6 +579,81 @@ public class RestClientTest
     }
   }
 
+  @Test
+  public void testSendRequestAsync() throws Exception
+  {
+    final String ERR_KEY = "someErr";
+    final String ERR_VALUE = "WHOOPS!";
+    final ProtocolVersion protocolVersion = AllProtocolVersions.RESTLI_PROTOCOL_2_0_0.getProtocolVersion();
+
+    RestClient client = mockClient(ERR_KEY, ERR_VALUE, "whoops2", 200, 666, "INVALID_INPUT",
+        "https://example.com/errors/invalid-input", "abc123", protocolVersion, RestConstants.HEADER_RESTLI_ERROR_RESPONSE);
+    Request<ErrorResponse> request =
+        mockRequest(ErrorResponse.class, ProtocolVersionOption.USE_LATEST_IF_AVAILABLE, ContentType.JSON);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try
+    {
+      Thread executorThread = executor.submit(Thread::currentThread).get();
+      // MockClient responds synchronously, so hold the completion until the dependent stage is registered. Otherwise
+      // the stage could be completed already and the dependent stage would run on this thread.
+      CountDownLatch registered = new CountDownLatch(1);
+      AtomicInteger completions = new AtomicInteger();
+      Executor blockingExecutor = command -> executor.execute(() ->
+      {
+        completions.incrementAndGet();
+        try
+        {
+          registered.await();
+        }
+        catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+        }
+        command.run();
+      });
+
+      CompletableFuture<Response<ErrorResponse>> future =
+          client.sendRequestAsync(request, new RequestContext(), blockingExecutor)
+              .thenApply(r ->
+              {
+                Assert.assertSame(Thread.currentThread(), executorThread);
+                return r;
+              })
+              .toCompletableFuture();
+      registered.countDown();
+      Response<ErrorResponse> response = future.get(10, TimeUnit.SECONDS);
+
+      Assert.assertEquals(completions.get(), 1);
+      Assert.assertEquals(response.getStatus(), 200);
+      Assert.assertEquals(response.getEntity().getErrorDetails().data().getString(ERR_KEY), ERR_VALUE);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSendRequestAsyncError() throws Exception
+  {
+    final int HTTP_CODE = 404;
+    RestClient client = mockClient(HTTP_CODE, "WHOOPS!", AllProtocolVersions.RESTLI_PROTOCOL_2_0_0.getProtocolVersion());
+    Request<EmptyRecord> request =
+        mockRequest(EmptyRecord.class, ProtocolVersionOption.USE_LATEST_IF_AVAILABLE, ContentType.JSON);
+
+    try
+    {
+      client.sendRequestAsync(request).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      Assert.fail("Should have thrown");
+    }
+    catch (ExecutionException e)
+    {
+      Assert.assertTrue(e.getCause() instanceof RemoteInvocationException,
+          "Expected RemoteInvocationException not " + e.getCause().getClass().getName());
+    }
+  }
+
   private ErrorHandlingBehavior determineErrorHandlingBehavior(GetResponseOption getResponseOption)
   {
     switch (getResponseOption)
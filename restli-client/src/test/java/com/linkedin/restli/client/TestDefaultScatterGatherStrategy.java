@@ -19,6 +19,7 @@ package com.linkedin.restli.client;
 
 import com.linkedin.common.callback.Callback;
 import com.linkedin.common.callback.Callbacks;
+import com.linkedin.d2.balancer.KeyMapper;
 import com.linkedin.d2.balancer.ServiceUnavailableException;
 import com.linkedin.d2.balancer.URIMapper;
 import com.linkedin.d2.balancer.util.URIKeyPair;
@@ -292,6 +293,45 @@ public class TestDefaultScatterGatherStrategy
     }
   }
 
+  @Test
+  public void testScatterRequestByPartition()
+  {
+    // host1 serves keys of two partitions, host2 serves one
+    Map<URI, Map<Integer, Set<Long>>> mappedKeysByPartition = new HashMap<>();
+    Map<Integer, Set<Long>> host1Keys = new HashMap<>();
+    host1Keys.put(0, Collections.singleton(1L));
+    host1Keys.put(1, Collections.singleton(2L));
+    mappedKeysByPartition.put(_host1URI, host1Keys);
+    mappedKeysByPartition.put(_host2URI, Collections.singletonMap(2, Collections.singleton(3L)));
+    URIMappingResult<Long> mappingResult =
+        new URIMappingResult<>(_mappedKeys, _unmappedKeys, _hostToPartitionId, mappedKeysByPartition);
+
+    DefaultScatterGatherStrategy sgStrategy = new DefaultScatterGatherStrategy(_uriMapper, true);
+    List<RequestInfo> scatteredRequests = sgStrategy.scatterRequest(_batchGetRequest, new RequestContext(), mappingResult);
+    Assert.assertEquals(scatteredRequests.size(), 3);
+    Map<Integer, RequestInfo> requestsByPartition = new HashMap<>();
+    for (RequestInfo req : scatteredRequests)
+    {
+      RequestContext context = req.getRequestContext();
+      Integer partitionId = KeyMapper.TargetHostHints.getRequestContextTargetPartition(context);
+      Assert.assertNotNull(partitionId);
+      Assert.assertTrue(KeyMapper.TargetHostHints.getRequestContextOtherHostAcceptable(context));
+      requestsByPartition.put(partitionId, req);
+    }
+    Assert.assertEquals(requestsByPartition.get(0).getRequest(), createBatchGetRequest(1L));
+    Assert.assertEquals(requestsByPartition.get(0).getRequestContext().getLocalAttr(TARGET_HOST_KEY_NAME), _host1URI);
+    Assert.assertEquals(requestsByPartition.get(1).getRequest(), createBatchGetRequest(2L));
+    Assert.assertEquals(requestsByPartition.get(1).getRequestContext().getLocalAttr(TARGET_HOST_KEY_NAME), _host1URI);
+    Assert.assertEquals(requestsByPartition.get(2).getRequest(), createBatchGetRequest(3L));
+    Assert.assertEquals(requestsByPartition.get(2).getRequestContext().getLocalAttr(TARGET_HOST_KEY_NAME), _host2URI);
+
+    // without partition information the keys of a host are sent together, as usual
+    scatteredRequests = sgStrategy.scatterRequest(_batchGetRequest, new RequestContext(), _mappingResult);
+    Assert.assertEquals(scatteredRequests.size(), 2);
+    scatteredRequests.forEach(req ->
+        Assert.assertNull(KeyMapper.TargetHostHints.getRequestContextTargetPartition(req.getRequestContext())));
+  }
+
   @DataProvider(name = TestConstants.RESTLI_PROTOCOL_1_2_PREFIX + "protocol")
   private static Object[][] protocolVersions()
   {
@@ -116,6 +116,7 @@ public class TestRestLiScatterGather extends RestLiIntegrationTest
     testSendSGGetRequests(restClient, requestIds);
     testSendSGGetEntityRequests(restClient, requestIds);
     testSendSGGetKVRequests(restClient, requestIds);
+    testSendSGGetRequestsAsync(restClient, requestIds);
 
     // BATCH_UPDATE
     Map<Long, Greeting> input = generateUpdates(requestIds);
@@ -173,6 +174,19 @@ public class TestRestLiScatterGather extends RestLiIntegrationTest
     Assert.assertEquals(result.getErrors().size(), 0);
   }
 
+  // BatchGetRequest through sendRequestAsync
+  private static void testSendSGGetRequestsAsync(RestClient restClient, Long[] requestIds)
+  {
+    BatchGetRequest<Greeting> request =
+            new GreetingsBuilders().batchGet().ids(requestIds).fields(Greeting.fields().message()).setParam("foo", "bar").build();
+    BatchResponse<Greeting> result = restClient.sendRequestAsync(request).toCompletableFuture().join().getEntity();
+    Assert.assertEquals(result.getResults().size(), requestIds.length);
+    Greeting item = result.getResults().values().iterator().next();
+    Assert.assertNotNull(item);
+    Assert.assertNotNull(item.getMessage());
+    Assert.assertEquals(result.getErrors().size(), 0);
+  }
+
   // BatchGetEntityRequest
   private static void testSendSGGetEntityRequests(RestClient restClient, Long[] requestIds) throws RemoteInvocationException
   {
@@ -0,0 +1,135 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.restli.server.benchmark;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.restli.common.ContentType;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.common.AllProtocolVersions;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.filter.Filter;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Builds the {@link RestLiConfig} and the requests shared by the Rest.li server benchmarks.
+ */
+final class BenchmarkRequests
+{
+  private static final Map<String, ContentType> CONTENT_TYPES = new HashMap<>();
+  static
+  {
+    CONTENT_TYPES.put("JSON", ContentType.JSON);
+    CONTENT_TYPES.put("PSON", ContentType.PSON);
+    CONTENT_TYPES.put("PROTOBUF2", ContentType.PROTOBUF2);
+    CONTENT_TYPES.put("SMILE", ContentType.SMILE);
+  }
+
+  private static final int BATCH_SIZE = 10;
+
+  private BenchmarkRequests()
+  {
+  }
+
+  /**
+   * Filter that relies on the default methods of {@link Filter}, so that the benchmarks measure the cost of the filter
+   * chain itself.
+   */
+  static final class PassThroughFilter implements Filter
+  {
+  }
+
+  static RestLiConfig createConfig(int filterCount)
+  {
+    RestLiConfig config = new RestLiConfig();
+    config.addResourceClassNames(GreetingsResource.class.getName());
+    for (int i = 0; i < filterCount; i++)
+    {
+      config.addFilter(new PassThroughFilter());
+    }
+    return config;
+  }
+
+  /**
+   * Builds the request for one of the benchmarked methods.
+   *
+   * @param method one of GET, BATCH_GET, FINDER, CREATE and ACTION.
+   * @param contentType one of JSON, PSON, PROTOBUF2 and SMILE. It is used both for the request entity and as the
+   *                    accepted response type.
+   */
+  static RestRequest buildRequest(String method, String contentType) throws IOException
+  {
+    ContentType type = CONTENT_TYPES.get(contentType);
+    if (type == null)
+    {
+      throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    RestRequestBuilder builder;
+    DataMap entity = null;
+    switch (method)
+    {
+      case "GET":
+        builder = new RestRequestBuilder(URI.create("/greetings/1")).setMethod("GET");
+        break;
+      case "BATCH_GET":
+        StringBuilder uri = new StringBuilder("/greetings?ids=List(");
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+          uri.append(i == 0 ? "" : ",").append(i);
+        }
+        builder = new RestRequestBuilder(URI.create(uri.append(')').toString())).setMethod("GET");
+        break;
+      case "FINDER":
+        builder = new RestRequestBuilder(URI.create("/greetings?q=search&keyword=hello&start=0&count=" + BATCH_SIZE))
+            .setMethod("GET");
+        break;
+      case "CREATE":
+        builder = new RestRequestBuilder(URI.create("/greetings"))
+            .setMethod("POST")
+            .setHeader(RestConstants.HEADER_RESTLI_REQUEST_METHOD, "create");
+        entity = Greeting.create(1L).data();
+        break;
+      case "ACTION":
+        builder = new RestRequestBuilder(URI.create("/greetings?action=echo"))
+            .setMethod("POST")
+            .setHeader(RestConstants.HEADER_RESTLI_REQUEST_METHOD, "action");
+        entity = new DataMap();
+        entity.put("greeting", Greeting.create(1L).data());
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported method: " + method);
+    }
+
+    builder.setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION,
+        AllProtocolVersions.LATEST_PROTOCOL_VERSION.toString());
+    builder.setHeader(RestConstants.HEADER_ACCEPT, type.getHeaderKey());
+    if (entity != null)
+    {
+      builder.setHeader(RestConstants.HEADER_CONTENT_TYPE, type.getHeaderKey());
+      builder.setEntity(ByteString.unsafeWrap(type.getCodec().mapToBytes(entity)));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.restli.server.benchmark;
+
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+
+
+/**
+ * Hand-written record template used by the benchmark resources, so that the benchmarks do not depend on generated
+ * data templates.
+ */
+public class Greeting extends RecordTemplate
+{
+  private static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema(
+      "{ \"type\" : \"record\", \"name\" : \"Greeting\", \"namespace\" : \"com.linkedin.restli.server.benchmark\","
+          + " \"fields\" : ["
+          + " { \"name\" : \"id\", \"type\" : \"long\" },"
+          + " { \"name\" : \"message\", \"type\" : \"string\" },"
+          + " { \"name\" : \"tone\", \"type\" : { \"type\" : \"enum\", \"name\" : \"Tone\","
+          + " \"symbols\" : [ \"FRIENDLY\", \"SINCERE\", \"INSULTING\" ] } },"
+          + " { \"name\" : \"tags\", \"type\" : { \"type\" : \"array\", \"items\" : \"string\" } }"
+          + " ] }");
+
+  public Greeting()
+  {
+    super(new DataMap(), SCHEMA);
+  }
+
+  public Greeting(DataMap map)
+  {
+    super(map, SCHEMA);
+  }
+
+  /**
+   * Creates a greeting with a fixed message and a few tags, so that every encoded entity has the same shape.
+   */
+  public static Greeting create(long id)
+  {
+    DataList tags = new DataList();
+    tags.add("benchmark");
+    tags.add("tag-" + (id % 10));
+    DataMap map = new DataMap();
+    map.put("id", id);
+    map.put("message", "Hello, this is greeting number " + id);
+    map.put("tone", "FRIENDLY");
+    map.put("tags", tags);
+    return new Greeting(map);
+  }
+
+  public long getId()
+  {
+    return (Long) data().get("id");
+  }
+}
@@ -0,0 +1,95 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.restli.server.benchmark;
+
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.server.CreateResponse;
+import com.linkedin.restli.server.PagingContext;
+import com.linkedin.restli.server.annotations.Action;
+import com.linkedin.restli.server.annotations.ActionParam;
+import com.linkedin.restli.server.annotations.Finder;
+import com.linkedin.restli.server.annotations.PagingContextParam;
+import com.linkedin.restli.server.annotations.QueryParam;
+import com.linkedin.restli.server.annotations.RestLiCollection;
+import com.linkedin.restli.server.resources.CollectionResourceTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Synchronous in-memory collection resource that serves the benchmark requests. Every method returns prebuilt
+ * entities, so that the benchmarks measure the Rest.li pipeline rather than the resource.
+ */
+@RestLiCollection(name = "greetings", namespace = "com.linkedin.restli.server.benchmark")
+public class GreetingsResource extends CollectionResourceTemplate<Long, Greeting>
+{
+  static final int ENTITY_COUNT = 100;
+
+  private static final Greeting[] GREETINGS = new Greeting[ENTITY_COUNT];
+  static
+  {
+    for (int i = 0; i < ENTITY_COUNT; i++)
+    {
+      GREETINGS[i] = Greeting.create(i);
+    }
+  }
+
+  @Override
+  public Greeting get(Long key)
+  {
+    return GREETINGS[(int) (key % ENTITY_COUNT)];
+  }
+
+  @Override
+  public Map<Long, Greeting> batchGet(Set<Long> ids)
+  {
+    Map<Long, Greeting> result = new HashMap<>();
+    for (Long id : ids)
+    {
+      result.put(id, get(id));
+    }
+    return result;
+  }
+
+  @Override
+  public CreateResponse create(Greeting entity)
+  {
+    return new CreateResponse(entity.getId(), HttpStatus.S_201_CREATED);
+  }
+
+  @Finder("search")
+  public List<Greeting> search(@PagingContextParam PagingContext pagingContext,
+      @QueryParam("keyword") String keyword)
+  {
+    List<Greeting> result = new ArrayList<>(pagingContext.getCount());
+    for (int i = pagingContext.getStart(); i < pagingContext.getStart() + pagingContext.getCount(); i++)
+    {
+      result.add(GREETINGS[i % ENTITY_COUNT]);
+    }
+    return result;
+  }
+
+  @Action(name = "echo")
+  public Greeting echo(@ActionParam("greeting") Greeting greeting)
+  {
+    return greeting;
+  }
+}
@@ -0,0 +1,228 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+
+package com.linkedin.restli.server.benchmark;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.restli.internal.server.PathKeysImpl;
+import com.linkedin.restli.internal.server.ResourceContextImpl;
+import com.linkedin.restli.internal.server.RestLiCallback;
+import com.linkedin.restli.internal.server.RestLiMethodInvoker;
+import com.linkedin.restli.internal.server.RestLiRouter;
+import com.linkedin.restli.internal.server.RoutingResult;
+import com.linkedin.restli.internal.server.ServerResourceContext;
+import com.linkedin.restli.internal.server.filter.RestLiFilterResponseContextFactory;
+import com.linkedin.restli.internal.server.methods.MethodAdapterRegistry;
+import com.linkedin.restli.internal.server.methods.arguments.RestLiArgumentBuilder;
+import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
+import com.linkedin.restli.internal.server.model.ResourceModel;
+import com.linkedin.restli.internal.server.model.RestLiApiBuilder;
+import com.linkedin.restli.internal.server.response.ErrorResponseBuilder;
+import com.linkedin.restli.internal.server.response.ResponseUtils;
+import com.linkedin.restli.internal.server.response.RestLiResponse;
+import com.linkedin.restli.internal.server.response.RestLiResponseHandler;
+import com.linkedin.restli.internal.server.util.DataMapUtils;
+import com.linkedin.restli.internal.server.util.RestUtils;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.RestLiRequestData;
+import com.linkedin.restli.server.RestLiResponseData;
+import com.linkedin.restli.server.resources.PrototypeResourceFactory;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Benchmarks the stages of the Rest.li server pipeline in isolation, in the order in which
+ * {@link com.linkedin.restli.server.RestLiServer} runs them. The input of every stage is the output of the previous
+ * one, computed once when the state is set up, so that a regression reported by {@link RestLiServerBenchmark} can be
+ * attributed to a single stage.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestLiServerPipelineBenchmark
+{
+  @State(Scope.Benchmark)
+  public static class PipelineState
+  {
+    @Param({"GET", "BATCH_GET", "FINDER", "CREATE", "ACTION"})
+    String method;
+
+    @Param({"JSON", "PSON", "PROTOBUF2"})
+    String contentType;
+
+    RestRequest _request;
+    RestLiRouter _router;
+    RestLiMethodInvoker _methodInvoker;
+    RestLiResponseHandler _responseHandler;
+
+    DataMap _entityDataMap;
+    RoutingResult _routingResult;
+    RestLiArgumentBuilder _argumentBuilder;
+    RestLiRequestData _requestData;
+    ResultCapturingCallback _callback;
+    Object _result;
+    RestLiResponseData<?> _responseData;
+    RestLiResponse _restLiResponse;
+
+    @Setup
+    public void setup() throws Exception
+    {
+      RestLiConfig config = BenchmarkRequests.createConfig(0);
+      Map<String, ResourceModel> rootResources = new RestLiApiBuilder(config).build();
+      PrototypeResourceFactory resourceFactory = new PrototypeResourceFactory();
+      resourceFactory.setRootResources(rootResources);
+      ErrorResponseBuilder errorResponseBuilder = new ErrorResponseBuilder(config.getErrorResponseFormat());
+
+      _request = BenchmarkRequests.buildRequest(method, contentType);
+      _router = new RestLiRouter(rootResources, config);
+      _methodInvoker = new RestLiMethodInvoker(resourceFactory, null, config.getInternalErrorMessage());
+      _responseHandler = new RestLiResponseHandler(errorResponseBuilder);
+
+      _entityDataMap = decodeEntity(_request);
+      _routingResult = routeRequest(this);
+      _argumentBuilder = new MethodAdapterRegistry(errorResponseBuilder)
+          .getArgumentBuilder(_routingResult.getResourceMethod().getType());
+      _requestData = _argumentBuilder.extractRequestData(_routingResult, _entityDataMap);
+      _callback = new ResultCapturingCallback(
+          new RestLiFilterResponseContextFactory(_request, _routingResult, _responseHandler));
+      _result = invoke(this);
+      _responseData = _responseHandler.buildRestLiResponseData(_request, _routingResult, _result);
+      _restLiResponse = _responseHandler.buildPartialResponse(_routingResult, _responseData);
+    }
+  }
+
+  /**
+   * Captures the result of the resource method instead of passing it to the filter chain.
+   */
+  static final class ResultCapturingCallback extends RestLiCallback
+  {
+    private Object _result;
+    private Throwable _error;
+
+    ResultCapturingCallback(RestLiFilterResponseContextFactory filterResponseContextFactory)
+    {
+      super(null, filterResponseContextFactory, null);
+    }
+
+    @Override
+    public void onSuccess(Object result)
+    {
+      _result = result;
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      _error = e;
+    }
+
+    Object getResult()
+    {
+      if (_error != null)
+      {
+        throw new IllegalStateException("The resource method failed", _error);
+      }
+      Object result = _result;
+      _result = null;
+      return result;
+    }
+  }
+
+  @Benchmark
+  public DataMap decodeEntity(PipelineState state) throws IOException
+  {
+    return decodeEntity(state._request);
+  }
+
+  @Benchmark
+  public RoutingResult route(PipelineState state) throws Exception
+  {
+    return routeRequest(state);
+  }
+
+  @Benchmark
+  public Object[] buildArguments(PipelineState state)
+  {
+    RestLiRequestData requestData = state._argumentBuilder.extractRequestData(state._routingResult,
+        state._entityDataMap);
+    return state._argumentBuilder.buildArguments(requestData, state._routingResult);
+  }
+
+  @Benchmark
+  public Object invokeResource(PipelineState state)
+  {
+    return invoke(state);
+  }
+
+  @Benchmark
+  public RestLiResponseData<?> buildResponseData(PipelineState state) throws Exception
+  {
+    return state._responseHandler.buildRestLiResponseData(state._request, state._routingResult, state._result);
+  }
+
+  @Benchmark
+  public RestLiResponse buildPartialResponse(PipelineState state)
+  {
+    return state._responseHandler.buildPartialResponse(state._routingResult, state._responseData);
+  }
+
+  @Benchmark
+  public RestResponse encodeResponse(PipelineState state)
+  {
+    return ResponseUtils.buildResponse(state._routingResult, state._restLiResponse);
+  }
+
+  private static DataMap decodeEntity(RestRequest request) throws IOException
+  {
+    return request.getEntity().length() > 0 ? DataMapUtils.readMapWithExceptions(request) : null;
+  }
+
+  private static RoutingResult routeRequest(PipelineState state) throws Exception
+  {
+    ServerResourceContext context =
+        new ResourceContextImpl(new PathKeysImpl(), state._request, new RequestContext());
+    RestUtils.validateRequestHeadersAndUpdateResourceContext(state._request.getHeaders(), Collections.emptySet(),
+        context);
+    ResourceMethodDescriptor method = state._router.process(context);
+    return new RoutingResult(context, method);
+  }
+
+  private static Object invoke(PipelineState state)
+  {
+    state._methodInvoker.invoke(state._requestData, state._routingResult, state._argumentBuilder, state._callback);
+    return state._callback.getResult();
+  }
+}
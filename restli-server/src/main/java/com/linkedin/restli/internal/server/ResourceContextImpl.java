@@ -42,6 +42,7 @@ import com.linkedin.restli.internal.common.PathSegment.PathSegmentSyntaxExceptio
 import com.linkedin.restli.internal.common.ProtocolVersionUtil;
 import com.linkedin.restli.internal.common.QueryParamsDataMap;
 import com.linkedin.restli.internal.common.URIParamUtils;
+import com.linkedin.restli.internal.server.response.ReactiveCollectionElements;
 import com.linkedin.restli.internal.server.util.ArgumentUtils;
 import com.linkedin.restli.internal.server.util.MIMEParse;
 import com.linkedin.restli.internal.server.util.RestLiSyntaxException;
@@ -109,6 +110,9 @@ public class ResourceContextImpl implements ServerResourceContext
   private EntityStream<ByteString> _responseEntityStream;
   // Request entity stream
   private EntityStream<ByteString> _requestEntityStream;
+  // Elements streamed into the response
+  private boolean _responseElementStreamingSupported;
+  private ReactiveCollectionElements _responseElements;
 
   /**
    * Default constructor.
@@ -588,6 +592,30 @@ public class ResourceContextImpl implements ServerResourceContext
     return _requestEntityStream;
   }
 
+  @Override
+  public void setResponseElementStreamingSupported(boolean responseElementStreamingSupported)
+  {
+    _responseElementStreamingSupported = responseElementStreamingSupported;
+  }
+
+  @Override
+  public boolean isResponseElementStreamingSupported()
+  {
+    return _responseElementStreamingSupported;
+  }
+
+  @Override
+  public void setResponseElements(ReactiveCollectionElements elements)
+  {
+    _responseElements = elements;
+  }
+
+  @Override
+  public ReactiveCollectionElements getResponseElements()
+  {
+    return _responseElements;
+  }
+
   @Override
   public void setResponseAttachments(final RestLiResponseAttachments responseAttachments) throws IllegalStateException
   {
@@ -18,13 +18,20 @@ package com.linkedin.restli.internal.server;
 
 
 import com.linkedin.common.callback.Callback;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.entitystream.CollectingReader;
 import com.linkedin.r2.message.RequestContext;
 import com.linkedin.r2.message.timing.FrameworkTimingKeys;
 import com.linkedin.r2.message.timing.TimingContextUtil;
 import com.linkedin.restli.internal.server.filter.RestLiFilterChain;
 import com.linkedin.restli.internal.server.filter.RestLiFilterResponseContextFactory;
+import com.linkedin.restli.server.CollectionResult;
+import com.linkedin.restli.server.ReactiveCollectionResult;
+import com.linkedin.restli.server.RestLiResponseAttachments;
 import com.linkedin.restli.server.filter.FilterRequestContext;
 import com.linkedin.restli.server.filter.FilterResponseContext;
+import java.util.List;
+import java.util.stream.Collectors;
 
 
 /**
@@ -50,6 +57,14 @@ public class RestLiCallback implements Callback<Object>
 
   public void onSuccess(final Object result)
   {
+    if (result instanceof ReactiveCollectionResult && !canStreamElements())
+    {
+      // The response is going to be fully buffered, or its first part is going to be followed by attachments, so
+      // the elements are collected before building it.
+      collectElements((ReactiveCollectionResult<?, ?>) result);
+      return;
+    }
+
     markPreTimings();
     final FilterResponseContext responseContext;
     try
@@ -81,6 +96,39 @@ public class RestLiCallback implements Callback<Object>
     _filterChain.onError(e, _filterRequestContext, responseContext);
   }
 
+  private boolean canStreamElements()
+  {
+    ServerResourceContext context = _filterResponseContextFactory.getResourceContext();
+    RestLiResponseAttachments responseAttachments = context.getResponseAttachments();
+    return context.isResponseElementStreamingSupported()
+        && (responseAttachments == null || responseAttachments.getMultiPartMimeWriterBuilder().getCurrentSize() == 0);
+  }
+
+  private <T extends RecordTemplate, MD extends RecordTemplate> void collectElements(
+      final ReactiveCollectionResult<T, MD> result)
+  {
+    if (result.getElementStream() == null)
+    {
+      // Let the response builder report the developer error.
+      onSuccess(new CollectionResult<T, MD>(null, result.getTotal(), result.getMetadata(), result.getPageIncrement()));
+      return;
+    }
+
+    CollectingReader<T, ?, List<T>> reader = new CollectingReader<>(Collectors.toList());
+    result.getElementStream().setReader(reader);
+    reader.getResult().whenComplete((elements, e) ->
+    {
+      if (e == null)
+      {
+        onSuccess(new CollectionResult<>(elements, result.getTotal(), result.getMetadata(), result.getPageIncrement()));
+      }
+      else
+      {
+        onError(e);
+      }
+    });
+  }
+
   private void markPreTimings()
   {
     TimingContextUtil.endTiming(_requestContext, FrameworkTimingKeys.RESOURCE.key());
@@ -37,13 +37,19 @@ import com.linkedin.restli.server.NonResourceRequestHandler;
 import com.linkedin.restli.server.ResourceContext;
 import com.linkedin.restli.server.RestLiRequestData;
 import com.linkedin.restli.server.RestLiServiceException;
+import com.linkedin.restli.server.SyncMethodExecutor;
 import com.linkedin.restli.server.UnstructuredDataReactiveResult;
 import com.linkedin.restli.server.config.ResourceMethodConfig;
+import com.linkedin.restli.server.config.SyncMethodExecutionMode;
+import com.linkedin.restli.server.limiter.ConcurrencyLimiter;
 import com.linkedin.restli.server.resources.BaseResource;
 import com.linkedin.restli.server.resources.ResourceFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
@@ -66,6 +72,7 @@ public class RestLiMethodInvoker
   private final ResourceFactory _resourceFactory;
   private final Engine _engine;
   private final String _internalErrorMessage;
+  private final SyncMethodExecutor _syncMethodExecutor;
 
   // This ThreadLocal stores Context of task that is currently being executed.
   // When it is set, new tasks do not start new plans but instead are scheduled
@@ -77,16 +84,29 @@ public class RestLiMethodInvoker
   public RestLiMethodInvoker(final ResourceFactory resourceFactory,
                              final Engine engine,
                              final String internalErrorMessage)
+  {
+    this(resourceFactory, engine, internalErrorMessage, null);
+  }
+
+  /**
+   * @param syncMethodExecutor executor for synchronous resource methods configured with
+   *                           {@link SyncMethodExecutionMode#VIRTUAL_THREAD}, or null to use a shared default one.
+   */
+  public RestLiMethodInvoker(final ResourceFactory resourceFactory,
+                             final Engine engine,
+                             final String internalErrorMessage,
+                             final SyncMethodExecutor syncMethodExecutor)
   {
     _resourceFactory = resourceFactory;
     _engine = engine;
     _internalErrorMessage = internalErrorMessage;
+    _syncMethodExecutor = syncMethodExecutor;
   }
 
   @SuppressWarnings("deprecation")
   private void doInvoke(final ResourceMethodDescriptor descriptor,
       final ResourceMethodConfig methodConfig,
-      final RestLiCallback callback,
+      final Callback<Object> callback,
       final Object resource,
       final ServerResourceContext resourceContext,
       final Object... arguments) throws IllegalAccessException
@@ -135,6 +155,11 @@ public class RestLiMethodInvoker
           break;
 
         case SYNC:
+          if (methodConfig != null && methodConfig.getSyncMethodExecutionMode() == SyncMethodExecutionMode.VIRTUAL_THREAD)
+          {
+            invokeOffloaded(callback, method, resource, arguments);
+            break;
+          }
           Object applicationResult = method.invoke(resource, arguments);
           callback.onSuccess(applicationResult);
           break;
@@ -190,23 +215,77 @@ public class RestLiMethodInvoker
     }
     catch (InvocationTargetException e)
     {
-      // Method runtime exceptions ar expected to fail with a top level
-      // InvocationTargetException wrapped around the root cause.
-      if (RestLiServiceException.class.isAssignableFrom(e.getCause().getClass()))
-      {
-        RestLiServiceException restLiServiceException =
-            (RestLiServiceException) e.getCause();
-        callback.onError(restLiServiceException);
-      }
-      else
+      onInvocationTargetException(callback, e);
+    }
+  }
+
+  private void onInvocationTargetException(final Callback<Object> callback, final InvocationTargetException e)
+  {
+    // Method runtime exceptions ar expected to fail with a top level
+    // InvocationTargetException wrapped around the root cause.
+    if (RestLiServiceException.class.isAssignableFrom(e.getCause().getClass()))
+    {
+      RestLiServiceException restLiServiceException =
+          (RestLiServiceException) e.getCause();
+      callback.onError(restLiServiceException);
+    }
+    else
+    {
+      callback.onError(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+                                                  _internalErrorMessage,
+                                                  e.getCause()));
+    }
+  }
+
+  /**
+   * Invokes a synchronous resource method on the {@link SyncMethodExecutor}, so that it does not block the thread
+   * that dispatched the request.
+   */
+  private void invokeOffloaded(final Callback<Object> callback,
+      final Method method,
+      final Object resource,
+      final Object[] arguments)
+  {
+    SyncMethodExecutor executor = _syncMethodExecutor != null ? _syncMethodExecutor : DefaultSyncMethodExecutor.INSTANCE;
+    try
+    {
+      executor.execute(() ->
       {
-        callback.onError(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
-                                                    _internalErrorMessage,
-                                                    e.getCause()));
-      }
+        Object applicationResult;
+        try
+        {
+          applicationResult = method.invoke(resource, arguments);
+        }
+        catch (InvocationTargetException e)
+        {
+          onInvocationTargetException(callback, e);
+          return;
+        }
+        catch (Throwable t)
+        {
+          callback.onError(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, _internalErrorMessage, t));
+          return;
+        }
+        callback.onSuccess(applicationResult);
+      });
+    }
+    catch (RejectedExecutionException e)
+    {
+      callback.onError(new RestLiServiceException(HttpStatus.S_503_SERVICE_UNAVAILABLE,
+          "Too many synchronous resource methods in flight", e));
     }
   }
 
+  /**
+   * Holds the executor shared by all servers that were not given their own, which is only created once a method
+   * is offloaded. It lives as long as the JVM and is never shut down, which is why its threads are daemon threads
+   * that time out when idle.
+   */
+  private static class DefaultSyncMethodExecutor
+  {
+    private static final SyncMethodExecutor INSTANCE = SyncMethodExecutor.create();
+  }
+
   // Apply timeout to parseq task if timeout configuration is specified for this method.
   private Task<Object> withTimeout(final Task<Object> task, ResourceMethodConfig config)
   {
@@ -279,7 +358,7 @@ public class RestLiMethodInvoker
     }
   }
 
-  private boolean checkEngine(final RestLiCallback callback, final ResourceMethodDescriptor desc)
+  private boolean checkEngine(final Callback<Object> callback, final ResourceMethodDescriptor desc)
   {
     if (_engine == null)
     {
@@ -307,10 +386,32 @@ public class RestLiMethodInvoker
       final RestLiArgumentBuilder restLiArgumentBuilder,
       final RestLiCallback callback)
   {
+    // Excess requests are rejected before the resource is created and the arguments are built, so that an overloaded
+    // method sheds load as cheaply as possible.
+    ResourceMethodConfig resourceMethodConfig = invokableMethod.getResourceMethodConfig();
+    ConcurrencyLimiter concurrencyLimiter =
+        resourceMethodConfig == null ? null : resourceMethodConfig.getConcurrencyLimiter();
+    final Callback<Object> invocationCallback;
+    if (concurrencyLimiter == null)
+    {
+      invocationCallback = callback;
+    }
+    else if (concurrencyLimiter.tryAcquire())
+    {
+      invocationCallback = new ConcurrencyLimitedCallback(callback, concurrencyLimiter);
+    }
+    else
+    {
+      callback.onError(new RestLiServiceException(HttpStatus.S_429_TOO_MANY_REQUESTS,
+          "Concurrency limit of " + concurrencyLimiter.getLimit() + " reached for resource method "
+              + invokableMethod.getResourceMethod().getResourceName() + "."
+              + invokableMethod.getResourceMethod().getMethodType()));
+      return;
+    }
+
     try
     {
       ResourceMethodDescriptor resourceMethodDescriptor = invokableMethod.getResourceMethod();
-      ResourceMethodConfig resourceMethodConfig = invokableMethod.getResourceMethodConfig();
       Object resource = _resourceFactory.create(resourceMethodDescriptor.getResourceModel().getResourceClass());
 
       // Acquire a handle on the ResourceContext when setting it in order to obtain any response attachments that need to
@@ -323,11 +424,67 @@ public class RestLiMethodInvoker
 
       Object[] args = restLiArgumentBuilder.buildArguments(requestData, invokableMethod);
       // Now invoke the resource implementation.
-      doInvoke(resourceMethodDescriptor, resourceMethodConfig, callback, resource, resourceContext, args);
+      doInvoke(resourceMethodDescriptor, resourceMethodConfig, invocationCallback, resource, resourceContext, args);
     }
     catch (Exception e)
     {
-      callback.onError(e);
+      invocationCallback.onError(e);
+    }
+  }
+
+  /**
+   * Releases the concurrency limiter slot held by a request once the resource method completes, reporting the
+   * latency of the method and whether it timed out.
+   */
+  private static class ConcurrencyLimitedCallback implements Callback<Object>
+  {
+    private final Callback<Object> _callback;
+    private final ConcurrencyLimiter _limiter;
+    private final long _startNanos = System.nanoTime();
+    private final AtomicBoolean _released = new AtomicBoolean();
+
+    ConcurrencyLimitedCallback(final Callback<Object> callback, final ConcurrencyLimiter limiter)
+    {
+      _callback = callback;
+      _limiter = limiter;
+    }
+
+    @Override
+    public void onError(Throwable e)
+    {
+      release(isTimeout(e));
+      _callback.onError(e);
+    }
+
+    @Override
+    public void onSuccess(Object result)
+    {
+      release(false);
+      _callback.onSuccess(result);
+    }
+
+    private void release(boolean dropped)
+    {
+      if (_released.compareAndSet(false, true))
+      {
+        _limiter.release(System.nanoTime() - _startNanos, dropped);
+      }
+    }
+
+    private static boolean isTimeout(Throwable e)
+    {
+      for (Throwable t = e; t != null; t = t.getCause())
+      {
+        if (t instanceof TimeoutException)
+        {
+          return true;
+        }
+        if (t.getCause() == t)
+        {
+          break;
+        }
+      }
+      return false;
     }
   }
 
@@ -381,9 +538,9 @@ public class RestLiMethodInvoker
    */
   private static class CallbackPromiseAdapter<T> implements PromiseListener<T>
   {
-    private final RestLiCallback _callback;
+    private final Callback<Object> _callback;
 
-    CallbackPromiseAdapter(final RestLiCallback callback)
+    CallbackPromiseAdapter(final Callback<Object> callback)
     {
       _callback = callback;
     }
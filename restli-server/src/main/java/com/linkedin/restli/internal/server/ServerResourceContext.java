@@ -28,6 +28,7 @@ import com.linkedin.entitystream.EntityStream;
 import com.linkedin.restli.common.ProtocolVersion;
 import com.linkedin.restli.common.ResourceMethod;
 import com.linkedin.restli.common.attachments.RestLiAttachmentReader;
+import com.linkedin.restli.internal.server.response.ReactiveCollectionElements;
 import com.linkedin.restli.server.ResourceContext;
 import com.linkedin.restli.server.RestLiServiceException;
 
@@ -167,6 +168,29 @@ public interface ServerResourceContext extends ResourceContext
    */
   EntityStream<ByteString> getRequestEntityStream();
 
+  /**
+   * Sets whether the elements of a {@link com.linkedin.restli.server.ReactiveCollectionResult} can be encoded into
+   * the response as they are produced. When false, they are collected before the response is built.
+   */
+  void setResponseElementStreamingSupported(boolean responseElementStreamingSupported);
+
+  /**
+   * Returns whether the elements of a {@link com.linkedin.restli.server.ReactiveCollectionResult} can be encoded into
+   * the response as they are produced.
+   */
+  boolean isResponseElementStreamingSupported();
+
+  /**
+   * Set the {@link ReactiveCollectionElements} to be streamed into this response.
+   */
+  void setResponseElements(ReactiveCollectionElements elements);
+
+  /**
+   * Returns the {@link ReactiveCollectionElements} to be streamed into this response. For any other cases, this
+   * returns null.
+   */
+  ReactiveCollectionElements getResponseElements();
+
 
   /**
    * Sets the specified projection mask for root object entities in the response. Setting the projection mask to
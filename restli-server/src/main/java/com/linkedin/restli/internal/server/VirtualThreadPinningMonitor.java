@@ -0,0 +1,120 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Counts the {@code jdk.VirtualThreadPinned} JFR events emitted by the JVM, which are recorded whenever a virtual
+ * thread blocks while pinned to its carrier thread, e.g. inside a {@code synchronized} block. Pinned virtual threads
+ * hold on to a carrier thread for as long as they block, so a high pinning rate means blocking resource methods
+ * are not getting the benefit of virtual threads.
+ *
+ * The JFR streaming API is only available on JDK 14 and above and is accessed reflectively so that this class can
+ * be loaded on older JDKs, where {@link #start(Duration)} returns null.
+ */
+public final class VirtualThreadPinningMonitor
+{
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final LongAdder _pinnedCount = new LongAdder();
+  private final LongAdder _pinnedDurationNano = new LongAdder();
+  private final AutoCloseable _recordingStream;
+
+  private VirtualThreadPinningMonitor(AutoCloseable recordingStream)
+  {
+    _recordingStream = recordingStream;
+  }
+
+  /**
+   * Starts monitoring pinned virtual threads.
+   *
+   * @param threshold minimum pinned duration for an event to be recorded.
+   * @return the monitor, or null if JFR event streaming is not available in this JVM.
+   */
+  public static VirtualThreadPinningMonitor start(Duration threshold)
+  {
+    try
+    {
+      Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+      AutoCloseable stream = (AutoCloseable) streamClass.getConstructor().newInstance();
+      VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(stream);
+
+      Object settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+      Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+
+      Method getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+      Consumer<Object> onEvent = event -> monitor.onPinned(event, getDuration);
+      streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, onEvent);
+      streamClass.getMethod("startAsync").invoke(stream);
+      return monitor;
+    }
+    catch (ReflectiveOperationException | RuntimeException e)
+    {
+      LOG.info("Virtual thread pinning monitoring is not available in this JVM", e);
+      return null;
+    }
+  }
+
+  private void onPinned(Object event, Method getDuration)
+  {
+    _pinnedCount.increment();
+    try
+    {
+      _pinnedDurationNano.add(((Duration) getDuration.invoke(event)).toNanos());
+    }
+    catch (ReflectiveOperationException e)
+    {
+      LOG.debug("Failed to read duration of pinned event", e);
+    }
+  }
+
+  /**
+   * @return the number of times a virtual thread blocked while pinned to its carrier thread.
+   */
+  public long getPinnedCount()
+  {
+    return _pinnedCount.sum();
+  }
+
+  /**
+   * @return the total time virtual threads spent blocked while pinned, in nanoseconds.
+   */
+  public long getPinnedDurationNano()
+  {
+    return _pinnedDurationNano.sum();
+  }
+
+  public void stop()
+  {
+    try
+    {
+      _recordingStream.close();
+    }
+    catch (Exception e)
+    {
+      LOG.warn("Failed to stop virtual thread pinning monitor", e);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import com.linkedin.restli.internal.common.HeaderUtil;
 import com.linkedin.restli.internal.common.ProtocolVersionUtil;
 import com.linkedin.restli.internal.server.response.RestLiResponseHandler;
 import com.linkedin.restli.internal.server.RoutingResult;
+import com.linkedin.restli.internal.server.ServerResourceContext;
 import com.linkedin.restli.server.RestLiResponseData;
 import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.restli.server.filter.FilterResponseContext;
@@ -110,4 +111,9 @@ public class RestLiFilterResponseContextFactory
   {
     return _method.getContext().getRawRequestContext();
   }
+
+  public ServerResourceContext getResourceContext()
+  {
+    return _method.getContext();
+  }
 }
@@ -31,6 +31,7 @@ import com.linkedin.restli.internal.server.methods.AnyRecord;
 import com.linkedin.restli.internal.server.util.RestUtils;
 import com.linkedin.restli.server.CollectionResult;
 import com.linkedin.restli.server.CollectionResult.PageIncrement;
+import com.linkedin.restli.server.ReactiveCollectionResult;
 import com.linkedin.restli.server.RestLiResponseData;
 import com.linkedin.restli.server.RestLiServiceException;
 import com.linkedin.restli.server.ProjectionMode;
@@ -68,7 +69,8 @@ public abstract class CollectionResponseBuilder<D extends RestLiResponseData<? e
    * {@inheritDoc}
    *
    * @param object The result of a Rest.li FINDER or GET_ALL method. It is a <code>List</code> of entities, or a
-   *               {@link CollectionResult}.
+   *               {@link CollectionResult}. The elements of a {@link ReactiveCollectionResult} are not part of
+   *               the response data, they are streamed into the response when it is encoded.
    */
   @Override
   public D buildRestLiResponseData(Request request,
@@ -100,6 +102,25 @@ public abstract class CollectionResponseBuilder<D extends RestLiResponseData<? e
                 + routingResult.getResourceMethod());
       }
 
+      if (collectionResult instanceof ReactiveCollectionResult)
+      {
+        ReactiveCollectionResult<?, ?> reactiveResult = (ReactiveCollectionResult<?, ?>) collectionResult;
+        if (reactiveResult.getElementStream() == null)
+        {
+          throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+              "Unexpected null encountered. Null element stream inside of ReactiveCollectionResult returned by the resource method: "
+                  + routingResult.getResourceMethod());
+        }
+        if (!routingResult.getContext().isResponseElementStreamingSupported())
+        {
+          throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+              "Streaming the elements of a ReactiveCollectionResult is not supported for this request, they should have been collected first: "
+                  + routingResult.getResourceMethod());
+        }
+        routingResult.getContext().setResponseElements(
+            new ReactiveCollectionElements(reactiveResult, routingResult, request.getURI()));
+      }
+
       return buildRestLiResponseData(request, routingResult, collectionResult.getElements(),
                                      collectionResult.getPageIncrement(), collectionResult.getMetadata(),
                                      collectionResult.getTotal(), headers, cookies);
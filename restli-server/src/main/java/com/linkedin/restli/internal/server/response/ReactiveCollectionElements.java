@@ -0,0 +1,181 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.internal.server.response;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.entitystream.StreamDataCodec;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.entitystream.Connector;
+import com.linkedin.entitystream.EntityStream;
+import com.linkedin.entitystream.EntityStreams;
+import com.linkedin.entitystream.ReadHandle;
+import com.linkedin.entitystream.Reader;
+import com.linkedin.entitystream.WriteHandle;
+import com.linkedin.restli.common.CollectionMetadata;
+import com.linkedin.restli.common.CollectionResponse;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.internal.server.RoutingResult;
+import com.linkedin.restli.internal.server.util.RestUtils;
+import com.linkedin.restli.server.CollectionResult.PageIncrement;
+import com.linkedin.restli.server.ProjectionMode;
+import com.linkedin.restli.server.ReactiveCollectionResult;
+import com.linkedin.restli.server.ResourceContext;
+import com.linkedin.restli.server.RestLiServiceException;
+import java.net.URI;
+
+
+/**
+ * The elements of a {@link ReactiveCollectionResult}, to be encoded into the collection response as they are read
+ * from the resource's stream. Each element is projected as it passes through, and the paging metadata of the
+ * response is rebuilt from the number of elements once the stream is done.
+ */
+public class ReactiveCollectionElements implements Connector<RecordTemplate, DataMap>
+{
+  private final EntityStream<? extends RecordTemplate> _source;
+  private final RoutingResult _routingResult;
+  private final URI _requestUri;
+  private final PageIncrement _pageIncrement;
+  private final Integer _total;
+
+  private ReadHandle _readHandle;
+  private WriteHandle<? super DataMap> _writeHandle;
+  private DataMap _envelope;
+  private int _count;
+
+  ReactiveCollectionElements(ReactiveCollectionResult<?, ?> result, RoutingResult routingResult, URI requestUri)
+  {
+    _source = result.getElementStream();
+    _routingResult = routingResult;
+    _requestUri = requestUri;
+    _pageIncrement = result.getPageIncrement();
+    _total = result.getTotal();
+  }
+
+  /**
+   * Encodes the given collection response, streaming the elements into its elements field.
+   *
+   * @param codec codec of the response
+   * @param envelope data of the collection response, which has its paging replaced once all elements are read
+   */
+  public EntityStream<ByteString> encode(StreamDataCodec codec, DataMap envelope)
+  {
+    _envelope = envelope;
+    return codec.encodeMap(envelope, CollectionResponse.ELEMENTS, EntityStreams.newEntityStream(this));
+  }
+
+  /**
+   * Cancels the resource's stream, when the response is not going to be encoded.
+   */
+  public void cancel()
+  {
+    _source.setReader(new Reader<RecordTemplate>()
+    {
+      @Override
+      public void onInit(ReadHandle rh)
+      {
+        rh.cancel();
+      }
+
+      @Override
+      public void onDataAvailable(RecordTemplate data)
+      {
+      }
+
+      @Override
+      public void onDone()
+      {
+      }
+
+      @Override
+      public void onError(Throwable e)
+      {
+      }
+    });
+  }
+
+  @Override
+  public void onInit(WriteHandle<? super DataMap> wh)
+  {
+    _writeHandle = wh;
+    // Only start reading from the resource once the encoder gets to the elements.
+    _source.setReader(this);
+  }
+
+  @Override
+  public void onInit(ReadHandle rh)
+  {
+    _readHandle = rh;
+  }
+
+  @Override
+  public void onWritePossible()
+  {
+    _readHandle.request(1);
+  }
+
+  @Override
+  public void onDataAvailable(RecordTemplate element)
+  {
+    //We don't permit null elements in our lists. If so, this is a developer error.
+    if (element == null)
+    {
+      _readHandle.cancel();
+      _writeHandle.error(new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+          "Unexpected null encountered. Null element inside of a stream returned by the resource method: "
+              + _routingResult.getResourceMethod()));
+      return;
+    }
+
+    ResourceContext resourceContext = _routingResult.getContext();
+    _count++;
+    _writeHandle.write(RestUtils.projectFields(element.data(), resourceContext.getProjectionMode(),
+        resourceContext.getProjectionMask()));
+    if (_writeHandle.remaining() > 0)
+    {
+      _readHandle.request(1);
+    }
+  }
+
+  @Override
+  public void onDone()
+  {
+    // The encoder only reads the other entries of the envelope after the elements, so the paging can still be
+    // replaced at this point.
+    if (_envelope != null && _envelope.containsKey(CollectionResponse.PAGING))
+    {
+      ResourceContext resourceContext = _routingResult.getContext();
+      CollectionMetadata paging = RestUtils.buildMetadata(_requestUri, resourceContext,
+          _routingResult.getResourceMethod(), _count, _pageIncrement, _total);
+      _envelope.put(CollectionResponse.PAGING, RestUtils.projectFields(paging.data(), ProjectionMode.AUTOMATIC,
+          resourceContext.getPagingProjectionMask()));
+    }
+    _writeHandle.done();
+  }
+
+  @Override
+  public void onError(Throwable e)
+  {
+    _writeHandle.error(e);
+  }
+
+  @Override
+  public void onAbort(Throwable e)
+  {
+    _readHandle.cancel();
+  }
+}
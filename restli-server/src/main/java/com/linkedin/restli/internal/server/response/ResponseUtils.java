@@ -19,7 +19,9 @@ package com.linkedin.restli.internal.server.response;
 
 import com.linkedin.data.ByteString;
 import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.SchemaWritePlan;
 import com.linkedin.data.codec.entitystream.StreamDataCodec;
+import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.entitystream.EntityStream;
 import com.linkedin.r2.message.rest.RestException;
 import com.linkedin.r2.message.rest.RestResponse;
@@ -30,11 +32,13 @@ import com.linkedin.r2.message.stream.StreamResponseBuilder;
 import com.linkedin.r2.message.stream.entitystream.adapter.EntityStreamAdapters;
 import com.linkedin.restli.common.ContentType;
 import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.restli.common.ResourceMethod;
 import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.internal.common.CookieUtil;
 import com.linkedin.restli.internal.server.RestLiInternalException;
 import com.linkedin.restli.internal.server.RoutingResult;
 import com.linkedin.restli.internal.server.ServerResourceContext;
+import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
 import com.linkedin.restli.internal.server.model.ResourceModel;
 import com.linkedin.restli.internal.server.util.AlternativeKeyCoercerException;
 import com.linkedin.restli.internal.server.util.ArgumentUtils;
@@ -85,6 +89,21 @@ public class ResponseUtils
   }
 
   public static RestResponse buildResponse(RoutingResult routingResult, RestLiResponse restLiResponse)
+  {
+    return buildResponse(routingResult, restLiResponse, false);
+  }
+
+  /**
+   * Builds the {@link RestResponse} of a Rest.li response.
+   *
+   * @param routingResult the routing result of the request.
+   * @param restLiResponse the Rest.li response.
+   * @param useSchemaDrivenEncoding whether to encode the entity of a GET response with the
+   *                                {@link SchemaWritePlan} of the resource value class.
+   * @return the {@link RestResponse}.
+   */
+  public static RestResponse buildResponse(RoutingResult routingResult, RestLiResponse restLiResponse,
+      boolean useSchemaDrivenEncoding)
   {
     RestResponseBuilder builder = new RestResponseBuilder()
         .setHeaders(restLiResponse.getHeaders())
@@ -101,16 +120,35 @@ public class ResponseUtils
       String mimeType = context.getResponseMimeType();
       URI requestUri = context.getRequestURI();
       Map<String, String> requestHeaders = context.getRequestHeaders();
-      builder = encodeResult(mimeType, requestUri, requestHeaders, builder, dataMap);
+      SchemaWritePlan writePlan = useSchemaDrivenEncoding ? getWritePlan(routingResult) : null;
+      builder = encodeResult(mimeType, requestUri, requestHeaders, builder, dataMap, writePlan);
     }
     return builder.build();
   }
 
+  /**
+   * Returns the write plan of the resource value class if the response entity is a single value, null otherwise.
+   */
+  private static SchemaWritePlan getWritePlan(RoutingResult routingResult)
+  {
+    ResourceMethodDescriptor resourceMethod = routingResult.getResourceMethod();
+    if (resourceMethod.getType() == ResourceMethod.GET)
+    {
+      Class<? extends RecordTemplate> valueClass = resourceMethod.getResourceModel().getValueClass();
+      if (valueClass != null)
+      {
+        return SchemaWritePlan.forRecordClass(valueClass);
+      }
+    }
+    return null;
+  }
+
   private static RestResponseBuilder encodeResult(String mimeType,
       URI requestUri,
       Map<String, String> requestHeaders,
       RestResponseBuilder builder,
-      DataMap dataMap)
+      DataMap dataMap,
+      SchemaWritePlan writePlan)
   {
     try
     {
@@ -120,7 +158,9 @@ public class ResponseUtils
       assert type != null;
       builder.setHeader(RestConstants.HEADER_CONTENT_TYPE, type.getHeaderKey());
       // Use unsafe wrap to avoid copying the bytes when request builder creates ByteString.
-      builder.setEntity(ByteString.unsafeWrap(DataMapUtils.mapToBytes(dataMap, type.getCodec())));
+      byte[] entity = writePlan == null ? DataMapUtils.mapToBytes(dataMap, type.getCodec())
+          : DataMapUtils.mapToBytes(dataMap, type.getCodec(), writePlan);
+      builder.setEntity(ByteString.unsafeWrap(entity));
     }
     catch (MimeTypeParseException e)
     {
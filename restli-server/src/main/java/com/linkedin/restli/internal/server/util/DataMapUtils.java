@@ -24,6 +24,7 @@ import com.linkedin.data.DataMap;
 import com.linkedin.data.codec.DataCodec;
 import com.linkedin.data.codec.JacksonDataCodec;
 import com.linkedin.data.codec.PsonDataCodec;
+import com.linkedin.data.codec.SchemaWritePlan;
 import com.linkedin.data.schema.DataSchema;
 import com.linkedin.data.template.DataTemplate;
 import com.linkedin.data.template.DataTemplateUtil;
@@ -524,6 +525,26 @@ public class DataMapUtils
     }
   }
 
+  /**
+   * Encode a record {@link DataMap} as a byte array using the provided codec and the write plan of its schema.
+   *
+   * @param dataMap input {@link DataMap}
+   * @param customCodec custom CODEC to use for encoding.
+   * @param plan write plan compiled from the schema of the record.
+   * @return byte array
+   */
+  public static byte[] mapToBytes(final DataMap dataMap, DataCodec customCodec, SchemaWritePlan plan)
+  {
+    try
+    {
+      return customCodec.mapToBytes(dataMap, plan);
+    }
+    catch (IOException e)
+    {
+      throw new RestLiInternalException(e);
+    }
+  }
+
   /**
    * Remove {@link Data#NULL} from the input DataMap.
    * @param dataMap input data map which may contain {@link Data#NULL} values.
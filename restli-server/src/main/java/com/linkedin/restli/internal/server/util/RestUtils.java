@@ -68,6 +68,21 @@ public class RestUtils
                                                  final List<?> resultElements,
                                                  final PageIncrement pageIncrement,
                                                  final Integer totalResults)
+  {
+    return buildMetadata(requestUri, resourceContext, methodDescriptor, resultElements.size(), pageIncrement,
+        totalResults);
+  }
+
+  /**
+   * Same as {@link #buildMetadata(URI, ResourceContext, ResourceMethodDescriptor, List, PageIncrement, Integer)},
+   * for results whose elements are not materialized as a list.
+   */
+  public static CollectionMetadata buildMetadata(final URI requestUri,
+                                                 final ResourceContext resourceContext,
+                                                 final ResourceMethodDescriptor methodDescriptor,
+                                                 final int resultSize,
+                                                 final PageIncrement pageIncrement,
+                                                 final Integer totalResults)
   {
     CollectionMetadata metadata = new CollectionMetadata();
 
@@ -111,7 +126,7 @@ public class RestUtils
       }
 
       // next link if there are more results, or we returned a full page
-      Integer nextStart = getNextPageStart(resultElements.size(), totalResults, pagingContext, pageIncrement);
+      Integer nextStart = getNextPageStart(resultSize, totalResults, pagingContext, pageIncrement);
       if (nextStart != null)
       {
         // R2 doesn't expose host/port => can't build absolute URI (this is ok, as
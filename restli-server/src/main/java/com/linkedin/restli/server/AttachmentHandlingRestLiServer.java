@@ -35,6 +35,7 @@ import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.stream.StreamRequest;
 import com.linkedin.r2.message.stream.StreamResponse;
 import com.linkedin.r2.message.stream.entitystream.ByteStringWriter;
+import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.common.attachments.RestLiAttachmentReader;
 import com.linkedin.restli.common.attachments.RestLiAttachmentReaderException;
@@ -43,6 +44,7 @@ import com.linkedin.restli.internal.server.RoutingResult;
 import com.linkedin.restli.internal.server.ServerResourceContext;
 import com.linkedin.restli.internal.server.model.ResourceModel;
 import com.linkedin.restli.internal.server.response.ErrorResponseBuilder;
+import com.linkedin.restli.internal.server.response.ReactiveCollectionElements;
 import com.linkedin.restli.internal.server.response.ResponseUtils;
 import com.linkedin.restli.internal.server.response.RestLiResponse;
 import com.linkedin.restli.server.resources.ResourceFactory;
@@ -349,6 +351,19 @@ class AttachmentHandlingRestLiServer extends StreamRestLiServer
       RestLiResponseAttachments responseAttachments = _routingResult.getContext().getResponseAttachments();
       if (responseAttachments != null && responseAttachments.getMultiPartMimeWriterBuilder().getCurrentSize() > 0)
       {
+        // Collection elements are collected before the response is built when there are attachments, so they can
+        // only be left to stream if the attachments were added afterwards. They cannot be written into the first
+        // part, so fail the request rather than send a collection with its elements missing.
+        ReactiveCollectionElements elements = _routingResult.getContext().getResponseElements();
+        if (elements != null)
+        {
+          elements.cancel();
+          RestLiServiceException e = new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+              "Streamed collection elements cannot be sent together with response attachments: "
+                  + _routingResult.getResourceMethod());
+          drainResponseAttachments(responseAttachments, e);
+          throw e;
+        }
         RestResponse structuredFirstPart = ResponseUtils.buildResponse(_routingResult, restLiResponse);
         return createStreamResponseWithAttachment(structuredFirstPart, responseAttachments);
       }
@@ -82,14 +82,16 @@ abstract class BaseRestLiServer
 
     _router = new RestLiRouter(rootResources, config);
     resourceFactory.setRootResources(rootResources);
-    _methodInvoker = new RestLiMethodInvoker(resourceFactory, engine, config.getInternalErrorMessage());
+    _methodInvoker = new RestLiMethodInvoker(resourceFactory, engine, config.getInternalErrorMessage(),
+        config.getSyncMethodExecutor());
 
     _errorResponseBuilder = errorResponseBuilder;
     _responseHandler = new RestLiResponseHandler(_errorResponseBuilder);
 
     _filters = config.getFilters() != null ? config.getFilters() : new ArrayList<>();
 
-    _methodConfigProvider = ResourceMethodConfigProvider.build(config.getMethodConfig());
+    _methodConfigProvider =
+        ResourceMethodConfigProvider.build(config.getMethodConfig(), config.getSyncMethodExecutionMode());
   }
 
   private boolean isSupportedProtocolVersion(ProtocolVersion clientProtocolVersion,
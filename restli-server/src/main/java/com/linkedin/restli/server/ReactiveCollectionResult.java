@@ -0,0 +1,74 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.entitystream.EntityStream;
+import java.util.Collections;
+
+
+/**
+ * A {@link CollectionResult} whose elements are supplied by an {@link EntityStream} instead of a list. It can be
+ * returned by FINDER and GET_ALL methods that produce too many elements to hold them all in memory at once.
+ *
+ * <p>When the request is served by a streaming Rest.li server with stream codecs enabled, each element is encoded
+ * as soon as it is read from the stream, and the next one is only read once the response has room for it. The
+ * paging metadata is computed once the stream is done, from the number of elements actually returned. Otherwise,
+ * or when the response has attachments, the elements are collected into a list first and the response is built as
+ * for a regular {@link CollectionResult}.</p>
+ *
+ * <p>Since the elements are not materialized, {@link #getElements()} returns an empty list, and response filters
+ * do not see the streamed elements.</p>
+ *
+ * @param <T> type of the elements
+ * @param <MD> type of the custom metadata
+ */
+public class ReactiveCollectionResult<T extends RecordTemplate, MD extends RecordTemplate> extends CollectionResult<T, MD>
+{
+  private final EntityStream<T> _elementStream;
+
+  /**
+   * Constructor. Uses the default page increment mode of {@link PageIncrement#RELATIVE}. Metadata is null and
+   * the total is null.
+   *
+   * @param elementStream provides the elements in current page of collection results.
+   */
+  public ReactiveCollectionResult(final EntityStream<T> elementStream)
+  {
+    this(elementStream, null, null, PageIncrement.RELATIVE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param elementStream provides the elements in current page of collection results.
+   * @param total provides the total elements, required if using {@link PageIncrement#FIXED}
+   * @param metadata provides search result metadata, as defined by the application.
+   * @param pageIncrement Provides the page increment mode.
+   */
+  public ReactiveCollectionResult(final EntityStream<T> elementStream, final Integer total, final MD metadata,
+      final PageIncrement pageIncrement)
+  {
+    super(Collections.emptyList(), total, metadata, pageIncrement);
+    _elementStream = elementStream;
+  }
+
+  public EntityStream<T> getElementStream()
+  {
+    return _elementStream;
+  }
+}
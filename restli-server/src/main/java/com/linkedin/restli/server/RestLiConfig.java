@@ -21,6 +21,7 @@ import com.linkedin.restli.common.ContentType;
 import com.linkedin.restli.internal.server.response.ErrorResponseBuilder;
 import com.linkedin.restli.server.config.RestLiMethodConfig;
 import com.linkedin.restli.server.config.RestLiMethodConfigBuilder;
+import com.linkedin.restli.server.config.SyncMethodExecutionMode;
 import com.linkedin.restli.server.filter.Filter;
 import com.linkedin.restli.server.multiplexer.MultiplexerRunMode;
 import com.linkedin.restli.server.multiplexer.MultiplexerSingletonFilter;
@@ -90,6 +91,7 @@ public class RestLiConfig
   private final List<ContentType> _customContentTypes = new LinkedList<>();
   private final List<ResourceDefinitionListener> _resourceDefinitionListeners = new ArrayList<>();
   private boolean _useStreamCodec = false;
+  private boolean _useSchemaDrivenEncoding = false;
 
   // configuration for whether to validate any type of resource entity keys Ex. path keys or keys in batch request
   private boolean _validateResourceKeys = false;
@@ -97,6 +99,10 @@ public class RestLiConfig
   // resource method level configuration
   private RestLiMethodConfig _methodConfig;
 
+  // where synchronous resource methods are invoked by default, and the executor used for those that are offloaded
+  private SyncMethodExecutionMode _syncMethodExecutionMode = SyncMethodExecutionMode.CALLER_THREAD;
+  private SyncMethodExecutor _syncMethodExecutor;
+
   /**
    * Constructor.
    */
@@ -517,6 +523,27 @@ public class RestLiConfig
     _useStreamCodec = useStreamCodec;
   }
 
+  /**
+   * Gets whether or not entities of GET responses are encoded with a {@link com.linkedin.data.codec.SchemaWritePlan}
+   * compiled from the schema of the resource value class, instead of a generic traversal of their {@link com.linkedin.data.DataMap}.
+   */
+  public boolean isUseSchemaDrivenEncoding()
+  {
+    return _useSchemaDrivenEncoding;
+  }
+
+  /**
+   * Sets whether or not entities of GET responses are encoded with a {@link com.linkedin.data.codec.SchemaWritePlan}
+   * compiled from the schema of the resource value class, instead of a generic traversal of their {@link com.linkedin.data.DataMap}.
+   * Record fields are then written in schema order. Entities that do not match the schema are still encoded generically.
+   *
+   * <p>This has no effect on responses to stream requests encoded with a stream codec, see {@link #setUseStreamCodec(boolean)}.</p>
+   */
+  public void setUseSchemaDrivenEncoding(boolean useSchemaDrivenEncoding)
+  {
+    _useSchemaDrivenEncoding = useSchemaDrivenEncoding;
+  }
+
   /**
    * Get resource method level configurations.
    * @return Resource method level configurations.
@@ -552,4 +579,42 @@ public class RestLiConfig
     setMethodConfig(
         new RestLiMethodConfigBuilder(getMethodConfig()).withShouldValidateResourceKeys(_validateResourceKeys).build());
   }
+
+  /**
+   * Gets the server-wide default execution mode of synchronous resource methods.
+   */
+  public SyncMethodExecutionMode getSyncMethodExecutionMode()
+  {
+    return _syncMethodExecutionMode;
+  }
+
+  /**
+   * Sets the server-wide default execution mode of synchronous resource methods. Entries added to the method config
+   * through {@link RestLiMethodConfigBuilder#addSyncMethodExecutionMode(String, SyncMethodExecutionMode)} take
+   * precedence over it, including a "*.*" entry.
+   */
+  public void setSyncMethodExecutionMode(SyncMethodExecutionMode syncMethodExecutionMode)
+  {
+    _syncMethodExecutionMode = syncMethodExecutionMode;
+  }
+
+  /**
+   * Gets the executor for synchronous resource methods running in {@link SyncMethodExecutionMode#VIRTUAL_THREAD}
+   * mode, or null if a shared default executor is used.
+   */
+  public SyncMethodExecutor getSyncMethodExecutor()
+  {
+    return _syncMethodExecutor;
+  }
+
+  /**
+   * Sets the executor for synchronous resource methods running in {@link SyncMethodExecutionMode#VIRTUAL_THREAD}
+   * mode. If not set, a shared executor created with {@link SyncMethodExecutor#create()} is used.
+   *
+   * The server does not shut the given executor down, its owner should do so once the server stops.
+   */
+  public void setSyncMethodExecutor(SyncMethodExecutor syncMethodExecutor)
+  {
+    _syncMethodExecutor = syncMethodExecutor;
+  }
 }
@@ -59,6 +59,7 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
   private static final Logger log = LoggerFactory.getLogger(RestRestLiServer.class);
 
   private final List<NonResourceRequestHandler> _nonResourceRequestHandlers;
+  private final boolean _useSchemaDrivenEncoding;
 
   RestRestLiServer(RestLiConfig config,
       ResourceFactory resourceFactory,
@@ -73,6 +74,7 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
         errorResponseBuilder);
 
     _nonResourceRequestHandlers = new ArrayList<>();
+    _useSchemaDrivenEncoding = config.isUseSchemaDrivenEncoding();
 
     // Add documentation request handler
     RestLiDocumentationRequestHandler docReqHandler = config.getDocumentationRequestHandler();
@@ -208,7 +210,8 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
       RoutingResult routingResult,
       Callback<RestResponse> callback)
   {
-    handleResourceRequestWithRestLiResponse(request, routingResult, new RestLiToRestResponseCallbackAdapter(callback, routingResult));
+    handleResourceRequestWithRestLiResponse(request, routingResult, new RestLiToRestResponseCallbackAdapter(callback, routingResult,
+        _useSchemaDrivenEncoding));
   }
 
   protected void handleResourceRequestWithRestLiResponse(RestRequest request, RoutingResult routingResult,
@@ -248,11 +251,19 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
   static class RestLiToRestResponseCallbackAdapter extends CallbackAdapter<RestResponse, RestLiResponse>
   {
     private final RoutingResult _routingResult;
+    private final boolean _useSchemaDrivenEncoding;
 
     RestLiToRestResponseCallbackAdapter(Callback<RestResponse> callback, RoutingResult routingResult)
+    {
+      this(callback, routingResult, false);
+    }
+
+    RestLiToRestResponseCallbackAdapter(Callback<RestResponse> callback, RoutingResult routingResult,
+        boolean useSchemaDrivenEncoding)
     {
       super(callback);
       _routingResult = routingResult;
+      _useSchemaDrivenEncoding = useSchemaDrivenEncoding;
     }
 
     @Override
@@ -261,7 +272,8 @@ class RestRestLiServer extends BaseRestLiServer implements RestRequestHandler, R
       final RequestContext requestContext = _routingResult.getContext().getRawRequestContext();
       TimingContextUtil.beginTiming(requestContext, FrameworkTimingKeys.SERVER_RESPONSE_RESTLI_SERIALIZATION.key());
 
-      final RestResponse restResponse = ResponseUtils.buildResponse(_routingResult, restLiResponse);
+      final RestResponse restResponse =
+          ResponseUtils.buildResponse(_routingResult, restLiResponse, _useSchemaDrivenEncoding);
 
       TimingContextUtil.endTiming(requestContext, FrameworkTimingKeys.SERVER_RESPONSE_RESTLI_SERIALIZATION.key());
       return restResponse;
@@ -30,6 +30,7 @@ import com.linkedin.restli.internal.server.RoutingResult;
 import com.linkedin.restli.internal.server.ServerResourceContext;
 import com.linkedin.restli.internal.server.model.ResourceModel;
 import com.linkedin.restli.internal.server.response.ErrorResponseBuilder;
+import com.linkedin.restli.internal.server.response.ReactiveCollectionElements;
 import com.linkedin.restli.internal.server.response.RestLiResponse;
 import com.linkedin.restli.internal.server.response.RestLiResponseException;
 import com.linkedin.restli.internal.server.response.ResponseUtils;
@@ -197,7 +198,13 @@ class StreamRestLiServer extends BaseRestLiServer implements StreamRequestHandle
       Callback<StreamResponse> callback)
   {
     handleStructuredDataResourceRequest(request, routingResult, callback,
-        respContentType -> toRestLiResponseCallback(callback, routingResult, respContentType),
+        respContentType -> {
+          // Only this path encodes the response with a stream codec, so only it can stream collection elements, and
+          // only if the codec can encode a streamed field. Otherwise the elements are collected first.
+          routingResult.getContext().setResponseElementStreamingSupported(
+              respContentType.getStreamCodec().supportsStreamedFields());
+          return toRestLiResponseCallback(callback, routingResult, respContentType);
+        },
         restRequest -> _fallback.handleResourceRequest(restRequest,
             routingResult,
             toRestResponseCallback(callback, routingResult.getContext())));
@@ -341,13 +348,20 @@ class StreamRestLiServer extends BaseRestLiServer implements StreamRequestHandle
       TimingContextUtil.beginTiming(requestContext, FrameworkTimingKeys.SERVER_RESPONSE_RESTLI_SERIALIZATION.key());
 
       EntityStream<ByteString> entityStream;
+      ReactiveCollectionElements elements = _routingResult.getContext().getResponseElements();
       if (restLiResponse.hasData())
       {
         responseBuilder.setHeader(RestConstants.HEADER_CONTENT_TYPE, _contentType.getHeaderKey());
-        entityStream = _contentType.getStreamCodec().encodeMap(restLiResponse.getDataMap());
+        entityStream = elements == null
+            ? _contentType.getStreamCodec().encodeMap(restLiResponse.getDataMap())
+            : elements.encode(_contentType.getStreamCodec(), restLiResponse.getDataMap());
       }
       else
       {
+        if (elements != null)
+        {
+          elements.cancel();
+        }
         entityStream = EntityStreams.emptyStream();
       }
 
@@ -360,6 +374,12 @@ class StreamRestLiServer extends BaseRestLiServer implements StreamRequestHandle
     @Override
     protected Throwable convertError(Throwable e)
     {
+      ReactiveCollectionElements elements = _routingResult.getContext().getResponseElements();
+      if (elements != null)
+      {
+        elements.cancel();
+      }
+
       if (e instanceof RestLiResponseException)
       {
         final RequestContext requestContext = _routingResult.getContext().getRawRequestContext();
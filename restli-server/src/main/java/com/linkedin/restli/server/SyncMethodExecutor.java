@@ -0,0 +1,242 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server;
+
+import com.linkedin.r2.util.NamedThreadFactory;
+import com.linkedin.restli.internal.server.VirtualThreadPinningMonitor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Executes synchronous resource methods configured with
+ * {@link com.linkedin.restli.server.config.SyncMethodExecutionMode#VIRTUAL_THREAD}.
+ *
+ * On JDK 21 and above, {@link #create()} starts a new virtual thread per method invocation. On older JDKs it falls
+ * back to a bounded pool of platform threads, which still keeps blocking resource methods off the server's
+ * I/O threads. Invocations that cannot be accepted are failed by the caller with a 503.
+ *
+ * The threads created by {@link #create()} are daemon threads, and idle pool threads time out, so an executor that
+ * is never shut down neither keeps the JVM alive nor holds on to threads. Executors given to a server through
+ * {@link RestLiConfig#setSyncMethodExecutor(SyncMethodExecutor)} are owned by the caller, who should
+ * {@link #shutdown()} them once the server stops.
+ */
+public class SyncMethodExecutor implements Executor
+{
+  private static final Logger LOG = LoggerFactory.getLogger(SyncMethodExecutor.class);
+
+  public static final int DEFAULT_MAX_PLATFORM_THREADS = 200;
+  public static final int DEFAULT_PLATFORM_QUEUE_SIZE = 1000;
+  private static final long PLATFORM_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  private final ExecutorService _executorService;
+  private final boolean _virtual;
+  private final AtomicInteger _active = new AtomicInteger();
+  private final LongAdder _completed = new LongAdder();
+  private final LongAdder _rejected = new LongAdder();
+  private volatile VirtualThreadPinningMonitor _pinningMonitor;
+
+  /**
+   * @param executorService executor to run the resource methods on.
+   * @param virtual whether the executor runs each task on its own virtual thread.
+   */
+  public SyncMethodExecutor(ExecutorService executorService, boolean virtual)
+  {
+    _executorService = executorService;
+    _virtual = virtual;
+  }
+
+  /**
+   * Creates an executor with virtual threads if they are supported, or with a pool of at most
+   * {@value #DEFAULT_MAX_PLATFORM_THREADS} platform threads otherwise.
+   */
+  public static SyncMethodExecutor create()
+  {
+    return create(DEFAULT_MAX_PLATFORM_THREADS, DEFAULT_PLATFORM_QUEUE_SIZE);
+  }
+
+  /**
+   * Creates an executor with virtual threads if they are supported, or with a bounded pool of platform threads
+   * otherwise.
+   *
+   * @param maxPlatformThreads maximum number of threads of the fallback pool.
+   * @param platformQueueSize maximum number of invocations queued up in the fallback pool.
+   */
+  public static SyncMethodExecutor create(int maxPlatformThreads, int platformQueueSize)
+  {
+    ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+    if (virtualThreadExecutor != null)
+    {
+      return new SyncMethodExecutor(virtualThreadExecutor, true);
+    }
+
+    ThreadFactory namedThreadFactory = new NamedThreadFactory("Rest.li Sync Resource Method");
+    ThreadFactory threadFactory = runnable ->
+    {
+      // Like virtual threads, the pool threads must not keep the JVM alive if the executor is never shut down.
+      Thread thread = namedThreadFactory.newThread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    };
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(maxPlatformThreads, maxPlatformThreads,
+        PLATFORM_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(platformQueueSize),
+        threadFactory);
+    pool.allowCoreThreadTimeOut(true);
+    return new SyncMethodExecutor(pool, false);
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor()
+  {
+    try
+    {
+      // Looked up reflectively since the code is compiled for older JDKs.
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    }
+    catch (NoSuchMethodException e)
+    {
+      LOG.info("Virtual threads are not supported by this JVM, falling back to platform threads");
+      return null;
+    }
+    catch (ReflectiveOperationException | RuntimeException e)
+    {
+      // Virtual threads are a preview feature on JDK 19 and 20 and fail unless preview features are enabled.
+      LOG.info("Virtual threads are not available in this JVM, falling back to platform threads", e);
+      return null;
+    }
+  }
+
+  /**
+   * @throws RejectedExecutionException if the task cannot be accepted.
+   */
+  @Override
+  public void execute(Runnable task)
+  {
+    try
+    {
+      _executorService.execute(() -> {
+        _active.incrementAndGet();
+        try
+        {
+          task.run();
+        }
+        finally
+        {
+          _active.decrementAndGet();
+          _completed.increment();
+        }
+      });
+    }
+    catch (RejectedExecutionException e)
+    {
+      _rejected.increment();
+      throw e;
+    }
+  }
+
+  /**
+   * Starts counting the times virtual threads block while pinned to their carrier thread, which is reported through
+   * {@link #getPinnedCount()} and {@link #getPinnedDurationNano()}. Pinning is monitored through JFR for the whole
+   * JVM, not only for the threads of this executor.
+   *
+   * @param threshold minimum pinned duration to count.
+   * @return true if monitoring is active, false if this executor does not use virtual threads or JFR event streaming
+   *         is not available.
+   */
+  public synchronized boolean enablePinningMonitor(Duration threshold)
+  {
+    if (_virtual && _pinningMonitor == null)
+    {
+      _pinningMonitor = VirtualThreadPinningMonitor.start(threshold);
+    }
+    return _pinningMonitor != null;
+  }
+
+  /**
+   * @return whether resource methods are run on virtual threads.
+   */
+  public boolean isVirtual()
+  {
+    return _virtual;
+  }
+
+  /**
+   * @return the number of resource methods currently running.
+   */
+  public int getActiveCount()
+  {
+    return _active.get();
+  }
+
+  /**
+   * @return the number of resource methods that finished running.
+   */
+  public long getCompletedCount()
+  {
+    return _completed.sum();
+  }
+
+  /**
+   * @return the number of resource methods that could not be scheduled.
+   */
+  public long getRejectedCount()
+  {
+    return _rejected.sum();
+  }
+
+  /**
+   * @return the number of times a virtual thread blocked while pinned to its carrier thread, or -1 if pinning is
+   *         not being monitored.
+   */
+  public long getPinnedCount()
+  {
+    VirtualThreadPinningMonitor monitor = _pinningMonitor;
+    return monitor == null ? -1 : monitor.getPinnedCount();
+  }
+
+  /**
+   * @return the total time virtual threads spent blocked while pinned to their carrier thread in nanoseconds, or -1
+   *         if pinning is not being monitored.
+   */
+  public long getPinnedDurationNano()
+  {
+    VirtualThreadPinningMonitor monitor = _pinningMonitor;
+    return monitor == null ? -1 : monitor.getPinnedDurationNano();
+  }
+
+  public synchronized void shutdown()
+  {
+    if (_pinningMonitor != null)
+    {
+      _pinningMonitor.stop();
+      _pinningMonitor = null;
+    }
+    _executorService.shutdown();
+  }
+}
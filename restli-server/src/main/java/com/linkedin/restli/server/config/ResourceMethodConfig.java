@@ -2,6 +2,7 @@ package com.linkedin.restli.server.config;
 
 
 import com.linkedin.restli.common.ConfigValue;
+import com.linkedin.restli.server.limiter.ConcurrencyLimiter;
 
 /**
  * Interface for rest.li resource method level configuration.
@@ -17,6 +18,22 @@ public interface ResourceMethodConfig
    */
   public ConfigValue<Long> getTimeoutMs();
 
+  /**
+   * Concurrency limiter shared by all requests to this method, or null if the method is not limited.
+   */
+  default ConcurrencyLimiter getConcurrencyLimiter()
+  {
+    return null;
+  }
+
+  /**
+   * Where this method is invoked if it is a synchronous resource method.
+   */
+  default SyncMethodExecutionMode getSyncMethodExecutionMode()
+  {
+    return SyncMethodExecutionMode.CALLER_THREAD;
+  }
+
   /**
    * Config for whether this method will need to validate query parameters.
    */
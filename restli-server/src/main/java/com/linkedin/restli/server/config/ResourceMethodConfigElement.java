@@ -3,6 +3,7 @@ package com.linkedin.restli.server.config;
 import com.linkedin.restli.common.ResourceMethod;
 import com.linkedin.restli.server.config.ResourceMethodKeyParser.RestResourceContext;
 import com.linkedin.restli.server.config.ResourceMethodKeyParser.OperationContext;
+import com.linkedin.restli.server.limiter.ConcurrencyLimitSpec;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -164,6 +165,11 @@ class ResourceMethodConfigElement implements Comparable<ResourceMethodConfigElem
       switch(property) {
         case "timeoutMs":
           return ConfigValueCoercers.LONG.apply(value);
+        case "concurrencyLimit":
+          return ConcurrencyLimitSpec.parse(value);
+        case "syncMethodExecutionMode":
+          return value instanceof SyncMethodExecutionMode ? value
+              : SyncMethodExecutionMode.valueOf(((String) value).trim().toUpperCase());
         default:
           throw new ResourceMethodConfigParsingException("Invalid method-level config property: " + property);
       }
@@ -1,6 +1,7 @@
 package com.linkedin.restli.server.config;
 
 import com.linkedin.restli.common.ConfigValue;
+import com.linkedin.restli.server.limiter.ConcurrencyLimiter;
 
 import java.util.Objects;
 
@@ -13,12 +14,22 @@ import java.util.Objects;
 public class ResourceMethodConfigImpl implements ResourceMethodConfig
 {
   private final ConfigValue<Long> _timeoutMs;
+  private final ConcurrencyLimiter _concurrencyLimiter;
+  private final SyncMethodExecutionMode _syncMethodExecutionMode;
   private boolean _validateQueryParams;
   private boolean _validateResourceKeys;
 
   public ResourceMethodConfigImpl(ConfigValue<Long> timeoutMs, boolean validateQueryParams, boolean validateResourceKeys)
+  {
+    this(timeoutMs, null, SyncMethodExecutionMode.CALLER_THREAD, validateQueryParams, validateResourceKeys);
+  }
+
+  public ResourceMethodConfigImpl(ConfigValue<Long> timeoutMs, ConcurrencyLimiter concurrencyLimiter,
+      SyncMethodExecutionMode syncMethodExecutionMode, boolean validateQueryParams, boolean validateResourceKeys)
   {
     _timeoutMs = timeoutMs;
+    _concurrencyLimiter = concurrencyLimiter;
+    _syncMethodExecutionMode = syncMethodExecutionMode;
     _validateQueryParams = validateQueryParams;
     _validateResourceKeys = validateResourceKeys;
   }
@@ -28,6 +39,18 @@ public class ResourceMethodConfigImpl implements ResourceMethodConfig
     return _timeoutMs;
   }
 
+  @Override
+  public ConcurrencyLimiter getConcurrencyLimiter()
+  {
+    return _concurrencyLimiter;
+  }
+
+  @Override
+  public SyncMethodExecutionMode getSyncMethodExecutionMode()
+  {
+    return _syncMethodExecutionMode;
+  }
+
   @Override
   public boolean shouldValidateQueryParams() {
     return _validateQueryParams;
@@ -43,6 +66,8 @@ public class ResourceMethodConfigImpl implements ResourceMethodConfig
   {
     return "ResourceMethodConfigImpl{" +
           "_timeoutMs=" + _timeoutMs +
+          ", _concurrencyLimiter=" + _concurrencyLimiter +
+          ", _syncMethodExecutionMode=" + _syncMethodExecutionMode +
           ", _validateQueryParams=" + _validateQueryParams +
           ", _validateResourceKeys=" + _validateResourceKeys +
         "}";
@@ -62,13 +87,15 @@ public class ResourceMethodConfigImpl implements ResourceMethodConfig
     ResourceMethodConfigImpl that = (ResourceMethodConfigImpl) o;
     return _validateQueryParams == that._validateQueryParams && _validateResourceKeys
         == that._validateResourceKeys
-        && _timeoutMs.equals(that._timeoutMs);
+        && _timeoutMs.equals(that._timeoutMs)
+        && Objects.equals(_concurrencyLimiter, that._concurrencyLimiter)
+        && _syncMethodExecutionMode == that._syncMethodExecutionMode;
   }
 
   @Override
   public int hashCode()
   {
-    return Objects.hash(_timeoutMs, _validateQueryParams, _validateResourceKeys);
+    return Objects.hash(_timeoutMs, _concurrencyLimiter, _syncMethodExecutionMode, _validateQueryParams, _validateResourceKeys);
   }
 
   public void setValidateQueryParams(boolean validateQueryParams)
@@ -12,9 +12,19 @@ import java.util.function.Function;
 public interface ResourceMethodConfigProvider extends Function<ResourceMethodDescriptor, ResourceMethodConfig>
 {
   public static ResourceMethodConfigProvider build(RestLiMethodConfig config) {
+    return build(config, ResourceMethodConfigProviderImpl.DEFAULT_SYNC_METHOD_EXECUTION_MODE);
+  }
+
+  /**
+   * @param defaultSyncMethodExecutionMode execution mode of the synchronous methods that the given config does not
+   *                                       have an entry for.
+   */
+  public static ResourceMethodConfigProvider build(RestLiMethodConfig config,
+      SyncMethodExecutionMode defaultSyncMethodExecutionMode) {
     try {
       RestLiMethodConfigBuilder builder = new RestLiMethodConfigBuilder();
       builder.addConfig(ResourceMethodConfigProviderImpl.DEFAULT_CONFIG);
+      builder.addSyncMethodExecutionMode("*.*", defaultSyncMethodExecutionMode);
       builder.addConfig(config);
       return new ResourceMethodConfigProviderImpl(builder.build());
     }
@@ -2,6 +2,7 @@ package com.linkedin.restli.server.config;
 
 import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
 import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.limiter.ConcurrencyLimitSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,10 +24,15 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
   private static final Logger LOGGER = LoggerFactory.getLogger(ResourceMethodConfigProviderImpl.class);
 
   static final long DEFAULT_TIMEOUT = 0L;
+  static final ConcurrencyLimitSpec DEFAULT_CONCURRENCY_LIMIT = ConcurrencyLimitSpec.NONE;
+  static final SyncMethodExecutionMode DEFAULT_SYNC_METHOD_EXECUTION_MODE = SyncMethodExecutionMode.CALLER_THREAD;
 
   static final RestLiMethodConfig DEFAULT_CONFIG = createDefaultConfig();
 
   private final ResourceMethodConfigTree<Long> _timeoutMs = new ResourceMethodConfigTree<>();
+  private final ResourceMethodConfigTree<ConcurrencyLimitSpec> _concurrencyLimit = new ResourceMethodConfigTree<>();
+  private final ResourceMethodConfigTree<SyncMethodExecutionMode> _syncMethodExecutionMode =
+      new ResourceMethodConfigTree<>();
   private final ConcurrentMap<ResourceMethodConfigCacheKey, ResourceMethodConfig> _cache = new ConcurrentHashMap<>();
   private boolean _shouldValidateQueryParams;
   private boolean _shouldValidateResourceKey;
@@ -41,7 +47,9 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
 
   private void initialize(RestLiMethodConfig config) throws ResourceMethodConfigParsingException
   {
-    boolean success = initializeProperty(config.getTimeoutMsConfig(), "timeoutMs");
+    boolean success = initializeProperty(config.getTimeoutMsConfig(), "timeoutMs")
+        && initializeProperty(config.getConcurrencyLimitConfig(), "concurrencyLimit")
+        && initializeProperty(config.getSyncMethodExecutionModeConfig(), "syncMethodExecutionMode");
     if (!success)
     {
       throw new ResourceMethodConfigParsingException("Rest.li resource method level configuration parsing error!");
@@ -65,7 +73,7 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
     }
 
     // logging configuration items in priority orderCollections.sort(elements);
-    List<ResourceMethodConfigElement> elements = _timeoutMs.getConfigItemsByPriority();
+    List<ResourceMethodConfigElement> elements = getConfigTree(property).getConfigItemsByPriority();
     StringBuilder sb = new StringBuilder();
     sb.append("RestLi MethodLevel Configuration for property " + property + " sorted by priority - first match gets applied:\n");
     elements.forEach(el -> sb.append(el.getKey())
@@ -82,10 +90,22 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
     {
       // switch case is for future extension to another method-level configuration category
       case "timeoutMs": _timeoutMs.add(element); break;
+      case "concurrencyLimit": _concurrencyLimit.add(element); break;
+      case "syncMethodExecutionMode": _syncMethodExecutionMode.add(element); break;
       default: throw new ResourceMethodConfigParsingException("Unrecognized property: " + element.getProperty());
     }
   }
 
+  private ResourceMethodConfigTree<?> getConfigTree(String property)
+  {
+    switch (property)
+    {
+      case "concurrencyLimit": return _concurrencyLimit;
+      case "syncMethodExecutionMode": return _syncMethodExecutionMode;
+      default: return _timeoutMs;
+    }
+  }
+
   @Override
   public ResourceMethodConfig apply(ResourceMethodDescriptor requestMethod)
   {
@@ -95,8 +115,10 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
 
   private ResourceMethodConfig resolve(ResourceMethodConfigCacheKey cacheKey)
   {
-    return new ResourceMethodConfigImpl(_timeoutMs.resolve(cacheKey), _shouldValidateQueryParams,
-        _shouldValidateResourceKey);
+    // Each resource method gets its own limiter, even when several methods match the same configuration key.
+    return new ResourceMethodConfigImpl(_timeoutMs.resolve(cacheKey),
+        _concurrencyLimit.resolve(cacheKey).getValue().createLimiter(),
+        _syncMethodExecutionMode.resolve(cacheKey).getValue(), _shouldValidateQueryParams, _shouldValidateResourceKey);
   }
 
   /**
@@ -106,6 +128,8 @@ class ResourceMethodConfigProviderImpl implements ResourceMethodConfigProvider
   {
     RestLiMethodConfigBuilder builder = new RestLiMethodConfigBuilder();
     builder.addTimeoutMs("*.*", DEFAULT_TIMEOUT);
+    builder.addConcurrencyLimit("*.*", DEFAULT_CONCURRENCY_LIMIT.toString());
+    builder.addSyncMethodExecutionMode("*.*", DEFAULT_SYNC_METHOD_EXECUTION_MODE);
     return builder.build();
   }
 }
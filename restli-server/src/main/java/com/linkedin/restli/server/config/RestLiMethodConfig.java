@@ -1,5 +1,6 @@
 package com.linkedin.restli.server.config;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -14,6 +15,23 @@ public interface RestLiMethodConfig
    */
   public Map<String, Long> getTimeoutMsConfig();
 
+  /**
+   * method-level concurrency limit, see {@link com.linkedin.restli.server.limiter.ConcurrencyLimitSpec} for the
+   * supported values.
+   */
+  default Map<String, String> getConcurrencyLimitConfig()
+  {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * method-level execution mode of synchronous resource methods.
+   */
+  default Map<String, SyncMethodExecutionMode> getSyncMethodExecutionModeConfig()
+  {
+    return Collections.emptyMap();
+  }
+
   /**
    * Gets whether query parameter validation against its parameter data template is enabled
    */
@@ -11,6 +11,8 @@ import java.util.Map;
 public class RestLiMethodConfigBuilder
 {
   private final Map<String, Long> _timeoutMsConfig = new HashMap<>();
+  private final Map<String, String> _concurrencyLimitConfig = new HashMap<>();
+  private final Map<String, SyncMethodExecutionMode> _syncMethodExecutionModeConfig = new HashMap<>();
 
   // Whether to validate parameter in the query parameters.
   private boolean shouldValidateQueryParams = false;
@@ -30,6 +32,8 @@ public class RestLiMethodConfigBuilder
     if (config != null)
     {
       addTimeoutMsConfigMap(config.getTimeoutMsConfig());
+      addConcurrencyLimitConfigMap(config.getConcurrencyLimitConfig());
+      addSyncMethodExecutionModeConfigMap(config.getSyncMethodExecutionModeConfig());
       withShouldValidateQueryParams(config.shouldValidateQueryParams());
       withShouldValidateResourceKeys(config.shouldValidateResourceKey());
     }
@@ -37,7 +41,8 @@ public class RestLiMethodConfigBuilder
 
   public RestLiMethodConfig build()
   {
-    return new RestLiMethodConfigImpl(_timeoutMsConfig, shouldValidateQueryParams, shouldValidateResourceKeys);
+    return new RestLiMethodConfigImpl(_timeoutMsConfig, _concurrencyLimitConfig, _syncMethodExecutionModeConfig,
+        shouldValidateQueryParams, shouldValidateResourceKeys);
   }
 
   public RestLiMethodConfigBuilder withShouldValidateQueryParams(boolean shouldValidateQueryParams)
@@ -69,4 +74,52 @@ public class RestLiMethodConfigBuilder
     _timeoutMsConfig.clear();
     return this;
   }
+
+  public RestLiMethodConfigBuilder addConcurrencyLimitConfigMap(Map<String, String> config)
+  {
+    _concurrencyLimitConfig.putAll(config);
+    return this;
+  }
+
+  /**
+   * Adds a concurrency limit for the resource methods matching the given key, using the same key syntax as
+   * {@link #addTimeoutMs(String, long)}.
+   *
+   * @param value concurrency limit, see {@link com.linkedin.restli.server.limiter.ConcurrencyLimitSpec} for the
+   *              supported values.
+   */
+  public RestLiMethodConfigBuilder addConcurrencyLimit(String key, String value)
+  {
+    _concurrencyLimitConfig.put(key, value);
+    return this;
+  }
+
+  public RestLiMethodConfigBuilder addConcurrencyLimit(String key, int value)
+  {
+    return addConcurrencyLimit(key, String.valueOf(value));
+  }
+
+  public RestLiMethodConfigBuilder clearConcurrencyLimit()
+  {
+    _concurrencyLimitConfig.clear();
+    return this;
+  }
+
+  public RestLiMethodConfigBuilder addSyncMethodExecutionModeConfigMap(Map<String, SyncMethodExecutionMode> config)
+  {
+    _syncMethodExecutionModeConfig.putAll(config);
+    return this;
+  }
+
+  public RestLiMethodConfigBuilder addSyncMethodExecutionMode(String key, SyncMethodExecutionMode value)
+  {
+    _syncMethodExecutionModeConfig.put(key, value);
+    return this;
+  }
+
+  public RestLiMethodConfigBuilder clearSyncMethodExecutionMode()
+  {
+    _syncMethodExecutionModeConfig.clear();
+    return this;
+  }
 }
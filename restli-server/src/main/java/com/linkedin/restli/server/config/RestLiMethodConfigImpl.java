@@ -1,16 +1,27 @@
 package com.linkedin.restli.server.config;
 
+import java.util.Collections;
 import java.util.Map;
 
 class RestLiMethodConfigImpl implements RestLiMethodConfig
 {
   private final Map<String, Long> _timeoutMsConfig;
+  private final Map<String, String> _concurrencyLimitConfig;
+  private final Map<String, SyncMethodExecutionMode> _syncMethodExecutionModeConfig;
   private boolean _validateQueryParams;
   private boolean _validateResourceKeys;
 
   public RestLiMethodConfigImpl(Map<String, Long> timeoutMsConfig, boolean validateQueryParams,
       boolean validateResourceKeys) {
+    this(timeoutMsConfig, Collections.emptyMap(), Collections.emptyMap(), validateQueryParams, validateResourceKeys);
+  }
+
+  public RestLiMethodConfigImpl(Map<String, Long> timeoutMsConfig, Map<String, String> concurrencyLimitConfig,
+      Map<String, SyncMethodExecutionMode> syncMethodExecutionModeConfig, boolean validateQueryParams,
+      boolean validateResourceKeys) {
     _timeoutMsConfig = timeoutMsConfig;
+    _concurrencyLimitConfig = concurrencyLimitConfig;
+    _syncMethodExecutionModeConfig = syncMethodExecutionModeConfig;
     _validateQueryParams = validateQueryParams;
     _validateResourceKeys = validateResourceKeys;
   }
@@ -21,6 +32,18 @@ class RestLiMethodConfigImpl implements RestLiMethodConfig
     return _timeoutMsConfig;
   }
 
+  @Override
+  public Map<String, String> getConcurrencyLimitConfig()
+  {
+    return _concurrencyLimitConfig;
+  }
+
+  @Override
+  public Map<String, SyncMethodExecutionMode> getSyncMethodExecutionModeConfig()
+  {
+    return _syncMethodExecutionModeConfig;
+  }
+
   @Override
   public boolean shouldValidateQueryParams()
   {
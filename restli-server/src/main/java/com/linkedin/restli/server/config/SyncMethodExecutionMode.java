@@ -0,0 +1,36 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.config;
+
+/**
+ * Where synchronous resource methods, i.e. methods that neither take a callback nor return a ParSeq
+ * {@link com.linkedin.parseq.Task} or {@link com.linkedin.parseq.promise.Promise}, are invoked.
+ */
+public enum SyncMethodExecutionMode
+{
+  /**
+   * Invoke the method on the thread that dispatched the request. This is the default.
+   */
+  CALLER_THREAD,
+
+  /**
+   * Invoke the method on a {@link com.linkedin.restli.server.SyncMethodExecutor}, which starts a new virtual thread
+   * per method invocation on JDK 21 and above, and falls back to a bounded pool of platform threads otherwise. This
+   * lets blocking resource methods run without tying up the server's I/O threads.
+   */
+  VIRTUAL_THREAD
+}
@@ -0,0 +1,107 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Base class for {@link ConcurrencyLimiter} implementations, which keeps track of the in-flight requests and leaves
+ * the computation of the limit to subclasses.
+ */
+public abstract class AbstractConcurrencyLimiter implements ConcurrencyLimiter
+{
+  private final AtomicInteger _inflight = new AtomicInteger();
+  private final LongAdder _rejected = new LongAdder();
+  // Guards the updates of the limit, which is read without locking by tryAcquire.
+  private final Object _limitLock = new Object();
+  private volatile int _limit;
+
+  protected AbstractConcurrencyLimiter(int initialLimit)
+  {
+    if (initialLimit <= 0)
+    {
+      throw new IllegalArgumentException("Concurrency limit must be positive: " + initialLimit);
+    }
+    _limit = initialLimit;
+  }
+
+  @Override
+  public boolean tryAcquire()
+  {
+    while (true)
+    {
+      int inflight = _inflight.get();
+      if (inflight >= _limit)
+      {
+        _rejected.increment();
+        return false;
+      }
+      if (_inflight.compareAndSet(inflight, inflight + 1))
+      {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public void release(long latencyNanos, boolean dropped)
+  {
+    int inflight = _inflight.getAndDecrement();
+    synchronized (_limitLock)
+    {
+      _limit = computeLimit(_limit, inflight, latencyNanos, dropped);
+    }
+  }
+
+  /**
+   * Computes the new limit after a request completes. Calls are serialized, so the limit passed in is the one
+   * returned by the previous call.
+   *
+   * @param limit the current limit.
+   * @param inflight the number of in-flight requests, including the completed one.
+   * @param latencyNanos latency of the completed request, in nanoseconds.
+   * @param dropped whether the completed request was dropped.
+   * @return the new limit, which must be positive.
+   */
+  protected abstract int computeLimit(int limit, int inflight, long latencyNanos, boolean dropped);
+
+  @Override
+  public int getLimit()
+  {
+    return _limit;
+  }
+
+  @Override
+  public int getInflight()
+  {
+    return _inflight.get();
+  }
+
+  @Override
+  public long getRejectedCount()
+  {
+    return _rejected.sum();
+  }
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "{_limit=" + _limit + ", _inflight=" + _inflight.get() + "}";
+  }
+}
@@ -0,0 +1,215 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.Objects;
+
+
+/**
+ * Parsed form of a method-level concurrency limit configuration value. Supported values are:
+ * <ul>
+ *   <li>{@code none} or {@code 0}: no limit.</li>
+ *   <li>{@code <n>} or {@code fixed:<n>}: a {@link FixedConcurrencyLimiter} allowing {@code n} requests in flight.</li>
+ *   <li>{@code gradient[:<initial>[:<max>]]}: a {@link GradientConcurrencyLimiter}.</li>
+ *   <li>{@code vegas[:<initial>[:<max>]]}: a {@link VegasConcurrencyLimiter}.</li>
+ * </ul>
+ * Adaptive limits start at {@value #DEFAULT_INITIAL_LIMIT} and are capped at {@value #DEFAULT_MAX_LIMIT} unless
+ * specified otherwise.
+ */
+public final class ConcurrencyLimitSpec
+{
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MAX_LIMIT = 1000;
+  public static final ConcurrencyLimitSpec NONE = new ConcurrencyLimitSpec(Type.NONE, 0, 0);
+
+  private static final int MIN_LIMIT = 1;
+
+  public enum Type
+  {
+    NONE,
+    FIXED,
+    GRADIENT,
+    VEGAS
+  }
+
+  private final Type _type;
+  private final int _initialLimit;
+  private final int _maxLimit;
+
+  private ConcurrencyLimitSpec(Type type, int initialLimit, int maxLimit)
+  {
+    _type = type;
+    _initialLimit = initialLimit;
+    _maxLimit = maxLimit;
+  }
+
+  public static ConcurrencyLimitSpec fixed(int limit)
+  {
+    if (limit < 0)
+    {
+      throw new IllegalArgumentException("Concurrency limit must not be negative: " + limit);
+    }
+    return limit == 0 ? NONE : new ConcurrencyLimitSpec(Type.FIXED, limit, limit);
+  }
+
+  public static ConcurrencyLimitSpec gradient(int initialLimit, int maxLimit)
+  {
+    return adaptive(Type.GRADIENT, initialLimit, maxLimit);
+  }
+
+  public static ConcurrencyLimitSpec vegas(int initialLimit, int maxLimit)
+  {
+    return adaptive(Type.VEGAS, initialLimit, maxLimit);
+  }
+
+  private static ConcurrencyLimitSpec adaptive(Type type, int initialLimit, int maxLimit)
+  {
+    if (initialLimit < MIN_LIMIT || maxLimit < initialLimit)
+    {
+      throw new IllegalArgumentException(
+          "Invalid adaptive concurrency limit, initial: " + initialLimit + ", max: " + maxLimit);
+    }
+    return new ConcurrencyLimitSpec(type, initialLimit, maxLimit);
+  }
+
+  /**
+   * Parses a concurrency limit configuration value.
+   *
+   * @param value either a number or a string in one of the formats described in the class documentation.
+   * @throws IllegalArgumentException if the value cannot be parsed.
+   */
+  public static ConcurrencyLimitSpec parse(Object value)
+  {
+    if (value instanceof ConcurrencyLimitSpec)
+    {
+      return (ConcurrencyLimitSpec) value;
+    }
+    if (value instanceof Integer || value instanceof Long || value instanceof Short)
+    {
+      return fixed(Math.toIntExact(((Number) value).longValue()));
+    }
+    if (!(value instanceof String))
+    {
+      throw new IllegalArgumentException("Invalid concurrency limit: " + value);
+    }
+
+    String[] parts = ((String) value).trim().toLowerCase().split(":", -1);
+    try
+    {
+      switch (parts[0])
+      {
+        case "none":
+          checkArgumentCount(value, parts, 0);
+          return NONE;
+        case "fixed":
+          checkArgumentCount(value, parts, 1);
+          return fixed(Integer.parseInt(parts[1].trim()));
+        case "gradient":
+        case "vegas":
+          checkArgumentCount(value, parts, 2);
+          int initialLimit = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : DEFAULT_INITIAL_LIMIT;
+          int maxLimit = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : Math.max(DEFAULT_MAX_LIMIT, initialLimit);
+          return "gradient".equals(parts[0]) ? gradient(initialLimit, maxLimit) : vegas(initialLimit, maxLimit);
+        default:
+          checkArgumentCount(value, parts, 0);
+          return fixed(Integer.parseInt(parts[0]));
+      }
+    }
+    catch (NumberFormatException e)
+    {
+      throw new IllegalArgumentException("Invalid concurrency limit: " + value, e);
+    }
+  }
+
+  private static void checkArgumentCount(Object value, String[] parts, int maxArguments)
+  {
+    if (parts.length - 1 > maxArguments || ("fixed".equals(parts[0]) && parts.length != 2))
+    {
+      throw new IllegalArgumentException("Invalid concurrency limit: " + value);
+    }
+  }
+
+  public Type getType()
+  {
+    return _type;
+  }
+
+  public int getInitialLimit()
+  {
+    return _initialLimit;
+  }
+
+  public int getMaxLimit()
+  {
+    return _maxLimit;
+  }
+
+  /**
+   * Creates a new limiter for this spec. Each resource method should get its own limiter.
+   *
+   * @return the new limiter, or null if this spec does not impose any limit.
+   */
+  public ConcurrencyLimiter createLimiter()
+  {
+    switch (_type)
+    {
+      case FIXED:
+        return new FixedConcurrencyLimiter(_initialLimit);
+      case GRADIENT:
+        return new GradientConcurrencyLimiter(_initialLimit, MIN_LIMIT, _maxLimit);
+      case VEGAS:
+        return new VegasConcurrencyLimiter(_initialLimit, MIN_LIMIT, _maxLimit);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    switch (_type)
+    {
+      case NONE:
+        return "none";
+      case FIXED:
+        return "fixed:" + _initialLimit;
+      default:
+        return _type.name().toLowerCase() + ":" + _initialLimit + ":" + _maxLimit;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o)
+    {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass())
+    {
+      return false;
+    }
+    ConcurrencyLimitSpec that = (ConcurrencyLimitSpec) o;
+    return _initialLimit == that._initialLimit && _maxLimit == that._maxLimit && _type == that._type;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(_type, _initialLimit, _maxLimit);
+  }
+}
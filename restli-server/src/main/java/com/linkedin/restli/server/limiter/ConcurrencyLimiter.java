@@ -0,0 +1,56 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * Limits the number of requests a single resource method may have in flight at any time.
+ *
+ * Every successful {@link #tryAcquire()} must be paired with exactly one {@link #release(long, boolean)} once the
+ * request completes. Implementations may use the reported latency to adjust the limit over time.
+ */
+public interface ConcurrencyLimiter
+{
+  /**
+   * Attempts to reserve a slot for a new request.
+   *
+   * @return true if the request may proceed, false if it should be rejected.
+   */
+  boolean tryAcquire();
+
+  /**
+   * Releases a slot previously reserved with {@link #tryAcquire()}.
+   *
+   * @param latencyNanos time the request spent in flight, in nanoseconds.
+   * @param dropped whether the request was dropped, e.g. because it timed out, which is treated as a sign of overload.
+   */
+  void release(long latencyNanos, boolean dropped);
+
+  /**
+   * @return the current concurrency limit.
+   */
+  int getLimit();
+
+  /**
+   * @return the number of requests currently in flight.
+   */
+  int getInflight();
+
+  /**
+   * @return the number of requests rejected so far because the limit was reached.
+   */
+  long getRejectedCount();
+}
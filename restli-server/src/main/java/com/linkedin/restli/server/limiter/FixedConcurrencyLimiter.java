@@ -0,0 +1,34 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * A {@link ConcurrencyLimiter} with a static limit.
+ */
+public class FixedConcurrencyLimiter extends AbstractConcurrencyLimiter
+{
+  public FixedConcurrencyLimiter(int limit)
+  {
+    super(limit);
+  }
+
+  @Override
+  protected int computeLimit(int limit, int inflight, long latencyNanos, boolean dropped)
+  {
+    return limit;
+  }
+}
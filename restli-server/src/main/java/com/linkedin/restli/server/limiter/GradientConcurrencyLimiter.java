@@ -0,0 +1,115 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * An adaptive {@link ConcurrencyLimiter} that compares the latency of recent requests with a long term average
+ * and scales the limit by their ratio. When recent latency grows beyond the long term average, which happens once
+ * requests start queueing up, the limit shrinks; otherwise it grows by a queue allowance of the square root of the
+ * current limit.
+ *
+ * The gradient is bounded to [0.5, 1.0] so that a single slow request cannot collapse the limit, and new limits
+ * are smoothed with the previous one.
+ */
+public class GradientConcurrencyLimiter extends AbstractConcurrencyLimiter
+{
+  private static final double DEFAULT_TOLERANCE = 1.5;
+  private static final double DEFAULT_SMOOTHING = 0.2;
+  private static final int DEFAULT_LONG_WINDOW = 600;
+  private static final double SHORT_WINDOW_FACTOR = 0.5;
+  private static final double MIN_GRADIENT = 0.5;
+
+  private final int _minLimit;
+  private final int _maxLimit;
+  private final double _tolerance;
+  private final double _smoothing;
+  private final double _longWindowFactor;
+
+  private double _shortRttNanos;
+  private double _longRttNanos;
+  private double _estimatedLimit;
+
+  public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit)
+  {
+    this(initialLimit, minLimit, maxLimit, DEFAULT_TOLERANCE, DEFAULT_SMOOTHING, DEFAULT_LONG_WINDOW);
+  }
+
+  /**
+   * @param initialLimit limit to start with before any latency has been observed.
+   * @param minLimit lower bound of the limit.
+   * @param maxLimit upper bound of the limit.
+   * @param tolerance how much recent latency may exceed the long term average before the limit shrinks.
+   * @param smoothing weight of a newly computed limit relative to the previous one, in (0, 1].
+   * @param longWindow number of samples the long term latency average is computed over.
+   */
+  public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+      int longWindow)
+  {
+    super(initialLimit);
+    if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+    {
+      throw new IllegalArgumentException(
+          "Invalid limits, initial: " + initialLimit + ", min: " + minLimit + ", max: " + maxLimit);
+    }
+    if (tolerance < 1.0 || smoothing <= 0.0 || smoothing > 1.0 || longWindow <= 0)
+    {
+      throw new IllegalArgumentException(
+          "Invalid parameters, tolerance: " + tolerance + ", smoothing: " + smoothing + ", long window: " + longWindow);
+    }
+    _minLimit = minLimit;
+    _maxLimit = maxLimit;
+    _tolerance = tolerance;
+    _smoothing = smoothing;
+    _longWindowFactor = 2.0 / (longWindow + 1);
+    _estimatedLimit = initialLimit;
+  }
+
+  @Override
+  protected synchronized int computeLimit(int limit, int inflight, long latencyNanos, boolean dropped)
+  {
+    if (latencyNanos <= 0 && !dropped)
+    {
+      return limit;
+    }
+
+    if (_longRttNanos == 0)
+    {
+      _shortRttNanos = latencyNanos;
+      _longRttNanos = latencyNanos;
+    }
+    else
+    {
+      _shortRttNanos += (latencyNanos - _shortRttNanos) * SHORT_WINDOW_FACTOR;
+      _longRttNanos += (latencyNanos - _longRttNanos) * _longWindowFactor;
+    }
+
+    // When the server is far below its limit the latency says nothing about the capacity, so don't let the limit
+    // grow without bounds while it is not being exercised.
+    if (!dropped && inflight < _estimatedLimit / 2)
+    {
+      return limit;
+    }
+
+    double gradient = dropped ? MIN_GRADIENT
+        : Math.max(MIN_GRADIENT, Math.min(1.0, _tolerance * _longRttNanos / _shortRttNanos));
+    double queueSize = dropped ? 0 : Math.sqrt(_estimatedLimit);
+    double newLimit = _estimatedLimit * gradient + queueSize;
+    newLimit = _estimatedLimit * (1 - _smoothing) + newLimit * _smoothing;
+    _estimatedLimit = Math.max(_minLimit, Math.min(_maxLimit, newLimit));
+    return (int) _estimatedLimit;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+/**
+ * An adaptive {@link ConcurrencyLimiter} modeled after TCP Vegas congestion control. The smallest latency observed
+ * is taken as the latency without any queueing, from which the number of queued requests is estimated as
+ * {@code limit * (1 - minLatency / latency)}. The limit grows while that estimate is small and shrinks once it
+ * exceeds a threshold proportional to {@code log10(limit)}, and it is also reduced whenever a request is dropped.
+ */
+public class VegasConcurrencyLimiter extends AbstractConcurrencyLimiter
+{
+  private static final int ALPHA_FACTOR = 3;
+  private static final int BETA_FACTOR = 6;
+
+  private final int _minLimit;
+  private final int _maxLimit;
+
+  private long _minLatencyNanos = Long.MAX_VALUE;
+
+  /**
+   * @param initialLimit limit to start with before any latency has been observed.
+   * @param minLimit lower bound of the limit.
+   * @param maxLimit upper bound of the limit.
+   */
+  public VegasConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit)
+  {
+    super(initialLimit);
+    if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+    {
+      throw new IllegalArgumentException(
+          "Invalid limits, initial: " + initialLimit + ", min: " + minLimit + ", max: " + maxLimit);
+    }
+    _minLimit = minLimit;
+    _maxLimit = maxLimit;
+  }
+
+  @Override
+  protected synchronized int computeLimit(int limit, int inflight, long latencyNanos, boolean dropped)
+  {
+    int log10 = Math.max(1, (int) Math.log10(limit));
+    int newLimit;
+    if (dropped)
+    {
+      newLimit = limit - log10;
+    }
+    else
+    {
+      if (latencyNanos <= 0)
+      {
+        return limit;
+      }
+      _minLatencyNanos = Math.min(_minLatencyNanos, latencyNanos);
+
+      // Not enough load to tell anything about the capacity.
+      if (inflight * 2 < limit)
+      {
+        return limit;
+      }
+
+      int queueSize = (int) Math.ceil(limit * (1 - (double) _minLatencyNanos / latencyNanos));
+      if (queueSize <= log10)
+      {
+        newLimit = limit + BETA_FACTOR * log10;
+      }
+      else if (queueSize < ALPHA_FACTOR * log10)
+      {
+        newLimit = limit + log10;
+      }
+      else if (queueSize > BETA_FACTOR * log10)
+      {
+        newLimit = limit - log10;
+      }
+      else
+      {
+        newLimit = limit;
+      }
+    }
+    return Math.max(_minLimit, Math.min(_maxLimit, newLimit));
+  }
+}
@@ -17,7 +17,16 @@
 package com.linkedin.restli.internal.server.response;
 
 
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.entitystream.JacksonStreamDataCodec;
+import com.linkedin.entitystream.EntityStream;
+import com.linkedin.entitystream.EntityStreams;
+import com.linkedin.entitystream.WriteHandle;
+import com.linkedin.entitystream.Writer;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.testng.Assert;
@@ -33,6 +42,7 @@ public class ResponseBuilderUtil
   private static final String KEY2_UPPER = "KEY2";
   private static final String VALUE1 = "value1";
   private static final String VALUE2 = "value2";
+  private static final int JSON_BUFFER_SIZE = 16;
 
   /**
    * Gets the prototype HTTP headers.
@@ -64,4 +74,59 @@ public class ResponseBuilderUtil
       Assert.assertEquals(response.getHeader(key.toLowerCase()), headers.get(key));
     }
   }
+
+  /**
+   * Creates an element stream for a {@link com.linkedin.restli.server.ReactiveCollectionResult}, which writes the
+   * given elements whenever its reader requests them.
+   *
+   * @param elements Elements to write
+   * @return Stream of the elements
+   */
+  public static <T> EntityStream<T> elementStream(List<T> elements)
+  {
+    return EntityStreams.newEntityStream(new Writer<T>()
+    {
+      private final Iterator<T> _iterator = elements.iterator();
+      private WriteHandle<? super T> _writeHandle;
+
+      @Override
+      public void onInit(WriteHandle<? super T> wh)
+      {
+        _writeHandle = wh;
+      }
+
+      @Override
+      public void onWritePossible()
+      {
+        while (_writeHandle.remaining() > 0)
+        {
+          if (_iterator.hasNext())
+          {
+            _writeHandle.write(_iterator.next());
+          }
+          else
+          {
+            _writeHandle.done();
+            return;
+          }
+        }
+      }
+
+      @Override
+      public void onAbort(Throwable e)
+      {
+      }
+    });
+  }
+
+  /**
+   * Decodes a JSON encoded response entity.
+   *
+   * @param entityStream Entity of the response
+   * @return The decoded entity
+   */
+  public static DataMap decodeJson(EntityStream<ByteString> entityStream) throws Exception
+  {
+    return new JacksonStreamDataCodec(JSON_BUFFER_SIZE).decodeMap(entityStream).toCompletableFuture().get();
+  }
 }
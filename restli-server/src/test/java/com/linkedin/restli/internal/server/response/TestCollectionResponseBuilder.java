@@ -18,6 +18,7 @@ package com.linkedin.restli.internal.server.response;
 
 
 import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.entitystream.JacksonStreamDataCodec;
 import com.linkedin.data.schema.PathSpec;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.transform.filter.request.MaskOperation;
@@ -29,13 +30,20 @@ import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestRequestBuilder;
 import com.linkedin.restli.common.CollectionMetadata;
 import com.linkedin.restli.common.CollectionResponse;
+import com.linkedin.restli.common.Link;
 import com.linkedin.restli.common.LinkArray;
 import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.common.AllProtocolVersions;
+import com.linkedin.restli.internal.server.PathKeysImpl;
+import com.linkedin.restli.internal.server.ResourceContextImpl;
 import com.linkedin.restli.internal.server.RoutingResult;
 import com.linkedin.restli.internal.server.ServerResourceContext;
 import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
 import com.linkedin.restli.server.CollectionResult;
+import com.linkedin.restli.server.CollectionResult.PageIncrement;
 import com.linkedin.restli.server.ProjectionMode;
+import com.linkedin.restli.server.ReactiveCollectionResult;
 import com.linkedin.restli.server.RestLiResponseData;
 import com.linkedin.restli.server.RestLiServiceException;
 
@@ -288,6 +296,79 @@ public class TestCollectionResponseBuilder
     }
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public <D extends RestLiResponseData<? extends CollectionResponseEnvelope>> void testReactiveCollectionResult()
+      throws Exception
+  {
+    for (Map.Entry<ResourceMethod, CollectionResponseBuilder<?>> entry : BUILDERS.entrySet())
+    {
+      RestRequest request = new RestRequestBuilder(new URI("/?q=finder&start=0&count=2"))
+          .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION, AllProtocolVersions.LATEST_PROTOCOL_VERSION.toString())
+          .build();
+      ServerResourceContext context = new ResourceContextImpl(new PathKeysImpl(), request, new RequestContext());
+      context.setResponseElementStreamingSupported(true);
+      ResourceMethodDescriptor descriptor = EasyMock.createNiceMock(ResourceMethodDescriptor.class);
+      EasyMock.expect(descriptor.getParametersWithType(EasyMock.anyObject())).andReturn(Collections.emptyList()).anyTimes();
+      EasyMock.replay(descriptor);
+      RoutingResult routingResult = new RoutingResult(context, descriptor);
+
+      List<Foo> elements = generateTestList();
+      Foo metadata = new Foo().setStringField("metadata");
+      ReactiveCollectionResult<Foo, Foo> result = new ReactiveCollectionResult<>(
+          ResponseBuilderUtil.elementStream(elements), null, metadata, PageIncrement.RELATIVE);
+
+      CollectionResponseBuilder<D> responseBuilder = (CollectionResponseBuilder<D>) entry.getValue();
+      D responseData = responseBuilder.buildRestLiResponseData(request, routingResult, result, Collections.emptyMap(),
+          Collections.emptyList());
+
+      // The elements are not part of the response data, and the paging does not account for them yet.
+      Assert.assertTrue(responseData.getResponseEnvelope().getCollectionResponse().isEmpty());
+      Assert.assertTrue(responseData.getResponseEnvelope().getCollectionResponsePaging().getLinks().isEmpty());
+      Assert.assertNotNull(context.getResponseElements());
+
+      RestLiResponse response = responseBuilder.buildResponse(routingResult, responseData);
+      DataMap encoded = ResponseBuilderUtil.decodeJson(
+          context.getResponseElements().encode(new JacksonStreamDataCodec(16), response.getDataMap()));
+
+      CollectionResponse<Foo> collectionResponse = new CollectionResponse<>(encoded, Foo.class);
+      Assert.assertEquals(collectionResponse.getElements(), elements);
+      Assert.assertEquals(collectionResponse.getMetadataRaw(), metadata.data());
+
+      // The paging is rebuilt once all elements are streamed, a full page has a next link.
+      CollectionMetadata paging = collectionResponse.getPaging();
+      Assert.assertEquals(paging.getStart().intValue(), 0);
+      Assert.assertEquals(paging.getCount().intValue(), 2);
+      Assert.assertFalse(paging.hasTotal());
+      Assert.assertEquals(paging.getLinks().size(), 1);
+      Link next = paging.getLinks().get(0);
+      Assert.assertEquals(next.getRel(), "next");
+      Assert.assertEquals(next.getHref(), "/?q=finder&start=2&count=2");
+    }
+  }
+
+  @Test
+  public void testReactiveCollectionResultWithoutStreamingSupport() throws URISyntaxException
+  {
+    ServerResourceContext mockContext = EasyMock.createMock(ServerResourceContext.class);
+    EasyMock.expect(mockContext.isResponseElementStreamingSupported()).andReturn(false);
+    EasyMock.replay(mockContext);
+    RoutingResult routingResult = new RoutingResult(mockContext, getMockResourceMethodDescriptor());
+    ReactiveCollectionResult<Foo, Foo> result =
+        new ReactiveCollectionResult<>(ResponseBuilderUtil.elementStream(generateTestList()));
+
+    try
+    {
+      new FinderResponseBuilder().buildRestLiResponseData(getRestRequest(), routingResult, result,
+          Collections.emptyMap(), Collections.emptyList());
+      Assert.fail("An exception should have been thrown because the elements should have been collected first!");
+    }
+    catch (RestLiServiceException e)
+    {
+      Assert.assertTrue(e.getMessage().contains("Streaming the elements of a ReactiveCollectionResult is not supported"));
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private static ServerResourceContext getMockResourceContext(MaskTree dataMaskTree,
                                                         MaskTree metadataMaskTree,
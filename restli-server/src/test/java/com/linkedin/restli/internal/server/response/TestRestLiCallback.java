@@ -20,9 +20,11 @@ package com.linkedin.restli.internal.server.response;
 import com.linkedin.common.callback.Callback;
 import com.linkedin.data.DataMap;
 import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.r2.message.RequestContext;
 import com.linkedin.r2.message.rest.RestException;
 import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
 import com.linkedin.r2.message.rest.RestResponseBuilder;
 import com.linkedin.restli.common.CollectionMetadata;
 import com.linkedin.restli.common.HttpStatus;
@@ -30,6 +32,7 @@ import com.linkedin.restli.common.ResourceMethod;
 import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.internal.common.AllProtocolVersions;
 import com.linkedin.restli.internal.common.HeaderUtil;
+import com.linkedin.restli.internal.server.PathKeysImpl;
 import com.linkedin.restli.internal.server.ResourceContextImpl;
 import com.linkedin.restli.internal.server.ResponseType;
 import com.linkedin.restli.internal.server.RestLiCallback;
@@ -42,6 +45,9 @@ import com.linkedin.restli.internal.server.filter.FilterChainDispatcherImpl;
 import com.linkedin.restli.internal.server.filter.RestLiFilterChain;
 import com.linkedin.restli.internal.server.filter.RestLiFilterResponseContextFactory;
 import com.linkedin.restli.internal.server.methods.arguments.RestLiArgumentBuilder;
+import com.linkedin.restli.internal.testutils.RestLiTestAttachmentDataSource;
+import com.linkedin.restli.server.CollectionResult;
+import com.linkedin.restli.server.ReactiveCollectionResult;
 import com.linkedin.restli.server.RestLiResponseAttachments;
 import com.linkedin.restli.server.RestLiResponseData;
 import com.linkedin.restli.server.RestLiServiceException;
@@ -49,7 +55,9 @@ import com.linkedin.restli.server.RoutingException;
 import com.linkedin.restli.server.filter.Filter;
 import com.linkedin.restli.server.filter.FilterRequestContext;
 import com.linkedin.restli.server.filter.FilterResponseContext;
+import com.linkedin.restli.server.twitter.TwitterTestDataModels.Status;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -83,6 +91,8 @@ import static org.testng.Assert.*;
  */
 public class TestRestLiCallback
 {
+  private static final List<Status> STATUSES = Arrays.asList(new Status(), new Status());
+
   @Mock
   private RestRequest _restRequest;
   @Mock
@@ -227,6 +237,80 @@ public class TestRestLiCallback
         restLiResponse.getHeader(HeaderUtil.getErrorResponseHeaderName(Collections.emptyMap())));
   }
 
+  @Test
+  public void testOnSuccessCollectsReactiveCollectionResult() throws Exception
+  {
+    // The default context does not support streaming the elements.
+    ReactiveCollectionResult<Status, Status> result = buildReactiveCollectionResult();
+    Object collected = invokeWithReactiveCollectionResult(result);
+
+    assertTrue(collected instanceof CollectionResult);
+    assertFalse(collected instanceof ReactiveCollectionResult);
+    CollectionResult<?, ?> collectionResult = (CollectionResult<?, ?>) collected;
+    assertEquals(collectionResult.getElements(), STATUSES);
+    assertEquals(collectionResult.getTotal(), result.getTotal());
+    assertSame(collectionResult.getMetadata(), result.getMetadata());
+    assertEquals(collectionResult.getPageIncrement(), result.getPageIncrement());
+  }
+
+  @Test
+  public void testOnSuccessCollectsReactiveCollectionResultWithAttachments() throws Exception
+  {
+    RestRequest request = new RestRequestBuilder(URI.create(""))
+        .setHeader(RestConstants.HEADER_ACCEPT, RestConstants.HEADER_VALUE_MULTIPART_RELATED)
+        .build();
+    ResourceContextImpl context = new ResourceContextImpl(new PathKeysImpl(), request, new RequestContext());
+    context.setResponseElementStreamingSupported(true);
+    context.setResponseAttachments(new RestLiResponseAttachments.Builder()
+        .appendSingleAttachment(RestLiTestAttachmentDataSource.createWithRandomPayload("1"))
+        .build());
+    when(_routingResult.getContext()).thenReturn(context);
+
+    Object collected = invokeWithReactiveCollectionResult(buildReactiveCollectionResult());
+
+    assertFalse(collected instanceof ReactiveCollectionResult);
+    assertEquals(((CollectionResult<?, ?>) collected).getElements(), STATUSES);
+  }
+
+  @Test
+  public void testOnSuccessStreamsReactiveCollectionResult() throws Exception
+  {
+    ResourceContextImpl context = new ResourceContextImpl();
+    context.setResponseElementStreamingSupported(true);
+    when(_routingResult.getContext()).thenReturn(context);
+
+    ReactiveCollectionResult<Status, Status> result = buildReactiveCollectionResult();
+    assertSame(invokeWithReactiveCollectionResult(result), result);
+  }
+
+  private static ReactiveCollectionResult<Status, Status> buildReactiveCollectionResult()
+  {
+    return new ReactiveCollectionResult<>(ResponseBuilderUtil.elementStream(STATUSES), 10, new Status(),
+        CollectionResult.PageIncrement.FIXED);
+  }
+
+  /**
+   * Invokes the callback with the given result and returns the result the response data got built from.
+   */
+  @SuppressWarnings("unchecked")
+  private Object invokeWithReactiveCollectionResult(ReactiveCollectionResult<?, ?> result) throws Exception
+  {
+    RestLiResponseData<CollectionResponseEnvelope> responseData = new RestLiResponseDataImpl<>(
+        new FinderResponseEnvelope(HttpStatus.S_200_OK, Collections.emptyList(), null, null),
+        Collections.emptyMap(), Collections.emptyList());
+    RestLiResponse partialResponse = new RestLiResponse.Builder().build();
+    ArgumentCaptor<Object> resultCaptor = ArgumentCaptor.forClass(Object.class);
+    when((RestLiResponseData<CollectionResponseEnvelope>) _responseHandler.buildRestLiResponseData(
+        eq(_restRequest), eq(_routingResult), resultCaptor.capture())).thenReturn(responseData);
+    when(_responseHandler.buildPartialResponse(_routingResult, responseData)).thenReturn(partialResponse);
+
+    _noFilterRestLiCallback.onSuccess(result);
+
+    verify(_responseHandler).buildRestLiResponseData(eq(_restRequest), eq(_routingResult), any());
+    verify(_callback).onSuccess(partialResponse);
+    return resultCaptor.getValue();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void testOnErrorRestLiServiceExceptionNoFilters() throws Exception
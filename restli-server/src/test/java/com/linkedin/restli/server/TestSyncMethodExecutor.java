@@ -0,0 +1,103 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestSyncMethodExecutor
+{
+  @Test
+  public void testExecute() throws InterruptedException
+  {
+    SyncMethodExecutor executor = SyncMethodExecutor.create();
+    try
+    {
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      AtomicBoolean daemon = new AtomicBoolean();
+      executor.execute(() ->
+      {
+        daemon.set(Thread.currentThread().isDaemon());
+        started.countDown();
+        awaitQuietly(release);
+      });
+
+      Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+      // the executor is not shut down when the default one is used, so it must not keep the JVM alive
+      Assert.assertTrue(daemon.get());
+      Assert.assertEquals(executor.getActiveCount(), 1);
+      release.countDown();
+
+      long deadline = System.currentTimeMillis() + 5000;
+      while (executor.getCompletedCount() < 1 && System.currentTimeMillis() < deadline)
+      {
+        Thread.sleep(10);
+      }
+      Assert.assertEquals(executor.getCompletedCount(), 1);
+      Assert.assertEquals(executor.getActiveCount(), 0);
+      // pinning is not monitored until enabled
+      Assert.assertEquals(executor.getPinnedCount(), -1);
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testRejection() throws InterruptedException
+  {
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+    SyncMethodExecutor executor = new SyncMethodExecutor(pool, false);
+    CountDownLatch release = new CountDownLatch(1);
+    try
+    {
+      executor.execute(() -> awaitQuietly(release));
+      executor.execute(() -> awaitQuietly(release));
+      Assert.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+      Assert.assertEquals(executor.getRejectedCount(), 1);
+      Assert.assertFalse(executor.isVirtual());
+      Assert.assertFalse(executor.enablePinningMonitor(Duration.ofMillis(20)));
+    }
+    finally
+    {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch)
+  {
+    try
+    {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
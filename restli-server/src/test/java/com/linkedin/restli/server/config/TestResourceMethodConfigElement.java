@@ -1,6 +1,7 @@
 package com.linkedin.restli.server.config;
 
 import com.linkedin.restli.common.ResourceMethod;
+import com.linkedin.restli.server.limiter.ConcurrencyLimitSpec;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -67,4 +68,61 @@ public class TestResourceMethodConfigElement
                                               Object configValue) throws ResourceMethodConfigParsingException {
     ResourceMethodConfigElement.parse(property, configKey, configValue);
   }
+
+  @DataProvider
+  public Object[][] validConcurrencyLimitConfigs()
+  {
+    return new Object[][]
+        {
+          {"none", ConcurrencyLimitSpec.NONE},
+          {0, ConcurrencyLimitSpec.NONE},
+          {100, ConcurrencyLimitSpec.fixed(100)},
+          {"100", ConcurrencyLimitSpec.fixed(100)},
+          {"fixed:50", ConcurrencyLimitSpec.fixed(50)},
+          {"gradient", ConcurrencyLimitSpec.gradient(ConcurrencyLimitSpec.DEFAULT_INITIAL_LIMIT, ConcurrencyLimitSpec.DEFAULT_MAX_LIMIT)},
+          {"gradient:10", ConcurrencyLimitSpec.gradient(10, ConcurrencyLimitSpec.DEFAULT_MAX_LIMIT)},
+          {"Vegas:10:200", ConcurrencyLimitSpec.vegas(10, 200)}
+        };
+  }
+
+  @Test(dataProvider = "validConcurrencyLimitConfigs")
+  public void testValidConcurrencyLimitConfigParsing(Object configValue, ConcurrencyLimitSpec expected)
+      throws ResourceMethodConfigParsingException {
+    ResourceMethodConfigElement el = ResourceMethodConfigElement.parse("concurrencyLimit", "profile.GET", configValue);
+    assertEquals(el.getProperty(), "concurrencyLimit");
+    assertEquals(el.getValue(), expected);
+  }
+
+  @DataProvider
+  public Object[][] invalidConcurrencyLimitConfigs()
+  {
+    return new Object[][]
+        {
+          {-1},
+          {"fixed"},
+          {"fixed:10:20"},
+          {"gradient:100:10"},
+          {"vegas:0"},
+          {"adaptive"},
+          {true}
+        };
+  }
+
+  @Test(dataProvider = "invalidConcurrencyLimitConfigs", expectedExceptions = {ResourceMethodConfigParsingException.class})
+  public void testInvalidConcurrencyLimitConfigParsing(Object configValue) throws ResourceMethodConfigParsingException {
+    ResourceMethodConfigElement.parse("concurrencyLimit", "*.*", configValue);
+  }
+
+  @Test
+  public void testSyncMethodExecutionModeConfigParsing() throws ResourceMethodConfigParsingException {
+    assertEquals(ResourceMethodConfigElement.parse("syncMethodExecutionMode", "*.*", "virtual_thread").getValue(),
+        SyncMethodExecutionMode.VIRTUAL_THREAD);
+    assertEquals(ResourceMethodConfigElement.parse("syncMethodExecutionMode", "*.*", SyncMethodExecutionMode.CALLER_THREAD)
+        .getValue(), SyncMethodExecutionMode.CALLER_THREAD);
+  }
+
+  @Test(expectedExceptions = {ResourceMethodConfigParsingException.class})
+  public void testInvalidSyncMethodExecutionModeConfigParsing() throws ResourceMethodConfigParsingException {
+    ResourceMethodConfigElement.parse("syncMethodExecutionMode", "*.*", "platform");
+  }
 }
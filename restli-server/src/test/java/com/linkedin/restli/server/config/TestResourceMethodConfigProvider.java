@@ -3,6 +3,10 @@ package com.linkedin.restli.server.config;
 import com.linkedin.restli.internal.server.model.ResourceMethodDescriptor;
 import com.linkedin.restli.internal.server.model.ResourceModel;
 import com.linkedin.restli.server.PagingContext;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.limiter.ConcurrencyLimiter;
+import com.linkedin.restli.server.limiter.FixedConcurrencyLimiter;
+import com.linkedin.restli.server.limiter.VegasConcurrencyLimiter;
 import com.linkedin.restli.server.test.RestLiTestHelper;
 import com.linkedin.restli.server.twitter.StatusCollectionResource;
 import org.testng.annotations.DataProvider;
@@ -12,6 +16,9 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 import static com.linkedin.restli.server.config.ResourceMethodConfigProviderImpl.DEFAULT_TIMEOUT;
 
 public class TestResourceMethodConfigProvider
@@ -72,4 +79,73 @@ public class TestResourceMethodConfigProvider
     ResourceMethodConfig rmc = provider.apply(methodDescriptor);
     assertEquals(rmc.getTimeoutMs().getValue(), timeout);
   }
+
+  @Test
+  public void testConcurrencyLimit() throws NoSuchMethodException {
+    ResourceMethodDescriptor finder = createPublicTimelineFinder();
+
+    ResourceMethodConfig defaultConfig =
+        ResourceMethodConfigProvider.build(new RestLiMethodConfigBuilder().build()).apply(finder);
+    assertNull(defaultConfig.getConcurrencyLimiter());
+
+    ResourceMethodConfigProvider provider = ResourceMethodConfigProvider.build(new RestLiMethodConfigBuilder()
+        .addConcurrencyLimit("*.*", 100)
+        .addConcurrencyLimit("statuses.FINDER-*", "vegas:10:50")
+        .build());
+    ConcurrencyLimiter limiter = provider.apply(finder).getConcurrencyLimiter();
+    assertTrue(limiter instanceof VegasConcurrencyLimiter);
+    assertEquals(limiter.getLimit(), 10);
+    // the limiter is shared by all requests to the same method
+    assertSame(provider.apply(finder).getConcurrencyLimiter(), limiter);
+
+    provider = ResourceMethodConfigProvider.build(new RestLiMethodConfigBuilder()
+        .addConcurrencyLimit("statuses.*", 5)
+        .build());
+    limiter = provider.apply(finder).getConcurrencyLimiter();
+    assertTrue(limiter instanceof FixedConcurrencyLimiter);
+    assertEquals(limiter.getLimit(), 5);
+  }
+
+  @Test
+  public void testSyncMethodExecutionMode() throws NoSuchMethodException {
+    ResourceMethodDescriptor finder = createPublicTimelineFinder();
+
+    ResourceMethodConfigProvider provider = ResourceMethodConfigProvider.build(new RestLiMethodConfigBuilder().build());
+    assertEquals(provider.apply(finder).getSyncMethodExecutionMode(), SyncMethodExecutionMode.CALLER_THREAD);
+
+    provider = ResourceMethodConfigProvider.build(new RestLiMethodConfigBuilder()
+        .addSyncMethodExecutionMode("*.*", SyncMethodExecutionMode.VIRTUAL_THREAD)
+        .addSyncMethodExecutionMode("statuses.FINDER-public_timeline", SyncMethodExecutionMode.CALLER_THREAD)
+        .build());
+    assertEquals(provider.apply(finder).getSyncMethodExecutionMode(), SyncMethodExecutionMode.CALLER_THREAD);
+
+    RestLiConfig config = new RestLiConfig();
+    config.setSyncMethodExecutionMode(SyncMethodExecutionMode.VIRTUAL_THREAD);
+    provider = ResourceMethodConfigProvider.build(config.getMethodConfig(), config.getSyncMethodExecutionMode());
+    assertEquals(provider.apply(finder).getSyncMethodExecutionMode(), SyncMethodExecutionMode.VIRTUAL_THREAD);
+
+    // Explicit method config entries take precedence over the server-wide mode, whichever is set first.
+    config.setMethodConfig(new RestLiMethodConfigBuilder()
+        .addSyncMethodExecutionMode("*.*", SyncMethodExecutionMode.CALLER_THREAD)
+        .build());
+    config.setSyncMethodExecutionMode(SyncMethodExecutionMode.VIRTUAL_THREAD);
+    provider = ResourceMethodConfigProvider.build(config.getMethodConfig(), config.getSyncMethodExecutionMode());
+    assertEquals(provider.apply(finder).getSyncMethodExecutionMode(), SyncMethodExecutionMode.CALLER_THREAD);
+    assertEquals(config.getMethodConfig().getSyncMethodExecutionModeConfig().get("*.*"),
+        SyncMethodExecutionMode.CALLER_THREAD);
+  }
+
+  private static ResourceMethodDescriptor createPublicTimelineFinder() throws NoSuchMethodException {
+    Method method = StatusCollectionResource.class.getMethod("getPublicTimeline", PagingContext.class);
+    ResourceModel model = RestLiTestHelper.buildResourceModel(StatusCollectionResource.class);
+    ResourceMethodDescriptor methodDescriptor = ResourceMethodDescriptor.createForFinder(
+            method,
+            Collections.emptyList(),
+            "public_timeline",
+            null,
+            ResourceMethodDescriptor.InterfaceType.SYNC,
+            null);
+    model.addResourceMethodDescriptor(methodDescriptor);
+    return methodDescriptor;
+  }
 }
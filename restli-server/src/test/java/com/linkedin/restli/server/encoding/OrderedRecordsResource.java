@@ -0,0 +1,56 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.encoding;
+
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.schema.RecordDataSchema;
+import com.linkedin.data.template.DataTemplateUtil;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.restli.server.annotations.RestLiCollection;
+import com.linkedin.restli.server.resources.CollectionResourceTemplate;
+
+
+/**
+ * Returns records whose fields are put in the reverse of their schema order.
+ */
+@RestLiCollection(name = "orderedRecords")
+public class OrderedRecordsResource extends CollectionResourceTemplate<Long, OrderedRecordsResource.OrderedRecord>
+{
+  @Override
+  public OrderedRecord get(Long key)
+  {
+    DataMap data = new DataMap();
+    data.put("x", "third");
+    data.put("y", "second");
+    data.put("z", key);
+    return new OrderedRecord(data);
+  }
+
+  public static class OrderedRecord extends RecordTemplate
+  {
+    private static final RecordDataSchema SCHEMA = (RecordDataSchema) DataTemplateUtil.parseSchema(
+        "{ \"type\" : \"record\", \"name\" : \"OrderedRecord\", \"namespace\" : \"com.linkedin.restli.server.encoding\", "
+            + "\"fields\" : [ { \"name\" : \"z\", \"type\" : \"long\" }, { \"name\" : \"y\", \"type\" : \"string\" }, "
+            + "{ \"name\" : \"x\", \"type\" : \"string\" } ] }");
+
+    public OrderedRecord(DataMap map)
+    {
+      super(map, SCHEMA);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.encoding;
+
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.common.AllProtocolVersions;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.RestLiServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for {@link RestLiConfig#setUseSchemaDrivenEncoding(boolean)}.
+ */
+public class TestSchemaDrivenEncoding
+{
+  @Test
+  public void testFieldsInSchemaOrder() throws Exception
+  {
+    RestResponse response = get(buildServer(true), "/orderedRecords/1");
+    Assert.assertEquals(response.getEntity().asString(StandardCharsets.UTF_8),
+        "{\"z\":1,\"y\":\"second\",\"x\":\"third\"}");
+  }
+
+  @Test
+  public void testSameDataWithoutSchemaDrivenEncoding() throws Exception
+  {
+    DataMap withPlan = decode(get(buildServer(true), "/orderedRecords/1"));
+    DataMap withoutPlan = decode(get(buildServer(false), "/orderedRecords/1"));
+    Assert.assertEquals(withPlan, withoutPlan);
+    Assert.assertEquals(withPlan, new OrderedRecordsResource().get(1L).data());
+  }
+
+  private static RestLiServer buildServer(boolean useSchemaDrivenEncoding)
+  {
+    RestLiConfig config = new RestLiConfig();
+    config.addResourcePackageNames("com.linkedin.restli.server.encoding");
+    config.setUseSchemaDrivenEncoding(useSchemaDrivenEncoding);
+    return new RestLiServer(config);
+  }
+
+  private static RestResponse get(RestLiServer server, String uri) throws Exception
+  {
+    FutureCallback<RestResponse> callback = new FutureCallback<>();
+    server.handleRequest(new RestRequestBuilder(URI.create(uri))
+        .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION, AllProtocolVersions.LATEST_PROTOCOL_VERSION.toString())
+        .build(), new RequestContext(), callback);
+    RestResponse response = callback.get(5, TimeUnit.SECONDS);
+    Assert.assertEquals(response.getStatus(), 200);
+    return response;
+  }
+
+  private static DataMap decode(RestResponse response) throws Exception
+  {
+    return new JacksonDataCodec().bytesToMap(response.getEntity().copyBytes());
+  }
+}
@@ -0,0 +1,172 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.limiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestConcurrencyLimiters
+{
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  public void testFixedLimiter()
+  {
+    ConcurrencyLimiter limiter = new FixedConcurrencyLimiter(2);
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertTrue(limiter.tryAcquire());
+    Assert.assertFalse(limiter.tryAcquire());
+    Assert.assertEquals(limiter.getInflight(), 2);
+    Assert.assertEquals(limiter.getRejectedCount(), 1);
+
+    limiter.release(FAST, true);
+    Assert.assertEquals(limiter.getLimit(), 2);
+    Assert.assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void testGradientLimiterGrowsWithStableLatency()
+  {
+    ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 1, 100);
+    for (int i = 0; i < 50; i++)
+    {
+      saturateAndRelease(limiter, FAST, false);
+    }
+    Assert.assertTrue(limiter.getLimit() > 10, "Limit should grow, was " + limiter.getLimit());
+  }
+
+  @Test
+  public void testGradientLimiterShrinksWhenLatencyIncreases()
+  {
+    ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 1, 100);
+    for (int i = 0; i < 20; i++)
+    {
+      saturateAndRelease(limiter, FAST, false);
+    }
+    int limit = limiter.getLimit();
+    for (int i = 0; i < 20; i++)
+    {
+      saturateAndRelease(limiter, SLOW * 10, false);
+    }
+    Assert.assertTrue(limiter.getLimit() < limit, "Limit should shrink below " + limit + ", was " + limiter.getLimit());
+  }
+
+  @Test
+  public void testVegasLimiter()
+  {
+    ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(10, 1, 100);
+    saturateAndRelease(limiter, FAST, false);
+    Assert.assertTrue(limiter.getLimit() > 10, "Limit should grow, was " + limiter.getLimit());
+
+    int limit = limiter.getLimit();
+    saturateAndRelease(limiter, SLOW, false);
+    Assert.assertTrue(limiter.getLimit() < limit, "Limit should shrink below " + limit + ", was " + limiter.getLimit());
+
+    limit = limiter.getLimit();
+    saturateAndRelease(limiter, FAST, true);
+    Assert.assertTrue(limiter.getLimit() < limit, "Limit should shrink on drops below " + limit + ", was " + limiter.getLimit());
+  }
+
+  @Test
+  public void testLimitStaysWithinBounds()
+  {
+    ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(5, 2, 8);
+    for (int i = 0; i < 20; i++)
+    {
+      saturateAndRelease(limiter, FAST, true);
+    }
+    Assert.assertEquals(limiter.getLimit(), 2);
+    for (int i = 0; i < 20; i++)
+    {
+      saturateAndRelease(limiter, FAST, false);
+    }
+    Assert.assertEquals(limiter.getLimit(), 8);
+  }
+
+  @Test
+  public void testConcurrentReleasesDoNotLoseUpdates() throws Exception
+  {
+    // Grows the limit by one per release, so any lost update shows in the final limit.
+    ConcurrencyLimiter limiter = new AbstractConcurrencyLimiter(1)
+    {
+      @Override
+      protected int computeLimit(int limit, int inflight, long latencyNanos, boolean dropped)
+      {
+        // Widens the window between reading and writing the limit.
+        Thread.yield();
+        return limit + 1;
+      }
+    };
+
+    int threads = 8;
+    int releases = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try
+    {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++)
+      {
+        futures.add(executor.submit(() ->
+        {
+          start.await();
+          for (int j = 0; j < releases; j++)
+          {
+            limiter.release(FAST, false);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures)
+      {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(limiter.getLimit(), 1 + threads * releases);
+  }
+
+  /**
+   * Fills the limiter up to its current limit and then releases all the requests with the given latency, so that
+   * the limiter sees samples taken under load.
+   */
+  private static void saturateAndRelease(ConcurrencyLimiter limiter, long latencyNanos, boolean dropped)
+  {
+    int acquired = 0;
+    while (limiter.tryAcquire())
+    {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++)
+    {
+      limiter.release(latencyNanos, dropped);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.reactive;
+
+
+import com.linkedin.data.DataMap;
+import com.linkedin.restli.common.EmptyRecord;
+import com.linkedin.restli.internal.server.response.ResponseBuilderUtil;
+import com.linkedin.restli.server.CollectionResult.PageIncrement;
+import com.linkedin.restli.server.PagingContext;
+import com.linkedin.restli.server.ReactiveCollectionResult;
+import com.linkedin.restli.server.annotations.Finder;
+import com.linkedin.restli.server.annotations.PagingContextParam;
+import com.linkedin.restli.server.annotations.RestLiCollection;
+import com.linkedin.restli.server.resources.CollectionResourceTemplate;
+import com.linkedin.restli.server.twitter.TwitterTestDataModels.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Streams a page of {@link #STATUS_COUNT} statuses, without knowing the total up front.
+ */
+@RestLiCollection(name = "reactiveStatuses")
+public class ReactiveStatusesResource extends CollectionResourceTemplate<Long, Status>
+{
+  static final int STATUS_COUNT = 3;
+
+  @Finder("all")
+  public ReactiveCollectionResult<Status, EmptyRecord> findAll(@PagingContextParam PagingContext pagingContext)
+  {
+    List<Status> statuses = new ArrayList<>();
+    for (int id = pagingContext.getStart(); id < Math.min(pagingContext.getStart() + pagingContext.getCount(), STATUS_COUNT); id++)
+    {
+      statuses.add(buildStatus(id));
+    }
+    return new ReactiveCollectionResult<>(ResponseBuilderUtil.elementStream(statuses), null, new EmptyRecord(),
+        PageIncrement.RELATIVE);
+  }
+
+  static Status buildStatus(int id)
+  {
+    DataMap data = new DataMap();
+    data.put("id", id);
+    return new Status(data);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.server.reactive;
+
+
+import com.linkedin.common.callback.FutureCallback;
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.codec.JacksonDataCodec;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.stream.StreamRequestBuilder;
+import com.linkedin.r2.message.stream.StreamResponse;
+import com.linkedin.r2.message.stream.entitystream.EntityStreams;
+import com.linkedin.r2.message.stream.entitystream.FullEntityReader;
+import com.linkedin.restli.common.CollectionMetadata;
+import com.linkedin.restli.common.CollectionResponse;
+import com.linkedin.restli.common.Link;
+import com.linkedin.restli.common.RestConstants;
+import com.linkedin.restli.internal.common.AllProtocolVersions;
+import com.linkedin.restli.server.RestLiConfig;
+import com.linkedin.restli.server.RestLiServer;
+import com.linkedin.restli.server.twitter.TwitterTestDataModels.Status;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+/**
+ * Tests for finders returning a {@link com.linkedin.restli.server.ReactiveCollectionResult}, whose elements are
+ * streamed into the response by the stream codecs and collected otherwise.
+ */
+public class TestReactiveCollectionResult
+{
+  private static final String BASE_URI = "/reactiveStatuses?q=all";
+
+  @DataProvider
+  public Object[][] useStreamCodec()
+  {
+    return new Object[][] { { true }, { false } };
+  }
+
+  @Test(dataProvider = "useStreamCodec")
+  public void testFullPage(boolean useStreamCodec) throws Exception
+  {
+    RestLiServer server = buildServer(useStreamCodec);
+    String uri = BASE_URI + "&start=0&count=2";
+
+    for (DataMap response : Arrays.asList(sendRestRequest(server, uri), sendStreamRequest(server, uri)))
+    {
+      CollectionResponse<Status> collectionResponse = new CollectionResponse<>(response, Status.class);
+      Assert.assertEquals(collectionResponse.getElements(),
+          Arrays.asList(ReactiveStatusesResource.buildStatus(0), ReactiveStatusesResource.buildStatus(1)));
+
+      // A full page without a total has a next link.
+      CollectionMetadata paging = collectionResponse.getPaging();
+      Assert.assertEquals(paging.getStart().intValue(), 0);
+      Assert.assertEquals(paging.getCount().intValue(), 2);
+      Assert.assertFalse(paging.hasTotal());
+      assertLinks(paging.getLinks(), "next", BASE_URI + "&start=2&count=2");
+    }
+  }
+
+  @Test(dataProvider = "useStreamCodec")
+  public void testLastPage(boolean useStreamCodec) throws Exception
+  {
+    RestLiServer server = buildServer(useStreamCodec);
+    String uri = BASE_URI + "&start=2&count=2";
+
+    for (DataMap response : Arrays.asList(sendRestRequest(server, uri), sendStreamRequest(server, uri)))
+    {
+      CollectionResponse<Status> collectionResponse = new CollectionResponse<>(response, Status.class);
+      Assert.assertEquals(collectionResponse.getElements(),
+          Arrays.asList(ReactiveStatusesResource.buildStatus(2)));
+
+      // The last page is shorter than count, so it only links back.
+      CollectionMetadata paging = collectionResponse.getPaging();
+      Assert.assertEquals(paging.getStart().intValue(), 2);
+      Assert.assertEquals(paging.getCount().intValue(), 2);
+      assertLinks(paging.getLinks(), "prev", BASE_URI + "&start=0&count=2");
+    }
+  }
+
+  private static RestLiServer buildServer(boolean useStreamCodec)
+  {
+    RestLiConfig config = new RestLiConfig();
+    config.addResourcePackageNames("com.linkedin.restli.server.reactive");
+    config.setUseStreamCodec(useStreamCodec);
+    return new RestLiServer(config);
+  }
+
+  private static DataMap sendRestRequest(RestLiServer server, String uri) throws Exception
+  {
+    FutureCallback<RestResponse> callback = new FutureCallback<>();
+    server.handleRequest(new RestRequestBuilder(URI.create(uri))
+        .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION, AllProtocolVersions.LATEST_PROTOCOL_VERSION.toString())
+        .build(), new RequestContext(), callback);
+    RestResponse response = callback.get(5, TimeUnit.SECONDS);
+    Assert.assertEquals(response.getStatus(), 200);
+    return new JacksonDataCodec().bytesToMap(response.getEntity().copyBytes());
+  }
+
+  private static DataMap sendStreamRequest(RestLiServer server, String uri) throws Exception
+  {
+    FutureCallback<StreamResponse> callback = new FutureCallback<>();
+    server.handleRequest(new StreamRequestBuilder(URI.create(uri))
+        .setHeader(RestConstants.HEADER_RESTLI_PROTOCOL_VERSION, AllProtocolVersions.LATEST_PROTOCOL_VERSION.toString())
+        .build(EntityStreams.emptyStream()), new RequestContext(), callback);
+    StreamResponse response = callback.get(5, TimeUnit.SECONDS);
+    Assert.assertEquals(response.getStatus(), 200);
+
+    FutureCallback<ByteString> entityCallback = new FutureCallback<>();
+    response.getEntityStream().setReader(new FullEntityReader(entityCallback));
+    return new JacksonDataCodec().bytesToMap(entityCallback.get(5, TimeUnit.SECONDS).copyBytes());
+  }
+
+  private static void assertLinks(List<Link> links, String rel, String href)
+  {
+    Assert.assertEquals(links.size(), 1);
+    Assert.assertEquals(links.get(0).getRel(), rel);
+    Assert.assertEquals(links.get(0).getHref(), href);
+  }
+}
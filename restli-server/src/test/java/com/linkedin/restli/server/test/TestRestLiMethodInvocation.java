@@ -104,6 +104,8 @@ import com.linkedin.restli.server.config.ResourceMethodConfigImpl;
 import com.linkedin.restli.server.config.ResourceMethodConfigProvider;
 import com.linkedin.restli.server.config.RestLiMethodConfig;
 import com.linkedin.restli.server.config.RestLiMethodConfigBuilder;
+import com.linkedin.restli.server.config.SyncMethodExecutionMode;
+import com.linkedin.restli.server.limiter.FixedConcurrencyLimiter;
 import com.linkedin.restli.server.custom.types.CustomLong;
 import com.linkedin.restli.server.custom.types.CustomString;
 import com.linkedin.restli.server.filter.Filter;
@@ -158,6 +160,7 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 
@@ -3538,6 +3541,36 @@ public class TestRestLiMethodInvocation
             true, false, null, null);
   }
 
+  @Test
+  public void testConcurrencyLimitRejection() throws Exception
+  {
+    ResourceModel statusResourceModel = buildResourceModel(StatusCollectionResource.class);
+    ResourceMethodDescriptor methodDescriptor = statusResourceModel.findMethod(ResourceMethod.GET);
+
+    // The only slot of the limiter is already taken.
+    FixedConcurrencyLimiter limiter = new FixedConcurrencyLimiter(1);
+    Assert.assertTrue(limiter.tryAcquire());
+    ResourceMethodConfig methodConfig =
+        new ResourceMethodConfigImpl(null, limiter, SyncMethodExecutionMode.CALLER_THREAD, false, false);
+    RoutingResult routingResult = new RoutingResult(new ResourceContextImpl(), methodDescriptor, methodConfig);
+
+    Capture<Throwable> error = EasyMock.newCapture();
+    RestLiCallback callback = EasyMock.createMock(RestLiCallback.class);
+    callback.onError(EasyMock.capture(error));
+    EasyMock.expectLastCall().once();
+    // The request is rejected before its arguments are built.
+    RestLiArgumentBuilder argumentBuilder = EasyMock.createMock(RestLiArgumentBuilder.class);
+    EasyMock.replay(callback, argumentBuilder);
+
+    _invoker.invoke(null, routingResult, argumentBuilder, callback);
+
+    EasyMock.verify(callback, argumentBuilder);
+    Assert.assertTrue(error.getValue() instanceof RestLiServiceException);
+    Assert.assertEquals(((RestLiServiceException) error.getValue()).getStatus(), HttpStatus.S_429_TOO_MANY_REQUESTS);
+    Assert.assertEquals(limiter.getRejectedCount(), 1);
+    Assert.assertEquals(limiter.getInflight(), 1);
+  }
+
   @DataProvider
   public Object[][] taskMethodConfigProviders()
   {
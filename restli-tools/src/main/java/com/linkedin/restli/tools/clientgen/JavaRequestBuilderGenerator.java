@@ -244,6 +244,11 @@ public class JavaRequestBuilderGenerator extends JavaCodeGeneratorBase
     return _specGenerator;
   }
 
+  public DataSchemaResolver getSchemaResolver()
+  {
+    return _schemaResolver;
+  }
+
   public JavaDataTemplateGenerator getJavaDataTemplateGenerator()
   {
     return _javaDataTemplateGenerator;
@@ -23,6 +23,7 @@ import com.linkedin.internal.tools.ArgumentFileProcessor;
 import com.linkedin.pegasus.generator.CodeUtil;
 import com.linkedin.pegasus.generator.DefaultGeneratorResult;
 import com.linkedin.pegasus.generator.GeneratorResult;
+import com.linkedin.pegasus.generator.IncrementalFileCodeWriter;
 import com.linkedin.pegasus.generator.JavaCodeGeneratorBase;
 import com.linkedin.pegasus.generator.JavaCodeUtil;
 import com.linkedin.pegasus.generator.PegasusDataTemplateGenerator;
@@ -40,7 +41,6 @@ import java.util.List;
 
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
-import com.sun.codemodel.writer.FileCodeWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -159,8 +159,27 @@ public class RestRequestBuilderGenerator
                                     String[] sources)
       throws IOException
   {
-    final RestSpecParser parser = new RestSpecParser();
     final JavaRequestBuilderGenerator generator = new JavaRequestBuilderGenerator(resolverPath, defaultPackage, generateDataTemplates, version, deprecatedByVersion, rootPath);
+    try
+    {
+      return generate(generator, resolverPath, rootPath, generateImported, generateDataTemplates, targetDirectoryPath, sources);
+    }
+    finally
+    {
+      CodeUtil.closeSchemaResolver(generator.getSchemaResolver());
+    }
+  }
+
+  private static GeneratorResult generate(final JavaRequestBuilderGenerator generator,
+                                          String resolverPath,
+                                          String rootPath,
+                                          final boolean generateImported,
+                                          final boolean generateDataTemplates,
+                                          String targetDirectoryPath,
+                                          String[] sources)
+      throws IOException
+  {
+    final RestSpecParser parser = new RestSpecParser();
     final ClassLoader classLoader = JavaCodeUtil.classLoaderFromResolverPath(resolverPath);
 
     final RestSpecParser.ParseResult parseResult = parser.parseSources(sources);
@@ -232,11 +251,13 @@ public class RestRequestBuilderGenerator
     }
     else
     {
-      modifiedFiles = targetFiles;
       _log.info("Generating " + targetFiles.size() + " files");
       _log.debug("Files: " + targetFiles);
-      requestBuilderCodeModel.build(new FileCodeWriter(targetDirectory, true));
-      dataTemplateCodeModel.build(new FileCodeWriter(targetDirectory, true));
+      final IncrementalFileCodeWriter codeWriter = new IncrementalFileCodeWriter(targetDirectory, true);
+      requestBuilderCodeModel.build(codeWriter);
+      dataTemplateCodeModel.build(codeWriter);
+      modifiedFiles = codeWriter.getModifiedFiles();
+      _log.info("Wrote " + modifiedFiles.size() + " changed files, " + (targetFiles.size() - modifiedFiles.size()) + " files are unchanged");
     }
     return new DefaultGeneratorResult(parseResult.getSourceFiles(), targetFiles, modifiedFiles);
   }
@@ -26,9 +26,12 @@ import com.linkedin.util.FileUtil;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 /**
@@ -69,17 +72,22 @@ public class RestSpecParser
           sources = new File[]{source};
         }
 
-        for (File sourceFile : sources)
+        // idl files are independent of each other, so they are parsed in parallel. The results are collected in the
+        // order of the source files to keep the generated output deterministic.
+        final List<ParsedFile> parsedFiles =
+            Arrays.stream(sources).parallel().map(RestSpecParser::parse).collect(Collectors.toList());
+        for (ParsedFile parsedFile : parsedFiles)
         {
-          try
+          final File sourceFile = parsedFile._sourceFile;
+          if (parsedFile._error == null)
           {
-            final ResourceSchema resource = _codec.readResourceSchema(new FileInputStream(sourceFile));
-            result._schemaAndFiles.add(new CodeUtil.Pair<ResourceSchema, File>(resource, sourceFile));
+            result._schemaAndFiles.add(new CodeUtil.Pair<ResourceSchema, File>(parsedFile._schema, sourceFile));
             result._sourceFiles.add(sourceFile);
           }
-          catch (IOException e)
+          else
           {
-            result._message.append("Error processing file [").append(sourceFile.getAbsolutePath()).append(']').append(e.getMessage());
+            result._message.append("Error processing file [").append(sourceFile.getAbsolutePath()).append(']')
+                .append(parsedFile._error.getMessage());
           }
         }
       }
@@ -88,6 +96,36 @@ public class RestSpecParser
     return result;
   }
 
+  private static ParsedFile parse(File sourceFile)
+  {
+    try (InputStream inputStream = new FileInputStream(sourceFile))
+    {
+      return new ParsedFile(sourceFile, _codec.readResourceSchema(inputStream), null);
+    }
+    catch (IOException e)
+    {
+      return new ParsedFile(sourceFile, null, e);
+    }
+  }
+
+  /**
+   * Outcome of parsing a single idl file: either the parsed {@link ResourceSchema}, or the {@link IOException} thrown
+   * while reading the file.
+   */
+  private static final class ParsedFile
+  {
+    private final File _sourceFile;
+    private final ResourceSchema _schema;
+    private final IOException _error;
+
+    private ParsedFile(File sourceFile, ResourceSchema schema, IOException error)
+    {
+      _sourceFile = sourceFile;
+      _schema = schema;
+      _error = error;
+    }
+  }
+
   public static class ParseResult
   {
     // use collections to maintain order
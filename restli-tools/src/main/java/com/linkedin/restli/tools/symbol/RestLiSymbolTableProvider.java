@@ -18,8 +18,11 @@ package com.linkedin.restli.tools.symbol;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.linkedin.common.callback.Callback;
 import com.linkedin.d2.balancer.util.LoadBalancerUtil;
 import com.linkedin.data.ByteString;
+import com.linkedin.data.codec.DataCodec;
 import com.linkedin.data.codec.symbol.InMemorySymbolTable;
 import com.linkedin.data.codec.symbol.SymbolTable;
 import com.linkedin.data.codec.symbol.SymbolTableProvider;
@@ -35,16 +38,29 @@ import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.server.ResourceDefinition;
 import com.linkedin.restli.server.ResourceDefinitionListener;
 import com.linkedin.restli.server.symbol.RestLiSymbolTableRequestHandler;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +91,17 @@ import org.slf4j.LoggerFactory;
  * <p>The symbol table name used by this provider is prefixed with the root URI of the service on which
  * the symbol table is hosted. For remote symbol tables, this prefix is renamed to the prefix of the current service
  * before it is cached. The final symbol table name is in the form of ServiceURI|Prefix-SymbolListHashCode</p>
+ *
+ * <br>
+ * <p>By default, a request to a service whose symbol table is not cached yet waits for the table to be fetched. To
+ * keep request threads from blocking on the network, the symbol tables of known downstream services can be fetched
+ * ahead of time with {@link #prefetch(Collection)}, kept up to date with
+ * {@link #scheduleRefresh(ScheduledExecutorService, long, TimeUnit)}, and persisted to a local directory from which
+ * they are loaded on startup. The provider can also be configured not to wait at all, in which case requests are
+ * encoded without a symbol table until the table of their service has been fetched in the background. Responses
+ * encoded with a symbol table that is not cached still require a blocking fetch, since they cannot be decoded
+ * without it. After a failed fetch, requests to the service are encoded without a symbol table for a while instead of
+ * fetching it again.</p>
  */
 public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceDefinitionListener
 {
@@ -85,11 +112,32 @@ public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceD
    */
   private static final long DEFAULT_TIMEOUT_MILLIS = 100;
 
+  /**
+   * Time in milliseconds during which the symbol table of a service is not fetched again for requests after a fetch
+   * failed, for example because the service does not serve symbol tables. These requests are encoded without one.
+   */
+  static final long FAILED_FETCH_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  /**
+   * Codec and file name suffix used to persist symbol tables to the cache directory.
+   */
+  private static final DataCodec CACHE_CODEC = ContentType.PROTOBUF2.getCodec();
+  private static final String CACHE_FILE_SUFFIX = ".symbols";
+
+  private static final Map<String, String> SERVICE_SCOPED_PATH_HEADERS =
+      Collections.singletonMap(RestConstants.HEADER_SERVICE_SCOPED_PATH, Boolean.TRUE.toString());
+
   private final Client _client;
   private final String _uriPrefix;
   private final SymbolTableNameHandler _symbolTableNameHandler;
   private final Cache<String, SymbolTable> _serviceNameToSymbolTableCache;
   private final Cache<String, SymbolTable> _symbolTableNameToSymbolTableCache;
+  private final File _cacheDirectory;
+  private final boolean _blockOnRequestSymbolTableFetch;
+  private final Cache<String, Boolean> _failedServiceFetches;
+  // Bounded like the symbol table caches, so that requests to many distinct services do not grow it forever.
+  private final Set<String> _knownServiceNames;
+  private final ConcurrentMap<String, CompletableFuture<SymbolTable>> _pendingServiceFetches = new ConcurrentHashMap<>();
   private volatile SymbolTable _defaultResponseSymbolTable = null;
   private volatile String _defaultResponseSymbolTableName = null;
 
@@ -129,12 +177,63 @@ public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceD
       String symbolTablePrefix,
       String serverNodeUri,
       List<String> overriddenSymbols)
+  {
+    this(client, uriPrefix, cacheSize, symbolTablePrefix, serverNodeUri, overriddenSymbols, null, true);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param client             The {@link Client} to use to make requests to remote services to fetch their symbol tables.
+   * @param uriPrefix          The URI prefix to use when invoking remote services by name (and not by hostname:port)
+   * @param cacheSize          The size of the caches used to store symbol tables.
+   * @param symbolTablePrefix  The prefix to use for symbol tables vended by this instance.
+   * @param serverNodeUri      The URI on which the current service is running. This should also include the context
+   *                           and servlet path (if applicable).
+   * @param overriddenSymbols  The list of overridden symbols to use for the symbol table.
+   * @param cacheDirectory     The directory to which the symbol tables of remote services are persisted, and from which
+   *                           they are loaded by this constructor, or null to only cache them in memory.
+   * @param blockOnRequestSymbolTableFetch If true, {@link #getRequestSymbolTable(URI)} waits for the symbol table of a
+   *                           service that is not cached yet. If false, the table is fetched in the background and
+   *                           null is returned, so that the request is encoded without a symbol table.
+   */
+  public RestLiSymbolTableProvider(Client client,
+      String uriPrefix,
+      int cacheSize,
+      String symbolTablePrefix,
+      String serverNodeUri,
+      List<String> overriddenSymbols,
+      File cacheDirectory,
+      boolean blockOnRequestSymbolTableFetch)
+  {
+    this(client, uriPrefix, cacheSize, symbolTablePrefix, serverNodeUri, overriddenSymbols, cacheDirectory,
+        blockOnRequestSymbolTableFetch, Ticker.systemTicker());
+  }
+
+  RestLiSymbolTableProvider(Client client,
+      String uriPrefix,
+      int cacheSize,
+      String symbolTablePrefix,
+      String serverNodeUri,
+      List<String> overriddenSymbols,
+      File cacheDirectory,
+      boolean blockOnRequestSymbolTableFetch,
+      Ticker ticker)
   {
     _client = client;
     _uriPrefix = uriPrefix;
     _symbolTableNameHandler = new SymbolTableNameHandler(symbolTablePrefix, serverNodeUri);
     _serviceNameToSymbolTableCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
     _symbolTableNameToSymbolTableCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    _cacheDirectory = cacheDirectory;
+    _blockOnRequestSymbolTableFetch = blockOnRequestSymbolTableFetch;
+    _failedServiceFetches = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(FAILED_FETCH_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .build();
+    _knownServiceNames =
+        Collections.newSetFromMap(Caffeine.newBuilder().maximumSize(cacheSize).<String, Boolean>build().asMap());
 
     if (overriddenSymbols != null)
     {
@@ -142,6 +241,11 @@ public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceD
       _defaultResponseSymbolTable = new InMemorySymbolTable(symbolTableName, overriddenSymbols);
       _defaultResponseSymbolTableName = _symbolTableNameHandler.extractTableInfo(symbolTableName)._2();
     }
+
+    if (_cacheDirectory != null)
+    {
+      loadPersistedSymbolTables();
+    }
   }
 
   @Override
@@ -204,21 +308,34 @@ public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceD
       return symbolTable;
     }
 
+    // The last fetch failed recently, don't wait for nor trigger another one until the retry delay has passed.
+    if (_failedServiceFetches.getIfPresent(serviceName) != null)
+    {
+      return null;
+    }
+
+    if (!_blockOnRequestSymbolTableFetch)
+    {
+      // Encode this request without a symbol table rather than waiting for the table to be fetched.
+      fetchServiceSymbolTable(serviceName);
+      return null;
+    }
+
     // Ok, we didn't find it in the cache, let's go query the other service using the URI prefix. In this case, we
     // make sure to set the {@link RestConstants#HEADER_SERVICE_SCOPED_PATH} header to true to indicate that this
     // path, post resolution must be interpreted as a service scoped path.
     try
     {
-      URI symbolTableUri = new URI(_uriPrefix + serviceName + "/" + RestLiSymbolTableRequestHandler.SYMBOL_TABLE_URI_PATH);
-      symbolTable = fetchRemoteSymbolTable(symbolTableUri,
-          Collections.singletonMap(RestConstants.HEADER_SERVICE_SCOPED_PATH, Boolean.TRUE.toString()));
+      symbolTable = fetchRemoteSymbolTable(getServiceSymbolTableUri(serviceName), SERVICE_SCOPED_PATH_HEADERS);
 
       if (symbolTable != null)
       {
         // Cache the retrieved table.
-        _serviceNameToSymbolTableCache.put(serviceName, symbolTable);
-        _symbolTableNameToSymbolTableCache.put(
-            _symbolTableNameHandler.extractTableInfo(symbolTable.getName())._2(), symbolTable);
+        cacheServiceSymbolTable(serviceName, symbolTable);
+      }
+      else
+      {
+        _failedServiceFetches.put(serviceName, Boolean.TRUE);
       }
 
       return symbolTable;
@@ -251,40 +368,236 @@ public class RestLiSymbolTableProvider implements SymbolTableProvider, ResourceD
     _defaultResponseSymbolTableName = _symbolTableNameHandler.extractTableInfo(_defaultResponseSymbolTable.getName())._2();
   }
 
+  /**
+   * Fetches the symbol tables of the given services in the background, so that requests to these services do not
+   * need to wait for them. This is meant to be called on startup for the known downstream services.
+   *
+   * @param serviceNames The names of the services.
+   *
+   * @return A future that completes once all the fetches have completed, whether they succeeded or not.
+   */
+  public CompletableFuture<Void> prefetch(Collection<String> serviceNames)
+  {
+    return CompletableFuture.allOf(serviceNames.stream()
+        .map(this::fetchServiceSymbolTable)
+        .toArray(CompletableFuture[]::new));
+  }
+
+  /**
+   * Periodically fetches the symbol tables of the services that were prefetched, requested or loaded from the
+   * cache directory, so that changes to their symbol tables are picked up in the background. At most as many services
+   * as the cache size are remembered.
+   *
+   * @param executor The executor to schedule the refreshes with.
+   * @param period   The delay between the end of a refresh and the start of the next one.
+   * @param unit     The time unit of the period.
+   *
+   * @return The future of the scheduled task, which can be used to cancel the refreshes.
+   */
+  public ScheduledFuture<?> scheduleRefresh(ScheduledExecutorService executor, long period, TimeUnit unit)
+  {
+    return executor.scheduleWithFixedDelay(() -> _knownServiceNames.forEach(this::fetchServiceSymbolTable),
+        period, period, unit);
+  }
+
+  /**
+   * Fetches the symbol table of the given service without blocking. Concurrent fetches for the same service share
+   * the same request.
+   *
+   * @return A future that completes with the fetched symbol table, or with null if it could not be fetched.
+   */
+  CompletableFuture<SymbolTable> fetchServiceSymbolTable(String serviceName)
+  {
+    final CompletableFuture<SymbolTable> future = new CompletableFuture<>();
+    final CompletableFuture<SymbolTable> pending = _pendingServiceFetches.putIfAbsent(serviceName, future);
+    if (pending != null)
+    {
+      return pending;
+    }
+
+    _knownServiceNames.add(serviceName);
+    future.whenComplete((symbolTable, e) ->
+    {
+      if (symbolTable == null)
+      {
+        _failedServiceFetches.put(serviceName, Boolean.TRUE);
+      }
+      _pendingServiceFetches.remove(serviceName, future);
+    });
+
+    final URI symbolTableUri;
+    try
+    {
+      symbolTableUri = getServiceSymbolTableUri(serviceName);
+    }
+    catch (URISyntaxException ex)
+    {
+      LOGGER.error("Failed to construct symbol table URI for service " + serviceName, ex);
+      future.complete(null);
+      return future;
+    }
+
+    try
+    {
+      _client.restRequest(new RestRequestBuilder(symbolTableUri).setHeaders(SERVICE_SCOPED_PATH_HEADERS).build(),
+          new Callback<RestResponse>()
+          {
+            @Override
+            public void onError(Throwable e)
+            {
+              LOGGER.warn("Failed to fetch symbol table from " + symbolTableUri, e);
+              future.complete(null);
+            }
+
+            @Override
+            public void onSuccess(RestResponse result)
+            {
+              SymbolTable symbolTable = null;
+              try
+              {
+                symbolTable = decodeSymbolTable(result);
+                cacheServiceSymbolTable(serviceName, symbolTable);
+              }
+              catch (Exception ex)
+              {
+                LOGGER.warn("Failed to fetch symbol table from " + symbolTableUri, ex);
+              }
+              future.complete(symbolTable);
+            }
+          });
+    }
+    catch (Exception ex)
+    {
+      LOGGER.warn("Failed to fetch symbol table from " + symbolTableUri, ex);
+      future.complete(null);
+    }
+
+    return future;
+  }
+
   SymbolTable fetchRemoteSymbolTable(URI symbolTableUri, Map<String, String> requestHeaders)
   {
     try
     {
       Future<RestResponse> future = _client.restRequest(new RestRequestBuilder(symbolTableUri).setHeaders(requestHeaders).build());
       RestResponse restResponse = future.get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
-      int status = restResponse.getStatus();
-      if (status == HttpStatus.S_200_OK.getCode())
-      {
-        ByteString byteString = restResponse.getEntity();
-        if (byteString == null)
-        {
-          throw new IOException("Empty body");
-        }
+      return decodeSymbolTable(restResponse);
+    }
+    catch (ExecutionException ex)
+    {
+      LOGGER.warn("Failed to fetch symbol table from " + symbolTableUri, ex.getCause());
+    }
+    catch (Exception ex)
+    {
+      LOGGER.warn("Failed to fetch symbol table from " + symbolTableUri, ex);
+    }
 
-        ContentType contentType =
-            ContentType.getContentType(restResponse.getHeader(RestConstants.HEADER_CONTENT_TYPE))
-                .orElseThrow(() -> new IOException("Could not parse response content type"));
+    return null;
+  }
 
-        // Deserialize, and rename to replace url prefix with current url prefix.
-        return SymbolTableSerializer.fromByteString(byteString, contentType.getCodec(), _symbolTableNameHandler::replaceServerNodeUri);
+  private SymbolTable decodeSymbolTable(RestResponse restResponse) throws IOException
+  {
+    int status = restResponse.getStatus();
+    if (status == HttpStatus.S_200_OK.getCode())
+    {
+      ByteString byteString = restResponse.getEntity();
+      if (byteString == null)
+      {
+        throw new IOException("Empty body");
       }
 
-      throw new IOException("Unexpected response status: " + status);
+      ContentType contentType =
+          ContentType.getContentType(restResponse.getHeader(RestConstants.HEADER_CONTENT_TYPE))
+              .orElseThrow(() -> new IOException("Could not parse response content type"));
+
+      // Deserialize, and rename to replace url prefix with current url prefix.
+      return SymbolTableSerializer.fromByteString(byteString, contentType.getCodec(), _symbolTableNameHandler::replaceServerNodeUri);
     }
-    catch (ExecutionException ex)
+
+    throw new IOException("Unexpected response status: " + status);
+  }
+
+  private URI getServiceSymbolTableUri(String serviceName) throws URISyntaxException
+  {
+    return new URI(_uriPrefix + serviceName + "/" + RestLiSymbolTableRequestHandler.SYMBOL_TABLE_URI_PATH);
+  }
+
+  private void cacheServiceSymbolTable(String serviceName, SymbolTable symbolTable)
+  {
+    putServiceSymbolTable(serviceName, symbolTable);
+    if (_cacheDirectory != null)
     {
-      LOGGER.error("Failed to fetch symbol table from " + symbolTableUri, ex.getCause());
+      persistSymbolTable(serviceName, symbolTable);
     }
-    catch (Exception ex)
+  }
+
+  private void putServiceSymbolTable(String serviceName, SymbolTable symbolTable)
+  {
+    _knownServiceNames.add(serviceName);
+    _failedServiceFetches.invalidate(serviceName);
+    _serviceNameToSymbolTableCache.put(serviceName, symbolTable);
+    _symbolTableNameToSymbolTableCache.put(
+        _symbolTableNameHandler.extractTableInfo(symbolTable.getName())._2(), symbolTable);
+  }
+
+  private void persistSymbolTable(String serviceName, SymbolTable symbolTable)
+  {
+    Path tempFile = null;
+    try
+    {
+      Path directory = Files.createDirectories(_cacheDirectory.toPath());
+      tempFile = Files.createTempFile(directory, "symbols", ".tmp");
+      Files.write(tempFile, SymbolTableSerializer.toByteString(CACHE_CODEC, symbolTable).copyBytes());
+      // Move the complete file into place, so that a concurrent restart never loads a partially written table.
+      Files.move(tempFile, directory.resolve(URLEncoder.encode(serviceName, StandardCharsets.UTF_8.name()) + CACHE_FILE_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      tempFile = null;
+    }
+    catch (IOException ex)
     {
-      LOGGER.error("Failed to fetch symbol table from " + symbolTableUri, ex);
+      LOGGER.warn("Failed to persist symbol table of service " + serviceName + " to " + _cacheDirectory, ex);
     }
+    finally
+    {
+      if (tempFile != null)
+      {
+        try
+        {
+          Files.deleteIfExists(tempFile);
+        }
+        catch (IOException ex)
+        {
+          LOGGER.warn("Failed to delete " + tempFile, ex);
+        }
+      }
+    }
+  }
 
-    return null;
+  private void loadPersistedSymbolTables()
+  {
+    File[] files = _cacheDirectory.listFiles((dir, name) -> name.endsWith(CACHE_FILE_SUFFIX));
+    if (files == null)
+    {
+      return;
+    }
+
+    for (File file : files)
+    {
+      try
+      {
+        String fileName = file.getName();
+        String serviceName = URLDecoder.decode(fileName.substring(0, fileName.length() - CACHE_FILE_SUFFIX.length()),
+            StandardCharsets.UTF_8.name());
+        // Rename in case the tables were persisted by an instance that ran on another server node URI.
+        SymbolTable symbolTable = SymbolTableSerializer.fromByteString(
+            ByteString.unsafeWrap(Files.readAllBytes(file.toPath())), CACHE_CODEC,
+            _symbolTableNameHandler::replaceServerNodeUri);
+        putServiceSymbolTable(serviceName, symbolTable);
+      }
+      catch (Exception ex)
+      {
+        LOGGER.warn("Failed to load persisted symbol table from " + file, ex);
+      }
+    }
   }
 }
@@ -0,0 +1,67 @@
+/*
+   Copyright (c) 2020 LinkedIn Corp.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+
+package com.linkedin.restli.tools.clientgen;
+
+import com.linkedin.pegasus.generator.CodeUtil;
+import com.linkedin.restli.restspec.ResourceSchema;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestRestSpecParser
+{
+  private static final String FS = File.separator;
+  private static final String IDLS_DIR = "src" + FS + "test" + FS + "resources" + FS + "idls";
+
+  @Test
+  public void testParseSourcesKeepsOrderAndReportsErrors() throws IOException
+  {
+    final String moduleDir = System.getProperty("user.dir");
+    final File first = new File(moduleDir, IDLS_DIR + FS + "arrayDuplicateA.restspec.json");
+    final File second = new File(moduleDir, IDLS_DIR + FS + "arrayDuplicateB.restspec.json");
+    final File broken = File.createTempFile("broken", ".restspec.json");
+    try
+    {
+      Files.write(broken.toPath(), "{".getBytes(StandardCharsets.UTF_8));
+
+      final RestSpecParser.ParseResult result = new RestSpecParser().parseSources(
+          new String[] { first.getAbsolutePath(), broken.getAbsolutePath(), second.getAbsolutePath() });
+
+      final List<File> parsedFiles = new ArrayList<File>();
+      for (CodeUtil.Pair<ResourceSchema, File> pair : result.getSchemaAndFiles())
+      {
+        Assert.assertNotNull(pair.first);
+        parsedFiles.add(pair.second);
+      }
+      Assert.assertEquals(parsedFiles, Arrays.asList(first, second));
+      Assert.assertEquals(new ArrayList<File>(result.getSourceFiles()), Arrays.asList(first, second));
+      final String message = result.getMessage().toString();
+      Assert.assertTrue(message.startsWith("Error processing file [" + broken.getAbsolutePath() + "]"), message);
+    }
+    finally
+    {
+      Files.delete(broken.toPath());
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.linkedin.restli.tools.symbol;
 
+import com.linkedin.common.callback.Callback;
 import com.linkedin.data.codec.symbol.InMemorySymbolTable;
 import com.linkedin.data.codec.symbol.SymbolTable;
 import com.linkedin.data.codec.symbol.SymbolTableSerializer;
@@ -24,17 +25,25 @@ import com.linkedin.data.schema.EnumDataSchema;
 import com.linkedin.data.schema.Name;
 import com.linkedin.r2.message.rest.RestRequest;
 import com.linkedin.r2.message.rest.RestRequestBuilder;
+import com.linkedin.r2.message.rest.RestResponse;
 import com.linkedin.r2.message.rest.RestResponseBuilder;
 import com.linkedin.r2.transport.common.Client;
 import com.linkedin.restli.common.ContentType;
 import com.linkedin.restli.common.RestConstants;
 import com.linkedin.restli.server.ResourceDefinition;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -168,4 +177,103 @@ public class TestRestLiSymbolTableProvider
 
     Assert.assertNull(_provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
   }
+
+  @Test
+  public void testFailedRequestSymbolTableFetchNotRetriedUntilDelay() throws IOException
+  {
+    AtomicLong nanos = new AtomicLong();
+    RestLiSymbolTableProvider provider = new RestLiSymbolTableProvider(_client, "d2://", 10, "Test",
+        "https://Host:100/service", null, null, true, nanos::get);
+    RestRequest request = new RestRequestBuilder(URI.create("d2://someservice/symbolTable"))
+        .setHeaders(Collections.singletonMap(RestConstants.HEADER_SERVICE_SCOPED_PATH, "true")).build();
+    when(_client.restRequest(eq(request)))
+        .thenReturn(CompletableFuture.completedFuture(new RestResponseBuilder().setStatus(404).build()));
+
+    // Requests are encoded without a symbol table, without fetching it again, until the retry delay has passed.
+    Assert.assertNull(provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
+    Assert.assertNull(provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
+    verify(_client, times(1)).restRequest(any(RestRequest.class));
+
+    when(_client.restRequest(eq(request))).thenReturn(CompletableFuture.completedFuture(buildSymbolTableResponse()));
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(RestLiSymbolTableProvider.FAILED_FETCH_RETRY_DELAY_MILLIS));
+    Assert.assertNotNull(provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
+    verify(_client, times(2)).restRequest(any(RestRequest.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testNonBlockingRequestSymbolTable() throws IOException
+  {
+    List<Callback<RestResponse>> callbacks = new ArrayList<>();
+    doAnswer(invocation -> {
+      callbacks.add((Callback<RestResponse>) invocation.getArguments()[1]);
+      return null;
+    }).when(_client).restRequest(any(RestRequest.class), any(Callback.class));
+    RestLiSymbolTableProvider provider =
+        new RestLiSymbolTableProvider(_client, "d2://", 10, "Test", "https://Host:100/service", null, null, false);
+
+    // The table is fetched in the background, and concurrent misses share the same fetch.
+    Assert.assertNull(provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
+    Assert.assertNull(provider.getRequestSymbolTable(URI.create("d2://someservice/path")));
+    Assert.assertEquals(callbacks.size(), 1);
+    verify(_client, never()).restRequest(any(RestRequest.class));
+
+    callbacks.get(0).onSuccess(buildSymbolTableResponse());
+    SymbolTable symbolTable = provider.getRequestSymbolTable(URI.create("d2://someservice/path"));
+    Assert.assertNotNull(symbolTable);
+    Assert.assertEquals("https://Host:100/service|Test--332004310", symbolTable.getName());
+    Assert.assertSame(provider.getSymbolTable("https://OtherHost:100/service|Test--332004310"), symbolTable);
+    Assert.assertEquals(callbacks.size(), 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testPrefetchAndPersistedSymbolTables() throws Exception
+  {
+    RestResponse response = buildSymbolTableResponse();
+    doAnswer(invocation -> {
+      ((Callback<RestResponse>) invocation.getArguments()[1]).onSuccess(response);
+      return null;
+    }).when(_client).restRequest(eq(new RestRequestBuilder(URI.create("d2://someservice/symbolTable"))
+        .setHeaders(Collections.singletonMap(RestConstants.HEADER_SERVICE_SCOPED_PATH, "true")).build()),
+        any(Callback.class));
+
+    File cacheDirectory = Files.createTempDirectory("symbolTables").toFile();
+    try
+    {
+      RestLiSymbolTableProvider provider = new RestLiSymbolTableProvider(_client, "d2://", 10, "Test",
+          "https://Host:100/service", null, cacheDirectory, false);
+      provider.prefetch(Collections.singletonList("someservice")).get();
+      SymbolTable symbolTable = provider.getRequestSymbolTable(URI.create("d2://someservice/path"));
+      Assert.assertNotNull(symbolTable);
+      Assert.assertEquals(2, symbolTable.size());
+
+      // A restarted instance, possibly on another node, loads the persisted table without fetching it.
+      Client client = mock(Client.class);
+      RestLiSymbolTableProvider restartedProvider = new RestLiSymbolTableProvider(client, "d2://", 10, "Test",
+          "https://OtherNode:100/service", null, cacheDirectory, false);
+      SymbolTable persistedSymbolTable = restartedProvider.getRequestSymbolTable(URI.create("d2://someservice/path"));
+      Assert.assertNotNull(persistedSymbolTable);
+      Assert.assertEquals("https://OtherNode:100/service|Test--332004310", persistedSymbolTable.getName());
+      Assert.assertEquals(2, persistedSymbolTable.size());
+      Assert.assertSame(restartedProvider.getSymbolTable("https://Host:100/service|Test--332004310"),
+          persistedSymbolTable);
+      verifyZeroInteractions(client);
+    }
+    finally
+    {
+      FileUtils.deleteDirectory(cacheDirectory);
+    }
+  }
+
+  private static RestResponse buildSymbolTableResponse() throws IOException
+  {
+    RestResponseBuilder builder = new RestResponseBuilder();
+    builder.setStatus(200);
+    SymbolTable symbolTable = new InMemorySymbolTable("https://OtherHost:100/service|Test--332004310",
+        Collections.unmodifiableList(Arrays.asList("Haha", "Hehe")));
+    builder.setEntity(SymbolTableSerializer.toByteString(ContentType.PROTOBUF2.getCodec(), symbolTable));
+    builder.setHeader(RestConstants.HEADER_CONTENT_TYPE, ContentType.PROTOBUF2.getHeaderKey());
+    return builder.build();
+  }
 }